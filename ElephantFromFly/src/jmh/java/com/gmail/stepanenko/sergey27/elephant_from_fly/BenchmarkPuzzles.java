@@ -0,0 +1,130 @@
+/***************************************************************************************************
+ * @file BenchmarkPuzzles.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the BenchmarkPuzzles class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.nio.charset.Charset;
+
+/**
+ * Fixed set of vocabularies and puzzles used by benchmarks.
+ * Paths of vocabularies are relative to project directory (working directory of "jmh" Gradle task).
+ */
+public final class BenchmarkPuzzles {
+
+    // Nested enumerations.
+
+    /**
+     * Bundled vocabularies.
+     */
+    public enum Dictionary {
+        ENGLISH("data/EnglishVocabulary.txt", "US-ASCII"),
+
+        RUSSIAN("data/RussianVocabulary.txt", "windows-1251"),
+
+        RUSSIAN_BIG("data/RussianVocabularyBig.txt", "windows-1251");
+
+        // Private fields.
+
+        private final String mFileName; // Vocabulary file name.
+
+        private final Charset mCharset; // Charset of vocabulary file.
+
+        // Public methods.
+
+        /** Gets vocabulary file name. */
+        public String getFileName(){
+            return mFileName;
+        }
+
+        /** Gets charset of vocabulary file. */
+        public Charset getCharset(){
+            return mCharset;
+        }
+
+        /** Loads words of given length from vocabulary file. */
+        public Vocabulary load(int wordsLength) throws PuzzleException {
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.loadFromFile(mFileName, wordsLength, mCharset); // exception
+
+            return vocabulary;
+        }
+
+        // Private methods.
+
+        /** Constructor. */
+        Dictionary(String fileName, String charsetName){
+            mFileName = fileName;
+            mCharset = Charset.forName(charsetName);
+        }
+    } // enum Dictionary
+
+    /**
+     * Puzzles: easy (short chain), hard (long chain which backtracking engine solves in a fraction of second)
+     * and unsolvable (start and end words are in different connected components) for every vocabulary.
+     */
+    public enum Puzzle {
+        ENGLISH_EASY(Dictionary.ENGLISH, "lead", "gold", 4),
+
+        ENGLISH_HARD(Dictionary.ENGLISH, "stay", "gist", 7),
+
+        ENGLISH_UNSOLVABLE(Dictionary.ENGLISH, "andy", "gold", 10),
+
+        RUSSIAN_EASY(Dictionary.RUSSIAN, "план", "слон", 4),
+
+        RUSSIAN_HARD(Dictionary.RUSSIAN, "трюк", "шпур", 8),
+
+        RUSSIAN_UNSOLVABLE(Dictionary.RUSSIAN, "муха", "слон", 10),
+
+        RUSSIAN_BIG_EASY(Dictionary.RUSSIAN_BIG, "план", "слон", 4),
+
+        RUSSIAN_BIG_HARD(Dictionary.RUSSIAN_BIG, "чары", "хуст", 7),
+
+        RUSSIAN_BIG_UNSOLVABLE(Dictionary.RUSSIAN_BIG, "опий", "слон", 10);
+
+        // Private fields.
+
+        private final Dictionary mDictionary; // Vocabulary.
+
+        private final String mStartWord; // Start word.
+
+        private final String mEndWord; // End word.
+
+        private final int mMaxWordsChainLength; // Maximum words chain length.
+
+        // Public methods.
+
+        /** Gets vocabulary. */
+        public Dictionary getDictionary(){
+            return mDictionary;
+        }
+
+        /** Gets input words. */
+        public InputWords getInputWords() throws PuzzleException {
+            return new InputWords(mStartWord, mEndWord); // exception
+        }
+
+        /** Gets maximum words chain length. */
+        public int getMaxWordsChainLength(){
+            return mMaxWordsChainLength;
+        }
+
+        // Private methods.
+
+        /** Constructor. */
+        Puzzle(Dictionary dictionary, String startWord, String endWord, int maxWordsChainLength){
+            mDictionary = dictionary;
+            mStartWord = startWord;
+            mEndWord = endWord;
+            mMaxWordsChainLength = maxWordsChainLength;
+        }
+    } // enum Puzzle
+
+    // Private methods.
+
+    /** Constructor. */
+    private BenchmarkPuzzles(){
+    }
+} // class BenchmarkPuzzles
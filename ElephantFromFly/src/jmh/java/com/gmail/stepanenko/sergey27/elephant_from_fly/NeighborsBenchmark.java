@@ -0,0 +1,119 @@
+/***************************************************************************************************
+ * @file NeighborsBenchmark.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the NeighborsBenchmark class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of neighbors lookup: neighbors of every word of vocabulary snapshot are found by each provider.
+ * Words graph only copies precomputed adjacency lists, other providers find neighbors on request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NeighborsBenchmark {
+
+    // Nested enumerations.
+
+    /**
+     * Neighbors providers.
+     */
+    public enum Provider {
+        WORDS_GRAPH, // WordsGraph adjacency lists.
+
+        POSITION_LETTER_INDEX, // PositionLetterIndex bitsets intersection.
+
+        PACKED_WORDS_HASH, // PackedWordsNeighborsProvider variants probing.
+
+        WORDS_TRIE, // WordsTrie one mismatch traversal.
+
+        OFF_HEAP_GRAPH, // OffHeapWordsGraph adjacency lists in direct buffer.
+
+        COMPRESSED_GRAPH // CompressedWordsGraph varint gap encoded adjacency lists.
+    } // enum Provider
+
+    // Public fields (benchmark parameters).
+
+    @Param({"ENGLISH", "RUSSIAN", "RUSSIAN_BIG"})
+    public BenchmarkPuzzles.Dictionary dictionary;
+
+    @Param({"5"})
+    public int wordsLength;
+
+    @Param
+    public Provider provider;
+
+    // Private fields.
+
+    private WordsNeighborsProvider mProvider; // Neighbors provider.
+
+    private int[] mNeighbors; // Buffer of neighbors.
+
+    // Public methods.
+
+    @Setup
+    public void setUp() throws PuzzleException {
+        VocabularySnapshot snapshot = new VocabularySnapshot(dictionary.load(wordsLength), wordsLength); // exception
+
+        switch(provider){
+            case WORDS_GRAPH:
+                mProvider = snapshot.getWordsGraph();
+                break;
+
+            case POSITION_LETTER_INDEX:
+                mProvider = new PositionLetterIndex(snapshot);
+                break;
+
+            case PACKED_WORDS_HASH:
+                mProvider = new PackedWordsNeighborsProvider(snapshot);
+                break;
+
+            case WORDS_TRIE:
+                mProvider = new WordsTrie(snapshot);
+                break;
+
+            case OFF_HEAP_GRAPH:
+                mProvider = OffHeapWordsGraph.allocate(snapshot.getWordsGraph());
+                break;
+
+            case COMPRESSED_GRAPH:
+                mProvider = new CompressedWordsGraph(snapshot.getWordsGraph());
+                break;
+
+            default:
+                throw new IllegalStateException("provider");
+        }
+
+        mNeighbors = new int[mProvider.getMaxNeighborsCount()];
+    }
+
+    @Benchmark
+    public long findAllNeighbors(){
+        long neighborsCount = 0;
+
+        for(int wordId = 0; wordId < mProvider.getWordsCount(); wordId++){
+            neighborsCount += mProvider.findNeighbors(wordId, mNeighbors);
+        }
+
+        return neighborsCount;
+    }
+} // class NeighborsBenchmark
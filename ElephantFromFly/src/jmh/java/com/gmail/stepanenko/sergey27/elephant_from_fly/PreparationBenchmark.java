@@ -0,0 +1,77 @@
+/***************************************************************************************************
+ * @file PreparationBenchmark.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the PreparationBenchmark class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of per query preparation: ordering of vocabulary words by difference with end word
+ * (comparator sort of WordsChainPuzzle and counting sort over snapshot identifiers) and construction of words graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreparationBenchmark {
+
+    // Public fields (benchmark parameters).
+
+    @Param({"ENGLISH_EASY", "RUSSIAN_EASY", "RUSSIAN_BIG_EASY"})
+    public BenchmarkPuzzles.Puzzle puzzle;
+
+    // Private fields.
+
+    private InputWords mInputWords; // Input words.
+
+    private Vocabulary mVocabulary; // Vocabulary.
+
+    private WordsChainPuzzle mWordsChainPuzzle; // Words chain puzzle.
+
+    private VocabularySnapshot mSnapshot; // Vocabulary snapshot.
+
+    private int mEndWordId; // Identifier of end word in snapshot.
+
+    // Public methods.
+
+    @Setup
+    public void setUp() throws PuzzleException {
+        mInputWords = puzzle.getInputWords(); // exception
+        mVocabulary = puzzle.getDictionary().load(mInputWords.getLength()); // exception
+        mWordsChainPuzzle = new WordsChainPuzzle();
+        mSnapshot = new VocabularySnapshot(mVocabulary, mInputWords.getLength());
+        mEndWordId = mSnapshot.getWordId(mInputWords.getEndWord());
+    }
+
+    @Benchmark
+    public int prepareVocabularyWordsInfo(){
+        return mWordsChainPuzzle.prepareVocabularyWordsInfo(mInputWords, mVocabulary);
+    }
+
+    @Benchmark
+    public DifferenceOrdering buildDifferenceOrdering(){
+        return new DifferenceOrdering(mSnapshot, mEndWordId);
+    }
+
+    @Benchmark
+    public WordsGraph buildWordsGraph(){
+        return new WordsGraph(mVocabulary, mInputWords.getLength());
+    }
+} // class PreparationBenchmark
@@ -0,0 +1,251 @@
+/***************************************************************************************************
+ * @file ScalingBenchmark.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the ScalingBenchmark class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Scaling benchmark over synthetic vocabularies: for every vocabulary size reports load time, words graph
+ * build time, heap memory used by vocabulary and graph and solve latency of both search engines.
+ * Every measurement is single shot on freshly generated vocabulary, so it shows trends rather than
+ * precise numbers; use JMH benchmarks for precise measurements on bundled vocabularies.
+ *
+ * Usage: ScalingBenchmark [--sizes=1000000,5000000] [--length=8] [--alphabet=abc...] [--density=0.5]
+ *        [--seed=27] [--queries=20] [--max-length=10] [--backtracking-queries=1]
+ */
+public final class ScalingBenchmark {
+
+    // Private static constants.
+
+    private static final long TIMEOUT_MINUTES = 1; // Timeout of backtracking engine.
+
+    private static final double NANOS_IN_MILLISECOND = 1000000.0; // Nanoseconds in millisecond.
+
+    private static final double BYTES_IN_MEGABYTE = 1024.0 * 1024.0; // Bytes in megabyte.
+
+    // Private fields.
+
+    private long[] mSizes = {1000000, 2000000, 5000000}; // Sizes of generated vocabularies.
+
+    private int mWordsLength = 8; // Length of generated words.
+
+    private String mAlphabet = "abcdefghijklmnopqrstuvwxyz"; // Alphabet of generated words.
+
+    private double mNeighborDensity = 0.5; // Neighbor density of generated vocabularies.
+
+    private long mSeed = 27; // Seed of generator.
+
+    private int mQueriesCount = 20; // Count of solved puzzles by shortest chains engine per size.
+
+    private int mMaxWordsChainLength = 10; // Maximum length of words chain.
+
+    private int mBacktrackingQueriesCount = 1; // Count of solved puzzles by backtracking engine per size.
+
+    // Public methods.
+
+    /** Entry point. */
+    public static void main(String[] args) throws Exception {
+        ScalingBenchmark benchmark = new ScalingBenchmark();
+
+        benchmark._parseArguments(args);
+
+        benchmark._run(); // exception
+    }
+
+    // Private methods.
+
+    /** Parses command line arguments. */
+    private void _parseArguments(String[] args){
+        for(String arg : args){
+            int separatorIndex = arg.indexOf('=');
+
+            if(!arg.startsWith("--") || separatorIndex < 0){
+                throw new IllegalArgumentException("Invalid argument: " + arg);
+            }
+
+            String name = arg.substring(2, separatorIndex);
+            String value = arg.substring(separatorIndex + 1);
+
+            switch(name){
+                case "sizes":
+                    String[] sizes = value.split(",");
+                    mSizes = new long[sizes.length];
+
+                    for(int i = 0; i < sizes.length; i++){
+                        mSizes[i] = Long.parseLong(sizes[i].trim());
+                    }
+                    break;
+
+                case "length":
+                    mWordsLength = Integer.parseInt(value);
+                    break;
+
+                case "alphabet":
+                    mAlphabet = value;
+                    break;
+
+                case "density":
+                    mNeighborDensity = Double.parseDouble(value);
+                    break;
+
+                case "seed":
+                    mSeed = Long.parseLong(value);
+                    break;
+
+                case "queries":
+                    mQueriesCount = Integer.parseInt(value);
+                    break;
+
+                case "max-length":
+                    mMaxWordsChainLength = Integer.parseInt(value);
+                    break;
+
+                case "backtracking-queries":
+                    mBacktrackingQueriesCount = Integer.parseInt(value);
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+    }
+
+    /** Runs benchmark for all vocabulary sizes. */
+    private void _run() throws IOException, PuzzleException {
+        SyntheticVocabularyGenerator generator =
+                new SyntheticVocabularyGenerator(mSeed, mWordsLength, mAlphabet, mNeighborDensity);
+
+        System.out.printf(Locale.ROOT, "Words length: %d, alphabet: %s, density: %.2f, seed: %d, max heap: %.0f MB%n",
+                mWordsLength, mAlphabet, mNeighborDensity, mSeed, Runtime.getRuntime().maxMemory() / BYTES_IN_MEGABYTE);
+
+        System.out.printf(Locale.ROOT, "%10s %10s %10s %10s %10s %10s %12s %12s %12s %12s%n",
+                "size", "words", "edges", "load ms", "graph ms", "vocab MB", "graph MB",
+                "dag p50 ms", "dag max ms", "backtrack ms");
+
+        for(long size : mSizes){
+            File file = File.createTempFile("synthetic_vocabulary_", ".txt"); // exception
+
+            try {
+                generator.generateFile(size, file); // exception
+
+                _runSize(size, file); // exception
+            } finally {
+                file.delete();
+            }
+        }
+    }
+
+    /** Runs benchmark for one vocabulary size. */
+    private void _runSize(long size, File file) throws PuzzleException {
+        long usedMemoryBefore = _getUsedMemory();
+
+        // Load vocabulary.
+        long startNanos = System.nanoTime();
+
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile(file.getPath(), mWordsLength, StandardCharsets.UTF_8); // exception
+
+        long loadNanos = System.nanoTime() - startNanos;
+
+        long usedMemoryAfterLoad = _getUsedMemory();
+
+        // Build words graph.
+        startNanos = System.nanoTime();
+
+        WordsGraph graph = new WordsGraph(vocabulary, mWordsLength);
+
+        long graphNanos = System.nanoTime() - startNanos;
+
+        long usedMemoryAfterGraph = _getUsedMemory();
+
+        long edgesCount = 0;
+
+        for(int wordId = 0; wordId < graph.getWordsCount(); wordId++){
+            edgesCount += graph.getNeighborsCount(wordId);
+        }
+
+        // Solve puzzles whose words are connected by random walk, so most of them are solvable.
+        SplittableRandom random = new SplittableRandom(mSeed);
+        InputWords[] puzzles = new InputWords[Math.max(mQueriesCount, mBacktrackingQueriesCount)];
+
+        for(int i = 0; i < puzzles.length; i++){
+            puzzles[i] = _createPuzzle(graph, random); // exception
+        }
+
+        long[] dagNanos = new long[mQueriesCount];
+
+        for(int i = 0; i < mQueriesCount; i++){
+            startNanos = System.nanoTime();
+
+            new ShortestWordsChains(graph, puzzles[i], mMaxWordsChainLength); // exception
+
+            dagNanos[i] = System.nanoTime() - startNanos;
+        }
+
+        Arrays.sort(dagNanos);
+
+        long backtrackingNanos = 0;
+
+        for(int i = 0; i < mBacktrackingQueriesCount; i++){
+            startNanos = System.nanoTime();
+
+            new WordsChainPuzzle().solve(puzzles[i], vocabulary, mMaxWordsChainLength, TIMEOUT_MINUTES); // exception
+
+            backtrackingNanos += System.nanoTime() - startNanos;
+        }
+
+        System.out.printf(Locale.ROOT, "%10d %10d %10d %10.0f %10.0f %10.1f %12.1f %12.2f %12.2f %12.1f%n",
+                size,
+                graph.getWordsCount(),
+                edgesCount / 2,
+                loadNanos / NANOS_IN_MILLISECOND,
+                graphNanos / NANOS_IN_MILLISECOND,
+                (usedMemoryAfterLoad - usedMemoryBefore) / BYTES_IN_MEGABYTE,
+                (usedMemoryAfterGraph - usedMemoryAfterLoad) / BYTES_IN_MEGABYTE,
+                (mQueriesCount > 0 ? dagNanos[mQueriesCount / 2] / NANOS_IN_MILLISECOND : 0.0),
+                (mQueriesCount > 0 ? dagNanos[mQueriesCount - 1] / NANOS_IN_MILLISECOND : 0.0),
+                (mBacktrackingQueriesCount > 0 ?
+                        backtrackingNanos / NANOS_IN_MILLISECOND / mBacktrackingQueriesCount : 0.0));
+    }
+
+    /** Creates puzzle: end word is random word, start word is reached from it by random walk. */
+    private InputWords _createPuzzle(WordsGraph graph, SplittableRandom random) throws PuzzleException {
+        int endWordId = random.nextInt(graph.getWordsCount());
+        int wordId = endWordId;
+
+        for(int step = 0; step < mMaxWordsChainLength - 1; step++){
+            int neighborsCount = graph.getNeighborsCount(wordId);
+
+            if(neighborsCount > 0){
+                wordId = graph.getNeighbor(wordId, random.nextInt(neighborsCount));
+            }
+        }
+
+        if(wordId == endWordId){
+            // Isolated word or walk returned back: use any other word.
+            wordId = (endWordId + 1) % graph.getWordsCount();
+        }
+
+        return new InputWords(graph.getWord(wordId), graph.getWord(endWordId)); // exception
+    }
+
+    /** Gets used heap memory after garbage collection. */
+    private static long _getUsedMemory(){
+        Runtime runtime = Runtime.getRuntime();
+
+        for(int i = 0; i < 3; i++){
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+} // class ScalingBenchmark
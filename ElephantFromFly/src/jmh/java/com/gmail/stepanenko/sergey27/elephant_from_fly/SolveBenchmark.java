@@ -0,0 +1,141 @@
+/***************************************************************************************************
+ * @file SolveBenchmark.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the SolveBenchmark class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of full puzzle solving by different engines.
+ * Vocabulary loading and index construction are not measured, per query preparation is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolveBenchmark {
+
+    // Private static constants.
+
+    private static final long TIMEOUT_MINUTES = 1; // Timeout of backtracking engine.
+
+    private static final int LANDMARKS_COUNT = 8; // Count of landmarks per component.
+
+    private static final int LANDMARKS_MIN_COMPONENT_SIZE = 16; // Minimum size of component with landmarks.
+
+    // Nested enumerations.
+
+    /**
+     * Search engines.
+     */
+    public enum Engine {
+        BACKTRACKING, // WordsChainPuzzle.
+
+        PRIMITIVE_BACKTRACKING, // PrimitiveWordsChainPuzzle over vocabulary snapshot.
+
+        PRIMITIVE_BACKTRACKING_PACKED, // PrimitiveWordsChainPuzzle with PackedWordsNeighborsProvider.
+
+        SHORTEST_CHAINS, // ShortestWordsChains over words graph.
+
+        LANDMARKS_A_STAR, // LandmarkWordsChains over words graph (landmarks are built in setup).
+
+        REDUCED_DIJKSTRA // ReducedWordsChains over reduced words graph (reduction is done in setup).
+    } // enum Engine
+
+    // Public fields (benchmark parameters).
+
+    @Param
+    public BenchmarkPuzzles.Puzzle puzzle;
+
+    @Param
+    public Engine engine;
+
+    // Private fields.
+
+    private InputWords mInputWords; // Input words.
+
+    private Vocabulary mVocabulary; // Vocabulary.
+
+    private VocabularySnapshot mSnapshot; // Vocabulary snapshot.
+
+    private WordsGraph mWordsGraph; // Words graph.
+
+    private PackedWordsNeighborsProvider mPackedWordsProvider; // Neighbors provider over packed words.
+
+    private LandmarkWordsChains mLandmarkWordsChains; // A* engine with landmarks.
+
+    private ReducedWordsChains mReducedWordsChains; // Engine over reduced words graph.
+
+    // Public methods.
+
+    @Setup
+    public void setUp() throws PuzzleException {
+        mInputWords = puzzle.getInputWords(); // exception
+        mVocabulary = puzzle.getDictionary().load(mInputWords.getLength()); // exception
+        mSnapshot = new VocabularySnapshot(mVocabulary, mInputWords.getLength());
+        mWordsGraph = mSnapshot.getWordsGraph();
+        mPackedWordsProvider = new PackedWordsNeighborsProvider(mSnapshot);
+        mLandmarkWordsChains = new LandmarkWordsChains(mWordsGraph,
+                new WordsLandmarks(mWordsGraph, LANDMARKS_COUNT, LANDMARKS_MIN_COMPONENT_SIZE));
+        mReducedWordsChains = new ReducedWordsChains(new ReducedWordsGraph(mWordsGraph));
+    }
+
+    @Benchmark
+    public int solve() throws PuzzleException {
+        int wordsChainLength;
+
+        switch(engine){
+            case BACKTRACKING:
+                wordsChainLength = new WordsChainPuzzle().solve(mInputWords, mVocabulary,
+                        puzzle.getMaxWordsChainLength(), TIMEOUT_MINUTES).getWordsChain().size(); // exception
+                break;
+
+            case PRIMITIVE_BACKTRACKING:
+                wordsChainLength = new PrimitiveWordsChainPuzzle().solve(mInputWords, mSnapshot,
+                        puzzle.getMaxWordsChainLength(), TIMEOUT_MINUTES).getWordsChain().size(); // exception
+                break;
+
+            case PRIMITIVE_BACKTRACKING_PACKED:
+                wordsChainLength = new PrimitiveWordsChainPuzzle().solve(mInputWords, mSnapshot, mPackedWordsProvider,
+                        puzzle.getMaxWordsChainLength(), TIMEOUT_MINUTES).getWordsChain().size(); // exception
+                break;
+
+            case SHORTEST_CHAINS:
+                wordsChainLength = new ShortestWordsChains(mWordsGraph, mInputWords,
+                        puzzle.getMaxWordsChainLength()).getWordsChainLength(); // exception
+                break;
+
+            case LANDMARKS_A_STAR:
+                wordsChainLength = mLandmarkWordsChains.solve(mInputWords,
+                        puzzle.getMaxWordsChainLength()).getWordsChain().size(); // exception
+                break;
+
+            case REDUCED_DIJKSTRA:
+                wordsChainLength = mReducedWordsChains.solve(mInputWords,
+                        puzzle.getMaxWordsChainLength()).getWordsChain().size(); // exception
+                break;
+
+            default:
+                throw new IllegalStateException("engine");
+        }
+
+        return wordsChainLength;
+    }
+} // class SolveBenchmark
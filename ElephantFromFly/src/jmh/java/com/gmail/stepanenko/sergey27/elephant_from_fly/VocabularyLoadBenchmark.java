@@ -0,0 +1,90 @@
+/***************************************************************************************************
+ * @file VocabularyLoadBenchmark.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the VocabularyLoadBenchmark class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of vocabulary loading from file: text file is read whole, vocabulary index file (prepared from the same
+ * text file on setup) is read only in section of required words length.
+ * Snapshot benchmarks load words graph too: they compare sequential reading of text file with reading of the same
+ * file as stream which is parsed in separate thread (VocabularyStreamLoader).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VocabularyLoadBenchmark {
+
+    // Public fields (benchmark parameters).
+
+    @Param
+    public BenchmarkPuzzles.Dictionary dictionary;
+
+    @Param({"4", "8"})
+    public int wordsLength;
+
+    // Private fields.
+
+    private String mIndexFileName; // Name of vocabulary index file.
+
+    // Public methods.
+
+    @Setup
+    public void setUp() throws PuzzleException, IOException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile(dictionary.getFileName(), dictionary.getCharset()); // exception
+
+        File indexFile = File.createTempFile("vocabulary_index_", ".vix"); // exception
+        indexFile.deleteOnExit();
+
+        mIndexFileName = indexFile.getPath();
+
+        VocabularyIndexFile.write(vocabulary, mIndexFileName); // exception
+    }
+
+    @Benchmark
+    public Vocabulary loadFromFile() throws PuzzleException {
+        return dictionary.load(wordsLength); // exception
+    }
+
+    @Benchmark
+    public WordsGraph loadSnapshotFromFile() throws PuzzleException {
+        return new VocabularySnapshot(dictionary.load(wordsLength), wordsLength).getWordsGraph(); // exception
+    }
+
+    @Benchmark
+    public WordsGraph loadSnapshotFromStream() throws PuzzleException, IOException {
+        try(FileInputStream input = new FileInputStream(dictionary.getFileName())){ // exception
+            return VocabularyStreamLoader.loadSnapshot(input, wordsLength, dictionary.getCharset())
+                    .getWordsGraph(); // exception
+        }
+    }
+
+    @Benchmark
+    public VocabularySnapshot loadSnapshotFromIndexFile() throws PuzzleException {
+        return VocabularyIndexFile.loadSnapshot(mIndexFileName, wordsLength); // exception
+    }
+} // class VocabularyLoadBenchmark
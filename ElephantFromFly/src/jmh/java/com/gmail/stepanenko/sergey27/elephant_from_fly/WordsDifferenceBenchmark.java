@@ -0,0 +1,74 @@
+/***************************************************************************************************
+ * @file WordsDifferenceBenchmark.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the WordsDifferenceBenchmark class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of words difference function on pairs of vocabulary words.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordsDifferenceBenchmark {
+
+    // Private static constants.
+
+    private static final int PAIRS_COUNT = 1024; // Count of words pairs compared in one invocation.
+
+    // Public fields (benchmark parameters).
+
+    @Param
+    public BenchmarkPuzzles.Dictionary dictionary;
+
+    @Param({"4", "8"})
+    public int wordsLength;
+
+    // Private fields.
+
+    private String[] mWords; // Vocabulary words.
+
+    // Public methods.
+
+    @Setup
+    public void setUp() throws PuzzleException {
+        Vocabulary vocabulary = dictionary.load(wordsLength); // exception
+
+        mWords = vocabulary.getWordsSet().toArray(new String[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS_COUNT)
+    public int calculateWordsDifference(){
+        int differencesSum = 0;
+
+        for(int i = 0; i < PAIRS_COUNT; i++){
+            String word1 = mWords[i % mWords.length];
+            String word2 = mWords[(i * 7 + 1) % mWords.length];
+
+            differencesSum += WordsChainPuzzle.calculateWordsDifference(word1, word2);
+        }
+
+        return differencesSum;
+    }
+} // class WordsDifferenceBenchmark
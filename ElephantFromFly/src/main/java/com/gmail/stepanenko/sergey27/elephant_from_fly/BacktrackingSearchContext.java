@@ -0,0 +1,555 @@
+/***************************************************************************************************
+ * @file BacktrackingSearchContext.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the BacktrackingSearchContext class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State of one backtracking search over vocabulary snapshot: the same search as WordsChainPuzzle with
+ * the same order of words, roll backs, results and statistics, but search state is kept in
+ * preallocated arrays instead of objects:
+ *      - identifiers of words sorted in difference with end word ascending order;
+ *      - stack of cursors is an int array of positions in sorted words;
+ *      - usage flags of words are kept in bitset.
+ * If neighbors provider is given, proper words for cursor are not searched by scan of sorted words: neighbors
+ * of previous word are found by provider, converted to positions in sorted words and sorted, then cursor
+ * is advanced over this short list. Order of words in chains, roll backs and results remain the same, but
+ * words difference calculations are made only to find neighbors of start word which is absent in snapshot.
+ * All arrays are allocated on context creation, search loop doesn't allocate memory except growth of neighbors
+ * lists of cursors: they are grown by doubling when search goes deeper.
+ * Context is used by one search only, snapshot is shared and is never modified.
+ */
+final class BacktrackingSearchContext {
+
+    // Private static constants.
+
+    private static final int BITS_IN_LONG_SHIFT = 6; // Shift which converts bit index to long index.
+
+    private static final int START_WORD_SOURCE = -1; // Source of neighbors list of the first cursor.
+
+    private static final int NO_SOURCE = -2; // Source of neighbors list which is not prepared.
+
+    private static final int INITIAL_NEIGHBORS_CURSORS_COUNT = 16; // Initial count of cursors with neighbors lists.
+
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8; // Maximum length of array which VM allocates.
+
+    // Private fields.
+
+    private VocabularySnapshot mSnapshot; // Vocabulary snapshot.
+
+    private InputWords mInputWords; // Input words.
+
+    private int mMaxWordsChainLength; // Maximum words chain length.
+
+    private long mTimeoutMinutes; // Time in minutes after which search process should be interrupted.
+
+    private boolean mIsStatisticsEnabled; // Flag defines if search statistics is collected.
+
+    private SearchStatistics mStatistics; // Statistics of search.
+
+    private int mWordsLength; // Length of words.
+
+    private char[] mWordsChars; // Packed characters of snapshot words.
+
+    private char[] mStartWordChars; // Characters of start word.
+
+    // Identifiers of words sorted in difference with end word ascending order, words with equal difference are
+    // sorted in lexicographic order. Start word is not included.
+    private int[] mSortedWordIds;
+
+    private int mWordsCount; // Count of sorted words.
+
+    private int mEndWordIndex; // Index of end word in sorted words.
+
+    private long[] mUsageFlags; // Bitset of usage flags of sorted words.
+
+    // The least depths at which sorted words were added to words chain (transposition table): word isn't added
+    // again at the same or greater depth, see WordsChainPuzzle.
+    private int[] mBestDepths;
+
+    // Stack of cursors: positions in sorted words, index in stack represents position of word in words chain
+    // (start word is not included). See WordsChainPuzzle for description of search process.
+    private int[] mCursors;
+
+    private int mCursorsCount; // Count of cursors in stack.
+
+    private int[] mBestWordsChain; // Cursors of the shortest words chain found by this moment.
+
+    private int mBestWordsChainLength; // Length of the shortest words chain found by this moment (0 - not found).
+
+    // Following fields are used with neighbors provider only.
+
+    private WordsNeighborsProvider mNeighborsProvider; // Neighbors provider or null for scan of sorted words.
+
+    private int[] mSortedPositions; // Positions of words in sorted words by identifiers (-1 for start word).
+
+    private int[] mNeighborsBuffer; // Buffer of neighbors found by provider.
+
+    private int mMaxNeighborsCount; // Maximum count of neighbors of one word (including absent start word).
+
+    // Sorted positions of neighbors of previous word for every cursor: mMaxNeighborsCount values per cursor,
+    // array is grown when deeper cursor is reached.
+    private int[] mCursorsNeighbors;
+
+    private int[] mCursorsNeighborsCounts; // Counts of neighbors for every cursor.
+
+    private int[] mCursorsNeighborsSources; // Positions of previous words which neighbors are prepared.
+
+    // Package private methods.
+
+    /** Constructor: prepares sorted words and search arrays.
+     *  @param snapshot Vocabulary snapshot, it must contain end word.
+     *  @param inputWords Input words.
+     *  @param maxWordsChainLength Maximum length of words chain.
+     *  @param timeoutMinutes Time in minutes after which search process should be interrupted.
+     *  @param statistics Statistics of search.
+     *  @param neighborsProvider Neighbors provider over snapshot identifiers or null for scan of sorted words.
+     * */
+    BacktrackingSearchContext(VocabularySnapshot snapshot, InputWords inputWords, int maxWordsChainLength,
+                              long timeoutMinutes, SearchStatistics statistics,
+                              WordsNeighborsProvider neighborsProvider){
+        assert snapshot != null;
+        assert inputWords != null;
+        assert snapshot.contains(inputWords.getEndWord());
+        assert maxWordsChainLength > 0;
+        assert timeoutMinutes > 0;
+        assert statistics != null;
+
+        mSnapshot = snapshot;
+        mInputWords = inputWords;
+        mMaxWordsChainLength = maxWordsChainLength;
+        mTimeoutMinutes = timeoutMinutes;
+        mStatistics = statistics;
+        mIsStatisticsEnabled = statistics.isEnabled();
+
+        mWordsLength = snapshot.getWordsLength();
+        mWordsChars = snapshot.getWordsChars();
+        mStartWordChars = inputWords.getStartWord().toCharArray();
+
+        _prepareSortedWords();
+
+        mUsageFlags = new long[(mWordsCount >> BITS_IN_LONG_SHIFT) + 1];
+
+        mBestDepths = new int[mWordsCount];
+        Arrays.fill(mBestDepths, Integer.MAX_VALUE);
+
+        // Chain can't be longer than maximum length, but the first cursor is always added. Every cursor except
+        // the last one points to distinct used word, so cursors are not more than words count plus one.
+        int maxCursorsCount = (int)Math.min(maxWordsChainLength, mWordsCount + 1L);
+
+        mCursors = new int[maxCursorsCount];
+        mCursorsCount = 0;
+
+        mBestWordsChain = new int[maxCursorsCount];
+        mBestWordsChainLength = 0;
+
+        if(neighborsProvider != null){
+            assert neighborsProvider.getWordsCount() == snapshot.getWordsCount();
+
+            mNeighborsProvider = neighborsProvider;
+            _prepareNeighborsLists();
+        }
+    }
+
+    /** Gets count of sorted words (start word is not included). */
+    int getWordsCount(){
+        return mWordsCount;
+    }
+
+    /** Implements search algorithm: looks for shortest words chain.
+     *  @return Words chain puzzle search result.
+     * */
+    WordsChainPuzzle.Result lookForShortestWordsChain(){
+        assert mWordsCount > 0;
+        assert mCursorsCount == 0 : "Context is used for one search only";
+
+        long deadlineNanos = System.nanoTime() + TimeUnit.MINUTES.toNanos(mTimeoutMinutes);
+
+        WordsChainPuzzle.Result searchResult = new WordsChainPuzzle.Result(mInputWords, mStatistics);
+
+        // Augment words chain and go to the 1-st stage of search.
+        _augmentWordsChain();
+
+        boolean isSearchCompleted = false;
+
+        while(!isSearchCompleted){
+            if(_advanceCursorToTheFirstProperWord()){
+                if(_isCurrentWordsChainLengthOptimal()){
+                    if(mCursors[mCursorsCount - 1] == mEndWordIndex){
+                        // End word is reached: store chain and roll back at least two steps to improve result.
+                        _storeCurrentWordsChain();
+
+                        isSearchCompleted = !_rollBack(2, true);
+                    } else {
+                        _augmentWordsChain();
+                    }
+                } else {
+                    isSearchCompleted = !_rollBack(1, true);
+                }
+            } else {
+                // Dead end: replace previous word in chain.
+                isSearchCompleted = !_rollBack(1, false);
+            }
+
+            // Check if timeout expired and search should be interrupted.
+            if(System.nanoTime() - deadlineNanos >= 0){
+                searchResult.setInterruptionByTimeoutFlag(true);
+                isSearchCompleted = true;
+            }
+        }
+
+        // Store the best words chain to result.
+        if(mBestWordsChainLength > 0){
+            List<String> wordsChain = searchResult.getWordsChain();
+
+            wordsChain.add(mInputWords.getStartWord());
+
+            for(int i = 0; i < mBestWordsChainLength - 1; i++){
+                wordsChain.add(mSnapshot.getWord(mSortedWordIds[mBestWordsChain[i]]));
+            }
+        }
+
+        return searchResult;
+    }
+
+    // Private methods.
+
+    /** Prepares identifiers of words sorted in difference with end word ascending order:
+     *  copies cached ordering of end word without start word.
+     * */
+    private void _prepareSortedWords(){
+        int startWordId = mSnapshot.getWordId(mInputWords.getStartWord());
+        int endWordId = mSnapshot.getWordId(mInputWords.getEndWord());
+
+        DifferenceOrdering ordering = mSnapshot.getDifferenceOrdering(endWordId, mStatistics);
+
+        mSortedWordIds = ordering.copyWordIds(startWordId);
+        mWordsCount = mSortedWordIds.length;
+
+        // End word has zero difference with itself, so it is the first sorted word.
+        mEndWordIndex = 0;
+        assert mSortedWordIds[mEndWordIndex] == endWordId;
+    }
+
+    /** Checks usage flag of word. */
+    private boolean _isUsed(int wordIndex){
+        return (mUsageFlags[wordIndex >> BITS_IN_LONG_SHIFT] & (1L << wordIndex)) != 0;
+    }
+
+    /** Sets usage flag of word. */
+    private void _setUsed(int wordIndex){
+        mUsageFlags[wordIndex >> BITS_IN_LONG_SHIFT] |= (1L << wordIndex);
+    }
+
+    /** Resets usage flag of word. */
+    private void _resetUsed(int wordIndex){
+        mUsageFlags[wordIndex >> BITS_IN_LONG_SHIFT] &= ~(1L << wordIndex);
+    }
+
+    /** Checks if word is one character different from given characters.
+     *  @param chars Characters of the first word.
+     *  @param offset Offset of the first word in characters array.
+     *  @param wordIndex Index of the second word in sorted words.
+     * */
+    private boolean _isOneCharDifferent(char[] chars, int offset, int wordIndex){
+        int wordOffset = mSortedWordIds[wordIndex] * mWordsLength;
+
+        int difference = 0;
+
+        for(int i = 0; i < mWordsLength && difference < 2; i++){
+            if(chars[offset + i] != mWordsChars[wordOffset + i]){
+                difference++;
+            }
+        }
+
+        return (difference == 1);
+    }
+
+    /** Augments currently built words chain and transits search to the next stage. */
+    private void _augmentWordsChain(){
+        mCursors[mCursorsCount++] = 0;
+
+        if(mIsStatisticsEnabled){
+            mStatistics.registerExpandedNode(mCursorsCount);
+        }
+    }
+
+    /** Prepares arrays of neighbors lists and neighbors list of the first cursor. */
+    private void _prepareNeighborsLists(){
+        mSortedPositions = new int[mSnapshot.getWordsCount()];
+        Arrays.fill(mSortedPositions, -1);
+
+        for(int position = 0; position < mWordsCount; position++){
+            mSortedPositions[mSortedWordIds[position]] = position;
+        }
+
+        int startWordId = mSnapshot.getWordId(mInputWords.getStartWord());
+
+        // Absent start word can have letters which words don't have, then at every position all letters of words
+        // give its neighbors: L * |A| ones, not L * (|A| - 1) like words have.
+        mMaxNeighborsCount = mNeighborsProvider.getMaxNeighborsCount() + (startWordId < 0 ? mWordsLength : 0);
+        mNeighborsBuffer = new int[mMaxNeighborsCount];
+
+        // Cursor can't be deeper than count of words.
+        int cursorsCount = Math.min(mCursors.length, mWordsCount);
+
+        mCursorsNeighborsCounts = new int[cursorsCount];
+        mCursorsNeighborsSources = new int[cursorsCount];
+        Arrays.fill(mCursorsNeighborsSources, NO_SOURCE);
+
+        // Neighbors lists of shallow cursors are allocated at once, deeper ones on demand.
+        mCursorsNeighbors = new int[0];
+        _ensureCursorsNeighborsCapacity(Math.min(cursorsCount, INITIAL_NEIGHBORS_CURSORS_COUNT) - 1); // exception
+
+        // Neighbors of start word.
+        int neighborsCount = 0;
+
+        if(startWordId >= 0){
+            neighborsCount = mNeighborsProvider.findNeighbors(startWordId, mNeighborsBuffer);
+
+            for(int i = 0; i < neighborsCount; i++){
+                mCursorsNeighbors[i] = mSortedPositions[mNeighborsBuffer[i]];
+            }
+        } else {
+            // Start word is absent in snapshot: scan sorted words once.
+            for(int position = 0; position < mWordsCount; position++){
+                if(_isOneCharDifferent(mStartWordChars, 0, position)){
+                    mCursorsNeighbors[neighborsCount++] = position;
+                }
+            }
+
+            if(mIsStatisticsEnabled){
+                mStatistics.addWordsDifferenceCalculations(mWordsCount);
+            }
+        }
+
+        Arrays.sort(mCursorsNeighbors, 0, neighborsCount);
+
+        mCursorsNeighborsCounts[0] = neighborsCount;
+        mCursorsNeighborsSources[0] = START_WORD_SOURCE;
+    }
+
+    /** Prepares sorted positions of neighbors of previous word for cursor. */
+    private void _prepareCursorNeighbors(int cursorIndex, int previousPosition){
+        _ensureCursorsNeighborsCapacity(cursorIndex); // exception
+
+        int neighborsCount = mNeighborsProvider.findNeighbors(mSortedWordIds[previousPosition], mNeighborsBuffer);
+        int offset = cursorIndex * mMaxNeighborsCount;
+        int count = 0;
+
+        for(int i = 0; i < neighborsCount; i++){
+            int position = mSortedPositions[mNeighborsBuffer[i]];
+
+            if(position >= 0){
+                mCursorsNeighbors[offset + count++] = position;
+            } // else start word
+        }
+
+        Arrays.sort(mCursorsNeighbors, offset, offset + count);
+
+        mCursorsNeighborsCounts[cursorIndex] = count;
+        mCursorsNeighborsSources[cursorIndex] = previousPosition;
+    }
+
+    /** Grows neighbors lists array, so it keeps lists of cursors up to given one. Capacity is doubled, but not
+     *  beyond count of cursors.
+     *  @param cursorIndex Index of the deepest cursor which needs neighbors list.
+     *  @exception IllegalStateException Neighbors lists exceed maximum array length.
+     * */
+    private void _ensureCursorsNeighborsCapacity(int cursorIndex){
+        assert cursorIndex >= 0 && cursorIndex < mCursorsNeighborsCounts.length;
+
+        long requiredLength = (cursorIndex + 1L) * mMaxNeighborsCount;
+
+        if(requiredLength > mCursorsNeighbors.length){
+            if(requiredLength > MAX_ARRAY_LENGTH){
+                throw new IllegalStateException("Neighbors lists of words chain exceed maximum array length");
+            }
+
+            int maxCursorsCount = Math.min(mCursors.length, mWordsCount);
+            long doubledLength = Math.min(2L * mCursorsNeighbors.length, (long)maxCursorsCount * mMaxNeighborsCount);
+
+            mCursorsNeighbors = Arrays.copyOf(mCursorsNeighbors,
+                    (int)Math.max(requiredLength, Math.min(doubledLength, MAX_ARRAY_LENGTH)));
+        }
+    }
+
+    /** Advances the last cursor to the first word which is one character different from previous word in chain.
+     *  Note: function also sets usage flag for this word.
+     *  @return True - word is found, false - cursor is moved to the last word and proper word is not found.
+     * */
+    private boolean _advanceCursorToTheFirstProperWord(){
+        return (mNeighborsProvider != null ? _advanceCursorOverNeighbors() : _advanceCursorOverSortedWords());
+    }
+
+    /** Advances the last cursor over neighbors list of previous word, see _advanceCursorToTheFirstProperWord(). */
+    private boolean _advanceCursorOverNeighbors(){
+        int cursorIndex = mCursorsCount - 1;
+
+        int source = (cursorIndex > 0 ? mCursors[cursorIndex - 1] : START_WORD_SOURCE);
+
+        if(mCursorsNeighborsSources[cursorIndex] != source){
+            _prepareCursorNeighbors(cursorIndex, source);
+        }
+
+        int position = mCursors[cursorIndex];
+        int offset = cursorIndex * mMaxNeighborsCount;
+        int end = offset + mCursorsNeighborsCounts[cursorIndex];
+
+        boolean isWordFound = false;
+
+        for(int i = offset; i < end && !isWordFound; i++){
+            int neighborPosition = mCursorsNeighbors[i];
+
+            if(neighborPosition >= position && !_isUsed(neighborPosition) &&
+                    mBestDepths[neighborPosition] > mCursorsCount){
+                position = neighborPosition;
+                isWordFound = true;
+                _setUsed(position);
+                mBestDepths[position] = mCursorsCount;
+            }
+        }
+
+        mCursors[cursorIndex] = (isWordFound ? position : mWordsCount - 1);
+
+        return isWordFound;
+    }
+
+    /** Advances the last cursor by scan of sorted words, see _advanceCursorToTheFirstProperWord(). */
+    private boolean _advanceCursorOverSortedWords(){
+        int cursorIndex = mCursorsCount - 1;
+
+        // On the 1-st stage previous word is a start word.
+        char[] previousWordChars;
+        int previousWordOffset;
+
+        if(cursorIndex > 0){
+            previousWordChars = mWordsChars;
+            previousWordOffset = mSortedWordIds[mCursors[cursorIndex - 1]] * mWordsLength;
+        } else {
+            previousWordChars = mStartWordChars;
+            previousWordOffset = 0;
+        }
+
+        int position = mCursors[cursorIndex];
+        int lastPosition = mWordsCount - 1;
+
+        boolean isWordFound = false;
+        boolean isSearchCompleted = false;
+
+        int wordsDifferenceCalculationsCount = 0;
+
+        while(!isSearchCompleted){
+            if(!_isUsed(position) && mBestDepths[position] > mCursorsCount){
+                wordsDifferenceCalculationsCount++;
+
+                if(_isOneCharDifferent(previousWordChars, previousWordOffset, position)){
+                    isWordFound = true;
+                    _setUsed(position);
+                    mBestDepths[position] = mCursorsCount;
+                }
+            } // else skip this word
+
+            if(!isWordFound && position < lastPosition){
+                position++;
+            } else {
+                isSearchCompleted = true;
+            }
+        }
+
+        mCursors[cursorIndex] = position;
+
+        if(mIsStatisticsEnabled){
+            mStatistics.addWordsDifferenceCalculations(wordsDifferenceCalculationsCount);
+        }
+
+        return isWordFound;
+    }
+
+    /** Rolls back search process, see WordsChainPuzzle for details.
+     *  @param minStepsCount Minimum roll back steps count.
+     *  @param modifyCurrentWordUsage Flag defines if current word's usage flag should be modified.
+     *  @return Result of roll back: true - roll back successful, false - search process is completed.
+     * */
+    private boolean _rollBack(int minStepsCount, boolean modifyCurrentWordUsage){
+        assert minStepsCount >= 1;
+        assert mCursorsCount > 0;
+
+        if(mIsStatisticsEnabled){
+            mStatistics.registerRollBack();
+        }
+
+        boolean rollBackResult = false;
+
+        int remainedStepsCount = minStepsCount;
+
+        boolean isRollBackCompleted = false;
+
+        while(!isRollBackCompleted){
+            // Extract the last cursor.
+            int position = mCursors[--mCursorsCount];
+
+            if(remainedStepsCount > 0){
+                remainedStepsCount--;
+            }
+
+            if(modifyCurrentWordUsage){
+                _resetUsed(position);
+            }
+
+            if(mCursorsCount > 0 && remainedStepsCount == 0){
+                // Required minimum roll back steps performed.
+                position = mCursors[mCursorsCount - 1];
+
+                if(position < mWordsCount - 1){
+                    // Reset usage flag of current word and move cursor.
+                    _resetUsed(position);
+                    mCursors[mCursorsCount - 1] = position + 1;
+
+                    isRollBackCompleted = true;
+                    rollBackResult = true;
+                } else {
+                    // Cursor is pointed to the last word: continue roll back.
+                    modifyCurrentWordUsage = true;
+                }
+            } else if(mCursorsCount > 0){
+                // Need to continue roll back.
+                modifyCurrentWordUsage = true;
+            } else {
+                // Stack of cursors is empty.
+                isRollBackCompleted = true;
+            }
+        }
+
+        return rollBackResult;
+    }
+
+    /** Checks if current words chain is shorter than found earlier and doesn't violate maximum length. */
+    private boolean _isCurrentWordsChainLengthOptimal(){
+        int currentWordsChainLength = mCursorsCount + 1;
+
+        if(mCursors[mCursorsCount - 1] != mEndWordIndex){
+            // Words chain is not completed therefore completed words chain will be at least one word longer.
+            currentWordsChainLength++;
+        }
+
+        return (currentWordsChainLength <= mMaxWordsChainLength) &&
+                (mBestWordsChainLength == 0 || currentWordsChainLength < mBestWordsChainLength);
+    }
+
+    /** Stores current words chain as the best one. */
+    private void _storeCurrentWordsChain(){
+        System.arraycopy(mCursors, 0, mBestWordsChain, 0, mCursorsCount);
+        mBestWordsChainLength = mCursorsCount + 1;
+
+        if(mIsStatisticsEnabled){
+            mStatistics.registerImprovement();
+        }
+    }
+} // class BacktrackingSearchContext
@@ -0,0 +1,203 @@
+/***************************************************************************************************
+ * @file CompressedWordsGraph.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the CompressedWordsGraph class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Adjacency lists of words graph compressed by gap encoding with variable length integers (varints): alternative
+ * layout of WordsGraph adjacency lists which keeps several times less memory and is decoded on the fly.
+ * Every adjacency list is encoded as sorted neighbors: the first neighbor as zigzag encoded difference with word
+ * identifier, others as gaps with previous neighbors minus one. Varint keeps 7 bits in byte, high bit of byte is set
+ * if more bytes follow, so small gaps take one byte. Count of neighbors isn't kept: list ends where list of the next
+ * word begins.
+ * Offsets of lists are kept in two levels: full offset of the first list of every block of BLOCK_SIZE words and
+ * two bytes offset of every list relative to its block, so offsets cost about two bytes per word instead of four.
+ * Words identifiers are the same as of WordsGraph (and of vocabulary snapshot), graph is immutable.
+ */
+public final class CompressedWordsGraph implements WordsNeighborsProvider {
+
+    // Private static constants.
+
+    private static final int BLOCK_SHIFT = 4; // Binary logarithm of count of words in block.
+
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT; // Count of words in block.
+
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1; // Mask of index of word in block.
+
+    private static final int VARINT_BITS = 7; // Count of value bits in byte of varint.
+
+    private static final int VARINT_MASK = (1 << VARINT_BITS) - 1; // Mask of value bits of byte of varint.
+
+    private static final int CONTINUATION_BIT = 1 << VARINT_BITS; // Flag of byte which is followed by more bytes.
+
+    private static final int MAX_RELATIVE_OFFSET = Character.MAX_VALUE; // Maximum offset of list in its block.
+
+    // Private fields.
+
+    private final int mWordsLength; // Length of words.
+
+    private final int mWordsCount; // Count of words.
+
+    private final int mMaxNeighborsCount; // Maximum count of neighbors of one word.
+
+    private final byte[] mData; // Encoded adjacency lists.
+
+    private final int[] mBlocksOffsets; // Offsets of the first adjacency lists of blocks in mData.
+
+    private final char[] mListsOffsets; // Offsets of adjacency lists relative to offsets of their blocks.
+
+    // Public methods.
+
+    /** Constructor: compresses adjacency lists of words graph.
+     *  @param graph Words graph.
+     *  @exception IllegalArgumentException Adjacency lists of block of words are too long for relative offsets.
+     * */
+    public CompressedWordsGraph(WordsGraph graph){
+        assert graph != null;
+
+        mWordsLength = graph.getWordsLength();
+        mWordsCount = graph.getWordsCount();
+        mMaxNeighborsCount = graph.getMaxNeighborsCount();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Offsets are kept for one more word: they point to end of data.
+        mBlocksOffsets = new int[(mWordsCount >>> BLOCK_SHIFT) + 1];
+        mListsOffsets = new char[mWordsCount + 1];
+
+        for(int wordId = 0; wordId <= mWordsCount; wordId++){
+            if((wordId & BLOCK_MASK) == 0){
+                mBlocksOffsets[wordId >>> BLOCK_SHIFT] = output.size();
+            }
+
+            int relativeOffset = output.size() - mBlocksOffsets[wordId >>> BLOCK_SHIFT];
+
+            if(relativeOffset > MAX_RELATIVE_OFFSET){
+                throw new IllegalArgumentException("Adjacency lists are too long for compressed graph");
+            }
+
+            mListsOffsets[wordId] = (char)relativeOffset;
+
+            int neighborsCount = (wordId < mWordsCount ? graph.getNeighborsCount(wordId) : 0);
+            int previousNeighborId = 0;
+
+            for(int index = 0; index < neighborsCount; index++){
+                int neighborId = graph.getNeighbor(wordId, index);
+
+                if(index == 0){
+                    int difference = neighborId - wordId;
+                    _writeVarint(output, (difference << 1) ^ (difference >> 31));
+                } else {
+                    _writeVarint(output, neighborId - previousNeighborId - 1);
+                }
+
+                previousNeighborId = neighborId;
+            }
+        }
+
+        mData = output.toByteArray();
+    }
+
+    /** Gets length of words. */
+    @Override
+    public int getWordsLength(){
+        return mWordsLength;
+    }
+
+    /** Gets count of words. */
+    @Override
+    public int getWordsCount(){
+        return mWordsCount;
+    }
+
+    /** Gets maximum count of neighbors of one word. */
+    @Override
+    public int getMaxNeighborsCount(){
+        return mMaxNeighborsCount;
+    }
+
+    /** Gets count of neighbors of word: count of the last bytes of varints of its list. */
+    public int getNeighborsCount(int wordId){
+        assert wordId >= 0 && wordId < mWordsCount;
+
+        int end = _findList(wordId + 1);
+        int neighborsCount = 0;
+
+        for(int position = _findList(wordId); position < end; position++){
+            if((mData[position] & CONTINUATION_BIT) == 0){
+                neighborsCount++;
+            }
+        }
+
+        return neighborsCount;
+    }
+
+    /** Finds neighbors of word: decodes its adjacency list to buffer (neighbors are sorted). */
+    @Override
+    public int findNeighbors(int wordId, int[] neighbors){
+        assert wordId >= 0 && wordId < mWordsCount;
+        assert neighbors != null;
+
+        byte[] data = mData;
+        int position = _findList(wordId);
+        int end = _findList(wordId + 1);
+
+        // Varints are decoded inline: this is the hot loop of searches. One byte varints (non-negative bytes)
+        // are the most frequent, they skip the loop.
+        int neighborsCount = 0;
+        int neighborId = wordId;
+
+        while(position < end){
+            int code = data[position++];
+
+            if(code < 0){
+                code &= VARINT_MASK;
+
+                for(int shift = VARINT_BITS, value = CONTINUATION_BIT; (value & CONTINUATION_BIT) != 0;
+                    shift += VARINT_BITS){
+                    value = data[position++];
+                    code |= (value & VARINT_MASK) << shift;
+                }
+            }
+
+            neighborId = (neighborsCount == 0 ? wordId + ((code >>> 1) ^ -(code & 1)) : neighborId + code + 1);
+            neighbors[neighborsCount++] = neighborId;
+        }
+
+        return neighborsCount;
+    }
+
+    /** Gets size of compressed adjacency lists in bytes. */
+    public long getMemorySize(){
+        return mData.length + (long)Integer.BYTES * mBlocksOffsets.length +
+                (long)Character.BYTES * mListsOffsets.length;
+    }
+
+    // Private methods.
+
+    /** Writes varint to stream. */
+    private static void _writeVarint(ByteArrayOutputStream output, int value){
+        assert value >= 0;
+
+        int remainder = value;
+
+        while(remainder > VARINT_MASK){
+            output.write((remainder & VARINT_MASK) | CONTINUATION_BIT);
+            remainder >>>= VARINT_BITS;
+        }
+
+        output.write(remainder);
+    }
+
+    /** Finds position of adjacency list of word.
+     *  @param wordId Word identifier or count of words (position of end of data is returned).
+     * */
+    private int _findList(int wordId){
+        return mBlocksOffsets[wordId >>> BLOCK_SHIFT] + mListsOffsets[wordId];
+    }
+} // class CompressedWordsGraph
@@ -0,0 +1,118 @@
+/***************************************************************************************************
+ * @file DifferenceOrdering.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the DifferenceOrdering class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+/**
+ * Order of vocabulary snapshot words for one end word: words are sorted in difference with end word
+ * ascending order, words with equal difference are sorted in lexicographic order (it is the order
+ * used by backtracking search).
+ * Difference is in range [0, words length] and word identifiers follow lexicographic order, so ordering is
+ * built in linear time by counting sort of identifiers. Ordering is immutable and is cached by snapshot.
+ */
+final class DifferenceOrdering {
+
+    // Private fields.
+
+    private final int mEndWordId; // Identifier of end word.
+
+    private final int[] mWordIds; // Identifiers of all snapshot words in order.
+
+    // Offsets of groups of words with equal difference in mWordIds array (size: words length + 2).
+    private final int[] mDifferenceOffsets;
+
+    // Package private methods.
+
+    /** Constructor: builds ordering.
+     *  @param snapshot Vocabulary snapshot.
+     *  @param endWordId Identifier of end word in snapshot.
+     * */
+    DifferenceOrdering(VocabularySnapshot snapshot, int endWordId){
+        assert snapshot != null;
+        assert endWordId >= 0 && endWordId < snapshot.getWordsCount();
+
+        int wordsCount = snapshot.getWordsCount();
+        int wordsLength = snapshot.getWordsLength();
+        char[] wordsChars = snapshot.getWordsChars();
+
+        int endWordOffset = endWordId * wordsLength;
+
+        int[] differences = new int[wordsCount];
+        int[] offsets = new int[wordsLength + 2];
+
+        for(int wordId = 0; wordId < wordsCount; wordId++){
+            int wordOffset = wordId * wordsLength;
+            int difference = 0;
+
+            for(int i = 0; i < wordsLength; i++){
+                if(wordsChars[wordOffset + i] != wordsChars[endWordOffset + i]){
+                    difference++;
+                }
+            }
+
+            differences[wordId] = difference;
+            offsets[difference + 1]++;
+        }
+
+        for(int difference = 0; difference <= wordsLength; difference++){
+            offsets[difference + 1] += offsets[difference];
+        }
+
+        mEndWordId = endWordId;
+        mDifferenceOffsets = offsets.clone();
+        mWordIds = new int[wordsCount];
+
+        // Identifiers are distributed in ascending order, so every group keeps lexicographic order.
+        for(int wordId = 0; wordId < wordsCount; wordId++){
+            mWordIds[offsets[differences[wordId]]++] = wordId;
+        }
+    }
+
+    /** Gets identifier of end word. */
+    int getEndWordId(){
+        return mEndWordId;
+    }
+
+    /** Gets count of ordered words. */
+    int getWordsCount(){
+        return mWordIds.length;
+    }
+
+    /** Gets identifier of word by its index in ordering. */
+    int getWordId(int index){
+        return mWordIds[index];
+    }
+
+    /** Gets index of the first word with given difference with end word (or greater if there is no such words). */
+    int getDifferenceOffset(int difference){
+        return mDifferenceOffsets[difference];
+    }
+
+    /** Copies identifiers of ordered words except one word.
+     *  @param excludedWordId Identifier of excluded word or -1.
+     *  @return Identifiers of words in order.
+     * */
+    int[] copyWordIds(int excludedWordId){
+        int[] wordIds;
+
+        if(excludedWordId >= 0){
+            wordIds = new int[mWordIds.length - 1];
+            int count = 0;
+
+            for(int wordId : mWordIds){
+                if(wordId != excludedWordId){
+                    wordIds[count++] = wordId;
+                }
+            }
+
+            assert count == wordIds.length;
+        } else {
+            wordIds = mWordIds.clone();
+        }
+
+        return wordIds;
+    }
+} // class DifferenceOrdering
@@ -10,6 +10,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
 
 /**
  * Class contains application entry point: main() function.
@@ -33,6 +34,9 @@ public final class ElephantFromFly {
     // Index of the "Timeout" parameter.
     private static final int TIMEOUT_PARAM_INDEX = 3;
 
+    // Value of the "Vocabulary file" parameter which means standard input.
+    private static final String STANDARD_INPUT_FILE_NAME = "-";
+
     private static final String WORDS_CHAIN_NOT_FOUND_FORMAT = "Words chain wasn't found: %s -> ... -> %s";
 
     private static final String SEARCH_INTERRUPTION_ON_TIMEOUT = "Search was interrupted by timeout";
@@ -59,7 +63,8 @@ public final class ElephantFromFly {
     /** Application entry point.
      *  @param args Array of input arguments:
      *              args[0] - Input words file.
-     *              args[1] - Vocabulary file.
+     *              args[1] - Vocabulary file (text file, gzip compressed text file, vocabulary index file or
+     *                        "-" for standard input).
      *              args[2] - Max words chain length.
      *              args[3] - Timeout value in minutes.
      * */
@@ -82,9 +87,26 @@ public final class ElephantFromFly {
             // Get vocabulary file name parameter.
             String vocabularyFileName = args[VOCABULARY_FILE_NAME_PARAM_INDEX];
 
-            // Load vocabulary from file.
-            Vocabulary vocabulary = new Vocabulary();
-            vocabulary.loadFromFile(vocabularyFileName, inputWords.getLength()); // exception
+            // Load vocabulary: only section of required words length is read from index file, its snapshot is kept
+            // with perfect hash of words; text file or standard input is loaded to vocabulary.
+            VocabularySnapshot snapshot = null;
+            Vocabulary vocabulary = null;
+            int vocabularyWordsCount;
+
+            if(VocabularyIndexFile.isIndexFile(vocabularyFileName)){
+                snapshot = VocabularyIndexFile.loadSnapshot(vocabularyFileName, inputWords.getLength()); // exception
+                vocabularyWordsCount = snapshot.getWordsCount();
+            } else {
+                vocabulary = new Vocabulary();
+
+                if(vocabularyFileName.equals(STANDARD_INPUT_FILE_NAME)){
+                    vocabulary.loadFromStream(System.in, inputWords.getLength(), Charset.defaultCharset()); // exception
+                } else {
+                    vocabulary.loadFromFile(vocabularyFileName, inputWords.getLength()); // exception
+                }
+
+                vocabularyWordsCount = vocabulary.getWordsSet().size();
+            }
 
             // Get max words chain length parameter.
             int maxWordsChainLength = _getMaxWordsChainLengthParamValue(args); // exception
@@ -93,13 +115,20 @@ public final class ElephantFromFly {
             long timeoutValueMinutes = _getTimeoutPramValue(args); // exception
 
             // Output info about input parameters.
-            _outputInputParamsInfo(inputWords, vocabulary.getWordsSet().size(), maxWordsChainLength,
-                    timeoutValueMinutes);
-
-            // Solve words chain puzzle.
-            WordsChainPuzzle wordsChainPuzzle = new WordsChainPuzzle();
-            WordsChainPuzzle.Result puzzleResult = wordsChainPuzzle.solve(
-                    inputWords, vocabulary, maxWordsChainLength, timeoutValueMinutes); // exception
+            _outputInputParamsInfo(inputWords, vocabularyWordsCount, maxWordsChainLength, timeoutValueMinutes);
+
+            // Solve words chain puzzle: search against snapshot gives the same results as WordsChainPuzzle.
+            WordsChainPuzzle.Result puzzleResult;
+
+            if(snapshot != null){
+                PrimitiveWordsChainPuzzle wordsChainPuzzle = new PrimitiveWordsChainPuzzle();
+                puzzleResult = wordsChainPuzzle.solve(
+                        inputWords, snapshot, maxWordsChainLength, timeoutValueMinutes); // exception
+            } else {
+                WordsChainPuzzle wordsChainPuzzle = new WordsChainPuzzle();
+                puzzleResult = wordsChainPuzzle.solve(
+                        inputWords, vocabulary, maxWordsChainLength, timeoutValueMinutes); // exception
+            }
 
             // Output results.
             _outputWordsChainPuzzleResult(puzzleResult);
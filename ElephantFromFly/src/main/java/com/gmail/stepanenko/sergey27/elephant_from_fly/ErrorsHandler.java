@@ -41,6 +41,9 @@ public final class ErrorsHandler {
 
         mErrorsMap.put(PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR, "Failed to read vocabulary file");
 
+        mErrorsMap.put(PuzzleException.ErrorCode.WRITE_VOCABULARY_INDEX_FILE_ERROR,
+                "Failed to write vocabulary index file");
+
         mErrorsMap.put(PuzzleException.ErrorCode.EMPTY_START_WORD, "Start word is empty");
 
         mErrorsMap.put(PuzzleException.ErrorCode.EMPTY_END_WORD, "End word is empty");
@@ -0,0 +1,873 @@
+/***************************************************************************************************
+ * @file IncrementalWordsIndex.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the IncrementalWordsIndex class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of words of one length which is updated in place when words are added or removed: it keeps words,
+ * sorted neighbors lists and labels of connected components by word identifiers and hash table which maps words
+ * to identifiers.
+ * Identifiers are stable: added word gets identifier of previously removed word or the next new identifier,
+ * identifiers of other words don't change. Initial words get identifiers in lexicographic order.
+ * Adding of word probes its one letter variants and updates its neighbors only, components of neighbors are
+ * merged by relabeling of smaller ones. Removing of word updates its neighbors and checks if its component is
+ * split by interleaved searches from its neighbors: they stop as soon as all of them meet (component isn't
+ * split), otherwise only smaller parts which are exhausted first are relabeled.
+ * Updates are published as immutable snapshots which searches use concurrently with updates. Data are kept in
+ * chunks of fixed size and update copies only chunks it modifies (copy on write), so publishing of snapshot
+ * copies only small arrays of chunks references instead of whole index.
+ * Updates are serialized by lock of index, getting of snapshot doesn't take lock.
+ */
+public final class IncrementalWordsIndex {
+
+    // Private static constants.
+
+    private static final int CHUNK_SHIFT = 10; // Binary logarithm of count of elements in chunk.
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT; // Count of elements in chunk.
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1; // Mask of index of element in chunk.
+
+    private static final int EMPTY_SLOT = 0; // Value of empty slot of hash table (other values are ids + 1).
+
+    private static final int REMOVED_SLOT = -1; // Value of slot of removed word of hash table.
+
+    private static final int[] NO_NEIGHBORS = new int[0]; // Neighbors of word without neighbors.
+
+    private static final int NOT_VISITED = -2; // Parent of word which isn't visited by search.
+
+    private static final int NO_PARENT = -1; // Parent of the first word of words chain.
+
+    private static final int INITIAL_SEARCH_QUEUE_SIZE = 16; // Initial size of queue of search of split check.
+
+    // Nested classes.
+
+    /**
+     * Immutable entry of word: word, sorted identifiers of its neighbors and label of its connected component.
+     */
+    private static final class WordEntry {
+
+        // Private fields.
+
+        private final String mWord; // Word.
+
+        private final int[] mNeighbors; // Sorted identifiers of neighbors.
+
+        private final int mComponent; // Label of connected component.
+
+        // Public methods.
+
+        /** Constructor. */
+        public WordEntry(String word, int[] neighbors, int component){
+            mWord = word;
+            mNeighbors = neighbors;
+            mComponent = component;
+        }
+    } // class WordEntry
+
+    /**
+     * Immutable snapshot of index: it isn't affected by later updates and can be used by any count of concurrent
+     * searches.
+     */
+    public static final class Snapshot {
+
+        // Private fields.
+
+        private final int mWordsLength; // Length of words.
+
+        private final int mWordsCount; // Count of words.
+
+        private final int mIdsCount; // Count of identifiers: all identifiers are less than it.
+
+        private final char[] mAlphabet; // Sorted letters used in words.
+
+        private final WordEntry[][] mEntries; // Chunks of entries of words by identifiers.
+
+        private final int[][] mTable; // Chunks of hash table.
+
+        private final int mTableMask; // Mask of slot index of hash table.
+
+        // Public methods.
+
+        /** Gets length of words. */
+        public int getWordsLength(){
+            return mWordsLength;
+        }
+
+        /** Gets count of words. */
+        public int getWordsCount(){
+            return mWordsCount;
+        }
+
+        /** Gets count of identifiers: identifiers of words are less than it, some identifiers can be free. */
+        public int getIdsCount(){
+            return mIdsCount;
+        }
+
+        /** Gets word by identifier.
+         *  @return Word or null if identifier is free.
+         * */
+        public String getWord(int wordId){
+            WordEntry entry = _getEntry(mEntries, wordId);
+
+            return (entry != null ? entry.mWord : null);
+        }
+
+        /** Gets identifier of word.
+         *  @return Word identifier or -1 if word is absent.
+         * */
+        public int getWordId(String word){
+            assert word != null;
+
+            return (word.length() == mWordsLength ? _lookUp(mEntries, mTable, mTableMask, word) : -1);
+        }
+
+        /** Checks if word is contained in snapshot. */
+        public boolean contains(String word){
+            return getWordId(word) >= 0;
+        }
+
+        /** Gets maximum count of neighbors of one word. */
+        public int getMaxNeighborsCount(){
+            return mWordsLength * Math.max(mAlphabet.length - 1, 0);
+        }
+
+        /** Gets count of neighbors of word. */
+        public int getNeighborsCount(int wordId){
+            return _getEntry(mEntries, wordId).mNeighbors.length;
+        }
+
+        /** Gets neighbor of word by index (neighbors are sorted by identifiers). */
+        public int getNeighbor(int wordId, int index){
+            return _getEntry(mEntries, wordId).mNeighbors[index];
+        }
+
+        /** Gets label of connected component of word: words are connected if their labels are equal. */
+        public int getComponent(int wordId){
+            return _getEntry(mEntries, wordId).mComponent;
+        }
+
+        /** Finds one of the shortest words chains by breadth first search, start word can be absent.
+         *  @param inputWords Input words.
+         *  @param maxWordsChainLength Maximum length of words chain.
+         *  @return Words chain from start to end word or empty list if there is no chain not longer than maximum.
+         *  @exception PuzzleException End word is absent in snapshot.
+         * */
+        public List<String> findWordsChain(InputWords inputWords, int maxWordsChainLength) throws PuzzleException {
+            assert inputWords != null;
+            assert inputWords.getLength() == mWordsLength;
+            assert maxWordsChainLength > 0;
+
+            int endWordId = getWordId(inputWords.getEndWord());
+
+            if(endWordId < 0){
+                throw new PuzzleException(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY);
+            }
+
+            int startWordId = getWordId(inputWords.getStartWord());
+            int[] seeds = (startWordId >= 0 ? new int[]{startWordId} : _findNeighbors(inputWords.getStartWord()));
+            int seedsDepth = (startWordId >= 0 ? 1 : 2); // Length of chain which ends with seed.
+
+            List<String> wordsChain = new ArrayList<>();
+
+            if(startWordId < 0 || getComponent(startWordId) == getComponent(endWordId)){
+                int[] parents = new int[mIdsCount];
+                int[] queue = new int[mWordsCount];
+                int queueBegin = 0;
+                int queueEnd = 0;
+
+                Arrays.fill(parents, NOT_VISITED);
+
+                for(int seed : seeds){
+                    if(getComponent(seed) == getComponent(endWordId)){
+                        parents[seed] = NO_PARENT;
+                        queue[queueEnd++] = seed;
+                    }
+                }
+
+                // Breadth first search layer by layer until end word is reached or maximum length is exceeded.
+                int depth = seedsDepth;
+
+                while(queueBegin < queueEnd && parents[endWordId] == NOT_VISITED && depth < maxWordsChainLength){
+                    int layerEnd = queueEnd;
+
+                    while(queueBegin < layerEnd){
+                        int wordId = queue[queueBegin++];
+
+                        for(int neighborId : _getEntry(mEntries, wordId).mNeighbors){
+                            if(parents[neighborId] == NOT_VISITED){
+                                parents[neighborId] = wordId;
+                                queue[queueEnd++] = neighborId;
+                            }
+                        }
+                    }
+
+                    depth++;
+                }
+
+                if(parents[endWordId] != NOT_VISITED && depth <= maxWordsChainLength){
+                    for(int wordId = endWordId; wordId != NO_PARENT; wordId = parents[wordId]){
+                        wordsChain.add(getWord(wordId));
+                    }
+
+                    if(startWordId < 0){
+                        wordsChain.add(inputWords.getStartWord());
+                    }
+
+                    Collections.reverse(wordsChain);
+                }
+            }
+
+            return wordsChain;
+        }
+
+        // Private methods.
+
+        /** Constructor. */
+        private Snapshot(int wordsLength, int wordsCount, int idsCount, char[] alphabet, WordEntry[][] entries,
+                         int[][] table, int tableMask){
+            mWordsLength = wordsLength;
+            mWordsCount = wordsCount;
+            mIdsCount = idsCount;
+            mAlphabet = alphabet;
+            mEntries = entries;
+            mTable = table;
+            mTableMask = tableMask;
+        }
+
+        /** Finds identifiers of words which are one letter different from word. */
+        private int[] _findNeighbors(String word){
+            return _findVariants(mEntries, mTable, mTableMask, mAlphabet, word);
+        }
+    } // class Snapshot
+
+    // Private fields.
+
+    private final int mWordsLength; // Length of words.
+
+    private char[] mAlphabet; // Sorted letters used in words (array is replaced when letter is added).
+
+    private int mWordsCount; // Count of words.
+
+    private int mIdsCount; // Count of used identifiers (including free ones).
+
+    private int[] mFreeIds; // Stack of free identifiers.
+
+    private int mFreeIdsCount; // Count of free identifiers.
+
+    private WordEntry[][] mEntries; // Chunks of entries of words by identifiers.
+
+    private boolean[] mOwnedEntriesChunks; // Flags of entries chunks copied after the last publication.
+
+    private int[][] mTable; // Chunks of hash table: slot contains word identifier + 1, EMPTY_SLOT or REMOVED_SLOT.
+
+    private boolean[] mOwnedTableChunks; // Flags of hash table chunks copied after the last publication.
+
+    private int mTableCapacity; // Count of slots of hash table (power of two).
+
+    private int mTableUsedCount; // Count of not empty slots of hash table (including removed).
+
+    private final Map<Integer, Integer> mComponentsSizes = new HashMap<>(); // Sizes of components by labels.
+
+    private int mNextComponent; // Label of the next new component.
+
+    private int[] mStamps; // Stamps of visited words by identifiers.
+
+    private int[] mSearches; // Indexes of searches of split check which visited words by identifiers.
+
+    private int mStamp; // Current stamp.
+
+    private int[] mQueue; // Queue of traversal.
+
+    private volatile Snapshot mSnapshot; // The last published snapshot.
+
+    // Public methods.
+
+    /** Constructor: creates empty index.
+     *  @param wordsLength Length of words.
+     * */
+    public IncrementalWordsIndex(int wordsLength){
+        assert wordsLength > 0;
+
+        mWordsLength = wordsLength;
+        mAlphabet = new char[0];
+
+        mFreeIds = new int[CHUNK_SIZE];
+        mEntries = new WordEntry[0][];
+        mOwnedEntriesChunks = new boolean[0];
+        mStamps = new int[0];
+        mSearches = new int[0];
+        mQueue = new int[0];
+
+        _rebuildTable(CHUNK_SIZE);
+        _publish();
+    }
+
+    /** Constructor: creates index of vocabulary words of given length.
+     *  @param vocabulary Vocabulary.
+     *  @param wordsLength Length of words, words of other length are ignored.
+     * */
+    public IncrementalWordsIndex(Vocabulary vocabulary, int wordsLength){
+        this(wordsLength);
+
+        update(Arrays.asList(VocabularySnapshot.copySortedWords(vocabulary.getWordsSet(), wordsLength)),
+                Collections.<String>emptyList());
+    }
+
+    /** Gets length of words. */
+    public int getWordsLength(){
+        return mWordsLength;
+    }
+
+    /** Gets the last published snapshot (it reflects all completed updates). */
+    public Snapshot getSnapshot(){
+        return mSnapshot;
+    }
+
+    /** Adds word.
+     *  @return True if word is added, false if it is already contained in index.
+     *  @exception IllegalArgumentException Length of word differs from length of words of index.
+     * */
+    public boolean addWord(String word){
+        return update(Collections.singletonList(word), Collections.<String>emptyList());
+    }
+
+    /** Removes word.
+     *  @return True if word is removed, false if it is absent in index.
+     *  @exception IllegalArgumentException Length of word differs from length of words of index.
+     * */
+    public boolean removeWord(String word){
+        return update(Collections.<String>emptyList(), Collections.singletonList(word));
+    }
+
+    /** Removes and adds words and publishes one snapshot with all changes.
+     *  @param addedWords Words to add (words which are already contained are skipped).
+     *  @param removedWords Words to remove (absent words are skipped), they are removed before adding.
+     *  @return True if index is changed.
+     *  @exception IllegalArgumentException Length of some word differs from length of words of index.
+     * */
+    public synchronized boolean update(Collection<String> addedWords, Collection<String> removedWords){
+        assert addedWords != null;
+        assert removedWords != null;
+
+        for(String word : addedWords){
+            _checkWord(word);
+        }
+
+        for(String word : removedWords){
+            _checkWord(word);
+        }
+
+        boolean isChanged = false;
+
+        for(String word : removedWords){
+            isChanged |= _removeWord(word);
+        }
+
+        for(String word : addedWords){
+            isChanged |= _addWord(word);
+        }
+
+        if(isChanged){
+            _publish();
+        }
+
+        return isChanged;
+    }
+
+    // Package private methods.
+
+    /** Gets count of words of connected component.
+     *  @param component Label of component of word of the last snapshot.
+     *  @return Count of words or 0 if there is no such component.
+     * */
+    synchronized int getComponentSize(int component){
+        Integer size = mComponentsSizes.get(component);
+
+        return (size != null ? size : 0);
+    }
+
+    // Private methods.
+
+    /** Gets entry of word by identifier. */
+    private static WordEntry _getEntry(WordEntry[][] entries, int wordId){
+        return entries[wordId >>> CHUNK_SHIFT][wordId & CHUNK_MASK];
+    }
+
+    /** Gets slot of hash table for word hash. */
+    private static int _getSlot(String word, int tableMask){
+        int hash = word.hashCode() * 0x9E3779B9;
+
+        return (hash ^ (hash >>> 16)) & tableMask;
+    }
+
+    /** Looks up word in hash table.
+     *  @return Word identifier or -1 if word is absent.
+     * */
+    private static int _lookUp(WordEntry[][] entries, int[][] table, int tableMask, String word){
+        int slot = _getSlot(word, tableMask);
+        int value = table[slot >>> CHUNK_SHIFT][slot & CHUNK_MASK];
+        int wordId = -1;
+
+        while(value != EMPTY_SLOT && wordId < 0){
+            if(value != REMOVED_SLOT && _getEntry(entries, value - 1).mWord.equals(word)){
+                wordId = value - 1;
+            } else {
+                slot = (slot + 1) & tableMask;
+                value = table[slot >>> CHUNK_SHIFT][slot & CHUNK_MASK];
+            }
+        }
+
+        return wordId;
+    }
+
+    /** Finds identifiers of words which are one letter different from word.
+     *  @return Sorted identifiers.
+     * */
+    private static int[] _findVariants(WordEntry[][] entries, int[][] table, int tableMask, char[] alphabet,
+                                       String word){
+        char[] chars = word.toCharArray();
+        int[] variants = new int[word.length() * alphabet.length];
+        int variantsCount = 0;
+
+        for(int position = 0; position < chars.length; position++){
+            char letter = chars[position];
+
+            for(char otherLetter : alphabet){
+                if(otherLetter != letter){
+                    chars[position] = otherLetter;
+
+                    int variantId = _lookUp(entries, table, tableMask, new String(chars));
+
+                    if(variantId >= 0){
+                        variants[variantsCount++] = variantId;
+                    }
+                }
+            }
+
+            chars[position] = letter;
+        }
+
+        variants = (variantsCount > 0 ? Arrays.copyOf(variants, variantsCount) : NO_NEIGHBORS);
+        Arrays.sort(variants);
+
+        return variants;
+    }
+
+    /** Checks word of update.
+     *  @exception IllegalArgumentException Length of word differs from length of words of index.
+     * */
+    private void _checkWord(String word){
+        if(word == null || word.length() != mWordsLength){
+            throw new IllegalArgumentException("Word length differs from index words length: " + word);
+        }
+    }
+
+    /** Publishes snapshot of current state, chunks modified later are copied. */
+    private void _publish(){
+        mSnapshot = new Snapshot(mWordsLength, mWordsCount, mIdsCount, mAlphabet, mEntries.clone(),
+                mTable.clone(), mTableCapacity - 1);
+
+        Arrays.fill(mOwnedEntriesChunks, false);
+        Arrays.fill(mOwnedTableChunks, false);
+    }
+
+    /** Adds word.
+     *  @return True if word is added.
+     * */
+    private boolean _addWord(String word){
+        boolean isAdded = false;
+
+        if(_lookUp(mEntries, mTable, mTableCapacity - 1, word) < 0){
+            _extendAlphabet(word);
+
+            int[] neighbors = _findVariants(mEntries, mTable, mTableCapacity - 1, mAlphabet, word);
+            int component = _mergeComponents(neighbors);
+
+            int wordId = _allocateId();
+
+            // Word is inserted to hash table before its entry is set: rebuild of table skips it.
+            _insertToTable(word, wordId);
+            _setEntry(wordId, new WordEntry(word, neighbors, component));
+
+            for(int neighborId : neighbors){
+                WordEntry entry = _getEntry(mEntries, neighborId);
+
+                _setEntry(neighborId, new WordEntry(entry.mWord, _insertId(entry.mNeighbors, wordId),
+                        entry.mComponent));
+            }
+
+            mWordsCount++;
+            isAdded = true;
+        }
+
+        return isAdded;
+    }
+
+    /** Removes word.
+     *  @return True if word is removed.
+     * */
+    private boolean _removeWord(String word){
+        int wordId = _lookUp(mEntries, mTable, mTableCapacity - 1, word);
+
+        if(wordId >= 0){
+            WordEntry removedEntry = _getEntry(mEntries, wordId);
+
+            for(int neighborId : removedEntry.mNeighbors){
+                WordEntry entry = _getEntry(mEntries, neighborId);
+
+                _setEntry(neighborId, new WordEntry(entry.mWord, _removeId(entry.mNeighbors, wordId),
+                        entry.mComponent));
+            }
+
+            _removeFromTable(word);
+            _setEntry(wordId, null);
+
+            if(mFreeIdsCount == mFreeIds.length){
+                mFreeIds = Arrays.copyOf(mFreeIds, 2 * mFreeIds.length);
+            }
+
+            mFreeIds[mFreeIdsCount++] = wordId;
+            mWordsCount--;
+
+            _splitComponent(removedEntry.mComponent, removedEntry.mNeighbors);
+        }
+
+        return (wordId >= 0);
+    }
+
+    /** Adds letters of word to alphabet. */
+    private void _extendAlphabet(String word){
+        for(int position = 0; position < word.length(); position++){
+            char letter = word.charAt(position);
+
+            if(Arrays.binarySearch(mAlphabet, letter) < 0){
+                // Array is replaced: published snapshots keep their alphabets.
+                char[] alphabet = Arrays.copyOf(mAlphabet, mAlphabet.length + 1);
+                alphabet[mAlphabet.length] = letter;
+                Arrays.sort(alphabet);
+
+                mAlphabet = alphabet;
+            }
+        }
+    }
+
+    /** Allocates identifier for new word. */
+    private int _allocateId(){
+        int wordId;
+
+        if(mFreeIdsCount > 0){
+            wordId = mFreeIds[--mFreeIdsCount];
+        } else {
+            wordId = mIdsCount++;
+
+            int chunk = wordId >>> CHUNK_SHIFT;
+
+            if(chunk == mEntries.length){
+                mEntries = Arrays.copyOf(mEntries, chunk + 1);
+                mOwnedEntriesChunks = Arrays.copyOf(mOwnedEntriesChunks, chunk + 1);
+
+                // New chunk isn't referenced by snapshots.
+                mEntries[chunk] = new WordEntry[CHUNK_SIZE];
+                mOwnedEntriesChunks[chunk] = true;
+
+                mStamps = Arrays.copyOf(mStamps, mEntries.length * CHUNK_SIZE);
+                mSearches = new int[mEntries.length * CHUNK_SIZE];
+                mQueue = new int[mEntries.length * CHUNK_SIZE];
+            }
+        }
+
+        return wordId;
+    }
+
+    /** Sets entry of word, chunk of entries is copied if it is referenced by published snapshot. */
+    private void _setEntry(int wordId, WordEntry entry){
+        int chunk = wordId >>> CHUNK_SHIFT;
+
+        if(!mOwnedEntriesChunks[chunk]){
+            mEntries[chunk] = mEntries[chunk].clone();
+            mOwnedEntriesChunks[chunk] = true;
+        }
+
+        mEntries[chunk][wordId & CHUNK_MASK] = entry;
+    }
+
+    /** Sets slot of hash table, chunk of table is copied if it is referenced by published snapshot. */
+    private void _setTableSlot(int slot, int value){
+        int chunk = slot >>> CHUNK_SHIFT;
+
+        if(!mOwnedTableChunks[chunk]){
+            mTable[chunk] = mTable[chunk].clone();
+            mOwnedTableChunks[chunk] = true;
+        }
+
+        mTable[chunk][slot & CHUNK_MASK] = value;
+    }
+
+    /** Inserts word to hash table, table is rebuilt if its load exceeds half of capacity. */
+    private void _insertToTable(String word, int wordId){
+        if(2 * (mTableUsedCount + 1) > mTableCapacity){
+            _rebuildTable(Math.max(CHUNK_SIZE, Integer.highestOneBit(Math.max(1, 4 * (mWordsCount + 1)))));
+        }
+
+        int tableMask = mTableCapacity - 1;
+        int slot = _getSlot(word, tableMask);
+
+        while(mTable[slot >>> CHUNK_SHIFT][slot & CHUNK_MASK] > EMPTY_SLOT){
+            slot = (slot + 1) & tableMask;
+        }
+
+        if(mTable[slot >>> CHUNK_SHIFT][slot & CHUNK_MASK] == EMPTY_SLOT){
+            mTableUsedCount++;
+        }
+
+        _setTableSlot(slot, wordId + 1);
+    }
+
+    /** Marks slot of word in hash table as removed. */
+    private void _removeFromTable(String word){
+        int tableMask = mTableCapacity - 1;
+        int slot = _getSlot(word, tableMask);
+        int value = mTable[slot >>> CHUNK_SHIFT][slot & CHUNK_MASK];
+
+        while(value == REMOVED_SLOT || !_getEntry(mEntries, value - 1).mWord.equals(word)){
+            slot = (slot + 1) & tableMask;
+            value = mTable[slot >>> CHUNK_SHIFT][slot & CHUNK_MASK];
+        }
+
+        _setTableSlot(slot, REMOVED_SLOT);
+    }
+
+    /** Rebuilds hash table with given capacity (power of two, not less than chunk size) without removed slots. */
+    private void _rebuildTable(int capacity){
+        mTableCapacity = capacity;
+        mTableUsedCount = 0;
+        mTable = new int[capacity >>> CHUNK_SHIFT][CHUNK_SIZE];
+        mOwnedTableChunks = new boolean[mTable.length];
+
+        Arrays.fill(mOwnedTableChunks, true);
+
+        for(int wordId = 0; wordId < mIdsCount; wordId++){
+            WordEntry entry = _getEntry(mEntries, wordId);
+
+            if(entry != null){
+                _insertToTable(entry.mWord, wordId);
+            }
+        }
+    }
+
+    /** Merges components of neighbors of new word.
+     *  @return Label of component of new word.
+     * */
+    private int _mergeComponents(int[] neighbors){
+        int component;
+
+        if(neighbors.length == 0){
+            component = mNextComponent++;
+            mComponentsSizes.put(component, 1);
+        } else {
+            // The largest component keeps its label, others are relabeled.
+            component = _getEntry(mEntries, neighbors[0]).mComponent;
+
+            for(int neighborId : neighbors){
+                int neighborComponent = _getEntry(mEntries, neighborId).mComponent;
+
+                if(mComponentsSizes.get(neighborComponent) > mComponentsSizes.get(component)){
+                    component = neighborComponent;
+                }
+            }
+
+            int size = mComponentsSizes.get(component) + 1;
+
+            for(int neighborId : neighbors){
+                int neighborComponent = _getEntry(mEntries, neighborId).mComponent;
+
+                if(neighborComponent != component){
+                    size += mComponentsSizes.remove(neighborComponent);
+
+                    mStamp++;
+                    _traverse(neighborId, component);
+                }
+            }
+
+            mComponentsSizes.put(component, size);
+        }
+
+        return component;
+    }
+
+    /** Splits component of removed word if its neighbors became disconnected.
+     *  Breadth first searches from all neighbors run interleaved (one word per search at a time), searches which
+     *  meet each other are joined to one group. Searching stops when one group remains: usually neighbors meet
+     *  after a few steps and component isn't split. Group which is exhausted while others remain is separate
+     *  part of component, it is not larger than parts of other groups (approximately), so it gets new label
+     *  and the remaining part of component keeps its label, like merging relabels smaller components.
+     * */
+    private void _splitComponent(int component, int[] neighbors){
+        int size = mComponentsSizes.remove(component) - 1;
+        int searchesCount = neighbors.length;
+
+        if(searchesCount > 0){
+            mStamp++;
+
+            int[][] queues = new int[searchesCount][];
+            int[] queuesBegins = new int[searchesCount];
+            int[] queuesEnds = new int[searchesCount];
+            int[] groups = new int[searchesCount]; // Parents of searches in trees of groups (root is group).
+            int[] activeSearchesCounts = new int[searchesCount]; // Counts of not exhausted searches by groups.
+            int groupsCount = searchesCount;
+
+            for(int search = 0; search < searchesCount; search++){
+                queues[search] = new int[INITIAL_SEARCH_QUEUE_SIZE];
+                queues[search][queuesEnds[search]++] = neighbors[search];
+                groups[search] = search;
+                activeSearchesCounts[search] = 1;
+
+                mStamps[neighbors[search]] = mStamp;
+                mSearches[neighbors[search]] = search;
+            }
+
+            while(groupsCount > 1){
+                for(int search = 0; search < searchesCount && groupsCount > 1; search++){
+                    if(queuesBegins[search] < queuesEnds[search]){
+                        int wordId = queues[search][queuesBegins[search]++];
+
+                        for(int neighborId : _getEntry(mEntries, wordId).mNeighbors){
+                            if(mStamps[neighborId] != mStamp){
+                                mStamps[neighborId] = mStamp;
+                                mSearches[neighborId] = search;
+
+                                if(queuesEnds[search] == queues[search].length){
+                                    queues[search] = Arrays.copyOf(queues[search], 2 * queues[search].length);
+                                }
+
+                                queues[search][queuesEnds[search]++] = neighborId;
+                            } else {
+                                int group = _findGroup(groups, search);
+                                int otherGroup = _findGroup(groups, mSearches[neighborId]);
+
+                                if(group != otherGroup){
+                                    groups[otherGroup] = group;
+                                    activeSearchesCounts[group] += activeSearchesCounts[otherGroup];
+                                    groupsCount--;
+                                }
+                            }
+                        }
+
+                        int group = _findGroup(groups, search);
+
+                        if(queuesBegins[search] == queuesEnds[search] && --activeSearchesCounts[group] == 0 &&
+                                groupsCount > 1){
+                            // Group is exhausted: its words are separate part of component.
+                            int newComponent = mNextComponent++;
+                            int newComponentSize = 0;
+
+                            for(int groupSearch = 0; groupSearch < searchesCount; groupSearch++){
+                                if(_findGroup(groups, groupSearch) == group){
+                                    for(int i = 0; i < queuesEnds[groupSearch]; i++){
+                                        int partWordId = queues[groupSearch][i];
+                                        WordEntry entry = _getEntry(mEntries, partWordId);
+
+                                        _setEntry(partWordId, new WordEntry(entry.mWord, entry.mNeighbors,
+                                                newComponent));
+                                    }
+
+                                    newComponentSize += queuesEnds[groupSearch];
+                                }
+                            }
+
+                            mComponentsSizes.put(newComponent, newComponentSize);
+                            size -= newComponentSize;
+                            groupsCount--;
+                        }
+                    }
+                }
+            }
+
+            mComponentsSizes.put(component, size);
+        }
+    }
+
+    /** Finds group of search (root of its tree), path to root is halved. */
+    private static int _findGroup(int[] groups, int search){
+        while(groups[search] != search){
+            groups[search] = groups[groups[search]];
+            search = groups[search];
+        }
+
+        return search;
+    }
+
+    /** Traverses words reachable from start word, marks them by current stamp and sets their component label.
+     *  @return Count of traversed words.
+     * */
+    private int _traverse(int startWordId, int component){
+        int queueBegin = 0;
+        int queueEnd = 0;
+
+        mStamps[startWordId] = mStamp;
+        mQueue[queueEnd++] = startWordId;
+
+        while(queueBegin < queueEnd){
+            int wordId = mQueue[queueBegin++];
+            WordEntry entry = _getEntry(mEntries, wordId);
+
+            if(entry.mComponent != component){
+                _setEntry(wordId, new WordEntry(entry.mWord, entry.mNeighbors, component));
+            }
+
+            for(int neighborId : entry.mNeighbors){
+                if(mStamps[neighborId] != mStamp){
+                    mStamps[neighborId] = mStamp;
+                    mQueue[queueEnd++] = neighborId;
+                }
+            }
+        }
+
+        return queueEnd;
+    }
+
+    /** Inserts identifier to sorted array.
+     *  @return New sorted array.
+     * */
+    private static int[] _insertId(int[] ids, int id){
+        int index = -Arrays.binarySearch(ids, id) - 1;
+
+        assert index >= 0;
+
+        int[] newIds = new int[ids.length + 1];
+
+        System.arraycopy(ids, 0, newIds, 0, index);
+        newIds[index] = id;
+        System.arraycopy(ids, index, newIds, index + 1, ids.length - index);
+
+        return newIds;
+    }
+
+    /** Removes identifier from sorted array.
+     *  @return New sorted array.
+     * */
+    private static int[] _removeId(int[] ids, int id){
+        int index = Arrays.binarySearch(ids, id);
+
+        assert index >= 0;
+
+        int[] newIds = (ids.length > 1 ? new int[ids.length - 1] : NO_NEIGHBORS);
+
+        System.arraycopy(ids, 0, newIds, 0, index);
+        System.arraycopy(ids, index + 1, newIds, index, ids.length - index - 1);
+
+        return newIds;
+    }
+} // class IncrementalWordsIndex
@@ -0,0 +1,449 @@
+/***************************************************************************************************
+ * @file KShortestWordsChains.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the KShortestWordsChains class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * K shortest loopless words chains engine (Yen's algorithm) over words graph.
+ * Reverse breadth first search tree of end word (distances to end word) is built once per end word and reused
+ * by every spur search as exact lower bound: spur searches are A* searches which follow the tree while it is
+ * not blocked by removed words and edges. Search buffers are allocated once and reused between spur searches.
+ * Chains are returned in ascending order of length.
+ */
+public final class KShortestWordsChains {
+
+    // Private static constants.
+
+    private static final int UNREACHABLE = Integer.MAX_VALUE; // Distance to unreachable word.
+
+    private static final String SEARCH_ENGINE_NAME = "K shortest chains"; // Name of search engine in events.
+
+    // Private fields.
+
+    private WordsGraph mGraph; // Words graph.
+
+    // Node of start word which is absent in graph: it gets identifier equal to count of words in graph.
+    private int mVirtualStartNode;
+
+    private int[] mVirtualStartNeighbors; // Neighbors of start word which is absent in graph.
+
+    private int mEndWordId; // Identifier of end word for which mDistancesToEnd are calculated.
+
+    private int[] mDistancesToEnd; // Distances to end word (reverse breadth first search tree).
+
+    // Spur search buffers.
+
+    private int mStamp; // Current spur search stamp.
+
+    private int[] mBlockedStamps; // Word is blocked in current spur search if its stamp equals mStamp.
+
+    private int[] mVisitedStamps; // Word is reached in current spur search if its stamp equals mStamp.
+
+    private int[] mClosedStamps; // Word is closed in current spur search if its stamp equals mStamp.
+
+    private int[] mDistances; // Distances from spur word.
+
+    private int[] mParents; // Parents of words in spur search tree.
+
+    private int[] mBlockedEdges; // Words which can't be reached directly from spur word.
+
+    private int mBlockedEdgesCount; // Count of elements in mBlockedEdges.
+
+    private int[][] mBuckets; // Open words grouped by estimated chain length.
+
+    private int[] mBucketsSizes; // Sizes of buckets.
+
+    // Public methods.
+
+    /** Constructor.
+     *  @param graph Words graph.
+     * */
+    public KShortestWordsChains(WordsGraph graph){
+        assert graph != null;
+
+        mGraph = graph;
+        mVirtualStartNode = graph.getWordsCount();
+        mEndWordId = -1;
+
+        int nodesCount = graph.getWordsCount() + 1;
+
+        mBlockedStamps = new int[nodesCount];
+        mVisitedStamps = new int[nodesCount];
+        mClosedStamps = new int[nodesCount];
+        mDistances = new int[nodesCount];
+        mParents = new int[nodesCount];
+        mBlockedEdges = new int[nodesCount];
+    }
+
+    /** Finds K shortest loopless words chains.
+     *  @param inputWords Input words.
+     *  @param chainsCount Required count of chains (K).
+     *  @param maxWordsChainLength Maximum length of words chain.
+     *  @return Results with distinct words chains, list contains less than K results if there are no more chains.
+     *  @exception PuzzleException End word is absent in vocabulary.
+     * */
+    public List<WordsChainPuzzle.Result> solve(InputWords inputWords, int chainsCount, int maxWordsChainLength)
+            throws PuzzleException {
+        assert inputWords != null;
+        assert inputWords.getLength() == mGraph.getWordsLength();
+        assert chainsCount > 0;
+        assert maxWordsChainLength > 0;
+
+        int endWordId = mGraph.getWordId(inputWords.getEndWord());
+
+        if(endWordId < 0){
+            throw new PuzzleException(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY);
+        }
+
+        // Reuse reverse breadth first search tree if end word is the same as in previous call.
+        if(endWordId != mEndWordId){
+            _buildDistancesToEnd(endWordId);
+        }
+
+        int startNode = mGraph.getWordId(inputWords.getStartWord());
+
+        if(startNode < 0){
+            startNode = mVirtualStartNode;
+            mVirtualStartNeighbors = mGraph.getNeighborIds(inputWords.getStartWord());
+        } else {
+            mVirtualStartNeighbors = new int[0];
+        }
+
+        _prepareBuckets(maxWordsChainLength);
+
+        PuzzleEvents.SearchEvent searchEvent = new PuzzleEvents.SearchEvent();
+        searchEvent.begin();
+
+        List<int[]> foundChains = _lookForKShortestChains(startNode, chainsCount, maxWordsChainLength);
+
+        searchEvent.engine = SEARCH_ENGINE_NAME;
+        searchEvent.wordsChainLength = (foundChains.isEmpty() ? 0 : foundChains.get(0).length);
+        searchEvent.commit(mGraph.getWordsLength(), mGraph.getWordsCount(),
+                (foundChains.isEmpty() ? PuzzleEvents.OUTCOME_NOT_FOUND : PuzzleEvents.OUTCOME_FOUND));
+
+        List<WordsChainPuzzle.Result> results = new ArrayList<>(foundChains.size());
+
+        for(int[] chain : foundChains){
+            WordsChainPuzzle.Result result = new WordsChainPuzzle.Result(inputWords);
+
+            result.getWordsChain().add(inputWords.getStartWord());
+
+            for(int i = 1; i < chain.length; i++){
+                result.getWordsChain().add(mGraph.getWord(chain[i]));
+            }
+
+            results.add(result);
+        }
+
+        return results;
+    }
+
+    // Private static methods.
+
+    /** Compares chains by length, chains of equal length are compared lexicographically. */
+    private static int _compareChains(int[] chain1, int[] chain2){
+        int result = chain1.length - chain2.length;
+
+        for(int i = 0; i < chain1.length && result == 0; i++){
+            result = (chain1[i] < chain2[i] ? -1 : (chain1[i] > chain2[i] ? 1 : 0));
+        }
+
+        return result;
+    }
+
+    /** Checks if two chains have equal prefixes of given length. */
+    private static boolean _hasEqualPrefix(int[] chain1, int[] chain2, int prefixLength){
+        boolean result = (chain1.length >= prefixLength && chain2.length >= prefixLength);
+
+        for(int i = 0; i < prefixLength && result; i++){
+            result = (chain1[i] == chain2[i]);
+        }
+
+        return result;
+    }
+
+    // Private methods.
+
+    /** Builds reverse breadth first search tree of end word: distances from every word to end word. */
+    private void _buildDistancesToEnd(int endWordId){
+        mEndWordId = endWordId;
+        mDistancesToEnd = new int[mGraph.getWordsCount() + 1];
+        Arrays.fill(mDistancesToEnd, UNREACHABLE);
+
+        int[] queue = new int[mGraph.getWordsCount()];
+        int queueBegin = 0;
+        int queueEnd = 0;
+
+        mDistancesToEnd[endWordId] = 0;
+        queue[queueEnd++] = endWordId;
+
+        while(queueBegin < queueEnd){
+            int wordId = queue[queueBegin++];
+
+            for(int i = 0; i < mGraph.getNeighborsCount(wordId); i++){
+                int neighborId = mGraph.getNeighbor(wordId, i);
+
+                if(mDistancesToEnd[neighborId] == UNREACHABLE){
+                    mDistancesToEnd[neighborId] = mDistancesToEnd[wordId] + 1;
+                    queue[queueEnd++] = neighborId;
+                }
+            }
+        }
+    }
+
+    /** Prepares buckets of open words for spur searches. */
+    private void _prepareBuckets(int maxWordsChainLength){
+        int bucketsCount = Math.min(maxWordsChainLength, mGraph.getWordsCount() + 1);
+
+        if(mBuckets == null || mBuckets.length < bucketsCount){
+            mBuckets = new int[bucketsCount][];
+            mBucketsSizes = new int[mBuckets.length];
+
+            for(int i = 0; i < mBuckets.length; i++){
+                mBuckets[i] = new int[4];
+            }
+        }
+    }
+
+    /** Gets count of neighbors of node (node can be virtual start node). */
+    private int _getNeighborsCount(int node){
+        return (node == mVirtualStartNode ? mVirtualStartNeighbors.length : mGraph.getNeighborsCount(node));
+    }
+
+    /** Gets neighbor of node (node can be virtual start node). */
+    private int _getNeighbor(int node, int index){
+        return (node == mVirtualStartNode ? mVirtualStartNeighbors[index] : mGraph.getNeighbor(node, index));
+    }
+
+    /** Gets lower bound of distance from node to end word. */
+    private int _getDistanceToEnd(int node){
+        int distance = mDistancesToEnd[node];
+
+        if(node == mVirtualStartNode){
+            distance = UNREACHABLE;
+
+            for(int neighborId : mVirtualStartNeighbors){
+                if(mDistancesToEnd[neighborId] != UNREACHABLE){
+                    distance = Math.min(distance, mDistancesToEnd[neighborId] + 1);
+                }
+            }
+        }
+
+        return distance;
+    }
+
+    /** Implements Yen's algorithm.
+     *  @param startNode Start node.
+     *  @param chainsCount Required count of chains.
+     *  @param maxWordsChainLength Maximum length of words chain.
+     *  @return List of chains of nodes.
+     * */
+    private List<int[]> _lookForKShortestChains(int startNode, int chainsCount, int maxWordsChainLength){
+        List<int[]> foundChains = new ArrayList<>(chainsCount);
+
+        // Candidate chains ordered by length.
+        TreeSet<int[]> candidates = new TreeSet<>(new Comparator<int[]>() {
+            @Override
+            public int compare(int[] chain1, int[] chain2) {
+                return _compareChains(chain1, chain2);
+            }
+        });
+
+        int[] shortestChain = _lookForSpurChain(new int[]{startNode}, 0, foundChains, maxWordsChainLength);
+
+        if(shortestChain != null){
+            foundChains.add(shortestChain);
+        }
+
+        boolean hasMoreChains = !foundChains.isEmpty();
+
+        while(hasMoreChains && foundChains.size() < chainsCount){
+            int[] previousChain = foundChains.get(foundChains.size() - 1);
+
+            // Every word of previous chain except end word is spur word.
+            for(int spurIndex = 0; spurIndex < previousChain.length - 1; spurIndex++){
+                int[] spurChain = _lookForSpurChain(previousChain, spurIndex, foundChains, maxWordsChainLength);
+
+                if(spurChain != null){
+                    candidates.add(spurChain);
+                }
+            }
+
+            // Chains which are already found can't be candidates.
+            int[] nextChain = null;
+
+            while(nextChain == null && !candidates.isEmpty()){
+                int[] candidate = candidates.pollFirst();
+
+                boolean isFound = false;
+
+                for(int[] foundChain : foundChains){
+                    isFound = isFound || Arrays.equals(foundChain, candidate);
+                }
+
+                if(!isFound){
+                    nextChain = candidate;
+                }
+            }
+
+            if(nextChain != null){
+                foundChains.add(nextChain);
+            } else {
+                // There are no more chains.
+                hasMoreChains = false;
+            }
+        }
+
+        return foundChains;
+    }
+
+    /** Looks for the shortest chain which has the same root as given chain and deviates from it in spur word.
+     *  Root words are blocked, edges from spur word which are used by found chains with the same root are blocked.
+     *  @param chain Chain which defines root.
+     *  @param spurIndex Index of spur word in chain.
+     *  @param foundChains Already found chains.
+     *  @param maxWordsChainLength Maximum length of words chain.
+     *  @return Total chain (root and spur chain) or null if there is no such chain.
+     * */
+    private int[] _lookForSpurChain(int[] chain, int spurIndex, List<int[]> foundChains, int maxWordsChainLength){
+        mStamp++;
+
+        int spurNode = chain[spurIndex];
+
+        // Block root words.
+        for(int i = 0; i < spurIndex; i++){
+            mBlockedStamps[chain[i]] = mStamp;
+        }
+
+        // Block edges from spur word used by found chains with the same root.
+        mBlockedEdgesCount = 0;
+
+        for(int[] foundChain : foundChains){
+            if(_hasEqualPrefix(foundChain, chain, spurIndex + 1) && foundChain.length > spurIndex + 1 &&
+                    !_isBlockedEdge(foundChain[spurIndex + 1])){
+                mBlockedEdges[mBlockedEdgesCount++] = foundChain[spurIndex + 1];
+            }
+        }
+
+        int maxSpurLength = maxWordsChainLength - 1 - spurIndex;
+
+        int[] totalChain = null;
+
+        int endDistance = _searchSpurChain(spurNode, maxSpurLength);
+
+        if(endDistance >= 0){
+            totalChain = new int[spurIndex + 1 + endDistance];
+
+            System.arraycopy(chain, 0, totalChain, 0, spurIndex);
+
+            int node = mEndWordId;
+
+            for(int i = totalChain.length - 1; i >= spurIndex; i--){
+                totalChain[i] = node;
+                node = mParents[node];
+            }
+        }
+
+        return totalChain;
+    }
+
+    /** Checks if edge from spur word to given word is blocked. */
+    private boolean _isBlockedEdge(int wordId){
+        boolean result = false;
+
+        for(int i = 0; i < mBlockedEdgesCount && !result; i++){
+            result = (mBlockedEdges[i] == wordId);
+        }
+
+        return result;
+    }
+
+    /** A* search from spur word to end word.
+     *  @param spurNode Spur node.
+     *  @param maxDistance Maximum distance from spur node to end word.
+     *  @return Distance from spur node to end word or -1 if end word wasn't reached.
+     * */
+    private int _searchSpurChain(int spurNode, int maxDistance){
+        int estimation = _getDistanceToEnd(spurNode);
+
+        int endDistance = -1;
+
+        // Loopless chain can't be longer than count of words.
+        maxDistance = Math.min(maxDistance, mBuckets.length - 1);
+
+        if(estimation <= maxDistance){
+            mVisitedStamps[spurNode] = mStamp;
+            mDistances[spurNode] = 0;
+            mParents[spurNode] = -1;
+            _pushToBucket(estimation, spurNode);
+
+            for(int bucket = estimation; bucket <= maxDistance && endDistance < 0; bucket++){
+                while(mBucketsSizes[bucket] > 0 && endDistance < 0){
+                    int node = mBuckets[bucket][--mBucketsSizes[bucket]];
+
+                    // Skip closed and outdated entries.
+                    if(mClosedStamps[node] != mStamp && mDistances[node] + _getDistanceToEnd(node) == bucket){
+                        mClosedStamps[node] = mStamp;
+
+                        if(node == mEndWordId){
+                            endDistance = mDistances[node];
+                        } else {
+                            _expandSpurSearchNode(node, spurNode, maxDistance);
+                        }
+                    }
+                }
+            }
+
+            // Clear buckets.
+            for(int bucket = estimation; bucket <= maxDistance; bucket++){
+                mBucketsSizes[bucket] = 0;
+            }
+        }
+
+        return endDistance;
+    }
+
+    /** Expands node in spur search.
+     *  Neighbors are pushed in descending order of identifiers, so search descends along the tree
+     *  through words with smaller identifiers first.
+     * */
+    private void _expandSpurSearchNode(int node, int spurNode, int maxDistance){
+        int distance = mDistances[node] + 1;
+
+        for(int i = _getNeighborsCount(node) - 1; i >= 0; i--){
+            int neighborId = _getNeighbor(node, i);
+
+            boolean isAllowed = (mBlockedStamps[neighborId] != mStamp) && (mClosedStamps[neighborId] != mStamp) &&
+                    (mDistancesToEnd[neighborId] != UNREACHABLE) && (node != spurNode || !_isBlockedEdge(neighborId));
+
+            if(isAllowed && (mVisitedStamps[neighborId] != mStamp || distance < mDistances[neighborId])){
+                int estimation = distance + mDistancesToEnd[neighborId];
+
+                if(estimation <= maxDistance){
+                    mVisitedStamps[neighborId] = mStamp;
+                    mDistances[neighborId] = distance;
+                    mParents[neighborId] = node;
+                    _pushToBucket(estimation, neighborId);
+                }
+            }
+        }
+    }
+
+    /** Pushes node to bucket of open nodes. */
+    private void _pushToBucket(int bucket, int node){
+        if(mBucketsSizes[bucket] == mBuckets[bucket].length){
+            mBuckets[bucket] = Arrays.copyOf(mBuckets[bucket], mBuckets[bucket].length * 2);
+        }
+
+        mBuckets[bucket][mBucketsSizes[bucket]++] = node;
+    }
+} // class KShortestWordsChains
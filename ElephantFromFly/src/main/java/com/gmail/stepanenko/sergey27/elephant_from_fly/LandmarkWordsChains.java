@@ -0,0 +1,291 @@
+/***************************************************************************************************
+ * @file LandmarkWordsChains.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the LandmarkWordsChains class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Goal-directed shortest words chain engine: A* search over words graph with ALT lower bounds.
+ * Estimation of distance from word to end word is the maximum of landmarks bound and count of different
+ * characters, both bounds are consistent, so every word is expanded at most once. Words of components which
+ * don't contain end word are never expanded.
+ * Search buffers are allocated once and reused between searches, so engine object must not be used by several
+ * threads concurrently.
+ */
+public final class LandmarkWordsChains {
+
+    // Private static constants.
+
+    private static final String SEARCH_ENGINE_NAME = "ALT A*"; // Name of search engine in events.
+
+    // Private fields.
+
+    private final WordsGraph mGraph; // Words graph.
+
+    private final WordsLandmarks mLandmarks; // Landmarks of words graph.
+
+    private final boolean mIsStatisticsEnabled; // Flag defines if search statistics is collected.
+
+    // Node of start word which is absent in graph: it gets identifier equal to count of words in graph.
+    private final int mVirtualStartNode;
+
+    private int[] mVirtualStartNeighbors; // Neighbors of start word which is absent in graph.
+
+    private String mEndWord; // End word of current search.
+
+    private int mEndWordId; // Identifier of end word of current search.
+
+    private SearchStatistics mStatistics; // Statistics of current search.
+
+    // Search buffers.
+
+    private int mStamp; // Current search stamp.
+
+    private final int[] mVisitedStamps; // Word is reached in current search if its stamp equals mStamp.
+
+    private final int[] mClosedStamps; // Word is expanded in current search if its stamp equals mStamp.
+
+    private final int[] mDistances; // Distances from start word.
+
+    private final int[] mEstimations; // Estimated distances to end word.
+
+    private final int[] mParents; // Parents of words in search tree.
+
+    private int[][] mBuckets; // Open words grouped by estimated chain length.
+
+    private int[] mBucketsSizes; // Sizes of buckets.
+
+    // Public methods.
+
+    /** Constructor: search statistics is not collected.
+     *  @param graph Words graph.
+     *  @param landmarks Landmarks of words graph.
+     * */
+    public LandmarkWordsChains(WordsGraph graph, WordsLandmarks landmarks){
+        this(graph, landmarks, false);
+    }
+
+    /** Constructor.
+     *  @param graph Words graph.
+     *  @param landmarks Landmarks of words graph.
+     *  @param isStatisticsEnabled Flag defines if search statistics is collected.
+     * */
+    public LandmarkWordsChains(WordsGraph graph, WordsLandmarks landmarks, boolean isStatisticsEnabled){
+        assert graph != null;
+        assert landmarks != null;
+
+        mGraph = graph;
+        mLandmarks = landmarks;
+        mIsStatisticsEnabled = isStatisticsEnabled;
+        mVirtualStartNode = graph.getWordsCount();
+
+        int nodesCount = graph.getWordsCount() + 1;
+
+        mVisitedStamps = new int[nodesCount];
+        mClosedStamps = new int[nodesCount];
+        mDistances = new int[nodesCount];
+        mEstimations = new int[nodesCount];
+        mParents = new int[nodesCount];
+    }
+
+    /** Looks for shortest words chain.
+     *  @param inputWords Input words.
+     *  @param maxWordsChainLength Maximum length of words chain.
+     *  @return Result of search.
+     *  @exception PuzzleException End word is absent in vocabulary.
+     * */
+    public WordsChainPuzzle.Result solve(InputWords inputWords, int maxWordsChainLength) throws PuzzleException {
+        assert inputWords != null;
+        assert inputWords.getLength() == mGraph.getWordsLength();
+        assert maxWordsChainLength > 0;
+
+        mEndWordId = mGraph.getWordId(inputWords.getEndWord());
+
+        if(mEndWordId < 0){
+            throw new PuzzleException(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY);
+        }
+
+        mEndWord = inputWords.getEndWord();
+        mStatistics = new SearchStatistics(mIsStatisticsEnabled);
+
+        long preparationStartNanos = (mIsStatisticsEnabled ? System.nanoTime() : 0);
+
+        int startNode = mGraph.getWordId(inputWords.getStartWord());
+
+        if(startNode < 0){
+            startNode = mVirtualStartNode;
+            mVirtualStartNeighbors = mGraph.getNeighborIds(inputWords.getStartWord());
+        }
+
+        // Loopless chain can't be longer than count of words.
+        int maxDistance = Math.min(maxWordsChainLength - 1, mGraph.getWordsCount());
+
+        _prepareBuckets(maxDistance + 1);
+
+        long searchStartNanos = (mIsStatisticsEnabled ? System.nanoTime() : 0);
+
+        PuzzleEvents.SearchEvent searchEvent = new PuzzleEvents.SearchEvent();
+        searchEvent.begin();
+
+        int endDistance = _search(startNode, inputWords.getStartWord(), maxDistance);
+
+        WordsChainPuzzle.Result result = new WordsChainPuzzle.Result(inputWords, mStatistics);
+
+        if(endDistance >= 0){
+            List<String> wordsChain = result.getWordsChain();
+
+            String[] chain = new String[endDistance + 1];
+            int node = mEndWordId;
+
+            for(int i = endDistance; i >= 0; i--){
+                chain[i] = (node == mVirtualStartNode ? inputWords.getStartWord() : mGraph.getWord(node));
+                node = mParents[node];
+            }
+
+            for(String word : chain){
+                wordsChain.add(word);
+            }
+        }
+
+        searchEvent.engine = SEARCH_ENGINE_NAME;
+        searchEvent.wordsChainLength = result.getWordsChain().size();
+        searchEvent.commit(mGraph.getWordsLength(), mGraph.getWordsCount(),
+                (result.isEmpty() ? PuzzleEvents.OUTCOME_NOT_FOUND : PuzzleEvents.OUTCOME_FOUND));
+
+        if(mIsStatisticsEnabled){
+            mStatistics.setPreparationTimeNanos(searchStartNanos - preparationStartNanos);
+            mStatistics.setSearchTimeNanos(System.nanoTime() - searchStartNanos);
+        }
+
+        return result;
+    }
+
+    // Private methods.
+
+    /** Prepares buckets of open words. */
+    private void _prepareBuckets(int bucketsCount){
+        if(mBuckets == null || mBuckets.length < bucketsCount){
+            mBuckets = new int[bucketsCount][];
+            mBucketsSizes = new int[mBuckets.length];
+
+            for(int i = 0; i < mBuckets.length; i++){
+                mBuckets[i] = new int[4];
+            }
+        }
+    }
+
+    /** Gets count of neighbors of node (node can be virtual start node). */
+    private int _getNeighborsCount(int node){
+        return (node == mVirtualStartNode ? mVirtualStartNeighbors.length : mGraph.getNeighborsCount(node));
+    }
+
+    /** Gets neighbor of node (node can be virtual start node). */
+    private int _getNeighbor(int node, int index){
+        return (node == mVirtualStartNode ? mVirtualStartNeighbors[index] : mGraph.getNeighbor(node, index));
+    }
+
+    /** Estimates distance from word to end word.
+     *  @return Lower bound of distance or WordsLandmarks.UNREACHABLE.
+     * */
+    private int _estimateDistanceToEnd(int wordId, String word){
+        int estimation = (wordId == mVirtualStartNode ? 0 : mLandmarks.getLowerBound(wordId, mEndWordId));
+
+        if(estimation != WordsLandmarks.UNREACHABLE){
+            estimation = Math.max(estimation, WordsChainPuzzle.calculateWordsDifference(word, mEndWord));
+
+            if(mIsStatisticsEnabled){
+                mStatistics.addWordsDifferenceCalculations(1);
+            }
+        }
+
+        return estimation;
+    }
+
+    /** Adds node to bucket. */
+    private void _pushToBucket(int bucket, int node){
+        if(mBucketsSizes[bucket] == mBuckets[bucket].length){
+            mBuckets[bucket] = Arrays.copyOf(mBuckets[bucket], mBuckets[bucket].length * 2);
+        }
+
+        mBuckets[bucket][mBucketsSizes[bucket]++] = node;
+    }
+
+    /** A* search from start node to end word.
+     *  @param startNode Start node.
+     *  @param startWord Start word.
+     *  @param maxDistance Maximum distance from start word to end word.
+     *  @return Distance from start word to end word or -1 if end word wasn't reached.
+     * */
+    private int _search(int startNode, String startWord, int maxDistance){
+        mStamp++;
+
+        int endDistance = -1;
+
+        int estimation = _estimateDistanceToEnd(startNode, startWord);
+
+        if(estimation <= maxDistance){
+            mVisitedStamps[startNode] = mStamp;
+            mDistances[startNode] = 0;
+            mEstimations[startNode] = estimation;
+            mParents[startNode] = -1;
+            _pushToBucket(estimation, startNode);
+
+            for(int bucket = estimation; bucket <= maxDistance && endDistance < 0; bucket++){
+                while(mBucketsSizes[bucket] > 0 && endDistance < 0){
+                    int node = mBuckets[bucket][--mBucketsSizes[bucket]];
+
+                    // Skip closed and outdated entries.
+                    if(mClosedStamps[node] != mStamp && mDistances[node] + mEstimations[node] == bucket){
+                        mClosedStamps[node] = mStamp;
+
+                        if(node == mEndWordId){
+                            endDistance = mDistances[node];
+                        } else {
+                            _expandNode(node, maxDistance);
+                        }
+                    }
+                }
+            }
+
+            // Clear buckets.
+            for(int bucket = estimation; bucket <= maxDistance; bucket++){
+                mBucketsSizes[bucket] = 0;
+            }
+        }
+
+        return endDistance;
+    }
+
+    /** Expands node: updates distances of its neighbors. */
+    private void _expandNode(int node, int maxDistance){
+        int distance = mDistances[node] + 1;
+
+        if(mIsStatisticsEnabled){
+            mStatistics.registerExpandedNode(mDistances[node]);
+        }
+
+        for(int i = _getNeighborsCount(node) - 1; i >= 0; i--){
+            int neighborId = _getNeighbor(node, i);
+
+            if(mVisitedStamps[neighborId] != mStamp){
+                mVisitedStamps[neighborId] = mStamp;
+                mDistances[neighborId] = Integer.MAX_VALUE;
+                mEstimations[neighborId] = _estimateDistanceToEnd(neighborId, mGraph.getWord(neighborId));
+            }
+
+            int estimation = mEstimations[neighborId];
+
+            if(distance < mDistances[neighborId] && estimation != WordsLandmarks.UNREACHABLE &&
+                    distance + estimation <= maxDistance){
+                mDistances[neighborId] = distance;
+                mParents[neighborId] = node;
+                _pushToBucket(distance + estimation, neighborId);
+            }
+        }
+    }
+} // class LandmarkWordsChains
@@ -0,0 +1,372 @@
+/***************************************************************************************************
+ * @file MultiSourceBfs.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the MultiSourceBfs class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bit-parallel breadth first search from many source words over words graph: distances from every source to every
+ * word (and optionally parents of shortest words chains) for bulk analytics.
+ * Sources are searched in batches of 64: every word keeps long bitmask of batch sources which reached it, one pass
+ * over graph per level moves whole masks across edges, so batch costs about one breadth first search.
+ * Level pass pulls masks of frontier from neighbors of word (graph is undirected): every word is written only by
+ * task which owns its range, so ranges of words are searched in parallel without synchronization, tasks of level
+ * are joined before the next level.
+ * Results are immutable after construction.
+ */
+public final class MultiSourceBfs {
+
+    // Private static constants.
+
+    private static final String INDEX_NAME = "Multi-source BFS"; // Name of index in events.
+
+    private static final int BATCH_SIZE = Long.SIZE; // Count of sources searched together.
+
+    private static final int CHUNK_SIZE = 4096; // Count of words in range of one task.
+
+    private static final int UNREACHABLE = -1; // Distance and parent of word which can't be reached from source.
+
+    // Private fields.
+
+    private final WordsGraph mGraph; // Words graph.
+
+    private final int[] mSourceIds; // Identifiers of source words.
+
+    private final int[][] mDistances; // Distances from sources to words (index of source, word identifier).
+
+    private final int[][] mParents; // Parents of words in trees of sources or null if parents aren't kept.
+
+    private final Executor mExecutor; // Executor of level tasks or null if levels are searched in calling thread.
+
+    // Words bitmasks of current batch: sources which reached words, which reached them on current level, next level.
+    private long[] mVisited;
+
+    private long[] mFrontier;
+
+    private long[] mNextFrontier;
+
+    // Public methods.
+
+    /** Constructor: searches from all sources in calling thread.
+     *  @param graph Words graph.
+     *  @param sourceIds Identifiers of source words in graph.
+     *  @param isParentsKept Flag of keeping parents of shortest words chains.
+     * */
+    public MultiSourceBfs(WordsGraph graph, int[] sourceIds, boolean isParentsKept){
+        this(graph, sourceIds, isParentsKept, null, false);
+
+        try {
+            _search();
+        } catch(InterruptedException exception){
+            // Levels are searched in calling thread, nothing waits.
+            throw new AssertionError(exception);
+        }
+    }
+
+    /** Constructor: searches from all sources, ranges of words of every level are searched by executor.
+     *  @param graph Words graph.
+     *  @param sourceIds Identifiers of source words in graph.
+     *  @param isParentsKept Flag of keeping parents of shortest words chains.
+     *  @param executor Executor of level tasks.
+     *  @exception InterruptedException Thread is interrupted while waiting for level tasks.
+     * */
+    public MultiSourceBfs(WordsGraph graph, int[] sourceIds, boolean isParentsKept, Executor executor)
+            throws InterruptedException {
+        this(graph, sourceIds, isParentsKept, executor, true);
+
+        _search(); // exception
+    }
+
+    /** Gets count of sources. */
+    public int getSourcesCount(){
+        return mSourceIds.length;
+    }
+
+    /** Gets identifier of source word.
+     *  @param sourceIndex Index of source in sources array given to constructor.
+     * */
+    public int getSourceId(int sourceIndex){
+        return mSourceIds[sourceIndex];
+    }
+
+    /** Checks if parents of shortest words chains are kept. */
+    public boolean isParentsKept(){
+        return mParents != null;
+    }
+
+    /** Gets count of steps from source word to word.
+     *  @param sourceIndex Index of source.
+     *  @param wordId Word identifier.
+     *  @return Distance or -1 if word can't be reached from source.
+     * */
+    public int getDistance(int sourceIndex, int wordId){
+        return mDistances[sourceIndex][wordId];
+    }
+
+    /** Gets length of shortest words chain from source word to word (count of words including both words)
+     *  or 0 if there are no words chains. */
+    public int getWordsChainLength(int sourceIndex, int wordId){
+        return mDistances[sourceIndex][wordId] + 1;
+    }
+
+    /** Gets parent of word in tree of source: neighbor which is one step closer to source word.
+     *  @param sourceIndex Index of source.
+     *  @param wordId Word identifier.
+     *  @return Identifier of parent (source word for source word itself) or -1 if word can't be reached.
+     *  @exception IllegalStateException Parents aren't kept.
+     * */
+    public int getParent(int sourceIndex, int wordId){
+        if(mParents == null){
+            throw new IllegalStateException("Parents of words aren't kept");
+        }
+
+        return mParents[sourceIndex][wordId];
+    }
+
+    /** Gets shortest words chain from source word to word.
+     *  @param sourceIndex Index of source.
+     *  @param wordId Word identifier.
+     *  @return Identifiers of words chain (from source word to given word) or null if word can't be reached.
+     *  @exception IllegalStateException Parents aren't kept.
+     * */
+    public int[] getWordsChain(int sourceIndex, int wordId){
+        int[] chain = null;
+
+        int distance = getDistance(sourceIndex, wordId);
+
+        if(distance >= 0){
+            chain = new int[distance + 1];
+
+            int currentId = wordId;
+
+            for(int i = distance; i >= 0; i--){
+                chain[i] = currentId;
+                currentId = getParent(sourceIndex, currentId); // exception
+            }
+        }
+
+        return chain;
+    }
+
+    /** Gets words graph of search. */
+    public WordsGraph getGraph(){
+        return mGraph;
+    }
+
+    // Private methods.
+
+    /** Constructor: prepares results of search.
+     *  @param isExecutorUsed Flag of searching levels by executor (executor isn't used if it is null).
+     * */
+    private MultiSourceBfs(WordsGraph graph, int[] sourceIds, boolean isParentsKept, Executor executor,
+                           boolean isExecutorUsed){
+        assert graph != null;
+        assert sourceIds != null;
+        assert !isExecutorUsed || executor != null;
+
+        int wordsCount = graph.getWordsCount();
+
+        for(int sourceId : sourceIds){
+            if(sourceId < 0 || sourceId >= wordsCount){
+                throw new IllegalArgumentException("Source word identifier is out of graph: " + sourceId);
+            }
+        }
+
+        mGraph = graph;
+        mSourceIds = sourceIds.clone();
+        mExecutor = executor;
+
+        mDistances = new int[mSourceIds.length][];
+        mParents = (isParentsKept ? new int[mSourceIds.length][] : null);
+
+        for(int sourceIndex = 0; sourceIndex < mSourceIds.length; sourceIndex++){
+            mDistances[sourceIndex] = new int[wordsCount];
+            Arrays.fill(mDistances[sourceIndex], UNREACHABLE);
+
+            if(mParents != null){
+                mParents[sourceIndex] = new int[wordsCount];
+                Arrays.fill(mParents[sourceIndex], UNREACHABLE);
+            }
+        }
+    }
+
+    /** Searches from all sources batch by batch. */
+    private void _search() throws InterruptedException {
+        int wordsCount = mGraph.getWordsCount();
+
+        PuzzleEvents.IndexBuildEvent buildEvent = new PuzzleEvents.IndexBuildEvent();
+        buildEvent.begin();
+
+        mVisited = new long[wordsCount];
+        mFrontier = new long[wordsCount];
+        mNextFrontier = new long[wordsCount];
+
+        for(int firstSourceIndex = 0; firstSourceIndex < mSourceIds.length; firstSourceIndex += BATCH_SIZE){
+            _searchBatch(firstSourceIndex, Math.min(BATCH_SIZE, mSourceIds.length - firstSourceIndex)); // exception
+        }
+
+        // Bitmasks are needed during search only.
+        mVisited = null;
+        mFrontier = null;
+        mNextFrontier = null;
+
+        buildEvent.index = INDEX_NAME;
+        buildEvent.commit(mGraph.getWordsLength(), wordsCount, PuzzleEvents.OUTCOME_SUCCESS);
+    }
+
+    /** Searches from batch of sources: bit of source in masks is its index in batch.
+     *  @param firstSourceIndex Index of the first source of batch.
+     *  @param sourcesCount Count of sources in batch.
+     * */
+    private void _searchBatch(int firstSourceIndex, int sourcesCount) throws InterruptedException {
+        Arrays.fill(mVisited, 0);
+        Arrays.fill(mFrontier, 0);
+
+        for(int bit = 0; bit < sourcesCount; bit++){
+            int sourceIndex = firstSourceIndex + bit;
+            int sourceId = mSourceIds[sourceIndex];
+
+            mVisited[sourceId] |= 1L << bit;
+            mFrontier[sourceId] |= 1L << bit;
+
+            mDistances[sourceIndex][sourceId] = 0;
+
+            if(mParents != null){
+                mParents[sourceIndex][sourceId] = sourceId;
+            }
+        }
+
+        // Mask of all sources of batch: words reached by all of them are skipped.
+        long batchMask = (sourcesCount == BATCH_SIZE ? -1L : (1L << sourcesCount) - 1);
+
+        boolean isFrontierEmpty = false;
+
+        for(int level = 1; !isFrontierEmpty; level++){
+            isFrontierEmpty = !_searchLevel(firstSourceIndex, batchMask, level); // exception
+
+            long[] frontier = mFrontier;
+            mFrontier = mNextFrontier;
+            mNextFrontier = frontier;
+        }
+    }
+
+    /** Searches level of batch: every range of words is searched by its own task.
+     *  @return True if any word is reached on this level.
+     * */
+    private boolean _searchLevel(final int firstSourceIndex, final long batchMask, final int level)
+            throws InterruptedException {
+        int wordsCount = mGraph.getWordsCount();
+        int chunksCount = (wordsCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        final boolean[] areWordsReached = new boolean[chunksCount];
+
+        if(mExecutor == null){
+            for(int chunk = 0; chunk < chunksCount; chunk++){
+                int begin = chunk * CHUNK_SIZE;
+
+                areWordsReached[chunk] = _searchRange(begin, Math.min(wordsCount, begin + CHUNK_SIZE), firstSourceIndex,
+                        batchMask, level);
+            }
+        } else {
+            final CountDownLatch latch = new CountDownLatch(chunksCount);
+            final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+            for(int chunk = 0; chunk < chunksCount; chunk++){
+                final int index = chunk;
+                final int begin = chunk * CHUNK_SIZE;
+                final int end = Math.min(wordsCount, begin + CHUNK_SIZE);
+
+                mExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            areWordsReached[index] = _searchRange(begin, end, firstSourceIndex, batchMask, level);
+                        } catch(RuntimeException exception){
+                            failure.compareAndSet(null, exception);
+                        } finally {
+                            latch.countDown();
+                        }
+                    }
+                });
+            }
+
+            // Latch also publishes results of tasks to this thread.
+            latch.await(); // exception
+
+            if(failure.get() != null){
+                throw failure.get();
+            }
+        }
+
+        boolean isAnyWordReached = false;
+
+        for(boolean isReached : areWordsReached){
+            isAnyWordReached |= isReached;
+        }
+
+        return isAnyWordReached;
+    }
+
+    /** Searches level of batch over range of words: pulls frontier masks of neighbors of every word.
+     *  @param begin Identifier of the first word of range.
+     *  @param end Identifier of word after the last word of range.
+     *  @return True if any word of range is reached on this level.
+     * */
+    private boolean _searchRange(int begin, int end, int firstSourceIndex, long batchMask, int level){
+        WordsGraph graph = mGraph;
+        long[] visited = mVisited;
+        long[] frontier = mFrontier;
+        long[] nextFrontier = mNextFrontier;
+
+        boolean isAnyWordReached = false;
+
+        for(int wordId = begin; wordId < end; wordId++){
+            long reached = 0;
+
+            if(visited[wordId] != batchMask){
+                int neighborsCount = graph.getNeighborsCount(wordId);
+
+                for(int i = 0; i < neighborsCount; i++){
+                    int neighborId = graph.getNeighbor(wordId, i);
+                    long newSources = frontier[neighborId] & ~visited[wordId] & ~reached;
+
+                    if(newSources != 0){
+                        reached |= newSources;
+
+                        // The first neighbor which brings source is parent of word in its tree.
+                        if(mParents != null){
+                            _setParents(newSources, firstSourceIndex, wordId, neighborId);
+                        }
+                    }
+                }
+
+                if(reached != 0){
+                    visited[wordId] |= reached;
+                    isAnyWordReached = true;
+
+                    for(long sources = reached; sources != 0; sources &= sources - 1){
+                        mDistances[firstSourceIndex + Long.numberOfTrailingZeros(sources)][wordId] = level;
+                    }
+                }
+            }
+
+            nextFrontier[wordId] = reached;
+        }
+
+        return isAnyWordReached;
+    }
+
+    /** Sets parent of word in trees of sources. */
+    private void _setParents(long sources, int firstSourceIndex, int wordId, int parentId){
+        for(long remainder = sources; remainder != 0; remainder &= remainder - 1){
+            mParents[firstSourceIndex + Long.numberOfTrailingZeros(remainder)][wordId] = parentId;
+        }
+    }
+} // class MultiSourceBfs
@@ -0,0 +1,553 @@
+/***************************************************************************************************
+ * @file OffHeapWordsGraph.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the OffHeapWordsGraph class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Words graph which keeps words table and adjacency lists outside of Java heap: in direct buffer or in buffer
+ * memory-mapped from graph file. Heap keeps only this object, so size of vocabulary doesn't affect heap size and
+ * garbage collection pauses. Searches read words and neighbors directly from buffer.
+ * Words identifiers and adjacency lists are the same as of WordsGraph (and of vocabulary snapshot), so graph can
+ * be used as neighbors provider of PrimitiveWordsChainPuzzle.
+ * Buffer layout (little-endian: byte order of common processors, so reads don't swap bytes), it is also format of
+ * graph file:
+ *   header:    magic (int), format version (int), words length (int), words count (int), neighbors count (int),
+ *              alphabet size (int), sorted alphabet characters (char per character);
+ *   offsets:   offsets of adjacency lists (int per word and one more);
+ *   neighbors: concatenated sorted adjacency lists (int per neighbor);
+ *   words:     packed characters of sorted words (char per character).
+ * Size of buffer is limited by 2 GB.
+ */
+public final class OffHeapWordsGraph implements WordsNeighborsProvider {
+
+    // Private static constants.
+
+    private static final int MAGIC = 0x57475831; // Magic number of graph file: "WGX1".
+
+    private static final int FORMAT_VERSION = 1; // Version of buffer layout.
+
+    private static final int HEADER_SIZE = 6 * Integer.BYTES; // Size of header without alphabet in bytes.
+
+    private static final String TEMPORARY_SUFFIX = ".tmp"; // Suffix of temporary file which is written.
+
+    private static final int NOT_VISITED = -2; // Parent of word which isn't visited by search.
+
+    private static final int NO_PARENT = -1; // Parent of the first word of words chain.
+
+    // Private fields.
+
+    private final ByteBuffer mBuffer; // Buffer with graph data.
+
+    private final int mWordsLength; // Length of words.
+
+    private final int mWordsCount; // Count of words.
+
+    private final char[] mAlphabet; // Sorted distinct characters used in words.
+
+    private final int mWordsPosition; // Byte position of words characters.
+
+    private final IntBuffer mOffsets; // View of offsets of adjacency lists.
+
+    private final IntBuffer mNeighbors; // View of concatenated adjacency lists.
+
+    // Public static methods.
+
+    /** Copies words graph to direct buffer allocated outside of heap.
+     *  @param graph Words graph.
+     *  @return Off-heap graph.
+     * */
+    public static OffHeapWordsGraph allocate(WordsGraph graph){
+        assert graph != null;
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(_getBufferSize(graph)).order(ByteOrder.LITTLE_ENDIAN);
+
+        _fillBuffer(graph, buffer);
+
+        OffHeapWordsGraph offHeapGraph;
+
+        try {
+            offHeapGraph = _open(buffer); // exception
+        } catch(IOException ioException){
+            throw new IllegalStateException(ioException);
+        }
+
+        return offHeapGraph;
+    }
+
+    /** Writes words graph to graph file which can be mapped by map(): temporary file is written in the same
+     *  directory and replaces graph file, so graph file which is mapped is never changed.
+     *  @param graph Words graph.
+     *  @param fileName Full graph file name with path.
+     *  @exception PuzzleException Failed to write file.
+     * */
+    public static void write(WordsGraph graph, String fileName) throws PuzzleException {
+        assert graph != null;
+        assert fileName != null;
+
+        int size = _getBufferSize(graph);
+
+        Path filePath = Paths.get(fileName).toAbsolutePath();
+        Path temporaryPath = null;
+
+        try {
+            temporaryPath = Files.createTempFile(filePath.getParent(), filePath.getFileName() + ".", TEMPORARY_SUFFIX);
+
+            // File is filled through mapping: graph data aren't copied to heap.
+            try(FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)){ // exception
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size); // exception
+
+                _fillBuffer(graph, buffer.order(ByteOrder.LITTLE_ENDIAN));
+
+                buffer.force();
+            }
+
+            VocabularyIndexFile.replaceFile(temporaryPath, filePath); // exception
+
+            temporaryPath = null;
+        } catch(IOException ioException){
+            throw new PuzzleException(ioException, PuzzleException.ErrorCode.WRITE_VOCABULARY_INDEX_FILE_ERROR);
+        } finally {
+            // Temporary file is left only if graph file isn't replaced.
+            if(temporaryPath != null){
+                try {
+                    Files.deleteIfExists(temporaryPath); // exception
+                } catch(IOException ioException){
+                    // Nothing to do: error of writing is reported.
+                }
+            }
+        }
+    }
+
+    /** Maps graph file to memory: graph data are read by operating system on demand and stay outside of heap.
+     *  @param fileName Full graph file name with path.
+     *  @return Off-heap graph.
+     *  @exception PuzzleException Failed to read file or file isn't graph file.
+     * */
+    public static OffHeapWordsGraph map(String fileName) throws PuzzleException {
+        assert fileName != null;
+
+        OffHeapWordsGraph graph;
+
+        // Mapping stays valid after channel is closed.
+        try(FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)){ // exception
+            if(channel.size() > Integer.MAX_VALUE){ // exception
+                throw new IOException("Graph file is too big");
+            }
+
+            graph = _open(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN)); // exception
+        } catch(IOException ioException){
+            throw new PuzzleException(ioException, PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR);
+        }
+
+        return graph;
+    }
+
+    // Public methods.
+
+    /** Gets length of words. */
+    @Override
+    public int getWordsLength(){
+        return mWordsLength;
+    }
+
+    /** Gets count of words. */
+    @Override
+    public int getWordsCount(){
+        return mWordsCount;
+    }
+
+    /** Gets word by identifier. */
+    public String getWord(int wordId){
+        assert wordId >= 0 && wordId < mWordsCount;
+
+        char[] chars = new char[mWordsLength];
+        int position = mWordsPosition + wordId * mWordsLength * Character.BYTES;
+
+        for(int index = 0; index < mWordsLength; index++){
+            chars[index] = mBuffer.getChar(position + index * Character.BYTES);
+        }
+
+        return new String(chars);
+    }
+
+    /** Gets identifier of word.
+     *  @param word Word.
+     *  @return Word identifier or -1 if word is absent in graph.
+     * */
+    public int getWordId(String word){
+        assert word != null;
+
+        return (word.length() == mWordsLength ? _getWordId(word.toCharArray()) : -1);
+    }
+
+    /** Checks if given word is contained in graph. */
+    public boolean contains(String word){
+        return getWordId(word) >= 0;
+    }
+
+    /** Gets count of neighbors of word. */
+    public int getNeighborsCount(int wordId){
+        assert wordId >= 0 && wordId < mWordsCount;
+
+        return mOffsets.get(wordId + 1) - mOffsets.get(wordId);
+    }
+
+    /** Gets maximum count of neighbors of one word. */
+    @Override
+    public int getMaxNeighborsCount(){
+        return mWordsLength * Math.max(mAlphabet.length - 1, 0);
+    }
+
+    /** Finds neighbors of word: copies its adjacency list to buffer (neighbors are sorted). */
+    @Override
+    public int findNeighbors(int wordId, int[] neighbors){
+        assert wordId >= 0 && wordId < mWordsCount;
+        assert neighbors != null;
+
+        int begin = mOffsets.get(wordId);
+        int end = mOffsets.get(wordId + 1);
+
+        for(int index = begin; index < end; index++){
+            neighbors[index - begin] = mNeighbors.get(index);
+        }
+
+        return end - begin;
+    }
+
+    /** Gets identifiers of words which are one character different from given word.
+     *  Given word can be absent in graph (e.g. start word of puzzle).
+     *  @param word Word of graph words length.
+     *  @return Sorted identifiers of neighbors.
+     * */
+    public int[] getNeighborIds(String word){
+        assert word != null;
+        assert word.length() == mWordsLength;
+
+        int wordId = getWordId(word);
+
+        int[] neighborIds;
+
+        if(wordId >= 0){
+            neighborIds = new int[getNeighborsCount(wordId)];
+            findNeighbors(wordId, neighborIds);
+        } else {
+            // Word is absent in graph: probe all one character variants of word.
+            int[] buffer = new int[getMaxNeighborsCount()];
+            int count = 0;
+
+            char[] chars = word.toCharArray();
+
+            for(int position = 0; position < chars.length; position++){
+                char originalChar = chars[position];
+
+                for(char character : mAlphabet){
+                    if(character != originalChar){
+                        chars[position] = character;
+
+                        int neighborId = _getWordId(chars);
+
+                        if(neighborId >= 0){
+                            buffer[count++] = neighborId;
+                        }
+                    }
+                }
+
+                chars[position] = originalChar;
+            }
+
+            neighborIds = Arrays.copyOf(buffer, count);
+            Arrays.sort(neighborIds);
+        }
+
+        return neighborIds;
+    }
+
+    /** Finds one of the shortest words chains by breadth first search over off-heap adjacency lists.
+     *  @param inputWords Input words of graph words length, start word can be absent in graph.
+     *  @param maxWordsChainLength Maximum length of words chain.
+     *  @return Words chain or empty list if there is no chain not longer than maximum length.
+     *  @exception PuzzleException End word is absent in graph.
+     * */
+    public List<String> findWordsChain(InputWords inputWords, int maxWordsChainLength) throws PuzzleException {
+        assert inputWords != null;
+        assert inputWords.getLength() == mWordsLength;
+        assert maxWordsChainLength > 0;
+
+        int endWordId = getWordId(inputWords.getEndWord());
+
+        if(endWordId < 0){
+            throw new PuzzleException(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY);
+        }
+
+        int startWordId = getWordId(inputWords.getStartWord());
+        int[] seeds = (startWordId >= 0 ? new int[]{startWordId} : getNeighborIds(inputWords.getStartWord()));
+        int seedsDepth = (startWordId >= 0 ? 1 : 2); // Length of chain which ends with seed.
+
+        int[] parents = new int[mWordsCount];
+        int[] queue = new int[mWordsCount];
+        int[] neighbors = new int[getMaxNeighborsCount()];
+        int queueBegin = 0;
+        int queueEnd = 0;
+
+        Arrays.fill(parents, NOT_VISITED);
+
+        for(int seed : seeds){
+            parents[seed] = NO_PARENT;
+            queue[queueEnd++] = seed;
+        }
+
+        // Breadth first search layer by layer until end word is reached or maximum length is exceeded.
+        int depth = seedsDepth;
+
+        while(queueBegin < queueEnd && parents[endWordId] == NOT_VISITED && depth < maxWordsChainLength){
+            int layerEnd = queueEnd;
+
+            while(queueBegin < layerEnd){
+                int wordId = queue[queueBegin++];
+                int neighborsCount = findNeighbors(wordId, neighbors);
+
+                for(int index = 0; index < neighborsCount; index++){
+                    int neighborId = neighbors[index];
+
+                    if(parents[neighborId] == NOT_VISITED){
+                        parents[neighborId] = wordId;
+                        queue[queueEnd++] = neighborId;
+                    }
+                }
+            }
+
+            depth++;
+        }
+
+        List<String> wordsChain = new ArrayList<>();
+
+        if(parents[endWordId] != NOT_VISITED && depth <= maxWordsChainLength){
+            for(int wordId = endWordId; wordId != NO_PARENT; wordId = parents[wordId]){
+                wordsChain.add(getWord(wordId));
+            }
+
+            if(startWordId < 0){
+                wordsChain.add(inputWords.getStartWord());
+            }
+
+            Collections.reverse(wordsChain);
+        }
+
+        return wordsChain;
+    }
+
+    /** Gets size of off-heap memory of graph in bytes. */
+    public long getMemorySize(){
+        return mBuffer.capacity();
+    }
+
+    // Private methods.
+
+    /** Constructor. */
+    private OffHeapWordsGraph(ByteBuffer buffer, int wordsLength, int wordsCount, char[] alphabet,
+                              int offsetsPosition, int neighborsPosition, int wordsPosition){
+        mBuffer = buffer;
+        mWordsLength = wordsLength;
+        mWordsCount = wordsCount;
+        mAlphabet = alphabet;
+        mWordsPosition = wordsPosition;
+
+        mOffsets = _getIntView(buffer, offsetsPosition, neighborsPosition);
+        mNeighbors = _getIntView(buffer, neighborsPosition, wordsPosition);
+    }
+
+    /** Gets view of ints of buffer region in byte order of buffer. */
+    private static IntBuffer _getIntView(ByteBuffer buffer, int begin, int end){
+        ByteBuffer region = buffer.duplicate();
+        region.position(begin).limit(end);
+
+        return region.slice().order(buffer.order()).asIntBuffer();
+    }
+
+    /** Creates graph over buffer: reads and checks header, offsets and neighbors (searches don't check them).
+     *  @exception IOException Buffer doesn't contain graph or it is corrupted.
+     * */
+    private static OffHeapWordsGraph _open(ByteBuffer buffer) throws IOException {
+        if(buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC){
+            throw new IOException("File isn't words graph file");
+        }
+
+        if(buffer.getInt(Integer.BYTES) != FORMAT_VERSION){
+            throw new IOException("Unsupported words graph file version: " + buffer.getInt(Integer.BYTES));
+        }
+
+        int wordsLength = buffer.getInt(2 * Integer.BYTES);
+        int wordsCount = buffer.getInt(3 * Integer.BYTES);
+        int neighborsCount = buffer.getInt(4 * Integer.BYTES);
+        int alphabetSize = buffer.getInt(5 * Integer.BYTES);
+
+        if(wordsLength <= 0 || wordsCount < 0 || neighborsCount < 0 || alphabetSize < 0 ||
+                _getBufferSize(wordsLength, wordsCount, neighborsCount, alphabetSize) != buffer.capacity()){
+            throw new IOException("Corrupted words graph header");
+        }
+
+        char[] alphabet = new char[alphabetSize];
+
+        for(int index = 0; index < alphabetSize; index++){
+            alphabet[index] = buffer.getChar(HEADER_SIZE + index * Character.BYTES);
+        }
+
+        int offsetsPosition = HEADER_SIZE + alphabetSize * Character.BYTES;
+        int neighborsPosition = offsetsPosition + (wordsCount + 1) * Integer.BYTES;
+        int wordsPosition = neighborsPosition + neighborsCount * Integer.BYTES;
+
+        if(buffer.getInt(offsetsPosition) != 0 ||
+                buffer.getInt(offsetsPosition + wordsCount * Integer.BYTES) != neighborsCount){
+            throw new IOException("Corrupted words graph offsets");
+        }
+
+        for(int wordId = 0; wordId < wordsCount; wordId++){
+            int position = offsetsPosition + wordId * Integer.BYTES;
+
+            if(buffer.getInt(position) > buffer.getInt(position + Integer.BYTES)){
+                throw new IOException("Corrupted words graph offsets");
+            }
+        }
+
+        for(int index = 0; index < neighborsCount; index++){
+            int neighborId = buffer.getInt(neighborsPosition + index * Integer.BYTES);
+
+            if(neighborId < 0 || neighborId >= wordsCount){
+                throw new IOException("Corrupted words graph neighbors");
+            }
+        }
+
+        return new OffHeapWordsGraph(buffer, wordsLength, wordsCount, alphabet, offsetsPosition, neighborsPosition,
+                wordsPosition);
+    }
+
+    /** Gets size of buffer of words graph in bytes.
+     *  @exception IllegalArgumentException Graph is too big for buffer.
+     * */
+    private static int _getBufferSize(WordsGraph graph){
+        int neighborsCount = 0;
+
+        for(int wordId = 0; wordId < graph.getWordsCount(); wordId++){
+            neighborsCount += graph.getNeighborsCount(wordId);
+        }
+
+        long size = _getBufferSize(graph.getWordsLength(), graph.getWordsCount(), neighborsCount,
+                graph.getAlphabet().length);
+
+        if(size > Integer.MAX_VALUE){
+            throw new IllegalArgumentException("Words graph is too big for buffer: " + size);
+        }
+
+        return (int)size;
+    }
+
+    /** Gets size of buffer of words graph in bytes. */
+    private static long _getBufferSize(int wordsLength, int wordsCount, int neighborsCount, int alphabetSize){
+        return HEADER_SIZE + (long)alphabetSize * Character.BYTES + ((long)wordsCount + 1) * Integer.BYTES +
+                (long)neighborsCount * Integer.BYTES + (long)wordsCount * wordsLength * Character.BYTES;
+    }
+
+    /** Writes words graph to buffer of size returned by _getBufferSize(). */
+    private static void _fillBuffer(WordsGraph graph, ByteBuffer buffer){
+        char[] alphabet = graph.getAlphabet();
+        int wordsCount = graph.getWordsCount();
+
+        int neighborsCount = 0;
+
+        for(int wordId = 0; wordId < wordsCount; wordId++){
+            neighborsCount += graph.getNeighborsCount(wordId);
+        }
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putInt(graph.getWordsLength());
+        buffer.putInt(wordsCount);
+        buffer.putInt(neighborsCount);
+        buffer.putInt(alphabet.length);
+
+        for(char character : alphabet){
+            buffer.putChar(character);
+        }
+
+        int offset = 0;
+
+        for(int wordId = 0; wordId < wordsCount; wordId++){
+            buffer.putInt(offset);
+            offset += graph.getNeighborsCount(wordId);
+        }
+
+        buffer.putInt(offset);
+
+        for(int wordId = 0; wordId < wordsCount; wordId++){
+            for(int index = 0; index < graph.getNeighborsCount(wordId); index++){
+                buffer.putInt(graph.getNeighbor(wordId, index));
+            }
+        }
+
+        for(int wordId = 0; wordId < wordsCount; wordId++){
+            String word = graph.getWord(wordId);
+
+            for(int index = 0; index < word.length(); index++){
+                buffer.putChar(word.charAt(index));
+            }
+        }
+
+        assert !buffer.hasRemaining();
+    }
+
+    /** Gets identifier of word by binary search over words characters.
+     *  @return Word identifier or -1 if word is absent in graph.
+     * */
+    private int _getWordId(char[] chars){
+        int low = 0;
+        int high = mWordsCount - 1;
+        int wordId = -1;
+
+        while(low <= high && wordId < 0){
+            int middle = (low + high) >>> 1;
+            int comparison = _compareWord(middle, chars);
+
+            if(comparison < 0){
+                low = middle + 1;
+            } else if(comparison > 0){
+                high = middle - 1;
+            } else {
+                wordId = middle;
+            }
+        }
+
+        return wordId;
+    }
+
+    /** Compares word with given identifier with characters of word. */
+    private int _compareWord(int wordId, char[] chars){
+        int position = mWordsPosition + wordId * mWordsLength * Character.BYTES;
+        int comparison = 0;
+
+        for(int index = 0; index < mWordsLength && comparison == 0; index++){
+            comparison = Character.compare(mBuffer.getChar(position + index * Character.BYTES), chars[index]);
+        }
+
+        return comparison;
+    }
+} // class OffHeapWordsGraph
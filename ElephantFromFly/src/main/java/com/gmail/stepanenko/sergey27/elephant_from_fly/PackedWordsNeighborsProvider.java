@@ -0,0 +1,230 @@
+/***************************************************************************************************
+ * @file PackedWordsNeighborsProvider.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the PackedWordsNeighborsProvider class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.Arrays;
+
+/**
+ * Neighbors provider which generates all one character variants of word and probes them in hash table.
+ * Every word is packed to long: letter at every position is replaced by its code (index in alphabet plus one)
+ * of fixed count of bits, so variant of word is built by replacing bits of one position. Packed words are kept
+ * in primitive open addressing hash table with linear probing which maps packed word to its identifier,
+ * neither strings nor boxed values are created on lookup.
+ * Finding neighbors costs words length * (alphabet size - 1) probes, it is cheaper than scan of vocabulary
+ * for sparse vocabularies. Words can be packed only if words length * bits per letter doesn't exceed 64.
+ * Provider is immutable after construction and thread-safe.
+ */
+public final class PackedWordsNeighborsProvider implements WordsNeighborsProvider {
+
+    // Private static constants.
+
+    private static final String INDEX_NAME = "Packed words hash table"; // Name of index in events.
+
+    private static final long EMPTY_KEY = 0; // Key of empty slot: packed words never contain zero letter codes.
+
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L; // Multiplier of Fibonacci hashing.
+
+    // Private fields.
+
+    private final int mWordsLength; // Length of words.
+
+    private final int mWordsCount; // Count of words.
+
+    private final char[] mAlphabet; // Sorted distinct characters used in words.
+
+    private final int mBitsPerLetter; // Count of bits per letter code.
+
+    private final long mLetterMask; // Mask of bits of one letter code.
+
+    private final long[] mPackedWords; // Packed words by identifiers.
+
+    private final long[] mKeys; // Keys of hash table: packed words.
+
+    private final int[] mValues; // Values of hash table: word identifiers.
+
+    private final int mHashShift; // Shift of hash to get slot index.
+
+    // Public methods.
+
+    /** Constructor: packs words and builds hash table.
+     *  @param snapshot Vocabulary snapshot.
+     *  @exception IllegalArgumentException Words of snapshot can't be packed to long.
+     * */
+    public PackedWordsNeighborsProvider(VocabularySnapshot snapshot){
+        assert snapshot != null;
+
+        if(!isApplicable(snapshot)){
+            throw new IllegalArgumentException("Words can't be packed to long");
+        }
+
+        PuzzleEvents.IndexBuildEvent buildEvent = new PuzzleEvents.IndexBuildEvent();
+        buildEvent.begin();
+
+        mWordsLength = snapshot.getWordsLength();
+        mWordsCount = snapshot.getWordsCount();
+        mAlphabet = _prepareAlphabet(snapshot.getWordsChars());
+        mBitsPerLetter = _calculateBitsPerLetter(mAlphabet.length);
+        mLetterMask = (1L << mBitsPerLetter) - 1;
+
+        // Load factor of hash table doesn't exceed 0.5.
+        int capacityBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(1, 2 * mWordsCount - 1)));
+
+        mKeys = new long[1 << capacityBits];
+        mValues = new int[mKeys.length];
+        mHashShift = Long.SIZE - capacityBits;
+
+        mPackedWords = new long[mWordsCount];
+
+        char[] wordsChars = snapshot.getWordsChars();
+
+        for(int wordId = 0; wordId < mWordsCount; wordId++){
+            long packedWord = 0;
+
+            for(int position = 0; position < mWordsLength; position++){
+                int code = Arrays.binarySearch(mAlphabet, wordsChars[wordId * mWordsLength + position]) + 1;
+
+                packedWord |= ((long)code << (position * mBitsPerLetter));
+            }
+
+            mPackedWords[wordId] = packedWord;
+
+            _put(packedWord, wordId);
+        }
+
+        buildEvent.index = INDEX_NAME;
+        buildEvent.commit(mWordsLength, mWordsCount, PuzzleEvents.OUTCOME_SUCCESS);
+    }
+
+    /** Checks if words of snapshot can be packed to long. */
+    public static boolean isApplicable(VocabularySnapshot snapshot){
+        assert snapshot != null;
+
+        int alphabetSize = _prepareAlphabet(snapshot.getWordsChars()).length;
+
+        return (long)snapshot.getWordsLength() * _calculateBitsPerLetter(alphabetSize) <= Long.SIZE;
+    }
+
+    /** Gets length of words. */
+    @Override
+    public int getWordsLength(){
+        return mWordsLength;
+    }
+
+    /** Gets count of words. */
+    @Override
+    public int getWordsCount(){
+        return mWordsCount;
+    }
+
+    /** Gets maximum count of neighbors of one word. */
+    @Override
+    public int getMaxNeighborsCount(){
+        return mWordsLength * Math.max(mAlphabet.length - 1, 0);
+    }
+
+    /** Finds neighbors of word (neighbors which differ at the same position are sorted). */
+    @Override
+    public int findNeighbors(int wordId, int[] neighbors){
+        assert wordId >= 0 && wordId < mWordsCount;
+
+        long packedWord = mPackedWords[wordId];
+
+        int neighborsCount = 0;
+
+        for(int position = 0; position < mWordsLength; position++){
+            int shift = position * mBitsPerLetter;
+
+            long otherLetters = packedWord & ~(mLetterMask << shift);
+            long wordCode = (packedWord >>> shift) & mLetterMask;
+
+            for(long code = 1; code <= mAlphabet.length; code++){
+                if(code != wordCode){
+                    int neighborId = _get(otherLetters | (code << shift));
+
+                    if(neighborId >= 0){
+                        neighbors[neighborsCount++] = neighborId;
+                    }
+                }
+            }
+        }
+
+        return neighborsCount;
+    }
+
+    /** Gets estimated size of provider in memory in bytes. */
+    public long getMemorySize(){
+        return (long)Long.BYTES * (mPackedWords.length + mKeys.length) + (long)Integer.BYTES * mValues.length;
+    }
+
+    // Private methods.
+
+    /** Prepares sorted distinct characters used in words. */
+    private static char[] _prepareAlphabet(char[] wordsChars){
+        boolean[] usedChars = new boolean[Character.MAX_VALUE + 1];
+        int alphabetSize = 0;
+
+        for(char character : wordsChars){
+            if(!usedChars[character]){
+                usedChars[character] = true;
+                alphabetSize++;
+            }
+        }
+
+        char[] alphabet = new char[alphabetSize];
+        int index = 0;
+
+        for(int character = 0; character <= Character.MAX_VALUE; character++){
+            if(usedChars[character]){
+                alphabet[index++] = (char)character;
+            }
+        }
+
+        return alphabet;
+    }
+
+    /** Calculates count of bits for letter codes from 1 to alphabet size. */
+    private static int _calculateBitsPerLetter(int alphabetSize){
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(alphabetSize));
+    }
+
+    /** Gets index of the first slot to probe for key. */
+    private int _getSlot(long key){
+        return (int)((key * HASH_MULTIPLIER) >>> mHashShift);
+    }
+
+    /** Puts key to hash table. */
+    private void _put(long key, int value){
+        assert key != EMPTY_KEY;
+
+        int slot = _getSlot(key);
+
+        while(mKeys[slot] != EMPTY_KEY){
+            slot = (slot + 1) & (mKeys.length - 1);
+        }
+
+        mKeys[slot] = key;
+        mValues[slot] = value;
+    }
+
+    /** Gets value of key.
+     *  @return Word identifier or -1 if key is absent.
+     * */
+    private int _get(long key){
+        int slot = _getSlot(key);
+        int value = -1;
+
+        while(mKeys[slot] != EMPTY_KEY && value < 0){
+            if(mKeys[slot] == key){
+                value = mValues[slot];
+            } else {
+                slot = (slot + 1) & (mKeys.length - 1);
+            }
+        }
+
+        return value;
+    }
+} // class PackedWordsNeighborsProvider
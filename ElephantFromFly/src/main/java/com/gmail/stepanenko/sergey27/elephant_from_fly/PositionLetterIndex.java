@@ -0,0 +1,286 @@
+/***************************************************************************************************
+ * @file PositionLetterIndex.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the PositionLetterIndex class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.Arrays;
+
+/**
+ * Inverted index of vocabulary snapshot: for every position and letter it keeps bitset of identifiers of words
+ * which have this letter at this position. Neighbors of word are words which match it at every position but one:
+ * for every skipped position they are found by intersection of bitsets of other positions.
+ * Snapshot identifiers follow lexicographic order, so words which match word at all positions before skipped
+ * one form contiguous range of identifiers, only this range of bitsets is intersected.
+ * Neighbors of word can be added to bitset of words, this suits bitset based breadth first search and batch
+ * queries on dense vocabularies. Lookups don't allocate memory: ranges are narrowed while positions are passed
+ * and bitsets of letters are found through table of letters indexes.
+ * Index is immutable after construction and thread-safe.
+ */
+public final class PositionLetterIndex implements WordsNeighborsProvider {
+
+    // Private static constants.
+
+    private static final String INDEX_NAME = "Position letter index"; // Name of index in events.
+
+    private static final int BITS_PER_BLOCK_SHIFT = 6; // Binary logarithm of count of bits in long.
+
+    // Private fields.
+
+    private final int mWordsLength; // Length of words.
+
+    private final int mWordsCount; // Count of words.
+
+    private final char[] mWordsChars; // Packed characters of snapshot words.
+
+    private final char[] mAlphabet; // Sorted distinct characters used in words.
+
+    private final int[] mLettersIndexes; // Indexes of letters in alphabet by character - the first letter.
+
+    // Bitsets of words by position and letter: index of bitset is position * alphabet size + index of letter.
+    private final long[][] mBitsets;
+
+    // Public methods.
+
+    /** Constructor: builds index.
+     *  @param snapshot Vocabulary snapshot.
+     * */
+    public PositionLetterIndex(VocabularySnapshot snapshot){
+        assert snapshot != null;
+
+        PuzzleEvents.IndexBuildEvent buildEvent = new PuzzleEvents.IndexBuildEvent();
+        buildEvent.begin();
+
+        mWordsLength = snapshot.getWordsLength();
+        mWordsCount = snapshot.getWordsCount();
+        mWordsChars = snapshot.getWordsChars();
+        mAlphabet = _prepareAlphabet(mWordsChars);
+        mLettersIndexes = _prepareLettersIndexes(mAlphabet);
+
+        mBitsets = new long[mWordsLength * mAlphabet.length][];
+
+        for(int i = 0; i < mBitsets.length; i++){
+            mBitsets[i] = createBitset();
+        }
+
+        for(int wordId = 0; wordId < mWordsCount; wordId++){
+            for(int position = 0; position < mWordsLength; position++){
+                long[] bitset = mBitsets[_getBitsetIndex(position, mWordsChars[wordId * mWordsLength + position])];
+
+                bitset[wordId >>> BITS_PER_BLOCK_SHIFT] |= (1L << wordId);
+            }
+        }
+
+        buildEvent.index = INDEX_NAME;
+        buildEvent.commit(mWordsLength, mWordsCount, PuzzleEvents.OUTCOME_SUCCESS);
+    }
+
+    /** Gets length of words. */
+    @Override
+    public int getWordsLength(){
+        return mWordsLength;
+    }
+
+    /** Gets count of words. */
+    @Override
+    public int getWordsCount(){
+        return mWordsCount;
+    }
+
+    /** Gets maximum count of neighbors of one word. */
+    @Override
+    public int getMaxNeighborsCount(){
+        return mWordsLength * Math.max(mAlphabet.length - 1, 0);
+    }
+
+    /** Finds neighbors of word (neighbors which differ at the same position are sorted). */
+    @Override
+    public int findNeighbors(int wordId, int[] neighbors){
+        assert wordId >= 0 && wordId < mWordsCount;
+
+        int neighborsCount = 0;
+
+        // Range of words which match word at all positions before current one (it contains word itself).
+        int begin = 0;
+        int end = mWordsCount;
+
+        for(int position = 0; position < mWordsLength; position++){
+            long[] nextBitset = _getNextBitset(wordId, position);
+
+            for(int block = begin >>> BITS_PER_BLOCK_SHIFT; block <= (end - 1) >>> BITS_PER_BLOCK_SHIFT; block++){
+                long bits = _matchBlock(wordId, position, nextBitset, block, begin, end);
+
+                while(bits != 0){
+                    neighbors[neighborsCount++] = (block << BITS_PER_BLOCK_SHIFT) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+
+            char letter = mWordsChars[wordId * mWordsLength + position];
+
+            begin = _lowerBound(begin, end, position, letter);
+            end = _lowerBound(begin, end, position, letter + 1);
+        }
+
+        return neighborsCount;
+    }
+
+    /** Creates empty bitset of words. */
+    public long[] createBitset(){
+        return new long[(mWordsCount + Long.SIZE - 1) >>> BITS_PER_BLOCK_SHIFT];
+    }
+
+    /** Adds neighbors of word to bitset.
+     *  @param wordId Word identifier.
+     *  @param neighbors Bitset of words, neighbors of word are added to it.
+     * */
+    public void addNeighbors(int wordId, long[] neighbors){
+        assert wordId >= 0 && wordId < mWordsCount;
+        assert neighbors.length == (mWordsCount + Long.SIZE - 1) >>> BITS_PER_BLOCK_SHIFT;
+
+        // Range of words which match word at all positions before current one (it contains word itself).
+        int begin = 0;
+        int end = mWordsCount;
+
+        for(int position = 0; position < mWordsLength; position++){
+            long[] nextBitset = _getNextBitset(wordId, position);
+
+            for(int block = begin >>> BITS_PER_BLOCK_SHIFT; block <= (end - 1) >>> BITS_PER_BLOCK_SHIFT; block++){
+                neighbors[block] |= _matchBlock(wordId, position, nextBitset, block, begin, end);
+            }
+
+            char letter = mWordsChars[wordId * mWordsLength + position];
+
+            begin = _lowerBound(begin, end, position, letter);
+            end = _lowerBound(begin, end, position, letter + 1);
+        }
+    }
+
+    /** Adds neighbors of all words of frontier to bitset.
+     *  It is convenience loop which adds neighbors of every frontier word by addNeighbors(), so its cost is
+     *  proportional to count of frontier words (bitsets of positions and letters can't express neighbors of
+     *  set of words).
+     *  Words of frontier are added only if they are neighbors of other frontier words.
+     *  @param frontier Bitset of frontier words.
+     *  @param neighbors Bitset of words, neighbors of frontier words are added to it.
+     * */
+    public void addFrontierNeighbors(long[] frontier, long[] neighbors){
+        assert frontier.length == neighbors.length;
+        assert frontier != neighbors;
+
+        for(int block = 0; block < frontier.length; block++){
+            long bits = frontier[block];
+
+            while(bits != 0){
+                addNeighbors((block << BITS_PER_BLOCK_SHIFT) + Long.numberOfTrailingZeros(bits), neighbors);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /** Gets estimated size of index in memory in bytes. */
+    public long getMemorySize(){
+        return (long)mBitsets.length * Long.BYTES * ((mWordsCount + Long.SIZE - 1) >>> BITS_PER_BLOCK_SHIFT);
+    }
+
+    // Private methods.
+
+    /** Prepares sorted distinct characters used in words. */
+    private static char[] _prepareAlphabet(char[] wordsChars){
+        char[] alphabet = wordsChars.clone();
+        Arrays.sort(alphabet);
+
+        int alphabetSize = 0;
+
+        for(int i = 0; i < alphabet.length; i++){
+            if(alphabetSize == 0 || alphabet[alphabetSize - 1] != alphabet[i]){
+                alphabet[alphabetSize++] = alphabet[i];
+            }
+        }
+
+        return Arrays.copyOf(alphabet, alphabetSize);
+    }
+
+    /** Prepares indexes of letters in alphabet by character - the first letter (-1 for absent characters). */
+    private static int[] _prepareLettersIndexes(char[] alphabet){
+        int[] lettersIndexes = new int[alphabet.length > 0 ? alphabet[alphabet.length - 1] - alphabet[0] + 1 : 0];
+
+        Arrays.fill(lettersIndexes, -1);
+
+        for(int letterIndex = 0; letterIndex < alphabet.length; letterIndex++){
+            lettersIndexes[alphabet[letterIndex] - alphabet[0]] = letterIndex;
+        }
+
+        return lettersIndexes;
+    }
+
+    /** Gets index of bitset of letter at position. */
+    private int _getBitsetIndex(int position, char letter){
+        int letterIndex = mLettersIndexes[letter - mAlphabet[0]];
+
+        assert letterIndex >= 0;
+
+        return position * mAlphabet.length + letterIndex;
+    }
+
+    /** Finds the first word of range which letter at position is not less than given letter (words of range
+     *  are sorted by letter at position).
+     * */
+    private int _lowerBound(int begin, int end, int position, int letter){
+        int low = begin;
+        int high = end;
+
+        while(low < high){
+            int middle = (low + high) >>> 1;
+
+            if(mWordsChars[middle * mWordsLength + position] < letter){
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /** Gets bitset of letter of word at position after given one.
+     *  @return Bitset or null if position is the last one.
+     * */
+    private long[] _getNextBitset(int wordId, int position){
+        return (position + 1 < mWordsLength ?
+                mBitsets[_getBitsetIndex(position + 1, mWordsChars[wordId * mWordsLength + position + 1])] : null);
+    }
+
+    /** Gets bits of block for words of range which match word at all positions after skipped position.
+     *  Bit of word itself is cleared. Bitset of the next position is given: bits of most blocks are cleared by it,
+     *  bitsets of further positions are looked up only for remaining blocks.
+     * */
+    private long _matchBlock(int wordId, int skippedPosition, long[] nextBitset, int block, int begin, int end){
+        long bits = -1L;
+
+        // Clear bits outside of range.
+        if(block == begin >>> BITS_PER_BLOCK_SHIFT){
+            bits &= (-1L << begin);
+        }
+
+        if(block == (end - 1) >>> BITS_PER_BLOCK_SHIFT){
+            bits &= (-1L >>> (Long.SIZE - 1 - ((end - 1) & (Long.SIZE - 1))));
+        }
+
+        if(block == wordId >>> BITS_PER_BLOCK_SHIFT){
+            bits &= ~(1L << wordId);
+        }
+
+        if(nextBitset != null){
+            bits &= nextBitset[block];
+        }
+
+        for(int position = skippedPosition + 2; position < mWordsLength && bits != 0; position++){
+            bits &= mBitsets[_getBitsetIndex(position, mWordsChars[wordId * mWordsLength + position])][block];
+        }
+
+        return bits;
+    }
+} // class PositionLetterIndex
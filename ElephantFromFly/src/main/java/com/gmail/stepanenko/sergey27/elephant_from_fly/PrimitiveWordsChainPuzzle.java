@@ -0,0 +1,143 @@
+/***************************************************************************************************
+ * @file PrimitiveWordsChainPuzzle.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the PrimitiveWordsChainPuzzle class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+/**
+ * Words chain puzzle algorithm on primitive arrays: the same backtracking search as WordsChainPuzzle
+ * with the same order of words, roll backs, results and statistics, but search state is kept in
+ * preallocated arrays of BacktrackingSearchContext instead of objects and search loop doesn't allocate memory.
+ * Puzzle object keeps no search state, so one object can solve puzzles in several threads concurrently
+ * against shared vocabulary snapshot.
+ */
+public final class PrimitiveWordsChainPuzzle {
+
+    // Private static constants.
+
+    private static final String SEARCH_ENGINE_NAME = "Primitive backtracking"; // Name of search engine in events.
+
+    // Private fields.
+
+    private final boolean mIsStatisticsEnabled; // Flag defines if search statistics is collected.
+
+    // Public methods.
+
+    /** Constructor: search statistics is not collected. */
+    public PrimitiveWordsChainPuzzle(){
+        this(false);
+    }
+
+    /** Constructor.
+     *  @param isStatisticsEnabled Flag defines if search statistics is collected.
+     * */
+    public PrimitiveWordsChainPuzzle(boolean isStatisticsEnabled){
+        mIsStatisticsEnabled = isStatisticsEnabled;
+    }
+
+    /** Solves words chain puzzle: takes snapshot of vocabulary words of input words length and solves puzzle
+     *  against it. Use solve() with snapshot to solve several puzzles against one vocabulary.
+     *  @param inputWords Input words.
+     *  @param vocabulary Vocabulary.
+     *  @param maxWordsChainLength Maximum length of words chain.
+     *  @param timeoutMinutes Time in minutes after which search process should be interrupted.
+     *  @return Result of words chain search.
+     *  @exception PuzzleException Incorrect input parameters.
+     * */
+    public WordsChainPuzzle.Result solve(InputWords inputWords, Vocabulary vocabulary, int maxWordsChainLength,
+                                         long timeoutMinutes) throws PuzzleException {
+        assert inputWords != null;
+        assert vocabulary != null;
+
+        // Check that end word is in vocabulary.
+        if(!vocabulary.contains(inputWords.getEndWord())){
+            throw new PuzzleException(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY);
+        }
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, inputWords.getLength());
+
+        return solve(inputWords, snapshot, maxWordsChainLength, timeoutMinutes); // exception
+    }
+
+    /** Solves words chain puzzle against vocabulary snapshot.
+     *  @param inputWords Input words.
+     *  @param snapshot Vocabulary snapshot.
+     *  @param maxWordsChainLength Maximum length of words chain.
+     *  @param timeoutMinutes Time in minutes after which search process should be interrupted.
+     *  @return Result of words chain search.
+     *  @exception PuzzleException Incorrect input parameters.
+     * */
+    public WordsChainPuzzle.Result solve(InputWords inputWords, VocabularySnapshot snapshot, int maxWordsChainLength,
+                                         long timeoutMinutes) throws PuzzleException {
+        return solve(inputWords, snapshot, null, maxWordsChainLength, timeoutMinutes); // exception
+    }
+
+    /** Solves words chain puzzle against vocabulary snapshot: neighbors of words in chain are found by provider
+     *  instead of scan of vocabulary words. Result and statistics (except words difference calculations) are
+     *  the same as without provider.
+     *  @param inputWords Input words.
+     *  @param snapshot Vocabulary snapshot.
+     *  @param neighborsProvider Neighbors provider built over the same snapshot or null for scan of words.
+     *  @param maxWordsChainLength Maximum length of words chain.
+     *  @param timeoutMinutes Time in minutes after which search process should be interrupted.
+     *  @return Result of words chain search.
+     *  @exception PuzzleException Incorrect input parameters.
+     *  @exception IllegalArgumentException Neighbors provider doesn't match snapshot.
+     * */
+    public WordsChainPuzzle.Result solve(InputWords inputWords, VocabularySnapshot snapshot,
+                                         WordsNeighborsProvider neighborsProvider, int maxWordsChainLength,
+                                         long timeoutMinutes) throws PuzzleException {
+        assert inputWords != null;
+        assert snapshot != null;
+        assert maxWordsChainLength > 0;
+        assert timeoutMinutes > 0;
+
+        if(neighborsProvider != null && (neighborsProvider.getWordsCount() != snapshot.getWordsCount() ||
+                neighborsProvider.getWordsLength() != snapshot.getWordsLength())){
+            throw new IllegalArgumentException("Neighbors provider doesn't match snapshot");
+        }
+
+        // Check that end word is in vocabulary.
+        if(!snapshot.contains(inputWords.getEndWord())){
+            throw new PuzzleException(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY);
+        }
+
+        SearchStatistics statistics = new SearchStatistics(mIsStatisticsEnabled);
+
+        long preparationStartNanos = (mIsStatisticsEnabled ? System.nanoTime() : 0);
+
+        PuzzleEvents.VocabularyPreparationEvent preparationEvent = new PuzzleEvents.VocabularyPreparationEvent();
+        preparationEvent.begin();
+
+        // Prepare sorted words and search arrays.
+        BacktrackingSearchContext context = new BacktrackingSearchContext(
+                snapshot, inputWords, maxWordsChainLength, timeoutMinutes, statistics, neighborsProvider);
+
+        preparationEvent.commit(inputWords.getLength(), context.getWordsCount(), PuzzleEvents.OUTCOME_SUCCESS);
+
+        long searchStartNanos = (mIsStatisticsEnabled ? System.nanoTime() : 0);
+
+        PuzzleEvents.SearchEvent searchEvent = new PuzzleEvents.SearchEvent();
+        searchEvent.begin();
+
+        // Look for shortest words chain.
+        WordsChainPuzzle.Result searchResult = context.lookForShortestWordsChain();
+
+        if(searchEvent.shouldCommit()){
+            searchEvent.engine = SEARCH_ENGINE_NAME;
+            searchEvent.wordsChainLength = searchResult.getWordsChain().size();
+            searchEvent.commit(inputWords.getLength(), context.getWordsCount(),
+                    (searchResult.isInterruptedByTimeoutFlag() ? PuzzleEvents.OUTCOME_TIMEOUT :
+                            (searchResult.isEmpty() ? PuzzleEvents.OUTCOME_NOT_FOUND : PuzzleEvents.OUTCOME_FOUND)));
+        }
+
+        if(mIsStatisticsEnabled){
+            statistics.setPreparationTimeNanos(searchStartNanos - preparationStartNanos);
+            statistics.setSearchTimeNanos(System.nanoTime() - searchStartNanos);
+        }
+
+        return searchResult;
+    }
+} // class PrimitiveWordsChainPuzzle
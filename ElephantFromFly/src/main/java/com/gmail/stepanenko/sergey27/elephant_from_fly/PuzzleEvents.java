@@ -0,0 +1,132 @@
+/***************************************************************************************************
+ * @file PuzzleEvents.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the PuzzleEvents class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder events of words chain puzzle phases: vocabulary loading, vocabulary preparation,
+ * index construction and search.
+ * Events are recorded only when flight recording is started (e.g. "jcmd <pid> JFR.start"), otherwise
+ * they cost a single check.
+ */
+public final class PuzzleEvents {
+
+    // Public static constants.
+
+    public static final String OUTCOME_SUCCESS = "SUCCESS"; // Phase completed successfully.
+
+    public static final String OUTCOME_ERROR = "ERROR"; // Phase failed.
+
+    public static final String OUTCOME_FOUND = "FOUND"; // Search found words chain.
+
+    public static final String OUTCOME_NOT_FOUND = "NOT_FOUND"; // Search didn't find words chain.
+
+    public static final String OUTCOME_TIMEOUT = "TIMEOUT"; // Search was interrupted by timeout.
+
+    // Private static constants.
+
+    private static final String CATEGORY = "Elephant From Fly"; // Category of events.
+
+    // Nested classes.
+
+    /**
+     * Base class of puzzle events: contains fields common for all phases.
+     */
+    public abstract static class PhaseEvent extends Event {
+
+        // Public fields (recorded by flight recorder).
+
+        @Label("Words Length")
+        public int wordsLength;
+
+        @Label("Vocabulary Size")
+        @Description("Count of vocabulary words of required length")
+        public int vocabularySize;
+
+        @Label("Outcome")
+        public String outcome;
+
+        // Public methods.
+
+        /** Sets event fields and commits event if it is enabled.
+         *  @param wordsLength Length of words.
+         *  @param vocabularySize Count of vocabulary words of required length.
+         *  @param outcome Outcome of phase.
+         * */
+        public void commit(int wordsLength, int vocabularySize, String outcome){
+            if(shouldCommit()){
+                this.wordsLength = wordsLength;
+                this.vocabularySize = vocabularySize;
+                this.outcome = outcome;
+
+                commit();
+            }
+        }
+    } // class PhaseEvent
+
+    /**
+     * Vocabulary is loaded from file.
+     */
+    @Name("com.gmail.stepanenko.sergey27.elephant_from_fly.VocabularyLoad")
+    @Label("Vocabulary Load")
+    @Category(CATEGORY)
+    public static final class VocabularyLoadEvent extends PhaseEvent {
+    } // class VocabularyLoadEvent
+
+    /**
+     * Vocabulary is prepared for search of words chain with given end word.
+     */
+    @Name("com.gmail.stepanenko.sergey27.elephant_from_fly.VocabularyPreparation")
+    @Label("Vocabulary Preparation")
+    @Category(CATEGORY)
+    public static final class VocabularyPreparationEvent extends PhaseEvent {
+    } // class VocabularyPreparationEvent
+
+    /**
+     * Index of vocabulary words (words graph) is built.
+     */
+    @Name("com.gmail.stepanenko.sergey27.elephant_from_fly.IndexBuild")
+    @Label("Index Build")
+    @Category(CATEGORY)
+    public static final class IndexBuildEvent extends PhaseEvent {
+
+        // Public fields (recorded by flight recorder).
+
+        @Label("Index")
+        @Description("Kind of built index")
+        public String index;
+    } // class IndexBuildEvent
+
+    /**
+     * Words chain is searched.
+     */
+    @Name("com.gmail.stepanenko.sergey27.elephant_from_fly.Search")
+    @Label("Words Chain Search")
+    @Category(CATEGORY)
+    public static final class SearchEvent extends PhaseEvent {
+
+        // Public fields (recorded by flight recorder).
+
+        @Label("Engine")
+        @Description("Search engine")
+        public String engine;
+
+        @Label("Words Chain Length")
+        public int wordsChainLength;
+    } // class SearchEvent
+
+    // Private methods.
+
+    /** Constructor. */
+    private PuzzleEvents(){
+    }
+} // class PuzzleEvents
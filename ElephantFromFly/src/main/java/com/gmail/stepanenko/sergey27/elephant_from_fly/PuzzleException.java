@@ -38,6 +38,9 @@ public final class PuzzleException extends Exception {
         // Failed to read vocabulary file.
         READ_VOCABULARY_FILE_ERROR,
 
+        // Failed to write vocabulary index file.
+        WRITE_VOCABULARY_INDEX_FILE_ERROR,
+
         // Start word is empty.
         EMPTY_START_WORD,
 
@@ -0,0 +1,395 @@
+/***************************************************************************************************
+ * @file ReducedWordsChains.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the ReducedWordsChains class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shortest words chain engine over reduced words graph: Dijkstra search with bucket queue over core words and
+ * weighted edges. Start word and end word can be inner words of edges: start word is connected to both ends of
+ * its edge, end word is reached from both ends of its edge. Found chain is expanded back to words of original
+ * graph, so result is the same as result of breadth first search over original graph.
+ * Search buffers are allocated once and reused between searches, so engine object must not be used by several
+ * threads concurrently.
+ */
+public final class ReducedWordsChains {
+
+    // Private static constants.
+
+    private static final String SEARCH_ENGINE_NAME = "Reduced graph Dijkstra"; // Name of search engine in events.
+
+    private static final int VIRTUAL_START_WORD = -2; // Start word which is absent in graph in words chain.
+
+    // Private fields.
+
+    private final ReducedWordsGraph mReducedGraph; // Reduced words graph.
+
+    private final WordsGraph mGraph; // Words graph.
+
+    private final boolean mIsStatisticsEnabled; // Flag defines if search statistics is collected.
+
+    private SearchStatistics mStatistics; // Statistics of current search.
+
+    // End word location.
+
+    private int mEndWordId; // Identifier of end word.
+
+    private int mEndEdge; // Edge of end word or -1 if end word is core word.
+
+    private int mEndPosition; // Position of end word on its edge.
+
+    // The best found chain: from seed word or from core word to end word.
+
+    private int mBestDistance; // Length of the best chain in steps.
+
+    private int mBestCoreId; // Core word from which the best chain goes to end word or -1 for chain from seed.
+
+    private int mBestEdge; // Edge of the last segment of the best chain or -1.
+
+    private int mBestFromPosition; // Start position of the last segment on edge.
+
+    private int mBestSeedDistance; // Distance from start word to seed word of chain from seed.
+
+    // Search buffers.
+
+    private int mStamp; // Current search stamp.
+
+    private final int[] mVisitedStamps; // Core word is reached in current search if its stamp equals mStamp.
+
+    private final int[] mClosedStamps; // Core word is expanded in current search if its stamp equals mStamp.
+
+    private final int[] mDistances; // Distances from start word to core words.
+
+    private final int[] mParentCores; // Previous core words in search tree or -1 for words reached from seed.
+
+    private final int[] mParentEdges; // Edges from previous core words or -1 for seed core words.
+
+    // Positions of seed words and core words on parent edges of core words reached from seed.
+    private final int[] mParentFromPositions;
+
+    private final int[] mParentToPositions;
+
+    private int[][] mBuckets; // Open core words grouped by distance.
+
+    private int[] mBucketsSizes; // Sizes of buckets.
+
+    // Public methods.
+
+    /** Constructor: search statistics is not collected.
+     *  @param reducedGraph Reduced words graph.
+     * */
+    public ReducedWordsChains(ReducedWordsGraph reducedGraph){
+        this(reducedGraph, false);
+    }
+
+    /** Constructor.
+     *  @param reducedGraph Reduced words graph.
+     *  @param isStatisticsEnabled Flag defines if search statistics is collected.
+     * */
+    public ReducedWordsChains(ReducedWordsGraph reducedGraph, boolean isStatisticsEnabled){
+        assert reducedGraph != null;
+
+        mReducedGraph = reducedGraph;
+        mGraph = reducedGraph.getGraph();
+        mIsStatisticsEnabled = isStatisticsEnabled;
+
+        int coreWordsCount = reducedGraph.getCoreWordsCount();
+
+        mVisitedStamps = new int[coreWordsCount];
+        mClosedStamps = new int[coreWordsCount];
+        mDistances = new int[coreWordsCount];
+        mParentCores = new int[coreWordsCount];
+        mParentEdges = new int[coreWordsCount];
+        mParentFromPositions = new int[coreWordsCount];
+        mParentToPositions = new int[coreWordsCount];
+    }
+
+    /** Looks for shortest words chain.
+     *  @param inputWords Input words.
+     *  @param maxWordsChainLength Maximum length of words chain.
+     *  @return Result of search.
+     *  @exception PuzzleException End word is absent in vocabulary.
+     * */
+    public WordsChainPuzzle.Result solve(InputWords inputWords, int maxWordsChainLength) throws PuzzleException {
+        assert inputWords != null;
+        assert inputWords.getLength() == mGraph.getWordsLength();
+        assert maxWordsChainLength > 0;
+
+        mEndWordId = mGraph.getWordId(inputWords.getEndWord());
+
+        if(mEndWordId < 0){
+            throw new PuzzleException(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY);
+        }
+
+        mStatistics = new SearchStatistics(mIsStatisticsEnabled);
+
+        long searchStartNanos = (mIsStatisticsEnabled ? System.nanoTime() : 0);
+
+        PuzzleEvents.SearchEvent searchEvent = new PuzzleEvents.SearchEvent();
+        searchEvent.begin();
+
+        mEndEdge = mReducedGraph.getWordEdge(mEndWordId);
+        mEndPosition = (mEndEdge >= 0 ? mReducedGraph.getWordPosition(mEndWordId) : 0);
+
+        // Loopless chain can't be longer than count of words.
+        int maxDistance = Math.min(maxWordsChainLength - 1, mGraph.getWordsCount());
+
+        mBestDistance = maxDistance + 1;
+
+        _prepareBuckets(maxDistance + 1);
+
+        mStamp++;
+
+        int startWordId = mGraph.getWordId(inputWords.getStartWord());
+
+        if(startWordId >= 0){
+            _addSeed(startWordId, 0);
+        } else {
+            for(int neighborId : mGraph.getNeighborIds(inputWords.getStartWord())){
+                _addSeed(neighborId, 1);
+            }
+        }
+
+        _search(maxDistance);
+
+        WordsChainPuzzle.Result result = new WordsChainPuzzle.Result(inputWords, mStatistics);
+
+        if(mBestDistance <= maxDistance){
+            List<String> wordsChain = result.getWordsChain();
+
+            for(int wordId : _restoreWordsChain()){
+                wordsChain.add(wordId == VIRTUAL_START_WORD ? inputWords.getStartWord() : mGraph.getWord(wordId));
+            }
+        }
+
+        searchEvent.engine = SEARCH_ENGINE_NAME;
+        searchEvent.wordsChainLength = result.getWordsChain().size();
+        searchEvent.commit(mGraph.getWordsLength(), mGraph.getWordsCount(),
+                (result.isEmpty() ? PuzzleEvents.OUTCOME_NOT_FOUND : PuzzleEvents.OUTCOME_FOUND));
+
+        if(mIsStatisticsEnabled){
+            mStatistics.setSearchTimeNanos(System.nanoTime() - searchStartNanos);
+        }
+
+        return result;
+    }
+
+    // Private methods.
+
+    /** Prepares buckets of open core words. */
+    private void _prepareBuckets(int bucketsCount){
+        if(mBuckets == null || mBuckets.length < bucketsCount){
+            mBuckets = new int[bucketsCount][];
+            mBucketsSizes = new int[mBuckets.length];
+
+            for(int i = 0; i < mBuckets.length; i++){
+                mBuckets[i] = new int[4];
+            }
+        }
+    }
+
+    /** Adds seed word: word of graph which is reached from start word without search.
+     *  @param wordId Seed word identifier.
+     *  @param seedDistance Distance from start word to seed word.
+     * */
+    private void _addSeed(int wordId, int seedDistance){
+        int coreId = mReducedGraph.getCoreId(wordId);
+        int edge = mReducedGraph.getWordEdge(wordId);
+
+        if(wordId == mEndWordId){
+            _updateBestFromSeed(seedDistance, seedDistance, -1, 0);
+        } else if(edge >= 0 && edge == mEndEdge){
+            int position = mReducedGraph.getWordPosition(wordId);
+
+            _updateBestFromSeed(seedDistance + Math.abs(position - mEndPosition), seedDistance, edge, position);
+        }
+
+        if(coreId >= 0){
+            _relax(coreId, seedDistance, -1, -1, 0, 0);
+        } else if(edge >= 0){
+            int position = mReducedGraph.getWordPosition(wordId);
+            int weight = mReducedGraph.getEdgeWeight(edge);
+
+            _relax(mReducedGraph.getEdgeEnd(edge, 0), seedDistance + position, -1, edge, position, 0);
+            _relax(mReducedGraph.getEdgeEnd(edge, 1), seedDistance + weight - position, -1, edge, position, weight);
+        } // else isolated word
+    }
+
+    /** Updates the best chain by chain from seed word. */
+    private void _updateBestFromSeed(int distance, int seedDistance, int edge, int fromPosition){
+        if(distance < mBestDistance){
+            mBestDistance = distance;
+            mBestCoreId = -1;
+            mBestEdge = edge;
+            mBestFromPosition = fromPosition;
+            mBestSeedDistance = seedDistance;
+        }
+    }
+
+    /** Updates distance of core word if new distance is shorter.
+     *  @param coreId Core word.
+     *  @param distance New distance.
+     *  @param parentCoreId Previous core word or -1 if core word is reached from seed.
+     *  @param parentEdge Edge from previous word or -1 if core word is seed itself.
+     *  @param fromPosition Position of seed word on edge (for core word reached from seed only).
+     *  @param toPosition Position of core word on edge (for core word reached from seed only).
+     * */
+    private void _relax(int coreId, int distance, int parentCoreId, int parentEdge, int fromPosition,
+                        int toPosition){
+        if(mVisitedStamps[coreId] != mStamp){
+            mVisitedStamps[coreId] = mStamp;
+            mDistances[coreId] = Integer.MAX_VALUE;
+        }
+
+        if(distance < mDistances[coreId] && distance < mBestDistance){
+            mDistances[coreId] = distance;
+            mParentCores[coreId] = parentCoreId;
+            mParentEdges[coreId] = parentEdge;
+            mParentFromPositions[coreId] = fromPosition;
+            mParentToPositions[coreId] = toPosition;
+
+            if(mBucketsSizes[distance] == mBuckets[distance].length){
+                mBuckets[distance] = Arrays.copyOf(mBuckets[distance], mBuckets[distance].length * 2);
+            }
+
+            mBuckets[distance][mBucketsSizes[distance]++] = coreId;
+        }
+    }
+
+    /** Dijkstra search over core words until the best chain can't be improved. */
+    private void _search(int maxDistance){
+        for(int bucket = 0; bucket <= maxDistance && bucket < mBestDistance; bucket++){
+            while(mBucketsSizes[bucket] > 0 && bucket < mBestDistance){
+                int coreId = mBuckets[bucket][--mBucketsSizes[bucket]];
+
+                // Skip closed and outdated entries.
+                if(mClosedStamps[coreId] != mStamp && mDistances[coreId] == bucket){
+                    mClosedStamps[coreId] = mStamp;
+
+                    _checkEnd(coreId, bucket);
+
+                    _expandCoreWord(coreId, bucket, maxDistance);
+                }
+            }
+        }
+
+        // Clear buckets.
+        for(int bucket = 0; bucket <= maxDistance; bucket++){
+            mBucketsSizes[bucket] = 0;
+        }
+    }
+
+    /** Updates the best chain if end word is core word itself or it lies on edge of core word. */
+    private void _checkEnd(int coreId, int distance){
+        if(mEndEdge < 0){
+            if(mReducedGraph.getCoreWord(coreId) == mEndWordId && distance < mBestDistance){
+                mBestDistance = distance;
+                mBestCoreId = coreId;
+                mBestEdge = -1;
+            }
+        } else {
+            for(int side = 0; side < 2; side++){
+                if(mReducedGraph.getEdgeEnd(mEndEdge, side) == coreId){
+                    int position = (side == 0 ? 0 : mReducedGraph.getEdgeWeight(mEndEdge));
+                    int endDistance = distance + Math.abs(position - mEndPosition);
+
+                    if(endDistance < mBestDistance){
+                        mBestDistance = endDistance;
+                        mBestCoreId = coreId;
+                        mBestEdge = mEndEdge;
+                        mBestFromPosition = position;
+                    }
+                }
+            }
+        }
+    }
+
+    /** Expands core word: updates distances of core words on other ends of its edges. */
+    private void _expandCoreWord(int coreId, int distance, int maxDistance){
+        if(mIsStatisticsEnabled){
+            mStatistics.registerExpandedNode(distance);
+        }
+
+        int edgesCount = mReducedGraph.getCoreEdgesCount(coreId);
+
+        for(int i = 0; i < edgesCount; i++){
+            int neighborDistance = distance + mReducedGraph.getCoreEdgeWeight(coreId, i);
+
+            if(neighborDistance <= maxDistance){
+                _relax(mReducedGraph.getCoreNeighbor(coreId, i), neighborDistance, coreId,
+                        mReducedGraph.getCoreEdge(coreId, i), -1, -1);
+            }
+        }
+    }
+
+    /** Restores the best words chain from end word back to start word.
+     *  @return Identifiers of words chain, start word which is absent in graph is VIRTUAL_START_WORD.
+     * */
+    private int[] _restoreWordsChain(){
+        int[] chain = new int[mBestDistance + 1];
+        int index = mBestDistance;
+
+        chain[index] = mEndWordId;
+
+        if(mBestCoreId < 0){
+            if(mBestEdge >= 0){
+                index = _writeEdgeWords(chain, index, mBestEdge, mBestFromPosition, mEndPosition);
+            }
+
+            assert index == mBestSeedDistance;
+        } else {
+            int coreId = mBestCoreId;
+
+            if(mBestEdge >= 0){
+                index = _writeEdgeWords(chain, index, mBestEdge, mBestFromPosition, mEndPosition);
+            }
+
+            while(coreId >= 0 && mParentEdges[coreId] >= 0){
+                int edge = mParentEdges[coreId];
+                int parentCoreId = mParentCores[coreId];
+
+                if(parentCoreId < 0){
+                    index = _writeEdgeWords(chain, index, edge, mParentFromPositions[coreId],
+                            mParentToPositions[coreId]);
+                } else if(mReducedGraph.getEdgeEnd(edge, 0) == parentCoreId){
+                    index = _writeEdgeWords(chain, index, edge, 0, mReducedGraph.getEdgeWeight(edge));
+                } else {
+                    index = _writeEdgeWords(chain, index, edge, mReducedGraph.getEdgeWeight(edge), 0);
+                }
+
+                coreId = parentCoreId;
+            }
+        }
+
+        assert index == 0 || index == 1;
+
+        if(index == 1){
+            chain[0] = VIRTUAL_START_WORD;
+        }
+
+        return chain;
+    }
+
+    /** Writes words of edge segment to chain backwards: word at target position is already written.
+     *  @param chain Words chain.
+     *  @param index Index of word at target position in chain.
+     *  @param edge Edge.
+     *  @param fromPosition Source position on edge.
+     *  @param toPosition Target position on edge.
+     *  @return Index of word at source position in chain.
+     * */
+    private int _writeEdgeWords(int[] chain, int index, int edge, int fromPosition, int toPosition){
+        int step = (fromPosition < toPosition ? 1 : -1);
+
+        for(int position = toPosition - step; position != fromPosition - step; position -= step){
+            chain[--index] = mReducedGraph.getEdgeWord(edge, position);
+        }
+
+        return index;
+    }
+} // class ReducedWordsChains
@@ -0,0 +1,383 @@
+/***************************************************************************************************
+ * @file ReducedWordsGraph.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the ReducedWordsGraph class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.Arrays;
+
+/**
+ * Reduced form of words graph: isolated words (words without neighbors) are dropped, unbranching paths of words
+ * with exactly two neighbors are contracted to weighted edges between core words.
+ * Core words are words with one neighbor or more than two neighbors; in cycle which consists of words with two
+ * neighbors only, the word with minimum identifier is core word. Every edge keeps its inner words in order from
+ * the first end to the second end, weight of edge is count of steps between its ends. Position of word on edge
+ * is count of steps from the first end: the first end has position 0, the second end has position equal to weight.
+ * Edges which start and finish at the same core word (loops) never shorten chains, they are kept only to locate
+ * their inner words and are absent in adjacency lists of core words.
+ * Core words get dense identifiers in ascending order of word identifiers, except core words of cycles which
+ * follow them. Reduced graph is immutable after construction.
+ */
+public final class ReducedWordsGraph {
+
+    // Private static constants.
+
+    private static final String INDEX_NAME = "Reduced words graph"; // Name of index in events.
+
+    // Private fields.
+
+    private final WordsGraph mGraph; // Words graph.
+
+    private final int[] mCoreIds; // Core identifiers of words or -1 for inner and isolated words.
+
+    private int[] mCoreWords; // Word identifiers of core words.
+
+    private int mCoreWordsCount; // Count of core words.
+
+    private int mIsolatedWordsCount; // Count of isolated words.
+
+    private int[] mEdgesEnds; // Core identifiers of edges ends: two values per edge.
+
+    private int[] mEdgesOffsets; // Offsets of edges inner words in mInnerWords array (size: edges count + 1).
+
+    private int[] mInnerWords; // Concatenated inner words of edges.
+
+    private int mEdgesCount; // Count of edges.
+
+    private final int[] mWordsEdges; // Edges of inner words or -1 for core and isolated words.
+
+    private final int[] mWordsPositions; // Positions of inner words on their edges.
+
+    private int[] mCoreEdgesOffsets; // Offsets of core adjacency lists in mCoreEdges (size: core count + 1).
+
+    private int[] mCoreEdges; // Concatenated lists of edges of core words (loops excluded).
+
+    private int[] mCoreNeighbors; // Core words on other ends of edges in mCoreEdges.
+
+    private int[] mCoreEdgesWeights; // Weights of edges in mCoreEdges.
+
+    // Public methods.
+
+    /** Constructor: reduces graph.
+     *  @param graph Words graph.
+     * */
+    public ReducedWordsGraph(WordsGraph graph){
+        assert graph != null;
+
+        mGraph = graph;
+
+        PuzzleEvents.IndexBuildEvent buildEvent = new PuzzleEvents.IndexBuildEvent();
+        buildEvent.begin();
+
+        int wordsCount = graph.getWordsCount();
+
+        mCoreIds = new int[wordsCount];
+        mCoreWords = new int[wordsCount];
+        mWordsEdges = new int[wordsCount];
+        mWordsPositions = new int[wordsCount];
+
+        mEdgesEnds = new int[16];
+        mEdgesOffsets = new int[9];
+        mInnerWords = new int[16];
+
+        Arrays.fill(mWordsEdges, -1);
+
+        _findCoreWords();
+
+        _contractPaths();
+
+        _buildCoreAdjacencyLists();
+
+        buildEvent.index = INDEX_NAME;
+        buildEvent.commit(graph.getWordsLength(), wordsCount, PuzzleEvents.OUTCOME_SUCCESS);
+    }
+
+    /** Gets words graph. */
+    public WordsGraph getGraph(){
+        return mGraph;
+    }
+
+    /** Gets count of core words. */
+    public int getCoreWordsCount(){
+        return mCoreWordsCount;
+    }
+
+    /** Gets count of isolated words. */
+    public int getIsolatedWordsCount(){
+        return mIsolatedWordsCount;
+    }
+
+    /** Gets word identifier of core word. */
+    public int getCoreWord(int coreId){
+        assert coreId >= 0 && coreId < mCoreWordsCount;
+
+        return mCoreWords[coreId];
+    }
+
+    /** Gets core identifier of word.
+     *  @param wordId Word identifier.
+     *  @return Core identifier or -1 if word is inner word of edge or isolated word.
+     * */
+    public int getCoreId(int wordId){
+        return mCoreIds[wordId];
+    }
+
+    /** Gets count of edges (loops included). */
+    public int getEdgesCount(){
+        return mEdgesCount;
+    }
+
+    /** Gets core identifier of edge end.
+     *  @param edge Edge.
+     *  @param side 0 for the first end, 1 for the second end.
+     *  @return Core identifier.
+     * */
+    public int getEdgeEnd(int edge, int side){
+        assert edge >= 0 && edge < mEdgesCount;
+        assert side == 0 || side == 1;
+
+        return mEdgesEnds[2 * edge + side];
+    }
+
+    /** Gets weight of edge: count of steps between its ends. */
+    public int getEdgeWeight(int edge){
+        assert edge >= 0 && edge < mEdgesCount;
+
+        return mEdgesOffsets[edge + 1] - mEdgesOffsets[edge] + 1;
+    }
+
+    /** Gets word of edge.
+     *  @param edge Edge.
+     *  @param position Position of word on edge: from 0 (the first end) to weight of edge (the second end).
+     *  @return Word identifier.
+     * */
+    public int getEdgeWord(int edge, int position){
+        int weight = getEdgeWeight(edge);
+
+        assert position >= 0 && position <= weight;
+
+        int wordId;
+
+        if(position == 0){
+            wordId = mCoreWords[mEdgesEnds[2 * edge]];
+        } else if(position == weight){
+            wordId = mCoreWords[mEdgesEnds[2 * edge + 1]];
+        } else {
+            wordId = mInnerWords[mEdgesOffsets[edge] + position - 1];
+        }
+
+        return wordId;
+    }
+
+    /** Gets edge of inner word.
+     *  @param wordId Word identifier.
+     *  @return Edge or -1 if word is core word or isolated word.
+     * */
+    public int getWordEdge(int wordId){
+        return mWordsEdges[wordId];
+    }
+
+    /** Gets position of inner word on its edge. */
+    public int getWordPosition(int wordId){
+        assert mWordsEdges[wordId] >= 0;
+
+        return mWordsPositions[wordId];
+    }
+
+    /** Gets count of edges of core word (loops excluded). */
+    public int getCoreEdgesCount(int coreId){
+        return mCoreEdgesOffsets[coreId + 1] - mCoreEdgesOffsets[coreId];
+    }
+
+    /** Gets edge of core word.
+     *  @param coreId Core identifier.
+     *  @param index Index of edge in adjacency list of core word.
+     *  @return Edge.
+     * */
+    public int getCoreEdge(int coreId, int index){
+        assert index >= 0 && index < getCoreEdgesCount(coreId);
+
+        return mCoreEdges[mCoreEdgesOffsets[coreId] + index];
+    }
+
+    /** Gets core word on other end of edge of core word.
+     *  @param coreId Core identifier.
+     *  @param index Index of edge in adjacency list of core word.
+     *  @return Core identifier of neighbor.
+     * */
+    public int getCoreNeighbor(int coreId, int index){
+        assert index >= 0 && index < getCoreEdgesCount(coreId);
+
+        return mCoreNeighbors[mCoreEdgesOffsets[coreId] + index];
+    }
+
+    /** Gets weight of edge of core word.
+     *  @param coreId Core identifier.
+     *  @param index Index of edge in adjacency list of core word.
+     *  @return Weight of edge.
+     * */
+    public int getCoreEdgeWeight(int coreId, int index){
+        assert index >= 0 && index < getCoreEdgesCount(coreId);
+
+        return mCoreEdgesWeights[mCoreEdgesOffsets[coreId] + index];
+    }
+
+    // Private methods.
+
+    /** Finds core words: words with one neighbor or more than two neighbors. */
+    private void _findCoreWords(){
+        mCoreWordsCount = 0;
+        mIsolatedWordsCount = 0;
+
+        for(int wordId = 0; wordId < mGraph.getWordsCount(); wordId++){
+            int neighborsCount = mGraph.getNeighborsCount(wordId);
+
+            if(neighborsCount == 0){
+                mIsolatedWordsCount++;
+                mCoreIds[wordId] = -1;
+            } else if(neighborsCount == 2){
+                mCoreIds[wordId] = -1;
+            } else {
+                mCoreIds[wordId] = mCoreWordsCount;
+                mCoreWords[mCoreWordsCount++] = wordId;
+            }
+        }
+    }
+
+    /** Contracts paths of words with two neighbors to edges. */
+    private void _contractPaths(){
+        // Every path between core words is walked from both ends, edge is added from the end with smaller
+        // identifier; loop is walked in both directions, edge is added in direction of smaller inner word.
+        int coreWordsCount = mCoreWordsCount;
+
+        for(int coreId = 0; coreId < coreWordsCount; coreId++){
+            int wordId = mCoreWords[coreId];
+
+            for(int i = 0; i < mGraph.getNeighborsCount(wordId); i++){
+                _walkPath(coreId, mGraph.getNeighbor(wordId, i), false);
+            }
+        }
+
+        // Remaining words with two neighbors form cycles without core words.
+        for(int wordId = 0; wordId < mGraph.getWordsCount(); wordId++){
+            if(mCoreIds[wordId] < 0 && mWordsEdges[wordId] < 0 && mGraph.getNeighborsCount(wordId) == 2){
+                int coreId = mCoreWordsCount++;
+
+                mCoreIds[wordId] = coreId;
+                mCoreWords[coreId] = wordId;
+
+                _walkPath(coreId, mGraph.getNeighbor(wordId, 0), true);
+            }
+        }
+
+        mCoreWords = Arrays.copyOf(mCoreWords, mCoreWordsCount);
+        mEdgesEnds = Arrays.copyOf(mEdgesEnds, 2 * mEdgesCount);
+        mEdgesOffsets = Arrays.copyOf(mEdgesOffsets, mEdgesCount + 1);
+        mInnerWords = Arrays.copyOf(mInnerWords, mEdgesOffsets[mEdgesCount]);
+    }
+
+    /** Walks path from core word through words with two neighbors and adds edge if it is required.
+     *  @param startCoreId Core identifier of the first end of path.
+     *  @param firstWordId The first word after start core word.
+     *  @param isCycle Flag defines if path is cycle without other core words (edge is always added).
+     * */
+    private void _walkPath(int startCoreId, int firstWordId, boolean isCycle){
+        int innerStart = mEdgesOffsets[mEdgesCount];
+        int innerEnd = innerStart;
+
+        int previousId = mCoreWords[startCoreId];
+        int currentId = firstWordId;
+
+        while(mCoreIds[currentId] < 0){
+            if(innerEnd == mInnerWords.length){
+                mInnerWords = Arrays.copyOf(mInnerWords, mInnerWords.length * 2);
+            }
+
+            mInnerWords[innerEnd++] = currentId;
+
+            int nextId = mGraph.getNeighbor(currentId, 0);
+
+            if(nextId == previousId){
+                nextId = mGraph.getNeighbor(currentId, 1);
+            }
+
+            previousId = currentId;
+            currentId = nextId;
+        }
+
+        int endCoreId = mCoreIds[currentId];
+
+        boolean isEdgeRequired;
+
+        if(isCycle){
+            isEdgeRequired = true;
+        } else if(startCoreId != endCoreId){
+            isEdgeRequired = startCoreId < endCoreId;
+        } else {
+            // Loop contains two inner words at least.
+            isEdgeRequired = mInnerWords[innerStart] < mInnerWords[innerEnd - 1];
+        }
+
+        if(isEdgeRequired){
+            int edge = mEdgesCount++;
+
+            if(2 * mEdgesCount > mEdgesEnds.length){
+                mEdgesEnds = Arrays.copyOf(mEdgesEnds, mEdgesEnds.length * 2);
+            }
+
+            if(mEdgesCount + 1 > mEdgesOffsets.length){
+                mEdgesOffsets = Arrays.copyOf(mEdgesOffsets, mEdgesOffsets.length * 2);
+            }
+
+            mEdgesEnds[2 * edge] = startCoreId;
+            mEdgesEnds[2 * edge + 1] = endCoreId;
+            mEdgesOffsets[edge + 1] = innerEnd;
+
+            for(int i = innerStart; i < innerEnd; i++){
+                mWordsEdges[mInnerWords[i]] = edge;
+                mWordsPositions[mInnerWords[i]] = i - innerStart + 1;
+            }
+        }
+    }
+
+    /** Builds adjacency lists of core words. */
+    private void _buildCoreAdjacencyLists(){
+        mCoreEdgesOffsets = new int[mCoreWordsCount + 1];
+
+        for(int edge = 0; edge < mEdgesCount; edge++){
+            if(mEdgesEnds[2 * edge] != mEdgesEnds[2 * edge + 1]){
+                mCoreEdgesOffsets[mEdgesEnds[2 * edge] + 1]++;
+                mCoreEdgesOffsets[mEdgesEnds[2 * edge + 1] + 1]++;
+            }
+        }
+
+        for(int coreId = 0; coreId < mCoreWordsCount; coreId++){
+            mCoreEdgesOffsets[coreId + 1] += mCoreEdgesOffsets[coreId];
+        }
+
+        mCoreEdges = new int[mCoreEdgesOffsets[mCoreWordsCount]];
+        mCoreNeighbors = new int[mCoreEdges.length];
+        mCoreEdgesWeights = new int[mCoreEdges.length];
+
+        int[] fillPositions = Arrays.copyOf(mCoreEdgesOffsets, mCoreWordsCount);
+
+        for(int edge = 0; edge < mEdgesCount; edge++){
+            int firstEnd = mEdgesEnds[2 * edge];
+            int secondEnd = mEdgesEnds[2 * edge + 1];
+
+            if(firstEnd != secondEnd){
+                _addCoreEdge(fillPositions[firstEnd]++, edge, secondEnd);
+                _addCoreEdge(fillPositions[secondEnd]++, edge, firstEnd);
+            }
+        }
+    }
+
+    /** Adds edge to adjacency list of core word. */
+    private void _addCoreEdge(int index, int edge, int neighborCoreId){
+        mCoreEdges[index] = edge;
+        mCoreNeighbors[index] = neighborCoreId;
+        mCoreEdgesWeights[index] = getEdgeWeight(edge);
+    }
+} // class ReducedWordsGraph
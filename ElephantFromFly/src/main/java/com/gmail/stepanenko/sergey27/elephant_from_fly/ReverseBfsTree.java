@@ -0,0 +1,158 @@
+/***************************************************************************************************
+ * @file ReverseBfsTree.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the ReverseBfsTree class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+/**
+ * Reverse breadth first search tree of end word over words graph: for every word it keeps parent, the
+ * neighbor which is one step closer to end word. Shortest words chain from any word to end word is
+ * restored by walking parent pointers in O(chain length) without search.
+ * Tree is immutable after construction.
+ */
+public final class ReverseBfsTree {
+
+    // Private static constants.
+
+    private static final String INDEX_NAME = "Reverse BFS tree"; // Name of index in events.
+
+    private static final int NO_PARENT = -1; // Parent of word which can't reach end word.
+
+    private static final long OBJECT_OVERHEAD_BYTES = 64; // Estimated size of tree object and array headers.
+
+    // Private fields.
+
+    private final WordsGraph mGraph; // Words graph.
+
+    private final int mEndWordId; // Identifier of end word.
+
+    private final int[] mParents; // Parents of words, end word is parent of itself.
+
+    // Public static methods.
+
+    /** Gets estimated size in memory in bytes of tree of graph with given count of words (all trees of graph have
+     *  equal size).
+     * */
+    public static long estimateMemorySize(int wordsCount){
+        return OBJECT_OVERHEAD_BYTES + (long)Integer.BYTES * wordsCount;
+    }
+
+    // Public methods.
+
+    /** Constructor: builds tree.
+     *  @param graph Words graph.
+     *  @param endWordId Identifier of end word in graph.
+     * */
+    public ReverseBfsTree(WordsGraph graph, int endWordId){
+        assert graph != null;
+        assert endWordId >= 0 && endWordId < graph.getWordsCount();
+
+        mGraph = graph;
+        mEndWordId = endWordId;
+
+        PuzzleEvents.IndexBuildEvent buildEvent = new PuzzleEvents.IndexBuildEvent();
+        buildEvent.begin();
+
+        int wordsCount = graph.getWordsCount();
+
+        mParents = new int[wordsCount];
+
+        for(int wordId = 0; wordId < wordsCount; wordId++){
+            mParents[wordId] = NO_PARENT;
+        }
+
+        int[] queue = new int[wordsCount];
+        int queueHead = 0;
+        int queueTail = 0;
+
+        mParents[endWordId] = endWordId;
+        queue[queueTail++] = endWordId;
+
+        while(queueHead < queueTail){
+            int wordId = queue[queueHead++];
+
+            for(int i = 0; i < graph.getNeighborsCount(wordId); i++){
+                int neighborId = graph.getNeighbor(wordId, i);
+
+                if(mParents[neighborId] == NO_PARENT){
+                    mParents[neighborId] = wordId;
+                    queue[queueTail++] = neighborId;
+                }
+            }
+        }
+
+        buildEvent.index = INDEX_NAME;
+        buildEvent.commit(graph.getWordsLength(), wordsCount, PuzzleEvents.OUTCOME_SUCCESS);
+    }
+
+    /** Gets identifier of end word. */
+    public int getEndWordId(){
+        return mEndWordId;
+    }
+
+    /** Checks if end word can be reached from word. */
+    public boolean isReachable(int wordId){
+        return mParents[wordId] != NO_PARENT;
+    }
+
+    /** Gets parent of word: neighbor which is one step closer to end word.
+     *  @param wordId Word identifier.
+     *  @return Identifier of parent (end word for end word itself) or -1 if end word can't be reached.
+     * */
+    public int getParent(int wordId){
+        return mParents[wordId];
+    }
+
+    /** Gets count of steps from word to end word.
+     *  @param wordId Word identifier.
+     *  @return Distance or -1 if end word can't be reached.
+     * */
+    public int getDistance(int wordId){
+        int distance = -1;
+
+        if(isReachable(wordId)){
+            distance = 0;
+
+            for(int currentId = wordId; currentId != mEndWordId; currentId = mParents[currentId]){
+                distance++;
+            }
+        }
+
+        return distance;
+    }
+
+    /** Gets shortest words chain from word to end word.
+     *  @param wordId Word identifier.
+     *  @return Identifiers of words chain (from given word to end word) or null if end word can't be reached.
+     * */
+    public int[] getWordsChain(int wordId){
+        int[] chain = null;
+
+        int distance = getDistance(wordId);
+
+        if(distance >= 0){
+            chain = new int[distance + 1];
+
+            int currentId = wordId;
+
+            for(int i = 0; i <= distance; i++){
+                chain[i] = currentId;
+                currentId = mParents[currentId];
+            }
+        }
+
+        return chain;
+    }
+
+    /** Gets estimated size of tree in memory in bytes. */
+    public long getMemorySize(){
+        return estimateMemorySize(mParents.length);
+    }
+
+    /** Gets words graph of tree. */
+    public WordsGraph getGraph(){
+        return mGraph;
+    }
+} // class ReverseBfsTree
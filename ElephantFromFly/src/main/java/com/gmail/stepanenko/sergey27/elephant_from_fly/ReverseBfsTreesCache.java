@@ -0,0 +1,267 @@
+/***************************************************************************************************
+ * @file ReverseBfsTreesCache.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the ReverseBfsTreesCache class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Cache of reverse breadth first search trees of popular end words.
+ * Every query registers request of its end word; when count of requests reaches threshold, tree of end word
+ * is built by executor in background. Queries to end words with cached trees are answered in O(chain length)
+ * by walking parent pointers, other queries get null and should be solved by search engine.
+ * Total estimated size of cached trees doesn't exceed memory budget: least recently used trees are evicted.
+ * All trees of graph have equal size, so if one tree exceeds budget, requests aren't registered and trees aren't
+ * built at all. If executor rejects build, query gets null and end word can be scheduled by later requests.
+ * Cache is thread-safe.
+ */
+public final class ReverseBfsTreesCache {
+
+    // Private static constants.
+
+    private static final String SEARCH_ENGINE_NAME = "Reverse BFS trees cache"; // Name of search engine in events.
+
+    // Private fields.
+
+    private final WordsGraph mGraph; // Words graph.
+
+    private final long mMemoryBudgetBytes; // Maximum total size of cached trees in bytes.
+
+    private final int mRequestsThreshold; // Count of requests of end word after which its tree is built.
+
+    private final Executor mExecutor; // Executor of background tree builds.
+
+    private final boolean mIsTreeFitting; // Flag: tree fits memory budget (all trees have equal size).
+
+    // Following fields are guarded by this object.
+
+    private final LinkedHashMap<Integer, ReverseBfsTree> mTrees; // Cached trees by end word in access order.
+
+    private final Map<Integer, Integer> mRequestsCounts; // Counts of requests by end word without cached tree.
+
+    private final Set<Integer> mBuildingEndWords; // End words which trees are being built.
+
+    private long mUsedMemoryBytes; // Total size of cached trees.
+
+    // Public methods.
+
+    /** Constructor.
+     *  @param graph Words graph.
+     *  @param memoryBudgetBytes Maximum total size of cached trees in bytes.
+     *  @param requestsThreshold Count of requests of end word after which its tree is built.
+     *  @param executor Executor of background tree builds.
+     * */
+    public ReverseBfsTreesCache(WordsGraph graph, long memoryBudgetBytes, int requestsThreshold, Executor executor){
+        assert graph != null;
+        assert memoryBudgetBytes >= 0;
+        assert requestsThreshold > 0;
+        assert executor != null;
+
+        mGraph = graph;
+        mMemoryBudgetBytes = memoryBudgetBytes;
+        mRequestsThreshold = requestsThreshold;
+        mExecutor = executor;
+        mIsTreeFitting = (ReverseBfsTree.estimateMemorySize(graph.getWordsCount()) <= memoryBudgetBytes);
+
+        mTrees = new LinkedHashMap<>(16, 0.75f, true);
+        mRequestsCounts = new HashMap<>();
+        mBuildingEndWords = new HashSet<>();
+    }
+
+    /** Finds shortest words chain using cached tree of end word and registers request of end word.
+     *  @param inputWords Input words.
+     *  @param maxWordsChainLength Maximum length of words chain.
+     *  @return Result of search (empty if there is no chain within maximum length) or null if tree of end word
+     *          is not cached.
+     *  @exception PuzzleException End word is absent in vocabulary.
+     * */
+    public WordsChainPuzzle.Result findWordsChain(InputWords inputWords, int maxWordsChainLength)
+            throws PuzzleException {
+        assert inputWords != null;
+        assert inputWords.getLength() == mGraph.getWordsLength();
+        assert maxWordsChainLength > 0;
+
+        int endWordId = mGraph.getWordId(inputWords.getEndWord());
+
+        if(endWordId < 0){
+            throw new PuzzleException(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY);
+        }
+
+        ReverseBfsTree tree = _getTreeAndRegisterRequest(endWordId);
+
+        WordsChainPuzzle.Result result = null;
+
+        if(tree != null){
+            PuzzleEvents.SearchEvent searchEvent = new PuzzleEvents.SearchEvent();
+            searchEvent.begin();
+
+            result = _findWordsChain(tree, inputWords, maxWordsChainLength);
+
+            searchEvent.engine = SEARCH_ENGINE_NAME;
+            searchEvent.wordsChainLength = result.getWordsChain().size();
+            searchEvent.commit(mGraph.getWordsLength(), mGraph.getWordsCount(),
+                    (result.isEmpty() ? PuzzleEvents.OUTCOME_NOT_FOUND : PuzzleEvents.OUTCOME_FOUND));
+        }
+
+        return result;
+    }
+
+    /** Checks if tree of end word is cached. */
+    public synchronized boolean isCached(String endWord){
+        assert endWord != null;
+
+        return mTrees.containsKey(mGraph.getWordId(endWord));
+    }
+
+    /** Gets count of cached trees. */
+    public synchronized int getCachedTreesCount(){
+        return mTrees.size();
+    }
+
+    /** Gets total estimated size of cached trees in bytes. */
+    public synchronized long getUsedMemoryBytes(){
+        return mUsedMemoryBytes;
+    }
+
+    // Private methods.
+
+    /** Gets cached tree of end word, if tree is not cached registers request and schedules build of tree
+     *  when requests threshold is reached.
+     * */
+    private ReverseBfsTree _getTreeAndRegisterRequest(final int endWordId){
+        boolean isBuildRequired = false;
+
+        ReverseBfsTree tree;
+
+        synchronized(this){
+            tree = mTrees.get(endWordId);
+
+            if(tree == null && mIsTreeFitting && !mBuildingEndWords.contains(endWordId)){
+                Integer requestsCount = mRequestsCounts.get(endWordId);
+                requestsCount = (requestsCount == null ? 1 : requestsCount + 1);
+
+                if(requestsCount >= mRequestsThreshold){
+                    mRequestsCounts.remove(endWordId);
+                    mBuildingEndWords.add(endWordId);
+                    isBuildRequired = true;
+                } else {
+                    mRequestsCounts.put(endWordId, requestsCount);
+                }
+            }
+        }
+
+        if(isBuildRequired){
+            try {
+                mExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        _buildTree(endWordId);
+                    }
+                }); // exception
+
+                // Executor can build tree in calling thread.
+                synchronized(this){
+                    tree = mTrees.get(endWordId);
+                }
+            } catch(RejectedExecutionException exception){
+                // Build isn't scheduled (executor is shut down or saturated): query is solved without tree.
+                synchronized(this){
+                    mBuildingEndWords.remove(endWordId);
+                }
+            }
+        }
+
+        return tree;
+    }
+
+    /** Builds tree of end word and adds it to cache evicting least recently used trees. */
+    private void _buildTree(int endWordId){
+        ReverseBfsTree tree = null;
+
+        try {
+            tree = new ReverseBfsTree(mGraph, endWordId);
+        } finally {
+            synchronized(this){
+                mBuildingEndWords.remove(endWordId);
+
+                if(tree != null && tree.getMemorySize() <= mMemoryBudgetBytes){
+                    mTrees.put(endWordId, tree);
+                    mUsedMemoryBytes += tree.getMemorySize();
+
+                    _evictTrees();
+                } // else tree alone exceeds memory budget
+            }
+        }
+    }
+
+    /** Evicts least recently used trees while memory budget is exceeded. */
+    private void _evictTrees(){
+        Iterator<ReverseBfsTree> iterator = mTrees.values().iterator();
+
+        while(mUsedMemoryBytes > mMemoryBudgetBytes && iterator.hasNext()){
+            ReverseBfsTree tree = iterator.next();
+
+            mUsedMemoryBytes -= tree.getMemorySize();
+            iterator.remove();
+        }
+    }
+
+    /** Restores shortest words chain from tree. */
+    private WordsChainPuzzle.Result _findWordsChain(ReverseBfsTree tree, InputWords inputWords,
+                                                    int maxWordsChainLength){
+        int startWordId = mGraph.getWordId(inputWords.getStartWord());
+
+        int[] chain = null;
+
+        if(startWordId >= 0){
+            chain = tree.getWordsChain(startWordId);
+        } else {
+            // Start word is absent in graph: continue chain from its neighbor closest to end word.
+            int bestNeighborId = -1;
+            int bestDistance = Integer.MAX_VALUE;
+
+            for(int neighborId : mGraph.getNeighborIds(inputWords.getStartWord())){
+                int distance = tree.getDistance(neighborId);
+
+                if(distance >= 0 && distance < bestDistance){
+                    bestNeighborId = neighborId;
+                    bestDistance = distance;
+                }
+            }
+
+            if(bestNeighborId >= 0){
+                chain = tree.getWordsChain(bestNeighborId);
+            }
+        }
+
+        WordsChainPuzzle.Result result = new WordsChainPuzzle.Result(inputWords);
+
+        // Chain from start word which is absent in graph doesn't contain start word itself.
+        int chainLength = (chain == null ? 0 : chain.length + (startWordId >= 0 ? 0 : 1));
+
+        if(chain != null && chainLength <= maxWordsChainLength){
+            List<String> wordsChain = result.getWordsChain();
+
+            if(startWordId < 0){
+                wordsChain.add(inputWords.getStartWord());
+            }
+
+            for(int wordId : chain){
+                wordsChain.add(mGraph.getWord(wordId));
+            }
+        }
+
+        return result;
+    }
+} // class ReverseBfsTreesCache
@@ -0,0 +1,134 @@
+/***************************************************************************************************
+ * @file SearchStatistics.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the SearchStatistics class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+/**
+ * Statistics of words chain search: counters of search operations and time of search phases.
+ * Statistics is collected only if it is enabled, otherwise all values remain zero.
+ */
+public final class SearchStatistics {
+
+    // Private static constants.
+
+    // Format of statistics string.
+    private static final String STATISTICS_FORMAT = "Expanded nodes: %d, words difference calculations: %d, " +
+            "roll backs: %d, max depth: %d, improvements: %d, preparation time (ms): %.3f, search time (ms): %.3f";
+
+    private static final double NANOS_IN_MILLISECOND = 1000000.0;
+
+    // Private fields.
+
+    private boolean mIsEnabled; // Flag defines if statistics is collected.
+
+    private long mExpandedNodesCount; // Count of expanded search nodes.
+
+    private long mWordsDifferenceCalculationsCount; // Count of words difference calculations.
+
+    private long mRollBacksCount; // Count of search roll backs.
+
+    private int mMaxDepth; // Maximum depth of search (maximum size of words chain deque).
+
+    private int mImprovementsCount; // Count of found words chains which improved result.
+
+    private long mPreparationTimeNanos; // Time of vocabulary preparation in nanoseconds.
+
+    private long mSearchTimeNanos; // Time of search in nanoseconds.
+
+    // Public methods.
+
+    /** Constructor.
+     *  @param isEnabled Flag defines if statistics is collected.
+     * */
+    public SearchStatistics(boolean isEnabled){
+        mIsEnabled = isEnabled;
+    }
+
+    /** Checks if statistics is collected. */
+    public boolean isEnabled(){
+        return mIsEnabled;
+    }
+
+    /** Gets count of expanded search nodes. */
+    public long getExpandedNodesCount(){
+        return mExpandedNodesCount;
+    }
+
+    /** Gets count of words difference calculations. */
+    public long getWordsDifferenceCalculationsCount(){
+        return mWordsDifferenceCalculationsCount;
+    }
+
+    /** Gets count of search roll backs. */
+    public long getRollBacksCount(){
+        return mRollBacksCount;
+    }
+
+    /** Gets maximum depth of search. */
+    public int getMaxDepth(){
+        return mMaxDepth;
+    }
+
+    /** Gets count of found words chains which improved result. */
+    public int getImprovementsCount(){
+        return mImprovementsCount;
+    }
+
+    /** Gets time of vocabulary preparation in nanoseconds. */
+    public long getPreparationTimeNanos(){
+        return mPreparationTimeNanos;
+    }
+
+    /** Gets time of search in nanoseconds. */
+    public long getSearchTimeNanos(){
+        return mSearchTimeNanos;
+    }
+
+    @Override
+    public String toString(){
+        return String.format(STATISTICS_FORMAT, mExpandedNodesCount, mWordsDifferenceCalculationsCount,
+                mRollBacksCount, mMaxDepth, mImprovementsCount, mPreparationTimeNanos / NANOS_IN_MILLISECOND,
+                mSearchTimeNanos / NANOS_IN_MILLISECOND);
+    }
+
+    // Package private methods: used by search engines, callers check isEnabled() before calling.
+
+    /** Registers expanded search node.
+     *  @param depth Depth of search after expansion.
+     * */
+    void registerExpandedNode(int depth){
+        mExpandedNodesCount++;
+
+        if(depth > mMaxDepth){
+            mMaxDepth = depth;
+        }
+    }
+
+    /** Adds count of words difference calculations. */
+    void addWordsDifferenceCalculations(long count){
+        mWordsDifferenceCalculationsCount += count;
+    }
+
+    /** Registers search roll back. */
+    void registerRollBack(){
+        mRollBacksCount++;
+    }
+
+    /** Registers found words chain which improved result. */
+    void registerImprovement(){
+        mImprovementsCount++;
+    }
+
+    /** Sets time of vocabulary preparation in nanoseconds. */
+    void setPreparationTimeNanos(long value){
+        mPreparationTimeNanos = value;
+    }
+
+    /** Sets time of search in nanoseconds. */
+    void setSearchTimeNanos(long value){
+        mSearchTimeNanos = value;
+    }
+} // class SearchStatistics
@@ -0,0 +1,360 @@
+/***************************************************************************************************
+ * @file ShortestWordsChains.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the ShortestWordsChains class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * All shortest words chains from start word to end word.
+ * On construction directed acyclic graph of shortest chains is built once: layered breadth first search goes
+ * from start word until layer of end word is completed, then backward sweep from end word keeps only words
+ * which lie on some shortest chain and counts chains passing through every such word.
+ * Chains are enumerated lazily by iterator, counting them doesn't require enumeration.
+ */
+public final class ShortestWordsChains implements Iterable<List<String>> {
+
+    // Private static constants.
+
+    private static final int NOT_IN_LAYER = -1; // Word doesn't belong to any layer.
+
+    private static final String SEARCH_ENGINE_NAME = "Shortest chains DAG"; // Name of search engine in events.
+
+    // Private fields.
+
+    private WordsGraph mGraph; // Words graph.
+
+    private InputWords mInputWords; // Input words.
+
+    private int[] mStartNeighbors; // Identifiers of words which are one character different from start word.
+
+    // Layer of every word in directed acyclic graph of shortest chains: distance from start word or
+    // NOT_IN_LAYER if word doesn't lie on any shortest chain.
+    private int[] mLayers;
+
+    private int mLastLayer; // Layer of end word or NOT_IN_LAYER if end word is unreachable.
+
+    private long mWordsChainsCount; // Count of shortest words chains (saturated at Long.MAX_VALUE).
+
+    // Public methods.
+
+    /** Constructor: builds directed acyclic graph of shortest words chains.
+     *  @param graph Words graph.
+     *  @param inputWords Input words.
+     *  @param maxWordsChainLength Maximum length of words chain.
+     *  @exception PuzzleException End word is absent in vocabulary.
+     * */
+    public ShortestWordsChains(WordsGraph graph, InputWords inputWords, int maxWordsChainLength)
+            throws PuzzleException {
+        assert graph != null;
+        assert inputWords != null;
+        assert inputWords.getLength() == graph.getWordsLength();
+        assert maxWordsChainLength > 0;
+
+        int endWordId = graph.getWordId(inputWords.getEndWord());
+
+        if(endWordId < 0){
+            throw new PuzzleException(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY);
+        }
+
+        PuzzleEvents.SearchEvent searchEvent = new PuzzleEvents.SearchEvent();
+        searchEvent.begin();
+
+        mGraph = graph;
+        mInputWords = inputWords;
+        mStartNeighbors = graph.getNeighborIds(inputWords.getStartWord());
+        mLayers = new int[graph.getWordsCount()];
+        mLastLayer = NOT_IN_LAYER;
+
+        int[] distances = _calculateDistancesFromStartWord(endWordId, maxWordsChainLength - 1);
+
+        if(distances[endWordId] != NOT_IN_LAYER){
+            mLastLayer = distances[endWordId];
+            mWordsChainsCount = _buildLayers(distances, endWordId);
+        } else {
+            Arrays.fill(mLayers, NOT_IN_LAYER);
+        }
+
+        searchEvent.engine = SEARCH_ENGINE_NAME;
+        searchEvent.wordsChainLength = getWordsChainLength();
+        searchEvent.commit(graph.getWordsLength(), graph.getWordsCount(),
+                (isEmpty() ? PuzzleEvents.OUTCOME_NOT_FOUND : PuzzleEvents.OUTCOME_FOUND));
+    }
+
+    /** Gets input words. */
+    public InputWords getInputWords(){
+        return mInputWords;
+    }
+
+    /** Checks if there are no words chains. */
+    public boolean isEmpty(){
+        return mLastLayer == NOT_IN_LAYER;
+    }
+
+    /** Gets length of every shortest words chain (count of words including start and end word)
+     *  or 0 if there are no words chains. */
+    public int getWordsChainLength(){
+        return (isEmpty() ? 0 : mLastLayer + 1);
+    }
+
+    /** Gets count of shortest words chains, value is saturated at Long.MAX_VALUE. */
+    public long getWordsChainsCount(){
+        return mWordsChainsCount;
+    }
+
+    /** Checks if word lies on some shortest words chain (start word is not checked). */
+    public boolean isOnShortestWordsChain(String word){
+        assert word != null;
+
+        int wordId = mGraph.getWordId(word);
+
+        return (wordId >= 0 && mLayers[wordId] != NOT_IN_LAYER);
+    }
+
+    /** Gets iterator which lazily enumerates all shortest words chains in lexicographic order of word identifiers. */
+    @Override
+    public Iterator<List<String>> iterator(){
+        return new WordsChainsIterator();
+    }
+
+    // Private methods.
+
+    /** Calculates distances from start word using layered breadth first search.
+     *  Search is stopped when layer of end word is completed or maximum distance is reached.
+     *  @param endWordId Identifier of end word.
+     *  @param maxDistance Maximum distance from start word.
+     *  @return Distances from start word, NOT_IN_LAYER for words which were not reached.
+     * */
+    private int[] _calculateDistancesFromStartWord(int endWordId, int maxDistance){
+        int[] distances = new int[mGraph.getWordsCount()];
+        Arrays.fill(distances, NOT_IN_LAYER);
+
+        int startWordId = mGraph.getWordId(mInputWords.getStartWord());
+
+        if(startWordId >= 0){
+            distances[startWordId] = 0;
+        }
+
+        int[] queue = new int[mGraph.getWordsCount()];
+        int queueEnd = 0;
+
+        if(maxDistance >= 1){
+            for(int neighborId : mStartNeighbors){
+                distances[neighborId] = 1;
+                queue[queueEnd++] = neighborId;
+            }
+        }
+
+        int layerBegin = 0;
+        int layer = 1;
+
+        while(layerBegin < queueEnd && distances[endWordId] == NOT_IN_LAYER && layer < maxDistance){
+            int layerEnd = queueEnd;
+
+            for(int i = layerBegin; i < layerEnd; i++){
+                int wordId = queue[i];
+
+                for(int j = 0; j < mGraph.getNeighborsCount(wordId); j++){
+                    int neighborId = mGraph.getNeighbor(wordId, j);
+
+                    if(distances[neighborId] == NOT_IN_LAYER){
+                        distances[neighborId] = layer + 1;
+                        queue[queueEnd++] = neighborId;
+                    }
+                }
+            }
+
+            layerBegin = layerEnd;
+            layer++;
+        }
+
+        return distances;
+    }
+
+    /** Builds layers of directed acyclic graph of shortest words chains by backward sweep from end word.
+     *  @param distances Distances from start word.
+     *  @param endWordId Identifier of end word.
+     *  @return Count of shortest words chains.
+     * */
+    private long _buildLayers(int[] distances, int endWordId){
+        Arrays.fill(mLayers, NOT_IN_LAYER);
+
+        // Counts of shortest chains from word to end word.
+        long[] pathsCounts = new long[mGraph.getWordsCount()];
+
+        int[] queue = new int[mGraph.getWordsCount()];
+        int queueEnd = 0;
+
+        mLayers[endWordId] = mLastLayer;
+        pathsCounts[endWordId] = 1;
+        queue[queueEnd++] = endWordId;
+
+        int layerBegin = 0;
+        int layer = mLastLayer;
+
+        while(layer > 1){
+            int layerEnd = queueEnd;
+
+            for(int i = layerBegin; i < layerEnd; i++){
+                int wordId = queue[i];
+
+                for(int j = 0; j < mGraph.getNeighborsCount(wordId); j++){
+                    int neighborId = mGraph.getNeighbor(wordId, j);
+
+                    if(distances[neighborId] == layer - 1){
+                        if(mLayers[neighborId] == NOT_IN_LAYER){
+                            mLayers[neighborId] = layer - 1;
+                            queue[queueEnd++] = neighborId;
+                        }
+
+                        pathsCounts[neighborId] = _saturatedAdd(pathsCounts[neighborId], pathsCounts[wordId]);
+                    }
+                }
+            }
+
+            layerBegin = layerEnd;
+            layer--;
+        }
+
+        // Words of the first layer are neighbors of start word.
+        long wordsChainsCount = 0;
+
+        for(int i = layerBegin; i < queueEnd; i++){
+            wordsChainsCount = _saturatedAdd(wordsChainsCount, pathsCounts[queue[i]]);
+        }
+
+        return wordsChainsCount;
+    }
+
+    /** Adds two non negative values, result is saturated at Long.MAX_VALUE. */
+    private static long _saturatedAdd(long value1, long value2){
+        long sum = value1 + value2;
+
+        return (sum < 0 ? Long.MAX_VALUE : sum);
+    }
+
+    // Private nested classes.
+
+    /**
+     * Iterator over shortest words chains: depth first traversal of directed acyclic graph of shortest chains.
+     */
+    private final class WordsChainsIterator implements Iterator<List<String>> {
+
+        // Private fields.
+
+        private int[] mChain; // Identifiers of words in current chain (start word is not included).
+
+        private int[] mCursors; // Positions of candidates for every word in current chain.
+
+        private int mLevel; // Current level in chain.
+
+        private boolean mHasNext; // Flag defines if current chain is prepared and not returned yet.
+
+        private boolean mIsCompleted; // Flag defines if all chains were enumerated.
+
+        // Public methods.
+
+        /** Constructor. */
+        public WordsChainsIterator(){
+            mIsCompleted = isEmpty();
+
+            if(!mIsCompleted){
+                mChain = new int[mLastLayer];
+                mCursors = new int[mLastLayer];
+                mCursors[0] = -1;
+                mLevel = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext(){
+            if(!mHasNext && !mIsCompleted){
+                mHasNext = _advance();
+                mIsCompleted = !mHasNext;
+            }
+
+            return mHasNext;
+        }
+
+        @Override
+        public List<String> next(){
+            if(!hasNext()){
+                throw new NoSuchElementException();
+            }
+
+            mHasNext = false;
+
+            List<String> wordsChain = new ArrayList<>(mChain.length + 1);
+            wordsChain.add(mInputWords.getStartWord());
+
+            for(int wordId : mChain){
+                wordsChain.add(mGraph.getWord(wordId));
+            }
+
+            return wordsChain;
+        }
+
+        @Override
+        public void remove(){
+            throw new UnsupportedOperationException();
+        }
+
+        // Private methods.
+
+        /** Advances traversal to the next complete chain.
+         *  @return True - next chain is prepared, false - all chains were enumerated.
+         * */
+        private boolean _advance(){
+            boolean isChainFound = false;
+
+            while(!isChainFound && mLevel >= 0){
+                int candidateId = _nextCandidate(mLevel);
+
+                if(candidateId < 0){
+                    // Candidates of this level are exhausted: go back.
+                    mLevel--;
+                } else {
+                    mChain[mLevel] = candidateId;
+
+                    if(mLevel == mLastLayer - 1){
+                        isChainFound = true;
+                    } else {
+                        mLevel++;
+                        mCursors[mLevel] = -1;
+                    }
+                }
+            }
+
+            return isChainFound;
+        }
+
+        /** Moves cursor of level to the next word of the next layer.
+         *  @return Identifier of candidate word or -1 if there are no more candidates.
+         * */
+        private int _nextCandidate(int level){
+            int layer = level + 1;
+
+            int candidatesCount = (level == 0 ? mStartNeighbors.length : mGraph.getNeighborsCount(mChain[level - 1]));
+
+            int candidateId = -1;
+
+            while(candidateId < 0 && ++mCursors[level] < candidatesCount){
+                int wordId = (level == 0 ? mStartNeighbors[mCursors[level]] :
+                        mGraph.getNeighbor(mChain[level - 1], mCursors[level]));
+
+                if(mLayers[wordId] == layer){
+                    candidateId = wordId;
+                }
+            }
+
+            return candidateId;
+        }
+    } // class WordsChainsIterator
+} // class ShortestWordsChains
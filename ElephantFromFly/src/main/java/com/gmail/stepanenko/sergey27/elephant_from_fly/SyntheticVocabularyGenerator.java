@@ -0,0 +1,123 @@
+/***************************************************************************************************
+ * @file SyntheticVocabularyGenerator.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the SyntheticVocabularyGenerator class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of synthetic vocabularies used for scaling benchmarks.
+ * Every next word is either random word or, with probability equal to neighbor density, one character
+ * variation of one of recently generated words. So density defines share of words which have neighbors
+ * and size of connected components. The same parameters and seed always produce the same vocabulary.
+ * Generated vocabulary can contain small count of duplicated words, they are removed on vocabulary loading.
+ */
+public final class SyntheticVocabularyGenerator {
+
+    // Private static constants.
+
+    private static final int RECENT_WORDS_COUNT = 64; // Count of recent words which can be varied.
+
+    // Private fields.
+
+    private long mSeed; // Seed of random numbers generator.
+
+    private int mWordsLength; // Length of generated words.
+
+    private char[] mAlphabet; // Characters of generated words.
+
+    private double mNeighborDensity; // Probability that next word is variation of one of recent words.
+
+    // Public methods.
+
+    /** Constructor.
+     *  @param seed Seed of random numbers generator.
+     *  @param wordsLength Length of generated words.
+     *  @param alphabet Characters of generated words (at least two characters).
+     *  @param neighborDensity Probability that next word is one character different from one of recent words.
+     *  @exception IllegalArgumentException Invalid words length, alphabet or density.
+     * */
+    public SyntheticVocabularyGenerator(long seed, int wordsLength, String alphabet, double neighborDensity){
+        if(wordsLength <= 0){
+            throw new IllegalArgumentException("wordsLength");
+        }
+
+        if(alphabet == null || alphabet.length() < 2){
+            throw new IllegalArgumentException("alphabet");
+        }
+
+        if(neighborDensity < 0.0 || neighborDensity > 1.0){
+            throw new IllegalArgumentException("neighborDensity");
+        }
+
+        mSeed = seed;
+        mWordsLength = wordsLength;
+        mAlphabet = alphabet.toCharArray();
+        mNeighborDensity = neighborDensity;
+    }
+
+    /** Generates vocabulary and writes it to writer: one word per line.
+     *  @param wordsCount Count of generated words.
+     *  @param writer Writer.
+     *  @exception IOException Failed to write vocabulary.
+     * */
+    public void generate(long wordsCount, Writer writer) throws IOException {
+        assert wordsCount >= 0;
+        assert writer != null;
+
+        SplittableRandom random = new SplittableRandom(mSeed);
+
+        char[][] recentWords = new char[RECENT_WORDS_COUNT][mWordsLength];
+        long recentWordsCount = 0;
+
+        char[] word = new char[mWordsLength];
+
+        for(long i = 0; i < wordsCount; i++){
+            if(recentWordsCount > 0 && random.nextDouble() < mNeighborDensity){
+                // Vary one character of one of recent words.
+                int recentIndex = random.nextInt((int)Math.min(recentWordsCount, RECENT_WORDS_COUNT));
+                System.arraycopy(recentWords[recentIndex], 0, word, 0, mWordsLength);
+
+                int position = random.nextInt(mWordsLength);
+                char character = mAlphabet[random.nextInt(mAlphabet.length - 1)];
+
+                // Skip current character so variation is always different from original word.
+                word[position] = (character == word[position] ? mAlphabet[mAlphabet.length - 1] : character);
+            } else {
+                for(int position = 0; position < mWordsLength; position++){
+                    word[position] = mAlphabet[random.nextInt(mAlphabet.length)];
+                }
+            }
+
+            System.arraycopy(word, 0, recentWords[(int)(recentWordsCount % RECENT_WORDS_COUNT)], 0, mWordsLength);
+            recentWordsCount++;
+
+            writer.write(word);
+            writer.write('\n');
+        }
+    }
+
+    /** Generates vocabulary file in UTF-8 charset.
+     *  @param wordsCount Count of generated words.
+     *  @param file Vocabulary file.
+     *  @exception IOException Failed to write vocabulary file.
+     * */
+    public void generateFile(long wordsCount, File file) throws IOException {
+        assert file != null;
+
+        try(Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) { // exception
+            generate(wordsCount, writer); // exception
+        }
+    }
+} // class SyntheticVocabularyGenerator
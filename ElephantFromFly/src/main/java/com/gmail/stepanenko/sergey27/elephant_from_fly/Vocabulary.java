@@ -7,9 +7,11 @@
 package com.gmail.stepanenko.sergey27.elephant_from_fly;
 
 import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -17,9 +19,14 @@ import java.util.Set;
  * Class represents vocabulary of words.
  * Vocabulary is loaded fro file and anly words of specified length are loaded.
  * On loading all words are converted to lower case.
+ * Gzip compressed vocabulary files and streams are decompressed on the fly.
  */
 public final class Vocabulary {
 
+    // Private static constants.
+
+    private static final int ALL_WORDS_LENGTHS = 0; // Length of words which means words of any length.
+
     // Private fields.
 
     private Set<String> mWordsSet; // Set of words.
@@ -43,40 +50,96 @@ public final class Vocabulary {
         return mWordsSet.contains(word);
     }
 
-    /** Loads vocabulary from file.
+    /** Loads vocabulary from file in default charset.
      *  After loading vocabulary will contain words of specified length converted to lower case.
      *  @param fileName Full vocabulary file name with path.
      *  @param wordsLength Length of words in vocabulary, words of other length are ignored.
      *  @exception PuzzleException Failed to load vocabulary from file.
      * */
     public void loadFromFile(String fileName, int wordsLength) throws PuzzleException {
-        assert fileName != null;
+        loadFromFile(fileName, wordsLength, Charset.defaultCharset());
+    }
+
+    /** Loads vocabulary from file.
+     *  After loading vocabulary will contain words of specified length converted to lower case.
+     *  @param fileName Full vocabulary file name with path.
+     *  @param wordsLength Length of words in vocabulary, words of other length are ignored.
+     *  @param charset Charset of vocabulary file.
+     *  @exception PuzzleException Failed to load vocabulary from file.
+     * */
+    public void loadFromFile(String fileName, int wordsLength, Charset charset) throws PuzzleException {
         assert wordsLength > 0;
 
-        File vocabularyFile = new File(fileName);
+        _loadFromFile(fileName, wordsLength, charset);
+    }
+
+    /** Loads words of all lengths from file (for example to write vocabulary index file).
+     *  After loading vocabulary will contain all words converted to lower case.
+     *  @param fileName Full vocabulary file name with path.
+     *  @param charset Charset of vocabulary file.
+     *  @exception PuzzleException Failed to load vocabulary from file.
+     * */
+    public void loadFromFile(String fileName, Charset charset) throws PuzzleException {
+        _loadFromFile(fileName, ALL_WORDS_LENGTHS, charset);
+    }
+
+    /** Loads vocabulary from stream (for example standard input or gzip compressed stream), stream isn't closed.
+     *  Stream is parsed in separate thread, see VocabularyStreamLoader.
+     *  After loading vocabulary will contain words of specified length converted to lower case.
+     *  @param input Input stream of vocabulary text.
+     *  @param wordsLength Length of words in vocabulary, words of other length are ignored.
+     *  @param charset Charset of vocabulary text.
+     *  @exception PuzzleException Failed to load vocabulary from stream.
+     * */
+    public void loadFromStream(InputStream input, int wordsLength, Charset charset) throws PuzzleException {
+        mWordsSet.clear();
+
+        VocabularyStreamLoader.loadWords(input, wordsLength, charset, mWordsSet); // exception
+    }
+
+    // Private methods.
+
+    /** Loads vocabulary from file.
+     *  @param fileName Full vocabulary file name with path.
+     *  @param wordsLength Length of words in vocabulary or ALL_WORDS_LENGTHS.
+     *  @param charset Charset of vocabulary file.
+     *  @exception PuzzleException Failed to load vocabulary from file.
+     * */
+    private void _loadFromFile(String fileName, int wordsLength, Charset charset) throws PuzzleException {
+        assert fileName != null;
+        assert wordsLength >= 0;
+        assert charset != null;
+
+        PuzzleEvents.VocabularyLoadEvent loadEvent = new PuzzleEvents.VocabularyLoadEvent();
+        loadEvent.begin();
+
+        String outcome = PuzzleEvents.OUTCOME_ERROR;
 
         try(
-                FileReader fileReader = new FileReader(vocabularyFile); // exception
-                BufferedReader bufferedReader = new BufferedReader(fileReader);
+                FileInputStream fileStream = new FileInputStream(fileName); // exception
+                BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(
+                        VocabularyStreamLoader.openStream(fileStream), charset)); // exception
         ) {
             // Read vocabulary file.
             _loadVocabulary(bufferedReader, wordsLength);
+
+            outcome = PuzzleEvents.OUTCOME_SUCCESS;
         } catch(IOException ioException){
             throw  new PuzzleException(ioException, PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR);
+        } finally {
+            loadEvent.commit(wordsLength, mWordsSet.size(), outcome);
         }
     }
 
-    // Private methods.
-
     /** Loads vocabulary from file.
      *  After loading vocabulary will contain words of specified length converted to lower case.
      *  @param bufferedReader Buffered reader.
-     *  @param wordsLength Length of words in vocabulary, words of other length are ignored.
+     *  @param wordsLength Length of words in vocabulary (words of other length are ignored) or ALL_WORDS_LENGTHS.
      *  @exception IOException Failed to load vocabulary from file.
      * */
     private void _loadVocabulary(BufferedReader bufferedReader, int wordsLength) throws IOException {
         assert bufferedReader != null;
-        assert wordsLength > 0;
+        assert wordsLength >= 0;
 
         mWordsSet.clear();
 
@@ -87,7 +150,7 @@ public final class Vocabulary {
             word = word.trim().toLowerCase();
 
             // Add only words of required length.
-            if(word.length() == wordsLength){
+            if(word.length() == wordsLength || (wordsLength == ALL_WORDS_LENGTHS && !word.isEmpty())){
                 mWordsSet.add(word);
             }
         }
@@ -0,0 +1,269 @@
+/***************************************************************************************************
+ * @file VocabularyFileWatcher.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the VocabularyFileWatcher class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Source of vocabulary snapshots for resident solver process which reloads them when vocabulary file changes.
+ * Snapshot of every requested words length is loaded on the first request and kept. Directory of vocabulary file
+ * is watched by WatchService: when file is changed, snapshots of all kept lengths are rebuilt (with their words
+ * graphs) on background thread and swapped in atomically one by one.
+ * Searches which already got snapshot keep using it, next requests get new snapshot: getting of snapshot never
+ * waits for rebuild, snapshot of new length is loaded by requesting thread while rebuild runs. If reload fails
+ * old snapshots are kept and the next change of file triggers reload again. Several change events are coalesced
+ * to one reload.
+ * Vocabulary file can be text file or vocabulary index file. Index file is validated on load (magic number,
+ * directory, sections), so partially written index file fails reload. Text file can't be validated: partially
+ * written text file is loaded as smaller vocabulary, so text file should be replaced by move of completely
+ * written file (VocabularyIndexFile.write() replaces index file this way).
+ */
+public final class VocabularyFileWatcher implements AutoCloseable {
+
+    // Private static constants.
+
+    private static final long RELOAD_DELAY_MILLIS = 100; // Delay of reload after change: coalesces change events.
+
+    // Private fields.
+
+    private final Path mFilePath; // Path of vocabulary file.
+
+    private final Charset mCharset; // Charset of text vocabulary file.
+
+    private final Map<Integer, VocabularySnapshot> mSnapshots = new ConcurrentHashMap<>(); // Snapshots by lengths.
+
+    // Count of started reloads: load of new length which overlaps reload schedules one more reload.
+    private final AtomicLong mReloadsStartsCount = new AtomicLong();
+
+    private final WatchService mWatchService; // Watch service of directory of vocabulary file.
+
+    private final Thread mWatchThread; // Thread which waits for change events.
+
+    private final ScheduledExecutorService mReloadExecutor; // Executor of reloads.
+
+    private final AtomicBoolean mIsReloadScheduled = new AtomicBoolean(); // Flag of scheduled reload.
+
+    private final AtomicLong mReloadsCount = new AtomicLong(); // Count of successful reloads.
+
+    private volatile Exception mLastReloadError; // Error of the last reload or null if it succeeded.
+
+    // Public methods.
+
+    /** Constructor: starts watching of vocabulary file.
+     *  @param fileName Full vocabulary file name with path.
+     *  @param charset Charset of text vocabulary file (it is ignored for vocabulary index file).
+     *  @exception PuzzleException Failed to watch directory of vocabulary file.
+     * */
+    public VocabularyFileWatcher(String fileName, Charset charset) throws PuzzleException {
+        assert fileName != null;
+        assert charset != null;
+
+        mFilePath = Paths.get(fileName).toAbsolutePath();
+        mCharset = charset;
+
+        try {
+            mWatchService = mFilePath.getFileSystem().newWatchService(); // exception
+
+            mFilePath.getParent().register(mWatchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY); // exception
+        } catch(IOException ioException){
+            throw new PuzzleException(ioException, PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR);
+        }
+
+        mReloadExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Vocabulary reload: " + mFilePath.getFileName());
+                thread.setDaemon(true);
+
+                return thread;
+            }
+        });
+
+        mWatchThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                _watch();
+            }
+        }, "Vocabulary watch: " + mFilePath.getFileName());
+
+        mWatchThread.setDaemon(true);
+        mWatchThread.start();
+    }
+
+    /** Gets current snapshot of words of given length, snapshot is loaded on the first request.
+     *  @param wordsLength Length of words.
+     *  @return Snapshot (its words graph is built).
+     *  @exception PuzzleException Failed to load vocabulary from file.
+     * */
+    public VocabularySnapshot getSnapshot(int wordsLength) throws PuzzleException {
+        assert wordsLength > 0;
+
+        VocabularySnapshot snapshot = mSnapshots.get(wordsLength);
+
+        if(snapshot == null){
+            // Snapshot is loaded without lock: concurrent requests can load the same length twice, it is harmless.
+            long reloadsStartsCount = mReloadsStartsCount.get();
+
+            VocabularySnapshot loadedSnapshot = _loadSnapshots(new int[]{wordsLength})[0]; // exception
+            snapshot = mSnapshots.putIfAbsent(wordsLength, loadedSnapshot);
+
+            if(snapshot == null){
+                snapshot = loadedSnapshot;
+
+                // Reload which started during loading could skip this length and file could be read before change.
+                if(mReloadsStartsCount.get() != reloadsStartsCount){
+                    _scheduleReload();
+                }
+            }
+        }
+
+        return snapshot;
+    }
+
+    /** Gets count of successful reloads after changes of file. */
+    public long getReloadsCount(){
+        return mReloadsCount.get();
+    }
+
+    /** Gets error of the last reload.
+     *  @return Error or null if the last reload succeeded or there were no reloads.
+     * */
+    public Exception getLastReloadError(){
+        return mLastReloadError;
+    }
+
+    /** Stops watching of file, kept snapshots stay usable. */
+    @Override
+    public void close() throws IOException {
+        mReloadExecutor.shutdownNow();
+        mWatchService.close(); // exception
+
+        try {
+            mWatchThread.join();
+        } catch(InterruptedException exception){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Private methods.
+
+    /** Waits for change events of directory and schedules reloads until watch service is closed. */
+    private void _watch(){
+        boolean isWatching = true;
+
+        while(isWatching){
+            try {
+                WatchKey key = mWatchService.take(); // exception
+
+                for(WatchEvent<?> event : key.pollEvents()){
+                    Object context = event.context();
+
+                    if(event.kind() == StandardWatchEventKinds.OVERFLOW ||
+                            (context instanceof Path && mFilePath.getFileName().equals(context))){
+                        _scheduleReload();
+                    }
+                }
+
+                isWatching = key.reset();
+            } catch(ClosedWatchServiceException | InterruptedException exception){
+                isWatching = false;
+            }
+        }
+    }
+
+    /** Schedules reload if it isn't scheduled yet. */
+    private void _scheduleReload(){
+        if(mIsReloadScheduled.compareAndSet(false, true)){
+            mReloadExecutor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    // Changes after this point schedule the next reload.
+                    mIsReloadScheduled.set(false);
+
+                    _reload();
+                }
+            }, RELOAD_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Rebuilds snapshots of all kept lengths and swaps them in. Reloads are serialized by single thread of
+     *  reload executor. */
+    private void _reload(){
+        mReloadsStartsCount.incrementAndGet();
+
+        // Lengths which are loaded after this point are loaded from changed file.
+        Integer[] wordsLengthsObjects = mSnapshots.keySet().toArray(new Integer[0]);
+        int[] wordsLengths = new int[wordsLengthsObjects.length];
+
+        for(int i = 0; i < wordsLengths.length; i++){
+            wordsLengths[i] = wordsLengthsObjects[i];
+        }
+
+        try {
+            VocabularySnapshot[] snapshots = _loadSnapshots(wordsLengths); // exception
+
+            for(int i = 0; i < wordsLengths.length; i++){
+                mSnapshots.put(wordsLengths[i], snapshots[i]);
+            }
+
+            mLastReloadError = null;
+            mReloadsCount.incrementAndGet();
+        } catch(PuzzleException | RuntimeException exception){
+            mLastReloadError = exception;
+        }
+    }
+
+    /** Loads snapshots of given lengths from file and builds their words graphs.
+     *  @exception PuzzleException Failed to load vocabulary from file.
+     * */
+    private VocabularySnapshot[] _loadSnapshots(int[] wordsLengths) throws PuzzleException {
+        String fileName = mFilePath.toString();
+        VocabularySnapshot[] snapshots = new VocabularySnapshot[wordsLengths.length];
+
+        if(VocabularyIndexFile.isIndexFile(fileName)){
+            for(int i = 0; i < wordsLengths.length; i++){
+                snapshots[i] = VocabularyIndexFile.loadSnapshot(fileName, wordsLengths[i]); // exception
+            }
+        } else {
+            // Text file is read once for all lengths.
+            Vocabulary vocabulary = new Vocabulary();
+
+            if(wordsLengths.length == 1){
+                vocabulary.loadFromFile(fileName, wordsLengths[0], mCharset); // exception
+            } else {
+                vocabulary.loadFromFile(fileName, mCharset); // exception
+            }
+
+            for(int i = 0; i < wordsLengths.length; i++){
+                snapshots[i] = new VocabularySnapshot(vocabulary, wordsLengths[i]);
+            }
+        }
+
+        for(VocabularySnapshot snapshot : snapshots){
+            snapshot.getWordsGraph();
+        }
+
+        return snapshots;
+    }
+} // class VocabularyFileWatcher
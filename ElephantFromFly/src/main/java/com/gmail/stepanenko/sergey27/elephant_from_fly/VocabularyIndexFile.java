@@ -0,0 +1,368 @@
+/***************************************************************************************************
+ * @file VocabularyIndexFile.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the VocabularyIndexFile class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Preprocessed vocabulary file: words are grouped to sections by length, header contains directory of sections
+ * with their byte offsets, so words of one length are loaded by reading of header and one section only.
+ * File format (big-endian):
+ *   header:    magic (int), format version (int), count of sections (int);
+ *   directory: for every section: words length (int), words count (int), offset (long), size in bytes (long);
+ *   sections:  packed characters of sorted words (char per character), perfect hash of words
+ *              (format of WordsPerfectHash.writeTo()).
+ * Cold start for one words length costs size of its section instead of size of whole text vocabulary, loaded
+ * snapshot gets perfect hash without building it.
+ */
+public final class VocabularyIndexFile {
+
+    // Private static constants.
+
+    private static final int MAGIC = 0x56495831; // Magic number of file: "VIX1".
+
+    private static final int FORMAT_VERSION = 1; // Version of file format.
+
+    private static final int HEADER_SIZE = 3 * Integer.BYTES; // Size of header in bytes.
+
+    private static final int DIRECTORY_ENTRY_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES; // Size of directory entry.
+
+    private static final String TEMPORARY_SUFFIX = ".tmp"; // Suffix of temporary file which is written.
+
+    // Public static methods.
+
+    /** Writes vocabulary index file with words of all lengths of vocabulary.
+     *  Sections are prepared before file is written, then file is written to temporary file in the same directory
+     *  which replaces index file, so existing index file is never left partially written.
+     *  @param vocabulary Vocabulary.
+     *  @param fileName Full index file name with path.
+     *  @exception PuzzleException Failed to write file.
+     * */
+    public static void write(Vocabulary vocabulary, String fileName) throws PuzzleException {
+        assert vocabulary != null;
+        assert fileName != null;
+
+        int[] wordsLengths = _getWordsLengths(vocabulary);
+
+        // Sections are prepared in memory: their sizes are needed for directory.
+        byte[][] sections = new byte[wordsLengths.length][];
+        int[] wordsCounts = new int[wordsLengths.length];
+
+        Path filePath = Paths.get(fileName).toAbsolutePath();
+        Path temporaryPath = null;
+
+        try {
+            for(int i = 0; i < wordsLengths.length; i++){
+                VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, wordsLengths[i], true);
+
+                wordsCounts[i] = snapshot.getWordsCount();
+                sections[i] = _writeSection(snapshot); // exception
+            }
+
+            temporaryPath = Files.createTempFile(filePath.getParent(), filePath.getFileName() + ".", TEMPORARY_SUFFIX);
+
+            try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temporaryPath)))){ // exception
+                _writeFile(output, wordsLengths, wordsCounts, sections); // exception
+            }
+
+            replaceFile(temporaryPath, filePath); // exception
+
+            temporaryPath = null;
+        } catch(IOException ioException){
+            throw new PuzzleException(ioException, PuzzleException.ErrorCode.WRITE_VOCABULARY_INDEX_FILE_ERROR);
+        } finally {
+            // Temporary file is left only if index file isn't replaced.
+            if(temporaryPath != null){
+                try {
+                    Files.deleteIfExists(temporaryPath); // exception
+                } catch(IOException ioException){
+                    // Nothing to do: error of writing is reported.
+                }
+            }
+        }
+    }
+
+    /** Checks if file is vocabulary index file (by magic number).
+     *  @param fileName Full file name with path.
+     *  @return True if file starts with magic number of index file, false otherwise or if file can't be read.
+     * */
+    public static boolean isIndexFile(String fileName){
+        assert fileName != null;
+
+        boolean isIndexFile = false;
+
+        try(FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)){ // exception
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+
+            isIndexFile = (_read(channel, buffer, 0) && buffer.getInt(0) == MAGIC); // exception
+        } catch(IOException | RuntimeException exception){
+            isIndexFile = false;
+        }
+
+        return isIndexFile;
+    }
+
+    /** Reads lengths of words of sections.
+     *  @param fileName Full index file name with path.
+     *  @return Lengths of words in ascending order.
+     *  @exception PuzzleException Failed to read file.
+     * */
+    public static int[] readWordsLengths(String fileName) throws PuzzleException {
+        assert fileName != null;
+
+        int[] wordsLengths;
+
+        try(FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)){ // exception
+            ByteBuffer directory = _readDirectory(channel); // exception
+
+            wordsLengths = new int[directory.capacity() / DIRECTORY_ENTRY_SIZE];
+
+            for(int i = 0; i < wordsLengths.length; i++){
+                wordsLengths[i] = directory.getInt(i * DIRECTORY_ENTRY_SIZE);
+            }
+        } catch(IOException ioException){
+            throw new PuzzleException(ioException, PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR);
+        }
+
+        return wordsLengths;
+    }
+
+    /** Loads snapshot of words of given length: only header and section of these words are read.
+     *  @param fileName Full index file name with path.
+     *  @param wordsLength Length of words.
+     *  @return Snapshot with perfect hash (empty snapshot if file has no words of this length).
+     *  @exception PuzzleException Failed to read file.
+     * */
+    public static VocabularySnapshot loadSnapshot(String fileName, int wordsLength) throws PuzzleException {
+        assert fileName != null;
+        assert wordsLength > 0;
+
+        PuzzleEvents.VocabularyLoadEvent loadEvent = new PuzzleEvents.VocabularyLoadEvent();
+        loadEvent.begin();
+
+        String outcome = PuzzleEvents.OUTCOME_ERROR;
+        VocabularySnapshot snapshot = null;
+
+        try(FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)){ // exception
+            ByteBuffer directory = _readDirectory(channel); // exception
+
+            int wordsCount = 0;
+            long offset = 0;
+            long size = 0;
+
+            for(int entry = 0; entry < directory.capacity(); entry += DIRECTORY_ENTRY_SIZE){
+                if(directory.getInt(entry) == wordsLength){
+                    wordsCount = directory.getInt(entry + Integer.BYTES);
+                    offset = directory.getLong(entry + 2 * Integer.BYTES);
+                    size = directory.getLong(entry + 2 * Integer.BYTES + Long.BYTES);
+                }
+            }
+
+            if(size > 0){
+                if(size > Integer.MAX_VALUE || offset < 0 || offset + size > channel.size()){ // exception
+                    throw new IOException("Corrupted vocabulary index directory");
+                }
+
+                ByteBuffer section = ByteBuffer.allocate((int)size);
+
+                if(!_read(channel, section, offset)){ // exception
+                    throw new IOException("Unexpected end of vocabulary index file");
+                }
+
+                snapshot = _readSection(section.array(), wordsLength, wordsCount); // exception
+            } else {
+                snapshot = new VocabularySnapshot(wordsLength, new char[0], null);
+            }
+
+            outcome = PuzzleEvents.OUTCOME_SUCCESS;
+        } catch(IOException ioException){
+            throw new PuzzleException(ioException, PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR);
+        } finally {
+            loadEvent.commit(wordsLength, (snapshot != null ? snapshot.getWordsCount() : 0), outcome);
+        }
+
+        return snapshot;
+    }
+
+    // Package private static methods.
+
+    /** Replaces file by written temporary file: atomically if file system supports it, so readers (and watchers)
+     *  see either old or new file.
+     *  @param temporaryPath Path of written temporary file in directory of file.
+     *  @param filePath Path of file.
+     *  @exception IOException Failed to move file.
+     * */
+    static void replaceFile(Path temporaryPath, Path filePath) throws IOException {
+        try {
+            Files.move(temporaryPath, filePath, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE); // exception
+        } catch(AtomicMoveNotSupportedException exception){
+            Files.move(temporaryPath, filePath, StandardCopyOption.REPLACE_EXISTING); // exception
+        }
+    }
+
+    // Private methods.
+
+    /** Constructor. */
+    private VocabularyIndexFile(){
+    }
+
+    /** Gets distinct lengths of vocabulary words in ascending order. */
+    private static int[] _getWordsLengths(Vocabulary vocabulary){
+        int maxWordsLength = 0;
+
+        for(String word : vocabulary.getWordsSet()){
+            maxWordsLength = Math.max(maxWordsLength, word.length());
+        }
+
+        boolean[] usedLengths = new boolean[maxWordsLength + 1];
+        int count = 0;
+
+        for(String word : vocabulary.getWordsSet()){
+            if(word.length() > 0 && !usedLengths[word.length()]){
+                usedLengths[word.length()] = true;
+                count++;
+            }
+        }
+
+        int[] wordsLengths = new int[count];
+        int index = 0;
+
+        for(int length = 1; length <= maxWordsLength; length++){
+            if(usedLengths[length]){
+                wordsLengths[index++] = length;
+            }
+        }
+
+        return wordsLengths;
+    }
+
+    /** Writes header, directory and sections of index file. */
+    private static void _writeFile(DataOutputStream output, int[] wordsLengths, int[] wordsCounts, byte[][] sections)
+            throws IOException {
+        output.writeInt(MAGIC); // exception
+        output.writeInt(FORMAT_VERSION); // exception
+        output.writeInt(wordsLengths.length); // exception
+
+        long offset = HEADER_SIZE + (long)DIRECTORY_ENTRY_SIZE * wordsLengths.length;
+
+        for(int i = 0; i < wordsLengths.length; i++){
+            output.writeInt(wordsLengths[i]); // exception
+            output.writeInt(wordsCounts[i]); // exception
+            output.writeLong(offset); // exception
+            output.writeLong(sections[i].length); // exception
+
+            offset += sections[i].length;
+        }
+
+        for(byte[] section : sections){
+            output.write(section); // exception
+        }
+    }
+
+    /** Writes section of snapshot words to bytes array. */
+    private static byte[] _writeSection(VocabularySnapshot snapshot) throws IOException {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+        try(DataOutputStream output = new DataOutputStream(byteStream)){
+            for(char character : snapshot.getWordsChars()){
+                output.writeChar(character); // exception
+            }
+
+            snapshot.getPerfectHash().writeTo(output); // exception
+        }
+
+        return byteStream.toByteArray();
+    }
+
+    /** Reads snapshot from section bytes.
+     *  @exception IOException Section is corrupted.
+     * */
+    private static VocabularySnapshot _readSection(byte[] section, int wordsLength, int wordsCount)
+            throws IOException {
+        if(wordsCount < 0 || (long)wordsCount * wordsLength * Character.BYTES > section.length){
+            throw new IOException("Corrupted vocabulary index section");
+        }
+
+        char[] wordsChars = new char[wordsCount * wordsLength];
+
+        ByteBuffer.wrap(section).asCharBuffer().get(wordsChars);
+
+        WordsPerfectHash perfectHash;
+
+        try(DataInputStream input = new DataInputStream(new ByteArrayInputStream(section,
+                wordsChars.length * Character.BYTES, section.length - wordsChars.length * Character.BYTES))){
+            perfectHash = WordsPerfectHash.readFrom(input); // exception
+        }
+
+        if(perfectHash.getWordsLength() != wordsLength || perfectHash.getWordsCount() != wordsCount){
+            throw new IOException("Perfect hash doesn't match vocabulary index section");
+        }
+
+        return new VocabularySnapshot(wordsLength, wordsChars, perfectHash);
+    }
+
+    /** Reads header and directory of file.
+     *  @return Directory entries.
+     *  @exception IOException Failed to read file or file isn't vocabulary index file.
+     * */
+    private static ByteBuffer _readDirectory(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+        if(!_read(channel, header, 0) || header.getInt(0) != MAGIC){ // exception
+            throw new IOException("File isn't vocabulary index file");
+        }
+
+        if(header.getInt(Integer.BYTES) != FORMAT_VERSION){
+            throw new IOException("Unsupported vocabulary index file version: " + header.getInt(Integer.BYTES));
+        }
+
+        int sectionsCount = header.getInt(2 * Integer.BYTES);
+
+        if(sectionsCount < 0 || (long)sectionsCount * DIRECTORY_ENTRY_SIZE > channel.size()){ // exception
+            throw new IOException("Corrupted vocabulary index header");
+        }
+
+        ByteBuffer directory = ByteBuffer.allocate(sectionsCount * DIRECTORY_ENTRY_SIZE);
+
+        if(!_read(channel, directory, HEADER_SIZE)){ // exception
+            throw new IOException("Unexpected end of vocabulary index file");
+        }
+
+        return directory;
+    }
+
+    /** Reads bytes from channel at position until buffer is full.
+     *  @return True if buffer is filled, false if end of file is reached.
+     *  @exception IOException Failed to read.
+     * */
+    private static boolean _read(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long currentPosition = position;
+        int readCount = 0;
+
+        while(buffer.hasRemaining() && readCount >= 0){
+            readCount = channel.read(buffer, currentPosition); // exception
+            currentPosition += Math.max(readCount, 0);
+        }
+
+        return !buffer.hasRemaining();
+    }
+} // class VocabularyIndexFile
@@ -0,0 +1,402 @@
+/***************************************************************************************************
+ * @file VocabularyOverlay.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the VocabularyOverlay class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Words of one length of shared base vocabulary snapshot with small sets of added and removed words on top of it
+ * (for example custom and banned words of one tenant). Base snapshot and its words graph are shared by all
+ * overlays and aren't copied: overlay keeps its delta only, so its memory size is proportional to count of added
+ * and removed words.
+ * Identifiers: base words keep identifiers of base snapshot, added words get identifiers starting from count of
+ * base words in lexicographic order. Removed base words keep their identifiers but they are absent in overlay and
+ * are never returned as neighbors.
+ * Neighbors of base word are merged on the fly: base graph neighbors without removed words and added words which
+ * are neighbors of base word (they are kept by overlay for base words which have them). Neighbors of added words
+ * are found when overlay is created.
+ * Overlay is immutable and thread-safe: to change delta new overlay is created over the same base.
+ */
+public final class VocabularyOverlay implements WordsNeighborsProvider {
+
+    // Private static constants.
+
+    private static final int[] NO_NEIGHBORS = new int[0]; // Neighbors of word without added neighbors.
+
+    private static final int NOT_VISITED = -2; // Parent of word which isn't visited by search.
+
+    private static final int NO_PARENT = -1; // Parent of the first word of words chain.
+
+    // Private fields.
+
+    private final VocabularySnapshot mBase; // Shared base snapshot.
+
+    private final WordsGraph mBaseGraph; // Words graph of base snapshot.
+
+    private final int mBaseWordsCount; // Count of words of base snapshot.
+
+    private final String[] mAddedWords; // Sorted added words which are absent in base.
+
+    private final int[] mRemovedIds; // Sorted identifiers of removed base words.
+
+    private final int[][] mAddedWordsNeighbors; // Sorted neighbors of added words by indexes of added words.
+
+    private final Map<Integer, int[]> mAddedNeighbors; // Sorted added neighbors of base words by base identifiers.
+
+    private final int mMaxNeighborsCount; // Maximum count of neighbors of one word.
+
+    // Public methods.
+
+    /** Constructor.
+     *  Added words which are present in base and removed words which are absent in base are ignored, word which is
+     *  both added and removed is kept.
+     *  @param base Shared base snapshot.
+     *  @param addedWords Added words of base words length.
+     *  @param removedWords Removed words.
+     *  @exception IllegalArgumentException Added word has length which differs from base words length.
+     * */
+    public VocabularyOverlay(VocabularySnapshot base, Collection<String> addedWords,
+                             Collection<String> removedWords){
+        assert base != null;
+        assert addedWords != null;
+        assert removedWords != null;
+
+        mBase = base;
+        mBaseGraph = base.getWordsGraph();
+        mBaseWordsCount = base.getWordsCount();
+
+        TreeSet<String> sortedAddedWords = new TreeSet<>();
+
+        for(String word : addedWords){
+            if(word.length() != base.getWordsLength()){
+                throw new IllegalArgumentException("Length of added word differs from base words length: " + word);
+            }
+
+            if(!base.contains(word)){
+                sortedAddedWords.add(word);
+            }
+        }
+
+        mAddedWords = sortedAddedWords.toArray(new String[0]);
+
+        TreeSet<Integer> removedIds = new TreeSet<>();
+
+        for(String word : removedWords){
+            int wordId = (word.length() == base.getWordsLength() && !addedWords.contains(word) ?
+                    base.getWordId(word) : -1);
+
+            if(wordId >= 0){
+                removedIds.add(wordId);
+            }
+        }
+
+        mRemovedIds = new int[removedIds.size()];
+        int index = 0;
+
+        for(int wordId : removedIds){
+            mRemovedIds[index++] = wordId;
+        }
+
+        mAddedWordsNeighbors = new int[mAddedWords.length][];
+        mAddedNeighbors = new HashMap<>();
+
+        _findAddedWordsNeighbors();
+
+        mMaxNeighborsCount = base.getWordsLength() * Math.max(_countAlphabetSize() - 1, 0);
+    }
+
+    /** Gets shared base snapshot. */
+    public VocabularySnapshot getBase(){
+        return mBase;
+    }
+
+    /** Gets length of words. */
+    @Override
+    public int getWordsLength(){
+        return mBase.getWordsLength();
+    }
+
+    /** Gets count of identifiers: count of base words and count of added words (including removed base words). */
+    @Override
+    public int getWordsCount(){
+        return mBaseWordsCount + mAddedWords.length;
+    }
+
+    /** Gets count of added words. */
+    public int getAddedWordsCount(){
+        return mAddedWords.length;
+    }
+
+    /** Gets count of removed base words. */
+    public int getRemovedWordsCount(){
+        return mRemovedIds.length;
+    }
+
+    /** Gets word by identifier.
+     *  @param wordId Word identifier.
+     *  @return Word (removed base word is returned too, see isRemoved()).
+     * */
+    public String getWord(int wordId){
+        assert wordId >= 0 && wordId < getWordsCount();
+
+        return (wordId < mBaseWordsCount ? mBase.getWord(wordId) : mAddedWords[wordId - mBaseWordsCount]);
+    }
+
+    /** Gets identifier of word.
+     *  @param word Word.
+     *  @return Identifier or -1 if overlay doesn't contain word.
+     * */
+    public int getWordId(String word){
+        assert word != null;
+
+        int wordId = -1;
+
+        if(word.length() == getWordsLength()){
+            wordId = mBase.getWordId(word);
+
+            if(wordId >= 0 && isRemoved(wordId)){
+                wordId = -1;
+            } else if(wordId < 0){
+                int index = Arrays.binarySearch(mAddedWords, word);
+                wordId = (index >= 0 ? mBaseWordsCount + index : -1);
+            }
+        }
+
+        return wordId;
+    }
+
+    /** Checks if overlay contains word. */
+    public boolean contains(String word){
+        return getWordId(word) >= 0;
+    }
+
+    /** Checks if word with given identifier is removed base word. */
+    public boolean isRemoved(int wordId){
+        assert wordId >= 0 && wordId < getWordsCount();
+
+        return (wordId < mBaseWordsCount && Arrays.binarySearch(mRemovedIds, wordId) >= 0);
+    }
+
+    /** Gets maximum count of neighbors of one word. */
+    @Override
+    public int getMaxNeighborsCount(){
+        return mMaxNeighborsCount;
+    }
+
+    /** Finds neighbors of word: base neighbors without removed words merged with added neighbors.
+     *  @param wordId Identifier of word which isn't removed.
+     *  @param neighbors Buffer for identifiers of neighbors, its size is not less than getMaxNeighborsCount().
+     *  @return Count of neighbors stored to buffer.
+     * */
+    @Override
+    public int findNeighbors(int wordId, int[] neighbors){
+        assert wordId >= 0 && wordId < getWordsCount();
+        assert !isRemoved(wordId);
+        assert neighbors != null;
+
+        int neighborsCount = 0;
+
+        if(wordId < mBaseWordsCount){
+            int baseNeighborsCount = mBaseGraph.getNeighborsCount(wordId);
+
+            for(int index = 0; index < baseNeighborsCount; index++){
+                int neighborId = mBaseGraph.getNeighbor(wordId, index);
+
+                if(mRemovedIds.length == 0 || Arrays.binarySearch(mRemovedIds, neighborId) < 0){
+                    neighbors[neighborsCount++] = neighborId;
+                }
+            }
+
+            for(int neighborId : mAddedNeighbors.getOrDefault(wordId, NO_NEIGHBORS)){
+                neighbors[neighborsCount++] = neighborId;
+            }
+        } else {
+            int[] addedWordNeighbors = mAddedWordsNeighbors[wordId - mBaseWordsCount];
+
+            System.arraycopy(addedWordNeighbors, 0, neighbors, 0, addedWordNeighbors.length);
+            neighborsCount = addedWordNeighbors.length;
+        }
+
+        return neighborsCount;
+    }
+
+    /** Finds one of the shortest words chains by breadth first search over merged neighbors.
+     *  @param inputWords Input words of overlay words length, start word can be absent in overlay.
+     *  @param maxWordsChainLength Maximum length of words chain.
+     *  @return Words chain or empty list if there is no chain not longer than maximum length.
+     *  @exception PuzzleException End word is absent in overlay.
+     * */
+    public List<String> findWordsChain(InputWords inputWords, int maxWordsChainLength) throws PuzzleException {
+        assert inputWords != null;
+        assert inputWords.getLength() == getWordsLength();
+        assert maxWordsChainLength > 0;
+
+        int endWordId = getWordId(inputWords.getEndWord());
+
+        if(endWordId < 0){
+            throw new PuzzleException(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY);
+        }
+
+        int startWordId = getWordId(inputWords.getStartWord());
+        int[] seeds = (startWordId >= 0 ? new int[]{startWordId} : _findNeighbors(inputWords.getStartWord()));
+        int seedsDepth = (startWordId >= 0 ? 1 : 2); // Length of chain which ends with seed.
+
+        int[] parents = new int[getWordsCount()];
+        int[] queue = new int[getWordsCount()];
+        int[] neighbors = new int[mMaxNeighborsCount];
+        int queueBegin = 0;
+        int queueEnd = 0;
+
+        Arrays.fill(parents, NOT_VISITED);
+
+        for(int seed : seeds){
+            parents[seed] = NO_PARENT;
+            queue[queueEnd++] = seed;
+        }
+
+        // Breadth first search layer by layer until end word is reached or maximum length is exceeded.
+        int depth = seedsDepth;
+
+        while(queueBegin < queueEnd && parents[endWordId] == NOT_VISITED && depth < maxWordsChainLength){
+            int layerEnd = queueEnd;
+
+            while(queueBegin < layerEnd){
+                int wordId = queue[queueBegin++];
+                int neighborsCount = findNeighbors(wordId, neighbors);
+
+                for(int index = 0; index < neighborsCount; index++){
+                    int neighborId = neighbors[index];
+
+                    if(parents[neighborId] == NOT_VISITED){
+                        parents[neighborId] = wordId;
+                        queue[queueEnd++] = neighborId;
+                    }
+                }
+            }
+
+            depth++;
+        }
+
+        List<String> wordsChain = new ArrayList<>();
+
+        if(parents[endWordId] != NOT_VISITED && depth <= maxWordsChainLength){
+            for(int wordId = endWordId; wordId != NO_PARENT; wordId = parents[wordId]){
+                wordsChain.add(getWord(wordId));
+            }
+
+            if(startWordId < 0){
+                wordsChain.add(inputWords.getStartWord());
+            }
+
+            Collections.reverse(wordsChain);
+        }
+
+        return wordsChain;
+    }
+
+    /** Gets approximate size of overlay delta in bytes (shared base isn't included). */
+    public long getMemorySize(){
+        long size = (long)Integer.BYTES * mRemovedIds.length;
+
+        for(int index = 0; index < mAddedWords.length; index++){
+            size += (long)Character.BYTES * mAddedWords[index].length() +
+                    (long)Integer.BYTES * mAddedWordsNeighbors[index].length;
+        }
+
+        for(int[] addedNeighbors : mAddedNeighbors.values()){
+            size += (long)Integer.BYTES * (addedNeighbors.length + 1);
+        }
+
+        return size;
+    }
+
+    // Private methods.
+
+    /** Finds neighbors of added words and added neighbors of base words. */
+    private void _findAddedWordsNeighbors(){
+        Map<Integer, List<Integer>> addedNeighbors = new HashMap<>();
+
+        for(int index = 0; index < mAddedWords.length; index++){
+            int addedWordId = mBaseWordsCount + index;
+            int[] neighbors = _findNeighbors(mAddedWords[index]);
+
+            mAddedWordsNeighbors[index] = neighbors;
+
+            for(int neighborId : neighbors){
+                if(neighborId < mBaseWordsCount){
+                    List<Integer> list = addedNeighbors.get(neighborId);
+
+                    if(list == null){
+                        list = new ArrayList<>();
+                        addedNeighbors.put(neighborId, list);
+                    }
+
+                    // Added words are processed in ascending order of identifiers: list is sorted.
+                    list.add(addedWordId);
+                }
+            }
+        }
+
+        for(Map.Entry<Integer, List<Integer>> entry : addedNeighbors.entrySet()){
+            int[] neighbors = new int[entry.getValue().size()];
+
+            for(int index = 0; index < neighbors.length; index++){
+                neighbors[index] = entry.getValue().get(index);
+            }
+
+            mAddedNeighbors.put(entry.getKey(), neighbors);
+        }
+    }
+
+    /** Finds sorted identifiers of words of overlay which are one character different from given word.
+     *  Base neighbors are taken from base graph, added words are compared with word (there are few of them).
+     * */
+    private int[] _findNeighbors(String word){
+        int[] baseNeighbors = mBaseGraph.getNeighborIds(word);
+        int[] neighbors = new int[baseNeighbors.length + mAddedWords.length];
+        int neighborsCount = 0;
+
+        for(int neighborId : baseNeighbors){
+            if(Arrays.binarySearch(mRemovedIds, neighborId) < 0){
+                neighbors[neighborsCount++] = neighborId;
+            }
+        }
+
+        for(int index = 0; index < mAddedWords.length; index++){
+            if(WordsChainPuzzle.calculateWordsDifference(word, mAddedWords[index]) == 1){
+                neighbors[neighborsCount++] = mBaseWordsCount + index;
+            }
+        }
+
+        return Arrays.copyOf(neighbors, neighborsCount);
+    }
+
+    /** Counts letters of base alphabet and letters of added words which are absent in it. */
+    private int _countAlphabetSize(){
+        char[] alphabet = mBaseGraph.getAlphabet();
+        TreeSet<Character> extraLetters = new TreeSet<>();
+
+        for(String word : mAddedWords){
+            for(int position = 0; position < word.length(); position++){
+                char letter = word.charAt(position);
+
+                if(Arrays.binarySearch(alphabet, letter) < 0){
+                    extraLetters.add(letter);
+                }
+            }
+        }
+
+        return alphabet.length + extraLetters.size();
+    }
+} // class VocabularyOverlay
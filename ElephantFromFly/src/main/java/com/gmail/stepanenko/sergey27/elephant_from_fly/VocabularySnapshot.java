@@ -0,0 +1,234 @@
+/***************************************************************************************************
+ * @file VocabularySnapshot.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the VocabularySnapshot class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of vocabulary words of one length: words are copied from vocabulary, so later
+ * changes of vocabulary don't affect snapshot.
+ * Words get dense integer identifiers which correspond to their lexicographic order (the same identifiers
+ * are used by WordsGraph built from snapshot), characters of all words are packed to one array.
+ * Optionally minimal perfect hash of words is built with snapshot, then word identifiers are looked up by hash
+ * instead of binary search.
+ * Snapshot is thread-safe: it can be shared by any count of concurrent searches, all mutable search state
+ * is kept in per-search contexts. Orderings of words for recently used end words are cached.
+ */
+public final class VocabularySnapshot {
+
+    // Private static constants.
+
+    private static final int ORDERINGS_CACHE_SIZE = 16; // Maximum count of cached difference orderings.
+
+    // Private fields.
+
+    private final int mWordsLength; // Length of words.
+
+    private final String[] mWords; // Words sorted in lexicographic order, index of word is its identifier.
+
+    // Characters of words: word with identifier i occupies [i * mWordsLength, (i + 1) * mWordsLength).
+    private final char[] mWordsChars;
+
+    private final WordsPerfectHash mPerfectHash; // Perfect hash of words or null if it isn't built.
+
+    private volatile WordsGraph mWordsGraph; // Words graph, it is built on the first request.
+
+    // Cache of difference orderings by end word identifier in access order (guarded by itself).
+    private final Map<Integer, DifferenceOrdering> mOrderingsCache =
+            new LinkedHashMap<Integer, DifferenceOrdering>(ORDERINGS_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, DifferenceOrdering> eldest) {
+                    return size() > ORDERINGS_CACHE_SIZE;
+                }
+            };
+
+    // Public methods.
+
+    /** Constructor: copies words of given length from vocabulary.
+     *  @param vocabulary Vocabulary.
+     *  @param wordsLength Length of words in snapshot, words of other length are ignored.
+     * */
+    public VocabularySnapshot(Vocabulary vocabulary, int wordsLength){
+        this(vocabulary, wordsLength, false);
+    }
+
+    /** Constructor: copies words of given length from vocabulary and optionally builds perfect hash of words.
+     *  @param vocabulary Vocabulary.
+     *  @param wordsLength Length of words in snapshot, words of other length are ignored.
+     *  @param isPerfectHashBuilt Flag defines if perfect hash is built for lookup of word identifiers.
+     * */
+    public VocabularySnapshot(Vocabulary vocabulary, int wordsLength, boolean isPerfectHashBuilt){
+        assert vocabulary != null;
+        assert wordsLength > 0;
+
+        mWordsLength = wordsLength;
+        mWords = copySortedWords(vocabulary.getWordsSet(), wordsLength);
+        mWordsChars = new char[mWords.length * wordsLength];
+
+        for(int wordId = 0; wordId < mWords.length; wordId++){
+            mWords[wordId].getChars(0, wordsLength, mWordsChars, wordId * wordsLength);
+        }
+
+        mPerfectHash = (isPerfectHashBuilt ? new WordsPerfectHash(this) : null);
+    }
+
+    /** Gets length of words. */
+    public int getWordsLength(){
+        return mWordsLength;
+    }
+
+    /** Gets count of words. */
+    public int getWordsCount(){
+        return mWords.length;
+    }
+
+    /** Gets word by identifier. */
+    public String getWord(int wordId){
+        return mWords[wordId];
+    }
+
+    /** Gets identifier of word.
+     *  @param word Word.
+     *  @return Word identifier or -1 if word is absent in snapshot.
+     * */
+    public int getWordId(String word){
+        assert word != null;
+
+        int wordId = -1;
+
+        if(mPerfectHash != null){
+            wordId = mPerfectHash.getWordId(word);
+
+            // Fingerprint of absent word can match: found word is verified.
+            if(wordId >= 0 && !mWords[wordId].equals(word)){
+                wordId = -1;
+            }
+        } else if(word.length() == mWordsLength){
+            wordId = Arrays.binarySearch(mWords, word);
+        }
+
+        return (wordId >= 0 ? wordId : -1);
+    }
+
+    /** Checks if given word is contained in snapshot. */
+    public boolean contains(String word){
+        return getWordId(word) >= 0;
+    }
+
+    /** Gets perfect hash of words.
+     *  @return Perfect hash or null if snapshot is created without it.
+     * */
+    public WordsPerfectHash getPerfectHash(){
+        return mPerfectHash;
+    }
+
+    /** Gets words graph of snapshot words, graph is built on the first call. */
+    public WordsGraph getWordsGraph(){
+        WordsGraph wordsGraph = mWordsGraph;
+
+        if(wordsGraph == null){
+            synchronized(this){
+                wordsGraph = mWordsGraph;
+
+                if(wordsGraph == null){
+                    wordsGraph = new WordsGraph(this);
+                    mWordsGraph = wordsGraph;
+                }
+            }
+        }
+
+        return wordsGraph;
+    }
+
+    // Package private methods.
+
+    /** Constructor: creates snapshot of sorted distinct words given by packed characters.
+     *  @param wordsLength Length of words.
+     *  @param wordsChars Packed characters of words in lexicographic order (snapshot keeps array).
+     *  @param perfectHash Perfect hash of words or null.
+     * */
+    VocabularySnapshot(int wordsLength, char[] wordsChars, WordsPerfectHash perfectHash){
+        assert wordsLength > 0;
+        assert wordsChars.length % wordsLength == 0;
+        assert perfectHash == null || perfectHash.getWordsCount() * wordsLength == wordsChars.length;
+
+        mWordsLength = wordsLength;
+        mWords = new String[wordsChars.length / wordsLength];
+        mWordsChars = wordsChars;
+
+        for(int wordId = 0; wordId < mWords.length; wordId++){
+            mWords[wordId] = new String(wordsChars, wordId * wordsLength, wordsLength);
+
+            assert wordId == 0 || mWords[wordId - 1].compareTo(mWords[wordId]) < 0;
+        }
+
+        mPerfectHash = perfectHash;
+    }
+
+    /** Copies words of given length from words set to sorted array. */
+    static String[] copySortedWords(Set<String> wordsSet, int wordsLength){
+        String[] words = new String[wordsSet.size()];
+        int count = 0;
+
+        for(String word : wordsSet){
+            if(word.length() == wordsLength){
+                words[count++] = word;
+            } // else skip word of other length
+        }
+
+        words = Arrays.copyOf(words, count);
+
+        Arrays.sort(words);
+
+        return words;
+    }
+
+    /** Gets sorted words array (without copying, it must not be modified). */
+    String[] getSortedWords(){
+        return mWords;
+    }
+
+    /** Gets packed characters of words (without copying, it must not be modified). */
+    char[] getWordsChars(){
+        return mWordsChars;
+    }
+
+    /** Gets ordering of words in difference with end word ascending order.
+     *  Ordering is taken from cache or is built and cached.
+     *  @param endWordId Identifier of end word.
+     *  @param statistics Search statistics: words difference calculations are registered if ordering is built.
+     *  @return Difference ordering.
+     * */
+    DifferenceOrdering getDifferenceOrdering(int endWordId, SearchStatistics statistics){
+        assert endWordId >= 0 && endWordId < mWords.length;
+        assert statistics != null;
+
+        DifferenceOrdering ordering;
+
+        synchronized(mOrderingsCache){
+            ordering = mOrderingsCache.get(endWordId);
+        }
+
+        if(ordering == null){
+            // Ordering is built without lock: concurrent searches can build the same ordering twice, it is harmless.
+            ordering = new DifferenceOrdering(this, endWordId);
+
+            if(statistics.isEnabled()){
+                statistics.addWordsDifferenceCalculations(mWords.length);
+            }
+
+            synchronized(mOrderingsCache){
+                mOrderingsCache.put(endWordId, ordering);
+            }
+        }
+
+        return ordering;
+    }
+} // class VocabularySnapshot
@@ -0,0 +1,277 @@
+/***************************************************************************************************
+ * @file VocabularyStreamLoader.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the VocabularyStreamLoader class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Loader of vocabulary words from streams (standard input, pipes, gzip compressed files).
+ * Gzip compressed data are detected by magic number and decompressed on the fly.
+ * Words are collected while data stream in: parsing thread decompresses and parses lines and passes batches of
+ * words through bounded queue to caller thread which adds them to words set, so decompression and parsing overlap
+ * with deduplication of words. Snapshot or index which search engines use is built once from all words.
+ */
+public final class VocabularyStreamLoader {
+
+    // Private static constants.
+
+    private static final int GZIP_MAGIC = 0x8B1F; // Magic number of gzip stream (little-endian).
+
+    private static final int BUFFER_SIZE = 64 * 1024; // Size of buffers of streams.
+
+    private static final int BATCH_SIZE = 4096; // Maximum count of words in batch.
+
+    private static final int QUEUE_CAPACITY = 16; // Maximum count of parsed batches waiting for index.
+
+    private static final List<String> END_OF_STREAM = new ArrayList<>(); // Batch which marks end of stream.
+
+    // Nested classes.
+
+    /**
+     * Task of parsing thread: reads words and puts their batches to queue, the last batch is END_OF_STREAM.
+     */
+    private static final class Parser implements Runnable {
+
+        // Private fields.
+
+        private final InputStream mInput; // Input stream.
+
+        private final int mWordsLength; // Length of words.
+
+        private final Charset mCharset; // Charset of vocabulary text.
+
+        private final BlockingQueue<List<String>> mBatches; // Queue of batches.
+
+        private volatile Throwable mError; // Error of reading or parsing or null.
+
+        // Public methods.
+
+        /** Constructor. */
+        public Parser(InputStream input, int wordsLength, Charset charset, BlockingQueue<List<String>> batches){
+            mInput = input;
+            mWordsLength = wordsLength;
+            mCharset = charset;
+            mBatches = batches;
+        }
+
+        /** Reads words until end of stream or error. END_OF_STREAM is queued in any case, so caller never waits
+         *  for parser which is already stopped. */
+        @Override
+        public void run(){
+            try {
+                // Reader isn't closed: stream belongs to caller.
+                BufferedReader reader = new BufferedReader(new InputStreamReader(openStream(mInput), mCharset),
+                        BUFFER_SIZE); // exception
+
+                List<String> batch = new ArrayList<>(BATCH_SIZE);
+                String word;
+
+                while((word = reader.readLine()) != null){ // exception
+                    word = word.trim().toLowerCase();
+
+                    if(word.length() == mWordsLength){
+                        batch.add(word);
+
+                        if(batch.size() == BATCH_SIZE){
+                            mBatches.put(batch); // exception
+                            batch = new ArrayList<>(BATCH_SIZE);
+                        }
+                    }
+                }
+
+                if(!batch.isEmpty()){
+                    mBatches.put(batch); // exception
+                }
+            } catch(InterruptedException interruptedException){
+                // Loading is stopped by caller.
+            } catch(Throwable throwable){
+                // Any error (runtime exception of stream, out of memory) is reported to caller.
+                mError = throwable;
+            } finally {
+                _putEndOfStream();
+            }
+        }
+
+        // Private methods.
+
+        /** Puts END_OF_STREAM to queue: caller drains queue until it, so waiting for free space ends unless
+         *  loading is stopped by caller. */
+        private void _putEndOfStream(){
+            try {
+                mBatches.put(END_OF_STREAM); // exception
+            } catch(InterruptedException interruptedException){
+                // Loading is stopped by caller, nobody waits.
+            }
+        }
+    } // class Parser
+
+    // Public static methods.
+
+    /** Wraps stream to buffered stream which decompresses gzip data if stream starts with gzip magic number.
+     *  @param input Input stream.
+     *  @return Stream of uncompressed data.
+     *  @exception IOException Failed to read stream.
+     * */
+    public static InputStream openStream(InputStream input) throws IOException {
+        assert input != null;
+
+        InputStream bufferedInput = new BufferedInputStream(input, BUFFER_SIZE);
+
+        bufferedInput.mark(2);
+
+        int firstByte = bufferedInput.read(); // exception
+        int secondByte = bufferedInput.read(); // exception
+
+        bufferedInput.reset(); // exception
+
+        if(firstByte >= 0 && secondByte >= 0 && (firstByte | (secondByte << 8)) == GZIP_MAGIC){
+            bufferedInput = new GZIPInputStream(bufferedInput, BUFFER_SIZE); // exception
+        }
+
+        return bufferedInput;
+    }
+
+    /** Loads snapshot of words of given length from stream: words are collected while stream is read, snapshot
+     *  is built once at the end. Words are trimmed and converted to lower case. Stream isn't closed.
+     *  @param input Input stream of vocabulary text (it can be gzip compressed).
+     *  @param wordsLength Length of words, words of other length are ignored.
+     *  @param charset Charset of vocabulary text.
+     *  @return Snapshot of words.
+     *  @exception PuzzleException Failed to read stream.
+     * */
+    public static VocabularySnapshot loadSnapshot(InputStream input, int wordsLength, Charset charset)
+            throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+
+        loadWords(input, wordsLength, charset, vocabulary.getWordsSet()); // exception
+
+        return new VocabularySnapshot(vocabulary, wordsLength);
+    }
+
+    /** Loads snapshot of words of given length from channel, see loadSnapshot(InputStream, int, Charset).
+     *  Channel isn't closed.
+     *  @param channel Channel of vocabulary text (it can be gzip compressed).
+     *  @param wordsLength Length of words, words of other length are ignored.
+     *  @param charset Charset of vocabulary text.
+     *  @return Snapshot of words.
+     *  @exception PuzzleException Failed to read channel.
+     * */
+    public static VocabularySnapshot loadSnapshot(ReadableByteChannel channel, int wordsLength, Charset charset)
+            throws PuzzleException {
+        assert channel != null;
+
+        return loadSnapshot(Channels.newInputStream(channel), wordsLength, charset); // exception
+    }
+
+    /** Loads index of words of given length from stream: words are collected while stream is read, index is
+     *  built and published once at the end. Words are trimmed and converted to lower case. Stream isn't closed.
+     *  @param input Input stream of vocabulary text (it can be gzip compressed).
+     *  @param wordsLength Length of words, words of other length are ignored.
+     *  @param charset Charset of vocabulary text.
+     *  @return Index of words.
+     *  @exception PuzzleException Failed to read stream.
+     * */
+    public static IncrementalWordsIndex loadIndex(InputStream input, int wordsLength, Charset charset)
+            throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+
+        loadWords(input, wordsLength, charset, vocabulary.getWordsSet()); // exception
+
+        return new IncrementalWordsIndex(vocabulary, wordsLength);
+    }
+
+    /** Loads index of words of given length from channel, see loadIndex(InputStream, int, Charset).
+     *  Channel isn't closed.
+     *  @param channel Channel of vocabulary text (it can be gzip compressed).
+     *  @param wordsLength Length of words, words of other length are ignored.
+     *  @param charset Charset of vocabulary text.
+     *  @return Index of words.
+     *  @exception PuzzleException Failed to read channel.
+     * */
+    public static IncrementalWordsIndex loadIndex(ReadableByteChannel channel, int wordsLength, Charset charset)
+            throws PuzzleException {
+        assert channel != null;
+
+        return loadIndex(Channels.newInputStream(channel), wordsLength, charset); // exception
+    }
+
+    // Package private methods.
+
+    /** Loads words of given length from stream to set: parsing thread decompresses and parses stream while
+     *  calling thread adds batches of words to set. Words are trimmed and converted to lower case.
+     *  Stream isn't closed.
+     *  @param input Input stream of vocabulary text (it can be gzip compressed).
+     *  @param wordsLength Length of words, words of other length are ignored.
+     *  @param charset Charset of vocabulary text.
+     *  @param wordsSet Set which words are added to.
+     *  @exception PuzzleException Failed to read stream.
+     * */
+    static void loadWords(InputStream input, int wordsLength, Charset charset, Set<String> wordsSet)
+            throws PuzzleException {
+        assert input != null;
+        assert wordsLength > 0;
+        assert charset != null;
+        assert wordsSet != null;
+
+        PuzzleEvents.VocabularyLoadEvent loadEvent = new PuzzleEvents.VocabularyLoadEvent();
+        loadEvent.begin();
+
+        String outcome = PuzzleEvents.OUTCOME_ERROR;
+
+        BlockingQueue<List<String>> batches = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        Parser parser = new Parser(input, wordsLength, charset, batches);
+
+        Thread parserThread = new Thread(parser, "Vocabulary stream parser");
+        parserThread.setDaemon(true);
+        parserThread.start();
+
+        try {
+            List<String> batch = batches.take(); // exception
+
+            while(batch != END_OF_STREAM){
+                wordsSet.addAll(batch);
+
+                batch = batches.take(); // exception
+            }
+
+            // Error is read after END_OF_STREAM: queue publishes it to this thread.
+            if(parser.mError != null){
+                throw new PuzzleException(parser.mError, PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR);
+            }
+
+            outcome = PuzzleEvents.OUTCOME_SUCCESS;
+        } catch(InterruptedException interruptedException){
+            Thread.currentThread().interrupt();
+
+            throw new PuzzleException(interruptedException, PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR);
+        } finally {
+            // Parser waiting for free space in queue is stopped if loading failed.
+            parserThread.interrupt();
+
+            loadEvent.commit(wordsLength, wordsSet.size(), outcome);
+        }
+    }
+
+    // Private methods.
+
+    /** Constructor. */
+    private VocabularyStreamLoader(){
+    }
+} // class VocabularyStreamLoader
@@ -20,6 +20,8 @@ public final class WordInfo {
 
     private boolean mUsageFlag; // Flag defines if this word is used in words chain.
 
+    private int mBestDepth; // The least depth at which word was added to words chain.
+
     // Public methods.
 
     /** Constructor.
@@ -32,6 +34,7 @@ public final class WordInfo {
 
         mWord = word;
         mDifferenceWithTargetWord = differenceWithTargetWord;
+        mBestDepth = Integer.MAX_VALUE;
     }
 
     /** Gets word. */
@@ -53,4 +56,14 @@ public final class WordInfo {
     public void setUsageFlag(boolean value){
         mUsageFlag = value;
     }
+
+    /** Gets the least depth at which word was added to words chain (Integer.MAX_VALUE if it wasn't added). */
+    public int getBestDepth(){
+        return mBestDepth;
+    }
+
+    /** Sets the least depth at which word was added to words chain. */
+    public void setBestDepth(int value){
+        mBestDepth = value;
+    }
 } // class WordInfo
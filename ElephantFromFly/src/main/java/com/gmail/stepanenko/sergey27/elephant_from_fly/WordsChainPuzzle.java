@@ -30,17 +30,29 @@ public final class WordsChainPuzzle {
 
         private boolean mInterruptionByTimeoutFlag; // Flag defines if search process was interrupted by timeout.
 
+        private SearchStatistics mStatistics; // Search statistics.
+
         // Public methods.
 
         /** Constructor.
          *  @param inputWords Input words.
          * */
         public Result(InputWords inputWords){
+            this(inputWords, new SearchStatistics(false));
+        }
+
+        /** Constructor.
+         *  @param inputWords Input words.
+         *  @param statistics Search statistics.
+         * */
+        public Result(InputWords inputWords, SearchStatistics statistics){
             assert inputWords != null;
+            assert statistics != null;
 
             mInputWords = inputWords;
             mWordsChain = new ArrayList<>();
             mInterruptionByTimeoutFlag = false;
+            mStatistics = statistics;
         }
 
         /** Gets input words. */
@@ -67,8 +79,17 @@ public final class WordsChainPuzzle {
         public void setInterruptionByTimeoutFlag(boolean value){
             mInterruptionByTimeoutFlag = value;
         }
+
+        /** Gets search statistics (it is empty if statistics collection was disabled). */
+        public SearchStatistics getStatistics(){
+            return mStatistics;
+        }
     } // class Result
 
+    // Private static constants.
+
+    private static final String SEARCH_ENGINE_NAME = "Backtracking"; // Name of search engine in events.
+
     // Private fields.
 
     private InputWords mInputWords; // Input words.
@@ -79,6 +100,10 @@ public final class WordsChainPuzzle {
 
     private long mTimeoutMinutes; // Time in minutes after which search process should be interrupted.
 
+    private boolean mIsStatisticsEnabled; // Flag defines if search statistics is collected.
+
+    private SearchStatistics mStatistics; // Statistics of current search.
+
     // List of of WordInfo objects.
     // Words are sorted in difference with target word ascending order.
     private List<WordInfo> mVocabularyWordsInfo;
@@ -98,8 +123,16 @@ public final class WordsChainPuzzle {
 
     // Public methods.
 
-    /** Constructor. */
+    /** Constructor: search statistics is not collected. */
     public WordsChainPuzzle(){
+        this(false);
+    }
+
+    /** Constructor.
+     *  @param isStatisticsEnabled Flag defines if search statistics is collected.
+     * */
+    public WordsChainPuzzle(boolean isStatisticsEnabled){
+        mIsStatisticsEnabled = isStatisticsEnabled;
     }
 
     /** Solves words chain puzzle.
@@ -127,20 +160,64 @@ public final class WordsChainPuzzle {
         mVocabulary = vocabulary;
         mMaxWordsChainLength = maxWordsChainLength;
         mTimeoutMinutes = timeoutMinutes;
+        mStatistics = new SearchStatistics(mIsStatisticsEnabled);
+
+        long preparationStartNanos = (mIsStatisticsEnabled ? System.nanoTime() : 0);
+
+        PuzzleEvents.VocabularyPreparationEvent preparationEvent = new PuzzleEvents.VocabularyPreparationEvent();
+        preparationEvent.begin();
 
         // Prepare vocabulary words info: sort words in difference with end word ascending order.
         _prepareVocabularyWordsInfo();
 
+        preparationEvent.commit(inputWords.getLength(), mVocabularyWordsInfo.size(), PuzzleEvents.OUTCOME_SUCCESS);
+
+        long searchStartNanos = (mIsStatisticsEnabled ? System.nanoTime() : 0);
+
+        PuzzleEvents.SearchEvent searchEvent = new PuzzleEvents.SearchEvent();
+        searchEvent.begin();
+
         // look for shortest words chain.
         Result searchResult = _lookForShortestWordsChain();
 
+        if(searchEvent.shouldCommit()){
+            searchEvent.engine = SEARCH_ENGINE_NAME;
+            searchEvent.wordsChainLength = searchResult.getWordsChain().size();
+            searchEvent.commit(inputWords.getLength(), mVocabularyWordsInfo.size(),
+                    (searchResult.isInterruptedByTimeoutFlag() ? PuzzleEvents.OUTCOME_TIMEOUT :
+                            (searchResult.isEmpty() ? PuzzleEvents.OUTCOME_NOT_FOUND : PuzzleEvents.OUTCOME_FOUND)));
+        }
+
+        if(mIsStatisticsEnabled){
+            mStatistics.setPreparationTimeNanos(searchStartNanos - preparationStartNanos);
+            mStatistics.setSearchTimeNanos(System.nanoTime() - searchStartNanos);
+        }
+
         return searchResult;
     }
 
-    // Private static methods.
+    // Package private methods: used by benchmarks.
+
+    /** Prepares vocabulary words info for given input words without search.
+     *  @param inputWords Input words.
+     *  @param vocabulary Vocabulary.
+     *  @return Count of prepared words.
+     * */
+    int prepareVocabularyWordsInfo(InputWords inputWords, Vocabulary vocabulary){
+        assert inputWords != null;
+        assert vocabulary != null;
+
+        mInputWords = inputWords;
+        mVocabulary = vocabulary;
+        mStatistics = new SearchStatistics(mIsStatisticsEnabled);
+
+        _prepareVocabularyWordsInfo();
+
+        return mVocabularyWordsInfo.size();
+    }
 
     /** Calculate difference between two words (count of different characters in appropriate positions). */
-    private static int _calculateWordsDifference(String word1, String word2){
+    static int calculateWordsDifference(String word1, String word2){
         assert word1 != null;
         assert word2 != null;
         assert word1.length() == word2.length();
@@ -169,7 +246,7 @@ public final class WordsChainPuzzle {
             if(!word.equals(mInputWords.getStartWord())) {
                 // Word is not equal to start word.
 
-                int differenceWithEndWord = _calculateWordsDifference(word, mInputWords.getEndWord());
+                int differenceWithEndWord = calculateWordsDifference(word, mInputWords.getEndWord());
 
                 WordInfo wordInfo = new WordInfo(word, differenceWithEndWord);
 
@@ -177,6 +254,10 @@ public final class WordsChainPuzzle {
             } // else skip start word
         } // for
 
+        if(mIsStatisticsEnabled){
+            mStatistics.addWordsDifferenceCalculations(mVocabularyWordsInfo.size());
+        }
+
         // Comparator used to sort words in difference with end word ascending order.
         Comparator<WordInfo> wordInfoComparator = new Comparator<WordInfo>() {
             @Override
@@ -242,7 +323,7 @@ public final class WordsChainPuzzle {
 
         String currentWord = _getCurrentWord();
 
-        int wordsDifference = _calculateWordsDifference(previousWord, currentWord);
+        int wordsDifference = calculateWordsDifference(previousWord, currentWord);
 
         return (wordsDifference == 1);
     }
@@ -279,10 +360,18 @@ public final class WordsChainPuzzle {
 
             wordsChain.add(wordInfoListCursor.getElement().getWord());
         }
+
+        if(mIsStatisticsEnabled){
+            mStatistics.registerImprovement();
+        }
     }
 
     /** Advances cursor to the first word which is one character different from previous word in chain.
-     *  Note: function also sets usage flag for this word to true.
+     *  Words which were already added to chain at the same or less depth are skipped (transposition table):
+     *  search from them has already been completed or they are used in current chain, and words chain through
+     *  them can't be shorter now than then, because the shortest words chain found by this moment only gets
+     *  shorter.
+     *  Note: function also sets usage flag and best depth for this word.
      *  @param cursor Words list cursor.
      * */
     private boolean _advanceCursorToTheFirstProperWord(ListCursor<WordInfo> cursor){
@@ -290,19 +379,25 @@ public final class WordsChainPuzzle {
 
         String previousWord = _getPreviousWord();
 
+        int depth = mWordsChainDeque.size();
+
         boolean isSearchCompleted = false;
         boolean isWordFound = false;
 
+        int wordsDifferenceCalculationsCount = 0;
+
         while(!isSearchCompleted){
             WordInfo currentWordInfo = cursor.getElement();
 
-            // If current word is not used.
-            if(!currentWordInfo.getUsageFlag()){
-                int wordsDifference = _calculateWordsDifference(previousWord, currentWordInfo.getWord());
+            // If current word is not used and wasn't reached at the same or less depth.
+            if(!currentWordInfo.getUsageFlag() && currentWordInfo.getBestDepth() > depth){
+                int wordsDifference = calculateWordsDifference(previousWord, currentWordInfo.getWord());
+                wordsDifferenceCalculationsCount++;
 
                 if(wordsDifference == 1){
                     isWordFound = true;
                     currentWordInfo.setUsageFlag(true);
+                    currentWordInfo.setBestDepth(depth);
                 }
             } // else skip this word
 
@@ -313,6 +408,10 @@ public final class WordsChainPuzzle {
             }
         }
 
+        if(mIsStatisticsEnabled){
+            mStatistics.addWordsDifferenceCalculations(wordsDifferenceCalculationsCount);
+        }
+
         return isWordFound;
     }
 
@@ -329,6 +428,10 @@ public final class WordsChainPuzzle {
         assert minStepsCount >= 1;
         assert mWordsChainDeque.size() > 0;
 
+        if(mIsStatisticsEnabled){
+            mStatistics.registerRollBack();
+        }
+
         // Result of roll back
         boolean rollBackResult = false;
 
@@ -430,6 +533,10 @@ public final class WordsChainPuzzle {
     /** Augments currently built words chain and transits search to the next stage. */
     private void _augmentWordsChain(){
         mWordsChainDeque.addLast(new ListCursor<>(mVocabularyWordsInfo, 0));
+
+        if(mIsStatisticsEnabled){
+            mStatistics.registerExpandedNode(mWordsChainDeque.size());
+        }
     }
 
     /** Implements words chain puzzle search algorithm: looks for shortest words chain.
@@ -446,7 +553,7 @@ public final class WordsChainPuzzle {
         _augmentWordsChain();
 
         // Search algorithm result.
-        Result searchResult = new Result(mInputWords);
+        Result searchResult = new Result(mInputWords, mStatistics);
 
         boolean isSearchCompleted = false;
 
@@ -0,0 +1,370 @@
+/***************************************************************************************************
+ * @file WordsGraph.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the WordsGraph class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Set;
+
+/**
+ * Graph of vocabulary words: vertices are words of equal length, edges connect words which are
+ * one character different from each other.
+ * Words get dense integer identifiers which correspond to their lexicographic order.
+ * Adjacency lists are kept in compressed sparse row form: one array of offsets and one array of neighbor ids,
+ * neighbor ids of every word are sorted in ascending order.
+ * Graph is immutable after construction.
+ */
+public final class WordsGraph implements WordsNeighborsProvider {
+
+    // Private static constants.
+
+    private static final String INDEX_NAME = "Words graph"; // Name of index in events.
+
+    // Private fields.
+
+    private int mWordsLength; // Length of words in graph.
+
+    private String[] mWords; // Words sorted in lexicographic order, index of word is its identifier.
+
+    private char[] mAlphabet; // Sorted distinct characters used in words.
+
+    private int[] mNeighborsOffsets; // Offsets of adjacency lists in mNeighbors array (size: words count + 1).
+
+    private int[] mNeighbors; // Concatenated adjacency lists.
+
+    // Public methods.
+
+    /** Constructor: builds graph from vocabulary words of given length.
+     *  @param vocabulary Vocabulary.
+     *  @param wordsLength Length of words in graph, words of other length are ignored.
+     * */
+    public WordsGraph(Vocabulary vocabulary, int wordsLength){
+        assert vocabulary != null;
+        assert wordsLength > 0;
+
+        mWordsLength = wordsLength;
+
+        PuzzleEvents.IndexBuildEvent buildEvent = new PuzzleEvents.IndexBuildEvent();
+        buildEvent.begin();
+
+        _prepareWords(vocabulary.getWordsSet());
+
+        _prepareAlphabet();
+
+        _buildAdjacencyLists();
+
+        buildEvent.index = INDEX_NAME;
+        buildEvent.commit(wordsLength, mWords.length, PuzzleEvents.OUTCOME_SUCCESS);
+    }
+
+    /** Constructor: builds graph from vocabulary snapshot, words array of snapshot is shared with graph.
+     *  @param snapshot Vocabulary snapshot.
+     * */
+    public WordsGraph(VocabularySnapshot snapshot){
+        assert snapshot != null;
+
+        mWordsLength = snapshot.getWordsLength();
+
+        PuzzleEvents.IndexBuildEvent buildEvent = new PuzzleEvents.IndexBuildEvent();
+        buildEvent.begin();
+
+        mWords = snapshot.getSortedWords();
+
+        _prepareAlphabet();
+
+        _buildAdjacencyLists();
+
+        buildEvent.index = INDEX_NAME;
+        buildEvent.commit(mWordsLength, mWords.length, PuzzleEvents.OUTCOME_SUCCESS);
+    }
+
+    /** Gets length of words in graph. */
+    @Override
+    public int getWordsLength(){
+        return mWordsLength;
+    }
+
+    /** Gets count of words in graph. */
+    @Override
+    public int getWordsCount(){
+        return mWords.length;
+    }
+
+    /** Gets word by identifier. */
+    public String getWord(int wordId){
+        return mWords[wordId];
+    }
+
+    /** Gets identifier of word.
+     *  @param word Word.
+     *  @return Word identifier or -1 if word is absent in graph.
+     * */
+    public int getWordId(String word){
+        assert word != null;
+
+        int wordId = Arrays.binarySearch(mWords, word);
+
+        return (wordId >= 0 ? wordId : -1);
+    }
+
+    /** Checks if given word is contained in graph. */
+    public boolean contains(String word){
+        return getWordId(word) >= 0;
+    }
+
+    /** Gets sorted distinct characters used in words of graph. */
+    public char[] getAlphabet(){
+        return mAlphabet.clone();
+    }
+
+    /** Gets count of neighbors of word. */
+    public int getNeighborsCount(int wordId){
+        return mNeighborsOffsets[wordId + 1] - mNeighborsOffsets[wordId];
+    }
+
+    /** Gets neighbor of word.
+     *  @param wordId Word identifier.
+     *  @param index Index of neighbor in adjacency list of word.
+     *  @return Identifier of neighbor.
+     * */
+    public int getNeighbor(int wordId, int index){
+        assert index >= 0 && index < getNeighborsCount(wordId);
+
+        return mNeighbors[mNeighborsOffsets[wordId] + index];
+    }
+
+    /** Gets maximum count of neighbors of one word. */
+    @Override
+    public int getMaxNeighborsCount(){
+        return mWordsLength * Math.max(mAlphabet.length - 1, 0);
+    }
+
+    /** Finds neighbors of word: copies its adjacency list to buffer (neighbors are sorted). */
+    @Override
+    public int findNeighbors(int wordId, int[] neighbors){
+        int neighborsCount = getNeighborsCount(wordId);
+
+        assert neighbors.length >= neighborsCount;
+
+        System.arraycopy(mNeighbors, mNeighborsOffsets[wordId], neighbors, 0, neighborsCount);
+
+        return neighborsCount;
+    }
+
+    /** Gets size of adjacency lists in bytes (words are shared with vocabulary snapshot and aren't included). */
+    public long getMemorySize(){
+        return (long)Integer.BYTES * (mNeighborsOffsets.length + mNeighbors.length);
+    }
+
+    /** Gets identifiers of words which are one character different from given word.
+     *  Given word can be absent in graph (e.g. start word of puzzle).
+     *  @param word Word of graph words length.
+     *  @return Sorted identifiers of neighbors.
+     * */
+    public int[] getNeighborIds(String word){
+        assert word != null;
+        assert word.length() == mWordsLength;
+
+        int wordId = getWordId(word);
+
+        int[] neighborIds;
+
+        if(wordId >= 0){
+            neighborIds = Arrays.copyOfRange(mNeighbors, mNeighborsOffsets[wordId], mNeighborsOffsets[wordId + 1]);
+        } else {
+            // Word is absent in graph: probe all one character variants of word.
+            int[] buffer = new int[mWordsLength * mAlphabet.length];
+            int count = 0;
+
+            char[] chars = word.toCharArray();
+
+            for(int position = 0; position < chars.length; position++){
+                char originalChar = chars[position];
+
+                for(char character : mAlphabet){
+                    if(character != originalChar){
+                        chars[position] = character;
+
+                        int neighborId = getWordId(new String(chars));
+
+                        if(neighborId >= 0){
+                            buffer[count++] = neighborId;
+                        }
+                    }
+                }
+
+                chars[position] = originalChar;
+            }
+
+            neighborIds = Arrays.copyOf(buffer, count);
+            Arrays.sort(neighborIds);
+        }
+
+        return neighborIds;
+    }
+
+    // Private methods.
+
+    /** Prepares sorted array of words. */
+    private void _prepareWords(Set<String> wordsSet){
+        int count = 0;
+
+        for(String word : wordsSet){
+            if(word.length() == mWordsLength){
+                count++;
+            }
+        }
+
+        mWords = new String[count];
+
+        int index = 0;
+
+        for(String word : wordsSet){
+            if(word.length() == mWordsLength){
+                mWords[index++] = word;
+            } // else skip word of other length
+        }
+
+        Arrays.sort(mWords);
+    }
+
+    /** Prepares sorted distinct characters used in words. */
+    private void _prepareAlphabet(){
+        boolean[] usedChars = new boolean[Character.MAX_VALUE + 1];
+        int alphabetSize = 0;
+
+        for(String word : mWords){
+            for(int i = 0; i < mWordsLength; i++){
+                char character = word.charAt(i);
+
+                if(!usedChars[character]){
+                    usedChars[character] = true;
+                    alphabetSize++;
+                }
+            }
+        }
+
+        mAlphabet = new char[alphabetSize];
+        int index = 0;
+
+        for(int character = 0; character < usedChars.length; character++){
+            if(usedChars[character]){
+                mAlphabet[index++] = (char)character;
+            }
+        }
+    }
+
+    /** Builds adjacency lists.
+     *  For every position words are sorted by characters in all other positions, so words which differ
+     *  only in this position form groups of adjacent elements. Every two words in group are neighbors.
+     * */
+    private void _buildAdjacencyLists(){
+        int wordsCount = mWords.length;
+
+        int[][] groupsOrders = new int[mWordsLength][];
+        int[] degrees = new int[wordsCount];
+
+        for(int position = 0; position < mWordsLength; position++){
+            int[] order = _sortIgnoringPosition(position);
+
+            _forEachGroup(order, position, degrees, null, null);
+
+            groupsOrders[position] = order;
+        }
+
+        mNeighborsOffsets = new int[wordsCount + 1];
+
+        for(int wordId = 0; wordId < wordsCount; wordId++){
+            mNeighborsOffsets[wordId + 1] = mNeighborsOffsets[wordId] + degrees[wordId];
+        }
+
+        mNeighbors = new int[mNeighborsOffsets[wordsCount]];
+
+        int[] fillPositions = Arrays.copyOf(mNeighborsOffsets, wordsCount);
+
+        for(int position = 0; position < mWordsLength; position++){
+            _forEachGroup(groupsOrders[position], position, null, fillPositions, mNeighbors);
+
+            groupsOrders[position] = null;
+        }
+
+        for(int wordId = 0; wordId < wordsCount; wordId++){
+            Arrays.sort(mNeighbors, mNeighborsOffsets[wordId], mNeighborsOffsets[wordId + 1]);
+        }
+    }
+
+    /** Sorts word identifiers by characters in all positions except given one. */
+    private int[] _sortIgnoringPosition(final int ignoredPosition){
+        Integer[] boxedOrder = new Integer[mWords.length];
+
+        for(int wordId = 0; wordId < boxedOrder.length; wordId++){
+            boxedOrder[wordId] = wordId;
+        }
+
+        Arrays.sort(boxedOrder, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer wordId1, Integer wordId2) {
+                return _compareIgnoringPosition(mWords[wordId1], mWords[wordId2], ignoredPosition);
+            }
+        });
+
+        int[] order = new int[boxedOrder.length];
+
+        for(int i = 0; i < order.length; i++){
+            order[i] = boxedOrder[i];
+        }
+
+        return order;
+    }
+
+    /** Walks through groups of words which differ only in given position.
+     *  Counts degrees if degrees array is given, otherwise fills neighbors array.
+     * */
+    private void _forEachGroup(int[] order, int position, int[] degrees, int[] fillPositions, int[] neighbors){
+        int groupBegin = 0;
+
+        while(groupBegin < order.length){
+            int groupEnd = groupBegin + 1;
+
+            while(groupEnd < order.length &&
+                    _compareIgnoringPosition(mWords[order[groupBegin]], mWords[order[groupEnd]], position) == 0){
+                groupEnd++;
+            }
+
+            int groupSize = groupEnd - groupBegin;
+
+            for(int i = groupBegin; i < groupEnd; i++){
+                int wordId = order[i];
+
+                if(degrees != null){
+                    degrees[wordId] += groupSize - 1;
+                } else {
+                    for(int j = groupBegin; j < groupEnd; j++){
+                        if(j != i){
+                            neighbors[fillPositions[wordId]++] = order[j];
+                        }
+                    }
+                }
+            }
+
+            groupBegin = groupEnd;
+        }
+    }
+
+    /** Compares two words of equal length by characters in all positions except given one. */
+    private static int _compareIgnoringPosition(String word1, String word2, int ignoredPosition){
+        int result = 0;
+
+        for(int i = 0; i < word1.length() && result == 0; i++){
+            if(i != ignoredPosition){
+                result = word1.charAt(i) - word2.charAt(i);
+            }
+        }
+
+        return result;
+    }
+} // class WordsGraph
@@ -0,0 +1,312 @@
+/***************************************************************************************************
+ * @file WordsLandmarks.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the WordsLandmarks class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.Arrays;
+
+/**
+ * Landmarks of words graph for ALT (A*, landmarks, triangle inequality) lower bounds.
+ * Graph is split to connected components, several landmark words are picked in every component which is
+ * not smaller than given size: the first landmark is the farthest word from arbitrary word, every next landmark
+ * is the farthest word from already picked landmarks. Distances from every word to landmarks of its component
+ * are stored in compact table: byte per distance if component diameters allow it, short per distance otherwise.
+ * By triangle inequality distance between words u and v is not less than |d(u, L) - d(v, L)| for every landmark L;
+ * words of different components are not connected at all.
+ * Landmarks are immutable after construction.
+ */
+public final class WordsLandmarks {
+
+    // Public static constants.
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE; // Lower bound of distance between unconnected words.
+
+    // Private static constants.
+
+    private static final String INDEX_NAME = "Landmarks"; // Name of index in events.
+
+    private static final int MAX_BYTE_DISTANCE = 254; // Maximum distance which is stored in byte table.
+
+    private static final int UNKNOWN_BYTE_DISTANCE = 0xFF; // Unknown distance in byte table (no landmark).
+
+    private static final short UNKNOWN_SHORT_DISTANCE = -1; // Unknown distance in short table.
+
+    // Private fields.
+
+    private final int mWordsCount; // Count of words in graph.
+
+    private final int mLandmarksCount; // Count of landmarks per component (table columns).
+
+    private final int[] mComponents; // Connected component of every word.
+
+    private int mComponentsCount; // Count of connected components.
+
+    private final int[] mLandmarks; // Landmarks of components: mLandmarksCount words per component or -1.
+
+    // Distances from words to landmarks of their components: mLandmarksCount values per word.
+    // Only one of tables is used.
+    private byte[] mByteDistances;
+
+    private short[] mShortDistances;
+
+    // Public methods.
+
+    /** Constructor: picks landmarks and calculates distances.
+     *  @param graph Words graph.
+     *  @param landmarksCount Count of landmarks per component.
+     *  @param minComponentSize Minimum size of component which gets landmarks.
+     * */
+    public WordsLandmarks(WordsGraph graph, int landmarksCount, int minComponentSize){
+        assert graph != null;
+        assert landmarksCount >= 0;
+        assert minComponentSize > 0;
+
+        PuzzleEvents.IndexBuildEvent buildEvent = new PuzzleEvents.IndexBuildEvent();
+        buildEvent.begin();
+
+        mWordsCount = graph.getWordsCount();
+        mLandmarksCount = landmarksCount;
+        mComponents = new int[mWordsCount];
+
+        int[] queue = new int[mWordsCount];
+        int[] componentsRoots = _findComponents(graph, queue);
+
+        mLandmarks = new int[mComponentsCount * landmarksCount];
+
+        short[] distances = new short[mWordsCount * landmarksCount];
+        Arrays.fill(distances, UNKNOWN_SHORT_DISTANCE);
+        Arrays.fill(mLandmarks, -1);
+
+        int maxDistance = _pickLandmarks(graph, componentsRoots, minComponentSize, queue, distances);
+
+        // Use compact table if all distances fit into byte.
+        if(maxDistance <= MAX_BYTE_DISTANCE){
+            mByteDistances = new byte[distances.length];
+
+            for(int i = 0; i < distances.length; i++){
+                mByteDistances[i] = (byte)(distances[i] == UNKNOWN_SHORT_DISTANCE ?
+                        UNKNOWN_BYTE_DISTANCE : distances[i]);
+            }
+        } else {
+            mShortDistances = distances;
+        }
+
+        buildEvent.index = INDEX_NAME;
+        buildEvent.commit(graph.getWordsLength(), mWordsCount, PuzzleEvents.OUTCOME_SUCCESS);
+    }
+
+    /** Gets count of landmarks per component. */
+    public int getLandmarksCount(){
+        return mLandmarksCount;
+    }
+
+    /** Gets count of connected components. */
+    public int getComponentsCount(){
+        return mComponentsCount;
+    }
+
+    /** Gets connected component of word. */
+    public int getComponent(int wordId){
+        return mComponents[wordId];
+    }
+
+    /** Gets landmark of component.
+     *  @param component Component.
+     *  @param index Index of landmark.
+     *  @return Identifier of landmark or -1 if component is too small to have landmarks.
+     * */
+    public int getLandmark(int component, int index){
+        assert index >= 0 && index < mLandmarksCount;
+
+        return mLandmarks[component * mLandmarksCount + index];
+    }
+
+    /** Gets distance from word to landmark of its component.
+     *  @param wordId Word identifier.
+     *  @param index Index of landmark.
+     *  @return Distance or -1 if component of word has no landmarks or distance doesn't fit table.
+     * */
+    public int getLandmarkDistance(int wordId, int index){
+        assert index >= 0 && index < mLandmarksCount;
+
+        int tableIndex = wordId * mLandmarksCount + index;
+        int distance;
+
+        if(mByteDistances != null){
+            distance = (mByteDistances[tableIndex] & 0xFF);
+            distance = (distance == UNKNOWN_BYTE_DISTANCE ? -1 : distance);
+        } else {
+            distance = mShortDistances[tableIndex];
+        }
+
+        return distance;
+    }
+
+    /** Gets lower bound of distance between two words.
+     *  @param wordId1 Identifier of the first word.
+     *  @param wordId2 Identifier of the second word.
+     *  @return Lower bound of count of steps between words or UNREACHABLE if words are not connected.
+     * */
+    public int getLowerBound(int wordId1, int wordId2){
+        int bound = 0;
+
+        if(mComponents[wordId1] != mComponents[wordId2]){
+            bound = UNREACHABLE;
+        } else {
+            for(int index = 0; index < mLandmarksCount; index++){
+                int distance1 = getLandmarkDistance(wordId1, index);
+                int distance2 = getLandmarkDistance(wordId2, index);
+
+                if(distance1 >= 0 && distance2 >= 0){
+                    bound = Math.max(bound, Math.abs(distance1 - distance2));
+                }
+            }
+        }
+
+        return bound;
+    }
+
+    /** Gets estimated size of landmarks tables in memory in bytes. */
+    public long getMemorySize(){
+        long size = (long)Integer.BYTES * (mComponents.length + mLandmarks.length);
+
+        size += (mByteDistances != null ? mByteDistances.length : (long)Short.BYTES * mShortDistances.length);
+
+        return size;
+    }
+
+    // Private methods.
+
+    /** Finds connected components.
+     *  @return Roots (words with minimum identifiers) of components.
+     * */
+    private int[] _findComponents(WordsGraph graph, int[] queue){
+        Arrays.fill(mComponents, -1);
+
+        int[] roots = new int[mWordsCount];
+        mComponentsCount = 0;
+
+        for(int rootId = 0; rootId < mWordsCount; rootId++){
+            if(mComponents[rootId] < 0){
+                int component = mComponentsCount++;
+                roots[component] = rootId;
+
+                int queueHead = 0;
+                int queueTail = 0;
+
+                mComponents[rootId] = component;
+                queue[queueTail++] = rootId;
+
+                while(queueHead < queueTail){
+                    int wordId = queue[queueHead++];
+
+                    for(int i = 0; i < graph.getNeighborsCount(wordId); i++){
+                        int neighborId = graph.getNeighbor(wordId, i);
+
+                        if(mComponents[neighborId] < 0){
+                            mComponents[neighborId] = component;
+                            queue[queueTail++] = neighborId;
+                        }
+                    }
+                }
+            }
+        }
+
+        return Arrays.copyOf(roots, mComponentsCount);
+    }
+
+    /** Picks landmarks of components and fills distances table.
+     *  @return Maximum stored distance.
+     * */
+    private int _pickLandmarks(WordsGraph graph, int[] componentsRoots, int minComponentSize, int[] queue,
+                               short[] distances){
+        int[] bfsDistances = new int[mWordsCount];
+        int[] minDistances = new int[mWordsCount]; // Distances from words to the closest picked landmark.
+
+        Arrays.fill(bfsDistances, -1);
+
+        int maxDistance = 0;
+
+        for(int component = 0; component < mComponentsCount && mLandmarksCount > 0; component++){
+            // The first search from root gives words of component and the farthest word from root.
+            int componentSize = _breadthFirstSearch(graph, componentsRoots[component], queue, bfsDistances);
+
+            if(componentSize >= minComponentSize){
+                int landmarkId = queue[componentSize - 1];
+
+                for(int i = 0; i < componentSize; i++){
+                    minDistances[queue[i]] = Integer.MAX_VALUE;
+                }
+
+                for(int index = 0; index < mLandmarksCount; index++){
+                    _resetDistances(queue, componentSize, bfsDistances);
+
+                    _breadthFirstSearch(graph, landmarkId, queue, bfsDistances);
+
+                    mLandmarks[component * mLandmarksCount + index] = landmarkId;
+
+                    // Store distances and pick the farthest word from all landmarks as the next landmark.
+                    int nextLandmarkId = landmarkId;
+
+                    for(int i = 0; i < componentSize; i++){
+                        int wordId = queue[i];
+                        int distance = bfsDistances[wordId];
+
+                        if(distance <= Short.MAX_VALUE){
+                            distances[wordId * mLandmarksCount + index] = (short)distance;
+                            maxDistance = Math.max(maxDistance, distance);
+                        }
+
+                        minDistances[wordId] = Math.min(minDistances[wordId], distance);
+
+                        if(minDistances[wordId] > minDistances[nextLandmarkId]){
+                            nextLandmarkId = wordId;
+                        }
+                    }
+
+                    landmarkId = nextLandmarkId;
+                }
+            }
+
+            _resetDistances(queue, componentSize, bfsDistances);
+        }
+
+        return maxDistance;
+    }
+
+    /** Breadth first search in component of word.
+     *  @return Count of reached words, they are stored to queue in order of distance.
+     * */
+    private static int _breadthFirstSearch(WordsGraph graph, int sourceId, int[] queue, int[] distances){
+        int queueHead = 0;
+        int queueTail = 0;
+
+        distances[sourceId] = 0;
+        queue[queueTail++] = sourceId;
+
+        while(queueHead < queueTail){
+            int wordId = queue[queueHead++];
+
+            for(int i = 0; i < graph.getNeighborsCount(wordId); i++){
+                int neighborId = graph.getNeighbor(wordId, i);
+
+                if(distances[neighborId] < 0){
+                    distances[neighborId] = distances[wordId] + 1;
+                    queue[queueTail++] = neighborId;
+                }
+            }
+        }
+
+        return queueTail;
+    }
+
+    /** Resets distances of words reached by breadth first search. */
+    private static void _resetDistances(int[] queue, int count, int[] distances){
+        for(int i = 0; i < count; i++){
+            distances[queue[i]] = -1;
+        }
+    }
+} // class WordsLandmarks
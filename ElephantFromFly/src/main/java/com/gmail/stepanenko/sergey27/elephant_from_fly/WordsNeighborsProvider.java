@@ -0,0 +1,30 @@
+/***************************************************************************************************
+ * @file WordsNeighborsProvider.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains declaration of the WordsNeighborsProvider interface.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+/**
+ * Provider of words neighbors: words of vocabulary snapshot which are one character different from given word.
+ * Words are identified by identifiers of vocabulary snapshot. Implementations are immutable and thread-safe.
+ */
+public interface WordsNeighborsProvider {
+
+    /** Gets length of words. */
+    int getWordsLength();
+
+    /** Gets count of words. */
+    int getWordsCount();
+
+    /** Gets maximum count of neighbors of one word: minimum size of neighbors buffer. */
+    int getMaxNeighborsCount();
+
+    /** Finds neighbors of word.
+     *  @param wordId Word identifier.
+     *  @param neighbors Buffer for identifiers of neighbors, its size is not less than getMaxNeighborsCount().
+     *  @return Count of neighbors stored to buffer (order of neighbors is not specified).
+     * */
+    int findNeighbors(int wordId, int[] neighbors);
+} // interface WordsNeighborsProvider
@@ -0,0 +1,481 @@
+/***************************************************************************************************
+ * @file WordsPerfectHash.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the WordsPerfectHash class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Minimal perfect hash function of words of vocabulary snapshot, it maps every snapshot word to its own slot
+ * without collisions, count of slots equals count of words.
+ * Function is built by hash and displace method: words are distributed to small buckets by hash, then buckets
+ * are placed from the largest one, for every bucket the first displacement is found which moves all its words
+ * to free slots. Words are placed to table with 1/8 spare slots, so every bucket finds free slots after few
+ * displacements even when table is almost full; occupied spare slots are remapped to free slots of the first
+ * wordsCount ones, so identifiers and fingerprints are kept for wordsCount slots only.
+ * Every slot keeps identifier of its word and 16 bits fingerprint of word hash: word which is absent in snapshot
+ * is rejected by fingerprint check, so lookup doesn't compare strings (probability of false positive is 2^-16,
+ * callers which have words characters can verify found word).
+ * Memory cost is about 7.5 bytes per word: int displacement per 4 words and int remapped slot per 8 words
+ * (12 bits per word) plus int identifier and short fingerprint per word (48 bits per word). Identifiers can't be
+ * dropped because words identifiers are lexicographic (shared with snapshot and graphs), not slots of function.
+ * Function can be written to stream and read back, so it is built once when index is prepared.
+ * Function is immutable after construction and thread-safe.
+ */
+public final class WordsPerfectHash {
+
+    // Private static constants.
+
+    private static final String INDEX_NAME = "Words perfect hash"; // Name of index in events.
+
+    private static final int BUCKET_SIZE = 4; // Average count of words in bucket.
+
+    private static final int SPARE_SLOTS_DIVIDER = 8; // Count of words per spare slot of table.
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L; // Offset basis of FNV-1a hash.
+
+    private static final long FNV_PRIME = 0x100000001B3L; // Prime of FNV-1a hash.
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L; // Increment of displacement hash.
+
+    private static final int FORMAT_VERSION = 2; // Version of serialized function.
+
+    // Private fields.
+
+    private final int mWordsLength; // Length of words.
+
+    private final int mWordsCount; // Count of words (and count of slots with identifiers).
+
+    private final int mSlotsCount; // Count of slots of table (words count and spare slots).
+
+    private final long mSeed; // Seed of words hash.
+
+    private final int[] mDisplacements; // Displacements of buckets.
+
+    private final int[] mRemappedSlots; // Slots of words placed to spare slots (by spare slot index).
+
+    private final int[] mIds; // Identifiers of words by slots.
+
+    private final short[] mFingerprints; // Fingerprints of words hashes by slots.
+
+    // Public methods.
+
+    /** Constructor: builds function of snapshot words.
+     *  @param snapshot Vocabulary snapshot.
+     * */
+    public WordsPerfectHash(VocabularySnapshot snapshot){
+        assert snapshot != null;
+
+        PuzzleEvents.IndexBuildEvent buildEvent = new PuzzleEvents.IndexBuildEvent();
+        buildEvent.begin();
+
+        mWordsLength = snapshot.getWordsLength();
+        mWordsCount = snapshot.getWordsCount();
+
+        mDisplacements = new int[_getBucketsCount(mWordsCount)];
+        mRemappedSlots = new int[_getSpareSlotsCount(mWordsCount)];
+        mSlotsCount = mWordsCount + mRemappedSlots.length;
+        mIds = new int[mWordsCount];
+        mFingerprints = new short[mWordsCount];
+
+        // Bucket can't be placed only if its distinct words get equal 64 bits hashes (negligible probability),
+        // then words are hashed with other seed.
+        long seed = 0;
+
+        while(!_build(snapshot.getWordsChars(), seed)){
+            seed++;
+        }
+
+        mSeed = seed;
+
+        buildEvent.index = INDEX_NAME;
+        buildEvent.commit(mWordsLength, mWordsCount, PuzzleEvents.OUTCOME_SUCCESS);
+    }
+
+    /** Reads function from stream (format of writeTo()).
+     *  @param input Input stream.
+     *  @return Function.
+     *  @exception IOException Failed to read function or data is corrupted.
+     * */
+    public static WordsPerfectHash readFrom(DataInputStream input) throws IOException {
+        assert input != null;
+
+        int version = input.readInt(); // exception
+
+        if(version != FORMAT_VERSION){
+            throw new IOException("Unsupported perfect hash format version: " + version);
+        }
+
+        int wordsLength = input.readInt(); // exception
+        int wordsCount = input.readInt(); // exception
+        long seed = input.readLong(); // exception
+        int bucketsCount = input.readInt(); // exception
+        int spareSlotsCount = input.readInt(); // exception
+
+        if(wordsLength <= 0 || wordsCount < 0 || bucketsCount != _getBucketsCount(wordsCount) ||
+                spareSlotsCount != _getSpareSlotsCount(wordsCount)){
+            throw new IOException("Corrupted perfect hash header");
+        }
+
+        int[] displacements = new int[bucketsCount];
+        int[] remappedSlots = new int[spareSlotsCount];
+        int[] ids = new int[wordsCount];
+        short[] fingerprints = new short[wordsCount];
+
+        for(int bucket = 0; bucket < bucketsCount; bucket++){
+            displacements[bucket] = input.readInt(); // exception
+        }
+
+        for(int i = 0; i < spareSlotsCount; i++){
+            remappedSlots[i] = input.readInt(); // exception
+
+            if(remappedSlots[i] < 0 || remappedSlots[i] >= Math.max(1, wordsCount)){
+                throw new IOException("Corrupted perfect hash remapped slot");
+            }
+        }
+
+        for(int slot = 0; slot < wordsCount; slot++){
+            ids[slot] = input.readInt(); // exception
+
+            if(ids[slot] < 0 || ids[slot] >= wordsCount){
+                throw new IOException("Corrupted perfect hash word identifier");
+            }
+        }
+
+        for(int slot = 0; slot < wordsCount; slot++){
+            fingerprints[slot] = input.readShort(); // exception
+        }
+
+        return new WordsPerfectHash(wordsLength, wordsCount, seed, displacements, remappedSlots, ids, fingerprints);
+    }
+
+    /** Writes function to stream.
+     *  @param output Output stream.
+     *  @exception IOException Failed to write function.
+     * */
+    public void writeTo(DataOutputStream output) throws IOException {
+        assert output != null;
+
+        output.writeInt(FORMAT_VERSION); // exception
+        output.writeInt(mWordsLength); // exception
+        output.writeInt(mWordsCount); // exception
+        output.writeLong(mSeed); // exception
+        output.writeInt(mDisplacements.length); // exception
+        output.writeInt(mRemappedSlots.length); // exception
+
+        for(int displacement : mDisplacements){
+            output.writeInt(displacement); // exception
+        }
+
+        for(int remappedSlot : mRemappedSlots){
+            output.writeInt(remappedSlot); // exception
+        }
+
+        for(int id : mIds){
+            output.writeInt(id); // exception
+        }
+
+        for(short fingerprint : mFingerprints){
+            output.writeShort(fingerprint); // exception
+        }
+    }
+
+    /** Gets length of words. */
+    public int getWordsLength(){
+        return mWordsLength;
+    }
+
+    /** Gets count of words. */
+    public int getWordsCount(){
+        return mWordsCount;
+    }
+
+    /** Gets identifier of word.
+     *  @param word Word.
+     *  @return Word identifier or -1 if word is absent (absent word is accepted with probability 2^-16).
+     * */
+    public int getWordId(String word){
+        assert word != null;
+
+        int wordId = -1;
+
+        if(word.length() == mWordsLength && mWordsCount > 0){
+            wordId = _lookUp(_hash(word, mSeed));
+        }
+
+        return wordId;
+    }
+
+    /** Gets identifier of word given by characters.
+     *  @param chars Characters array.
+     *  @param offset Offset of the first character of word, word has length of words of function.
+     *  @return Word identifier or -1 if word is absent (absent word is accepted with probability 2^-16).
+     * */
+    public int getWordId(char[] chars, int offset){
+        assert chars != null;
+        assert offset >= 0 && offset + mWordsLength <= chars.length;
+
+        return (mWordsCount > 0 ? _lookUp(_hash(chars, offset, mWordsLength, mSeed)) : -1);
+    }
+
+    /** Gets estimated size of function in memory in bytes. */
+    public long getMemorySize(){
+        return (long)Integer.BYTES * (mDisplacements.length + mRemappedSlots.length + mIds.length) +
+                (long)Short.BYTES * mFingerprints.length;
+    }
+
+    // Private methods.
+
+    /** Constructor: creates function from read data. */
+    private WordsPerfectHash(int wordsLength, int wordsCount, long seed, int[] displacements, int[] remappedSlots,
+                             int[] ids, short[] fingerprints){
+        mWordsLength = wordsLength;
+        mWordsCount = wordsCount;
+        mSlotsCount = wordsCount + remappedSlots.length;
+        mSeed = seed;
+        mDisplacements = displacements;
+        mRemappedSlots = remappedSlots;
+        mIds = ids;
+        mFingerprints = fingerprints;
+    }
+
+    /** Gets count of buckets of function of given words count. */
+    private static int _getBucketsCount(int wordsCount){
+        return Math.max(1, (wordsCount + BUCKET_SIZE - 1) / BUCKET_SIZE);
+    }
+
+    /** Gets count of spare slots of function of given words count. */
+    private static int _getSpareSlotsCount(int wordsCount){
+        return wordsCount / SPARE_SLOTS_DIVIDER + 1;
+    }
+
+    /** Calculates hash of word characters. */
+    private static long _hash(char[] chars, int offset, int length, long seed){
+        long hash = FNV_OFFSET ^ seed;
+
+        for(int position = offset; position < offset + length; position++){
+            hash = (hash ^ chars[position]) * FNV_PRIME;
+        }
+
+        return _mix(hash);
+    }
+
+    /** Calculates hash of word (equal to hash of its characters). */
+    private static long _hash(String word, long seed){
+        long hash = FNV_OFFSET ^ seed;
+
+        for(int position = 0; position < word.length(); position++){
+            hash = (hash ^ word.charAt(position)) * FNV_PRIME;
+        }
+
+        return _mix(hash);
+    }
+
+    /** Mixes bits of hash (finalizer of MurmurHash3). */
+    private static long _mix(long hash){
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    /** Maps 32 bits of hash to range [0, size) without division. */
+    private static int _reduce(long hash32, int size){
+        return (int)((hash32 * size) >>> 32);
+    }
+
+    /** Gets bucket of word hash. */
+    private int _getBucket(long hash){
+        return _reduce(hash >>> 32, mDisplacements.length);
+    }
+
+    /** Gets slot of table (including spare slots) of word hash for displacement. */
+    private int _getSlot(long hash, int displacement){
+        return _reduce(_mix(hash + displacement * GOLDEN_GAMMA) >>> 32, mSlotsCount);
+    }
+
+    /** Gets fingerprint of word hash. */
+    private static short _getFingerprint(long hash){
+        return (short)hash;
+    }
+
+    /** Looks up word by hash.
+     *  @return Word identifier or -1 if fingerprint doesn't match.
+     * */
+    private int _lookUp(long hash){
+        int slot = _getSlot(hash, mDisplacements[_getBucket(hash)]);
+
+        if(slot >= mWordsCount){
+            slot = mRemappedSlots[slot - mWordsCount];
+        }
+
+        return (mFingerprints[slot] == _getFingerprint(hash) ? mIds[slot] : -1);
+    }
+
+    /** Builds function with given seed.
+     *  @param wordsChars Packed characters of words.
+     *  @param seed Seed of words hash.
+     *  @return True if function is built, false if distinct words of some bucket have equal hashes.
+     * */
+    private boolean _build(char[] wordsChars, long seed){
+        int bucketsCount = mDisplacements.length;
+
+        long[] hashes = new long[mWordsCount];
+
+        for(int wordId = 0; wordId < mWordsCount; wordId++){
+            hashes[wordId] = _hash(wordsChars, wordId * mWordsLength, mWordsLength, seed);
+        }
+
+        // Group words by buckets (words of bucket b are bucketsWords[bucketsOffsets[b]..bucketsOffsets[b + 1])).
+        int[] bucketsOffsets = new int[bucketsCount + 1];
+
+        for(int wordId = 0; wordId < mWordsCount; wordId++){
+            bucketsOffsets[_getBucket(hashes[wordId]) + 1]++;
+        }
+
+        int maxBucketSize = 0;
+
+        for(int bucket = 0; bucket < bucketsCount; bucket++){
+            maxBucketSize = Math.max(maxBucketSize, bucketsOffsets[bucket + 1]);
+            bucketsOffsets[bucket + 1] += bucketsOffsets[bucket];
+        }
+
+        int[] bucketsWords = new int[mWordsCount];
+        int[] nextPositions = new int[bucketsCount];
+
+        for(int wordId = 0; wordId < mWordsCount; wordId++){
+            int bucket = _getBucket(hashes[wordId]);
+
+            bucketsWords[bucketsOffsets[bucket] + nextPositions[bucket]++] = wordId;
+        }
+
+        // Order buckets by size descending (counting sort): large buckets are placed while many slots are free.
+        int[] sizesOffsets = new int[maxBucketSize + 2];
+
+        for(int bucket = 0; bucket < bucketsCount; bucket++){
+            sizesOffsets[maxBucketSize - (bucketsOffsets[bucket + 1] - bucketsOffsets[bucket]) + 1]++;
+        }
+
+        for(int i = 0; i <= maxBucketSize; i++){
+            sizesOffsets[i + 1] += sizesOffsets[i];
+        }
+
+        int[] orderedBuckets = new int[bucketsCount];
+
+        for(int bucket = 0; bucket < bucketsCount; bucket++){
+            orderedBuckets[sizesOffsets[maxBucketSize - (bucketsOffsets[bucket + 1] - bucketsOffsets[bucket])]++] =
+                    bucket;
+        }
+
+        // Place buckets, every bucket tries displacements until its words get free slots: at least 1/9 of slots
+        // is free, so search is short, it can't end only if words of bucket have equal hashes (checked first).
+        boolean[] occupiedSlots = new boolean[mSlotsCount];
+        int[] slotsWords = new int[mSlotsCount];
+        int[] bucketSlots = new int[maxBucketSize];
+        boolean isBuilt = true;
+
+        for(int i = 0; i < bucketsCount && isBuilt; i++){
+            int bucket = orderedBuckets[i];
+            int begin = bucketsOffsets[bucket];
+            int end = bucketsOffsets[bucket + 1];
+
+            isBuilt = !_hasEqualHashes(hashes, bucketsWords, begin, end);
+
+            int displacement = 0;
+            boolean isPlaced = (begin == end);
+
+            while(isBuilt && !isPlaced){
+                isPlaced = _tryPlaceBucket(hashes, bucketsWords, begin, end, displacement, occupiedSlots,
+                        bucketSlots);
+
+                if(!isPlaced){
+                    displacement++;
+                }
+            }
+
+            if(isPlaced){
+                mDisplacements[bucket] = displacement;
+
+                for(int j = begin; j < end; j++){
+                    slotsWords[bucketSlots[j - begin]] = bucketsWords[j];
+                }
+            }
+        }
+
+        if(isBuilt){
+            // Remap occupied spare slots to free slots of the first wordsCount ones (their counts are equal).
+            int freeSlot = 0;
+
+            for(int slot = mWordsCount; slot < mSlotsCount; slot++){
+                if(occupiedSlots[slot]){
+                    while(occupiedSlots[freeSlot]){
+                        freeSlot++;
+                    }
+
+                    occupiedSlots[freeSlot] = true;
+                    slotsWords[freeSlot] = slotsWords[slot];
+                    mRemappedSlots[slot - mWordsCount] = freeSlot;
+                }
+            }
+
+            for(int slot = 0; slot < mWordsCount; slot++){
+                int wordId = slotsWords[slot];
+
+                mIds[slot] = wordId;
+                mFingerprints[slot] = _getFingerprint(hashes[wordId]);
+            }
+        }
+
+        return isBuilt;
+    }
+
+    /** Checks whether some words of bucket have equal hashes (such bucket can't be placed). */
+    private static boolean _hasEqualHashes(long[] hashes, int[] bucketsWords, int begin, int end){
+        boolean hasEqualHashes = false;
+
+        for(int j = begin; j < end && !hasEqualHashes; j++){
+            for(int k = j + 1; k < end && !hasEqualHashes; k++){
+                hasEqualHashes = (hashes[bucketsWords[j]] == hashes[bucketsWords[k]]);
+            }
+        }
+
+        return hasEqualHashes;
+    }
+
+    /** Tries to place words of bucket to free slots with given displacement.
+     *  @return True if all words are placed (their slots are marked as occupied and stored to bucketSlots).
+     * */
+    private boolean _tryPlaceBucket(long[] hashes, int[] bucketsWords, int begin, int end, int displacement,
+                                    boolean[] occupiedSlots, int[] bucketSlots){
+        int placedCount = 0;
+        boolean isPlaced = true;
+
+        for(int j = begin; j < end && isPlaced; j++){
+            int slot = _getSlot(hashes[bucketsWords[j]], displacement);
+
+            if(occupiedSlots[slot]){
+                isPlaced = false;
+            } else {
+                occupiedSlots[slot] = true;
+                bucketSlots[placedCount++] = slot;
+            }
+        }
+
+        if(!isPlaced){
+            // Roll back slots of partially placed bucket.
+            for(int j = 0; j < placedCount; j++){
+                occupiedSlots[bucketSlots[j]] = false;
+            }
+        }
+
+        return isPlaced;
+    }
+} // class WordsPerfectHash
@@ -0,0 +1,319 @@
+/***************************************************************************************************
+ * @file WordsTrie.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the WordsTrie class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import java.util.Arrays;
+
+/**
+ * Compact array-backed trie of vocabulary words of one length. Nodes are stored in breadth first order:
+ * root, then nodes of words prefixes of length 1, 2 and so on, nodes of every level follow lexicographic order
+ * of prefixes, so children of every node are contiguous and children of consecutive nodes are consecutive.
+ * Every node keeps only letter of its incoming edge, internal nodes also keep index of their first child.
+ * Leaves are words in lexicographic order: identifier of word is index of its leaf among leaves, the same
+ * identifier as in vocabulary snapshot and words graph.
+ * Words which share prefixes share nodes, this saves memory for morphologically rich vocabularies.
+ * Neighbors are found by traversal which allows exactly one mismatching letter: after mismatch the rest of
+ * word must match exactly, so only one path of every mismatching subtree is visited.
+ * Trie is immutable after construction and thread-safe.
+ */
+public final class WordsTrie implements WordsNeighborsProvider {
+
+    // Private static constants.
+
+    private static final String INDEX_NAME = "Words trie"; // Name of index in events.
+
+    private static final int ROOT = 0; // Index of root node.
+
+    // Private fields.
+
+    private final int mWordsLength; // Length of words.
+
+    private final int mWordsCount; // Count of words.
+
+    private final int mAlphabetSize; // Count of distinct letters used in words.
+
+    private final char[] mLabels; // Letters of incoming edges of nodes (root has no letter).
+
+    private final int[] mFirstChildren; // Indexes of the first children of internal nodes (size: internal nodes
+                                        // count + 1), children of node i are nodes from mFirstChildren[i]
+                                        // to mFirstChildren[i + 1] exclusive.
+
+    private final int[] mLevelsOffsets; // Indexes of the first nodes of levels (size: words length + 2).
+
+    // Public methods.
+
+    /** Constructor: builds trie of vocabulary words of given length.
+     *  @param vocabulary Vocabulary.
+     *  @param wordsLength Length of words in trie, words of other length are ignored.
+     * */
+    public WordsTrie(Vocabulary vocabulary, int wordsLength){
+        this(VocabularySnapshot.copySortedWords(vocabulary.getWordsSet(), wordsLength), wordsLength);
+    }
+
+    /** Constructor: builds trie of snapshot words.
+     *  @param snapshot Vocabulary snapshot.
+     * */
+    public WordsTrie(VocabularySnapshot snapshot){
+        this(snapshot.getSortedWords(), snapshot.getWordsLength());
+    }
+
+    /** Gets length of words. */
+    @Override
+    public int getWordsLength(){
+        return mWordsLength;
+    }
+
+    /** Gets count of words. */
+    @Override
+    public int getWordsCount(){
+        return mWordsCount;
+    }
+
+    /** Gets maximum count of neighbors of one word. */
+    @Override
+    public int getMaxNeighborsCount(){
+        return mWordsLength * Math.max(mAlphabetSize - 1, 0);
+    }
+
+    /** Finds neighbors of word (neighbors are sorted). */
+    @Override
+    public int findNeighbors(int wordId, int[] neighbors){
+        return _findNeighbors(getWordChars(wordId), ROOT, 0, false, neighbors, 0);
+    }
+
+    /** Finds neighbors of any word of trie words length, word can be absent in trie.
+     *  @param word Word.
+     *  @param neighbors Buffer for identifiers of neighbors, its size is not less than getMaxNeighborsCount()
+     *                   plus words length (word can contain letters which are absent in trie).
+     *  @return Count of neighbors stored to buffer (neighbors are sorted).
+     * */
+    public int findNeighbors(String word, int[] neighbors){
+        assert word != null;
+        assert word.length() == mWordsLength;
+
+        return _findNeighbors(word.toCharArray(), ROOT, 0, false, neighbors, 0);
+    }
+
+    /** Gets identifier of word.
+     *  @return Word identifier or -1 if word is absent in trie.
+     * */
+    public int getWordId(String word){
+        assert word != null;
+
+        int node = ROOT;
+
+        for(int depth = 0; depth < mWordsLength && node >= 0 && word.length() == mWordsLength; depth++){
+            node = _findChild(node, word.charAt(depth));
+        }
+
+        return (word.length() == mWordsLength && node >= 0 ? node - mLevelsOffsets[mWordsLength] : -1);
+    }
+
+    /** Checks if word is contained in trie. */
+    public boolean contains(String word){
+        return getWordId(word) >= 0;
+    }
+
+    /** Gets word by identifier. */
+    public String getWord(int wordId){
+        return new String(getWordChars(wordId));
+    }
+
+    /** Gets characters of word by identifier. */
+    public char[] getWordChars(int wordId){
+        assert wordId >= 0 && wordId < mWordsCount;
+
+        char[] chars = new char[mWordsLength];
+
+        // Parent of node is internal node which children range contains node.
+        int node = mLevelsOffsets[mWordsLength] + wordId;
+
+        for(int depth = mWordsLength; depth > 0; depth--){
+            chars[depth - 1] = mLabels[node];
+            node = _findParent(node, depth);
+        }
+
+        return chars;
+    }
+
+    /** Gets count of nodes (root included). */
+    public int getNodesCount(){
+        return mLabels.length;
+    }
+
+    /** Gets estimated size of trie in memory in bytes. */
+    public long getMemorySize(){
+        return (long)Character.BYTES * mLabels.length + (long)Integer.BYTES * mFirstChildren.length;
+    }
+
+    // Private methods.
+
+    /** Constructor: builds trie of sorted distinct words.
+     *  @param sortedWords Words of equal length in lexicographic order.
+     *  @param wordsLength Length of words.
+     * */
+    private WordsTrie(String[] sortedWords, int wordsLength){
+        assert wordsLength > 0;
+
+        PuzzleEvents.IndexBuildEvent buildEvent = new PuzzleEvents.IndexBuildEvent();
+        buildEvent.begin();
+
+        mWordsLength = wordsLength;
+        mWordsCount = sortedWords.length;
+
+        // Count nodes of every level: word adds nodes for prefixes longer than common prefix with previous word.
+        int[] commonPrefixes = new int[mWordsCount];
+        int[] levelsCounts = new int[wordsLength + 1];
+
+        levelsCounts[0] = 1;
+
+        for(int i = 0; i < mWordsCount; i++){
+            commonPrefixes[i] = (i > 0 ? _getCommonPrefixLength(sortedWords[i - 1], sortedWords[i]) : 0);
+
+            assert commonPrefixes[i] < wordsLength : "Words must be distinct";
+
+            for(int depth = commonPrefixes[i] + 1; depth <= wordsLength; depth++){
+                levelsCounts[depth]++;
+            }
+        }
+
+        mLevelsOffsets = new int[wordsLength + 2];
+
+        for(int depth = 0; depth <= wordsLength; depth++){
+            mLevelsOffsets[depth + 1] = mLevelsOffsets[depth] + levelsCounts[depth];
+        }
+
+        int nodesCount = mLevelsOffsets[wordsLength + 1];
+        int internalNodesCount = mLevelsOffsets[wordsLength];
+
+        mLabels = new char[nodesCount];
+        mFirstChildren = new int[internalNodesCount + 1];
+        mFirstChildren[ROOT] = ROOT + 1; // Root of empty trie has no children.
+        mFirstChildren[internalNodesCount] = nodesCount;
+
+        // Fill nodes: the last added node of every level is the parent of the next node of deeper level.
+        int[] nextNodes = Arrays.copyOf(mLevelsOffsets, wordsLength + 1);
+        nextNodes[0] = ROOT + 1; // Root is already added.
+
+        for(int i = 0; i < mWordsCount; i++){
+            for(int depth = commonPrefixes[i] + 1; depth <= wordsLength; depth++){
+                int node = nextNodes[depth]++;
+
+                mLabels[node] = sortedWords[i].charAt(depth - 1);
+
+                if(depth > commonPrefixes[i] + 1 || i == 0){
+                    mFirstChildren[nextNodes[depth - 1] - 1] = node;
+                }
+            }
+        }
+
+        mAlphabetSize = _countDistinctLetters(mLabels);
+
+        buildEvent.index = INDEX_NAME;
+        buildEvent.commit(wordsLength, mWordsCount, PuzzleEvents.OUTCOME_SUCCESS);
+    }
+
+    /** Gets length of common prefix of two words. */
+    private static int _getCommonPrefixLength(String word1, String word2){
+        int length = 0;
+
+        while(length < word1.length() && word1.charAt(length) == word2.charAt(length)){
+            length++;
+        }
+
+        return length;
+    }
+
+    /** Counts distinct letters of nodes (root label is skipped). */
+    private static int _countDistinctLetters(char[] labels){
+        boolean[] usedChars = new boolean[Character.MAX_VALUE + 1];
+        int count = 0;
+
+        for(int node = ROOT + 1; node < labels.length; node++){
+            if(!usedChars[labels[node]]){
+                usedChars[labels[node]] = true;
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /** Finds child of node by letter.
+     *  @return Child node or -1 if node has no such child.
+     * */
+    private int _findChild(int node, char letter){
+        int low = mFirstChildren[node];
+        int high = mFirstChildren[node + 1] - 1;
+        int child = -1;
+
+        while(low <= high && child < 0){
+            int middle = (low + high) >>> 1;
+
+            if(mLabels[middle] < letter){
+                low = middle + 1;
+            } else if(mLabels[middle] > letter){
+                high = middle - 1;
+            } else {
+                child = middle;
+            }
+        }
+
+        return child;
+    }
+
+    /** Finds parent of node at given depth. */
+    private int _findParent(int node, int depth){
+        // The last internal node of upper level which first child is not greater than node.
+        int low = mLevelsOffsets[depth - 1];
+        int high = mLevelsOffsets[depth] - 1;
+
+        while(low < high){
+            int middle = (low + high + 1) >>> 1;
+
+            if(mFirstChildren[middle] <= node){
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+    }
+
+    /** Traverses subtree of node and collects words which differ from word at exactly one position.
+     *  @param word Characters of word.
+     *  @param node Current node.
+     *  @param depth Depth of current node (count of matched letters).
+     *  @param isMismatched Flag defines if mismatching letter is already on path to current node.
+     *  @param neighbors Buffer of neighbors.
+     *  @param neighborsCount Count of neighbors in buffer.
+     *  @return New count of neighbors in buffer.
+     * */
+    private int _findNeighbors(char[] word, int node, int depth, boolean isMismatched, int[] neighbors,
+                               int neighborsCount){
+        if(depth == mWordsLength){
+            if(isMismatched){
+                neighbors[neighborsCount++] = node - mLevelsOffsets[mWordsLength];
+            }
+        } else if(isMismatched){
+            // Rest of word must match exactly.
+            int child = _findChild(node, word[depth]);
+
+            if(child >= 0){
+                neighborsCount = _findNeighbors(word, child, depth + 1, true, neighbors, neighborsCount);
+            }
+        } else {
+            for(int child = mFirstChildren[node]; child < mFirstChildren[node + 1]; child++){
+                neighborsCount = _findNeighbors(word, child, depth + 1, mLabels[child] != word[depth], neighbors,
+                        neighborsCount);
+            }
+        }
+
+        return neighborsCount;
+    }
+} // class WordsTrie
@@ -0,0 +1,102 @@
+/***************************************************************************************************
+ * @file CompressedWordsGraphTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the CompressedWordsGraphTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Unit Test for CompressedWordsGraph class.
+ */
+public class CompressedWordsGraphTest {
+
+    // Private static constants.
+
+    private static final long DEFAULT_TIMEOUT_VALUE_MINUTES = 1; // Timeout of search.
+
+    // Public methods.
+
+    @Test
+    public void test_findNeighbors() throws PuzzleException {
+        for(int wordsLength = 2; wordsLength <= 8; wordsLength++){
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.loadFromFile("data/EnglishVocabulary.txt", wordsLength, StandardCharsets.US_ASCII);
+
+            _assertGraphsEqual(new VocabularySnapshot(vocabulary, wordsLength).getWordsGraph());
+        }
+    }
+
+    @Test
+    public void test_getMemorySize() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/RussianVocabularyBig.txt", 6, Charset.forName("windows-1251"));
+
+        WordsGraph graph = new VocabularySnapshot(vocabulary, 6).getWordsGraph();
+        CompressedWordsGraph compressedGraph = _assertGraphsEqual(graph);
+
+        // Gaps of neighbors take one or two bytes instead of four.
+        Assert.assertTrue(2 * compressedGraph.getMemorySize() < graph.getMemorySize());
+    }
+
+    @Test
+    public void test_emptyGraph(){
+        CompressedWordsGraph compressedGraph = new CompressedWordsGraph(new WordsGraph(new Vocabulary(), 4));
+
+        Assert.assertEquals(0, compressedGraph.getWordsCount());
+        Assert.assertEquals(0, compressedGraph.getMaxNeighborsCount());
+    }
+
+    @Test
+    public void test_solve() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 4, StandardCharsets.US_ASCII);
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 4);
+        CompressedWordsGraph compressedGraph = new CompressedWordsGraph(snapshot.getWordsGraph());
+        PrimitiveWordsChainPuzzle puzzle = new PrimitiveWordsChainPuzzle();
+
+        for(InputWords inputWords : Arrays.asList(new InputWords("lead", "gold"), new InputWords("cold", "warm"))){
+            WordsChainPuzzle.Result expectedResult = puzzle.solve(inputWords, snapshot, snapshot.getWordsGraph(), 10,
+                    DEFAULT_TIMEOUT_VALUE_MINUTES);
+            WordsChainPuzzle.Result result = puzzle.solve(inputWords, snapshot, compressedGraph, 10,
+                    DEFAULT_TIMEOUT_VALUE_MINUTES);
+
+            Assert.assertEquals(expectedResult.getWordsChain(), result.getWordsChain());
+        }
+    }
+
+    // Private methods.
+
+    /** Checks that compressed graph of words graph has the same adjacency lists.
+     *  @return Compressed graph.
+     * */
+    private static CompressedWordsGraph _assertGraphsEqual(WordsGraph graph){
+        CompressedWordsGraph compressedGraph = new CompressedWordsGraph(graph);
+
+        Assert.assertEquals(graph.getWordsLength(), compressedGraph.getWordsLength());
+        Assert.assertEquals(graph.getWordsCount(), compressedGraph.getWordsCount());
+        Assert.assertEquals(graph.getMaxNeighborsCount(), compressedGraph.getMaxNeighborsCount());
+
+        int[] neighbors = new int[compressedGraph.getMaxNeighborsCount()];
+        int[] expectedNeighbors = new int[graph.getMaxNeighborsCount()];
+
+        for(int wordId = 0; wordId < graph.getWordsCount(); wordId++){
+            int neighborsCount = compressedGraph.findNeighbors(wordId, neighbors);
+            int expectedNeighborsCount = graph.findNeighbors(wordId, expectedNeighbors);
+
+            Assert.assertEquals(expectedNeighborsCount, compressedGraph.getNeighborsCount(wordId));
+            Assert.assertArrayEquals(Arrays.copyOf(expectedNeighbors, expectedNeighborsCount),
+                    Arrays.copyOf(neighbors, neighborsCount));
+        }
+
+        return compressedGraph;
+    }
+} // class CompressedWordsGraphTest
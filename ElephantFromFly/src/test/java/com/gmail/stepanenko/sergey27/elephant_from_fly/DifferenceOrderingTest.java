@@ -0,0 +1,72 @@
+/***************************************************************************************************
+ * @file DifferenceOrderingTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the DifferenceOrderingTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Unit Test for DifferenceOrdering class.
+ */
+public class DifferenceOrderingTest {
+
+    // Public methods.
+
+    @Test
+    public void test_ordering(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+        DifferenceOrdering ordering = new DifferenceOrdering(snapshot, snapshot.getWordId("dog"));
+
+        // Difference with "dog": dog - 0; cog, dig - 1; cig, cot, gig - 2; cat - 3.
+        String[] expectedWords = {"dog", "cog", "dig", "cig", "cot", "gig", "cat"};
+
+        Assert.assertEquals(snapshot.getWordId("dog"), ordering.getEndWordId());
+        Assert.assertEquals(expectedWords.length, ordering.getWordsCount());
+
+        for(int i = 0; i < expectedWords.length; i++){
+            Assert.assertEquals(expectedWords[i], snapshot.getWord(ordering.getWordId(i)));
+        }
+
+        Assert.assertEquals(0, ordering.getDifferenceOffset(0));
+        Assert.assertEquals(1, ordering.getDifferenceOffset(1));
+        Assert.assertEquals(3, ordering.getDifferenceOffset(2));
+        Assert.assertEquals(6, ordering.getDifferenceOffset(3));
+        Assert.assertEquals(7, ordering.getDifferenceOffset(4));
+    }
+
+    @Test
+    public void test_copyWordIds(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("cat", "cot", "dog"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+        DifferenceOrdering ordering = new DifferenceOrdering(snapshot, snapshot.getWordId("cat"));
+
+        Assert.assertArrayEquals(new int[]{0, 1, 2}, ordering.copyWordIds(-1));
+        Assert.assertArrayEquals(new int[]{0, 2}, ordering.copyWordIds(1));
+    }
+
+    @Test
+    public void test_snapshotCache(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("cat", "cot", "dog"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+        SearchStatistics statistics = new SearchStatistics(true);
+
+        DifferenceOrdering ordering = snapshot.getDifferenceOrdering(0, statistics);
+
+        Assert.assertSame(ordering, snapshot.getDifferenceOrdering(0, statistics));
+        Assert.assertNotSame(ordering, snapshot.getDifferenceOrdering(1, statistics));
+        Assert.assertEquals(2 * snapshot.getWordsCount(), statistics.getWordsDifferenceCalculationsCount());
+    }
+} // class DifferenceOrderingTest
@@ -34,6 +34,8 @@ public class ErrorsHandlerTest {
         errorsMapExpected.put(PuzzleException.ErrorCode.READ_START_WORD_ERROR, "Failed to read start word");
         errorsMapExpected.put(PuzzleException.ErrorCode.READ_END_WORD_ERROR, "Failed to read end word");
         errorsMapExpected.put(PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR, "Failed to read vocabulary file");
+        errorsMapExpected.put(PuzzleException.ErrorCode.WRITE_VOCABULARY_INDEX_FILE_ERROR,
+                "Failed to write vocabulary index file");
         errorsMapExpected.put(PuzzleException.ErrorCode.EMPTY_START_WORD, "Start word is empty");
         errorsMapExpected.put(PuzzleException.ErrorCode.EMPTY_END_WORD, "End word is empty");
         errorsMapExpected.put(PuzzleException.ErrorCode.DIFFERENT_LENGTH_OF_START_AND_END_WORD,
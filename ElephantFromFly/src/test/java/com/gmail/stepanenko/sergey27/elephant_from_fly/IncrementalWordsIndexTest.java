@@ -0,0 +1,272 @@
+/***************************************************************************************************
+ * @file IncrementalWordsIndexTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the IncrementalWordsIndexTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Unit Test for IncrementalWordsIndex class.
+ */
+public class IncrementalWordsIndexTest {
+
+    // Public methods.
+
+    @Test
+    public void test_addRemoveWord(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        IncrementalWordsIndex index = new IncrementalWordsIndex(vocabulary, 3);
+        IncrementalWordsIndex.Snapshot snapshot = index.getSnapshot();
+
+        // Initial identifiers follow lexicographic order.
+        Assert.assertEquals(8, snapshot.getWordsCount());
+        Assert.assertEquals("cat", snapshot.getWord(0));
+        Assert.assertEquals(snapshot.getComponent(snapshot.getWordId("cat")),
+                snapshot.getComponent(snapshot.getWordId("gig")));
+        Assert.assertNotEquals(snapshot.getComponent(snapshot.getWordId("cat")),
+                snapshot.getComponent(snapshot.getWordId("fly")));
+
+        // Removing of "cot" disconnects "cat".
+        Assert.assertTrue(index.removeWord("cot"));
+        Assert.assertFalse(index.removeWord("cot"));
+
+        IncrementalWordsIndex.Snapshot updatedSnapshot = index.getSnapshot();
+
+        Assert.assertEquals(7, updatedSnapshot.getWordsCount());
+        Assert.assertFalse(updatedSnapshot.contains("cot"));
+        Assert.assertEquals(0, updatedSnapshot.getNeighborsCount(updatedSnapshot.getWordId("cat")));
+        Assert.assertNotEquals(updatedSnapshot.getComponent(updatedSnapshot.getWordId("cat")),
+                updatedSnapshot.getComponent(updatedSnapshot.getWordId("cog")));
+
+        // Old snapshot isn't affected.
+        Assert.assertEquals(8, snapshot.getWordsCount());
+        Assert.assertTrue(snapshot.contains("cot"));
+        Assert.assertEquals(1, snapshot.getNeighborsCount(snapshot.getWordId("cat")));
+
+        // Adding of "fay" and "cay" connects "fly" and "cat" to each other ("fly" - "fay" - "cay" - "cat").
+        Assert.assertTrue(index.update(Arrays.asList("fay", "cay"), Collections.<String>emptyList()));
+        Assert.assertFalse(index.addWord("fay"));
+
+        updatedSnapshot = index.getSnapshot();
+
+        // Identifier of removed word is reused.
+        Assert.assertEquals(snapshot.getWordId("cot"), updatedSnapshot.getWordId("fay"));
+        Assert.assertEquals(updatedSnapshot.getComponent(updatedSnapshot.getWordId("fly")),
+                updatedSnapshot.getComponent(updatedSnapshot.getWordId("cat")));
+        Assert.assertNotEquals(updatedSnapshot.getComponent(updatedSnapshot.getWordId("fly")),
+                updatedSnapshot.getComponent(updatedSnapshot.getWordId("dog")));
+    }
+
+    @Test
+    public void test_findWordsChain() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        IncrementalWordsIndex index = new IncrementalWordsIndex(vocabulary, 3);
+
+        List<String> wordsChain = index.getSnapshot().findWordsChain(new InputWords("dig", "cat"), 10);
+
+        // Chains "dig" - "dog" - "cog" - "cot" - "cat" and "dig" - "cig" - "cog" - "cot" - "cat" are the shortest.
+        Assert.assertEquals(5, wordsChain.size());
+        Assert.assertEquals(Arrays.asList("cog", "cot", "cat"), wordsChain.subList(2, 5));
+        Assert.assertTrue(index.getSnapshot().findWordsChain(new InputWords("dig", "cat"), 4).isEmpty());
+        Assert.assertTrue(index.getSnapshot().findWordsChain(new InputWords("dig", "fly"), 10).isEmpty());
+
+        // Start word can be absent.
+        Assert.assertEquals(Arrays.asList("dug", "dig", "cig"),
+                index.getSnapshot().findWordsChain(new InputWords("dug", "cig"), 10));
+
+        Assert.assertTrue(index.addWord("cit"));
+
+        Assert.assertEquals(Arrays.asList("dig", "cig", "cit", "cat"),
+                index.getSnapshot().findWordsChain(new InputWords("dig", "cat"), 10));
+    }
+
+    @Test
+    public void test_removeWord_componentsSizes(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        IncrementalWordsIndex index = new IncrementalWordsIndex(vocabulary, 3);
+
+        Assert.assertEquals(7, index.getComponentSize(index.getSnapshot().getComponent(0)));
+
+        // Removing of "cig" doesn't split component: "dig" and "cog" are still connected through "dog".
+        Assert.assertTrue(index.removeWord("cig"));
+
+        IncrementalWordsIndex.Snapshot snapshot = index.getSnapshot();
+        int component = snapshot.getComponent(snapshot.getWordId("cat"));
+
+        Assert.assertEquals(6, index.getComponentSize(component));
+        Assert.assertEquals(component, snapshot.getComponent(snapshot.getWordId("gig")));
+        Assert.assertEquals(1, index.getComponentSize(snapshot.getComponent(snapshot.getWordId("fly"))));
+
+        // Removing of "cog" splits component to "cat" - "cot" and "dig" - "gig" - "dog".
+        Assert.assertTrue(index.removeWord("cog"));
+
+        snapshot = index.getSnapshot();
+
+        Assert.assertEquals(2, index.getComponentSize(snapshot.getComponent(snapshot.getWordId("cat"))));
+        Assert.assertEquals(3, index.getComponentSize(snapshot.getComponent(snapshot.getWordId("dog"))));
+        Assert.assertNotEquals(snapshot.getComponent(snapshot.getWordId("cat")),
+                snapshot.getComponent(snapshot.getWordId("dog")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_addWord_wrongLength(){
+        new IncrementalWordsIndex(3).addWord("elephant");
+    }
+
+    @Test
+    public void test_randomUpdates() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 4, StandardCharsets.US_ASCII);
+
+        List<String> allWords = new ArrayList<>(vocabulary.getWordsSet());
+        Collections.sort(allWords);
+
+        Random random = new Random(43);
+
+        // Index starts from half of words, then random words are removed and added.
+        Set<String> words = new HashSet<>();
+
+        for(String word : allWords){
+            if(random.nextBoolean()){
+                words.add(word);
+            }
+        }
+
+        Vocabulary currentVocabulary = new Vocabulary();
+        currentVocabulary.getWordsSet().addAll(words);
+
+        IncrementalWordsIndex index = new IncrementalWordsIndex(currentVocabulary, 4);
+
+        for(int step = 0; step < 20; step++){
+            List<String> addedWords = new ArrayList<>();
+            List<String> removedWords = new ArrayList<>();
+
+            for(int i = 0; i < 50; i++){
+                String word = allWords.get(random.nextInt(allWords.size()));
+
+                if(words.contains(word)){
+                    removedWords.add(word);
+                } else {
+                    addedWords.add(word);
+                }
+            }
+
+            words.removeAll(removedWords);
+            words.addAll(addedWords);
+            index.update(addedWords, removedWords);
+
+            currentVocabulary.getWordsSet().clear();
+            currentVocabulary.getWordsSet().addAll(words);
+
+            _compareWithGraph(index, new WordsGraph(currentVocabulary, 4));
+        }
+    }
+
+    // Private methods.
+
+    /** Compares words, neighbors, components and their sizes of the last snapshot of index with words graph. */
+    private static void _compareWithGraph(IncrementalWordsIndex index, WordsGraph graph){
+        IncrementalWordsIndex.Snapshot snapshot = index.getSnapshot();
+
+        Assert.assertEquals(graph.getWordsCount(), snapshot.getWordsCount());
+
+        int[] graphComponents = _findComponents(graph);
+        int[] graphComponentsSizes = new int[graph.getWordsCount()];
+        int[] snapshotComponents = new int[graph.getWordsCount()];
+
+        for(int graphId = 0; graphId < graph.getWordsCount(); graphId++){
+            graphComponentsSizes[graphComponents[graphId]]++;
+        }
+
+        for(int graphId = 0; graphId < graph.getWordsCount(); graphId++){
+            int wordId = snapshot.getWordId(graph.getWord(graphId));
+
+            Assert.assertTrue(wordId >= 0);
+
+            Set<String> expectedNeighbors = new HashSet<>();
+
+            for(int i = 0; i < graph.getNeighborsCount(graphId); i++){
+                expectedNeighbors.add(graph.getWord(graph.getNeighbor(graphId, i)));
+            }
+
+            Set<String> neighbors = new HashSet<>();
+
+            for(int i = 0; i < snapshot.getNeighborsCount(wordId); i++){
+                neighbors.add(snapshot.getWord(snapshot.getNeighbor(wordId, i)));
+            }
+
+            Assert.assertEquals(expectedNeighbors, neighbors);
+
+            snapshotComponents[graphId] = snapshot.getComponent(wordId);
+
+            Assert.assertEquals(graphComponentsSizes[graphComponents[graphId]],
+                    index.getComponentSize(snapshotComponents[graphId]));
+        }
+
+        // Words are connected in snapshot if and only if they are connected in graph.
+        for(int graphId = 1; graphId < graph.getWordsCount(); graphId++){
+            for(int otherId : new int[]{graphId - 1, graphId / 2}){
+                Assert.assertEquals(graphComponents[graphId] == graphComponents[otherId],
+                        snapshotComponents[graphId] == snapshotComponents[otherId]);
+            }
+
+            if(graph.getNeighborsCount(graphId) > 0){
+                int neighborId = graph.getNeighbor(graphId, 0);
+
+                Assert.assertEquals(snapshotComponents[graphId], snapshotComponents[neighborId]);
+            }
+        }
+    }
+
+    /** Finds connected components of graph by breadth first search. */
+    private static int[] _findComponents(WordsGraph graph){
+        int[] components = new int[graph.getWordsCount()];
+        int[] queue = new int[graph.getWordsCount()];
+
+        Arrays.fill(components, -1);
+
+        for(int wordId = 0; wordId < graph.getWordsCount(); wordId++){
+            if(components[wordId] < 0){
+                int queueBegin = 0;
+                int queueEnd = 0;
+
+                components[wordId] = wordId;
+                queue[queueEnd++] = wordId;
+
+                while(queueBegin < queueEnd){
+                    int currentId = queue[queueBegin++];
+
+                    for(int i = 0; i < graph.getNeighborsCount(currentId); i++){
+                        int neighborId = graph.getNeighbor(currentId, i);
+
+                        if(components[neighborId] < 0){
+                            components[neighborId] = wordId;
+                            queue[queueEnd++] = neighborId;
+                        }
+                    }
+                }
+            }
+        }
+
+        return components;
+    }
+} // class IncrementalWordsIndexTest
@@ -0,0 +1,115 @@
+/***************************************************************************************************
+ * @file KShortestWordsChainsTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the KShortestWordsChainsTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit Test for KShortestWordsChains class.
+ */
+public class KShortestWordsChainsTest {
+
+    // Public methods.
+
+    @Test
+    public void test_solve_endWordIsAbsent() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("cat", "cot"));
+
+        KShortestWordsChains kShortestWordsChains = new KShortestWordsChains(new WordsGraph(vocabulary, 3));
+
+        boolean isExceptionThrown = false;
+
+        try {
+            kShortestWordsChains.solve(new InputWords("cat", "dog"), 5, 10); // exception
+        } catch(PuzzleException exception){
+            Assert.assertEquals(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY, exception.getErrorCode());
+            isExceptionThrown = true;
+        }
+
+        Assert.assertTrue(isExceptionThrown);
+    }
+
+    @Test
+    public void test_solve() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cog", "cot", "dot"));
+
+        KShortestWordsChains kShortestWordsChains = new KShortestWordsChains(new WordsGraph(vocabulary, 3));
+        InputWords inputWords = new InputWords("cat", "dog");
+
+        List<WordsChainPuzzle.Result> results = kShortestWordsChains.solve(inputWords, 10, 10); // exception
+
+        List<List<String>> expectedWordsChains = new ArrayList<>();
+        expectedWordsChains.add(Arrays.asList("cat", "cot", "cog", "dog"));
+        expectedWordsChains.add(Arrays.asList("cat", "cot", "dot", "dog"));
+        expectedWordsChains.add(Arrays.asList("cat", "cot", "cog", "cig", "dig", "dog"));
+        expectedWordsChains.add(Arrays.asList("cat", "cot", "cog", "cig", "gig", "dig", "dog"));
+
+        Assert.assertEquals(expectedWordsChains.size(), results.size());
+
+        for(int i = 0; i < results.size(); i++){
+            Assert.assertSame(inputWords, results.get(i).getInputWords());
+            Assert.assertEquals(expectedWordsChains.get(i), results.get(i).getWordsChain());
+        }
+
+        // K less than count of chains and maximum words chain length constraint.
+        results = kShortestWordsChains.solve(inputWords, 3, 10); // exception
+        Assert.assertEquals(3, results.size());
+        Assert.assertEquals(expectedWordsChains.get(2), results.get(2).getWordsChain());
+
+        results = kShortestWordsChains.solve(inputWords, 10, 5); // exception
+        Assert.assertEquals(2, results.size());
+
+        results = kShortestWordsChains.solve(inputWords, 10, 3); // exception
+        Assert.assertTrue(results.isEmpty());
+
+        // Start word in vocabulary.
+        results = kShortestWordsChains.solve(new InputWords("cig", "dog"), 2, 10); // exception
+        Assert.assertEquals(Arrays.asList("cig", "cog", "dog"), results.get(0).getWordsChain());
+        Assert.assertEquals(Arrays.asList("cig", "dig", "dog"), results.get(1).getWordsChain());
+    }
+
+    @Test
+    public void test_solve_distinctLooplessChains() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("aaa", "aab", "aba", "abb", "baa", "bab", "bba", "bbb"));
+
+        KShortestWordsChains kShortestWordsChains = new KShortestWordsChains(new WordsGraph(vocabulary, 3));
+
+        List<WordsChainPuzzle.Result> results = kShortestWordsChains.solve(new InputWords("aaa", "bbb"), 20, 8);
+
+        Set<List<String>> wordsChains = new HashSet<>();
+        int previousLength = 0;
+
+        for(WordsChainPuzzle.Result result : results){
+            List<String> wordsChain = result.getWordsChain();
+
+            Assert.assertTrue(wordsChains.add(wordsChain));
+            Assert.assertEquals(wordsChain.size(), new HashSet<>(wordsChain).size());
+            Assert.assertTrue(wordsChain.size() >= previousLength);
+
+            previousLength = wordsChain.size();
+        }
+
+        // There are 18 loopless chains: 6 chains of length 4, 6 chains of length 6 and 6 chains of length 8.
+        Assert.assertEquals(18, results.size());
+        Assert.assertEquals(4, results.get(5).getWordsChain().size());
+        Assert.assertEquals(6, results.get(6).getWordsChain().size());
+        Assert.assertEquals(8, results.get(17).getWordsChain().size());
+
+        results = kShortestWordsChains.solve(new InputWords("aaa", "bbb"), 20, 7); // exception
+        Assert.assertEquals(12, results.size());
+    }
+} // class KShortestWordsChainsTest
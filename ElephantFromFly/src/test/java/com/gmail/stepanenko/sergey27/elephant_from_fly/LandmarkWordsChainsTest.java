@@ -0,0 +1,124 @@
+/***************************************************************************************************
+ * @file LandmarkWordsChainsTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the LandmarkWordsChainsTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Unit Test for LandmarkWordsChains class.
+ */
+public class LandmarkWordsChainsTest {
+
+    // Public methods.
+
+    @Test
+    public void test_solve() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        WordsGraph graph = new WordsGraph(vocabulary, 3);
+        LandmarkWordsChains engine = new LandmarkWordsChains(graph, new WordsLandmarks(graph, 2, 2));
+
+        Assert.assertEquals(Arrays.asList("cat", "cot", "cog", "dog"),
+                engine.solve(new InputWords("cat", "dog"), 10).getWordsChain());
+        Assert.assertEquals(Arrays.asList("cat", "cot", "cog", "dog"),
+                engine.solve(new InputWords("cat", "dog"), 4).getWordsChain());
+        Assert.assertTrue(engine.solve(new InputWords("cat", "dog"), 3).isEmpty());
+
+        // Start word is absent in graph.
+        Assert.assertEquals(Arrays.asList("cut", "cot", "cog", "dog"),
+                engine.solve(new InputWords("cut", "dog"), 10).getWordsChain());
+
+        // End word is in other component.
+        Assert.assertTrue(engine.solve(new InputWords("cat", "fly"), 10).isEmpty());
+    }
+
+    @Test
+    public void test_solve_absentEndWord() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("cat", "cot"));
+
+        WordsGraph graph = new WordsGraph(vocabulary, 3);
+
+        boolean isExceptionThrown = false;
+
+        try {
+            new LandmarkWordsChains(graph, new WordsLandmarks(graph, 2, 2)).solve(new InputWords("cat", "dog"), 10);
+        } catch(PuzzleException exception){
+            Assert.assertEquals(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY, exception.getErrorCode());
+            isExceptionThrown = true;
+        }
+
+        Assert.assertTrue(isExceptionThrown);
+    }
+
+    @Test
+    public void test_solve_englishVocabulary() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 4, StandardCharsets.US_ASCII);
+
+        WordsGraph graph = new WordsGraph(vocabulary, 4);
+        WordsLandmarks landmarks = new WordsLandmarks(graph, 8, 2);
+
+        // Without landmarks estimation is count of different characters only.
+        LandmarkWordsChains hammingEngine = new LandmarkWordsChains(graph, new WordsLandmarks(graph, 0, 2), true);
+        LandmarkWordsChains landmarksEngine = new LandmarkWordsChains(graph, landmarks, true);
+
+        for(String[] puzzle : new String[][]{{"lead", "gold"}, {"stay", "gist"}, {"cold", "warm"}, {"andy", "gold"}}){
+            InputWords inputWords = new InputWords(puzzle[0], puzzle[1]);
+
+            int expectedLength = new ShortestWordsChains(graph, inputWords, 20).getWordsChainLength();
+
+            Assert.assertEquals(expectedLength, hammingEngine.solve(inputWords, 20).getWordsChain().size());
+            _checkWordsChain(landmarksEngine.solve(inputWords, 20), expectedLength);
+        }
+
+        // Landmarks are the most distant words of component: chains between them are the longest ones.
+        int component = landmarks.getComponent(graph.getWordId("gold"));
+
+        long hammingExpandedNodesCount = 0;
+        long landmarksExpandedNodesCount = 0;
+
+        for(int i = 0; i < landmarks.getLandmarksCount(); i++){
+            for(int j = 0; j < landmarks.getLandmarksCount(); j++){
+                if(i != j){
+                    InputWords inputWords = new InputWords(graph.getWord(landmarks.getLandmark(component, i)),
+                            graph.getWord(landmarks.getLandmark(component, j)));
+
+                    int expectedLength = new ShortestWordsChains(graph, inputWords, 50).getWordsChainLength();
+
+                    WordsChainPuzzle.Result hammingResult = hammingEngine.solve(inputWords, 50);
+                    WordsChainPuzzle.Result landmarksResult = landmarksEngine.solve(inputWords, 50);
+
+                    Assert.assertEquals(expectedLength, hammingResult.getWordsChain().size());
+                    _checkWordsChain(landmarksResult, expectedLength);
+
+                    hammingExpandedNodesCount += hammingResult.getStatistics().getExpandedNodesCount();
+                    landmarksExpandedNodesCount += landmarksResult.getStatistics().getExpandedNodesCount();
+                }
+            }
+        }
+
+        Assert.assertTrue(landmarksExpandedNodesCount * 10 < hammingExpandedNodesCount);
+    }
+
+    // Private methods.
+
+    /** Checks length of words chain and that every word of chain is one character different from previous word. */
+    private static void _checkWordsChain(WordsChainPuzzle.Result result, int expectedLength){
+        Assert.assertEquals(expectedLength, result.getWordsChain().size());
+
+        for(int i = 1; i < result.getWordsChain().size(); i++){
+            Assert.assertEquals(1, WordsChainPuzzle.calculateWordsDifference(
+                    result.getWordsChain().get(i - 1), result.getWordsChain().get(i)));
+        }
+    }
+} // class LandmarkWordsChainsTest
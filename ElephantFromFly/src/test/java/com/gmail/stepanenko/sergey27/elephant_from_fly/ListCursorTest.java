@@ -70,7 +70,7 @@ public class ListCursorTest {
         }
     }
 
-    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    @Test(expected = IndexOutOfBoundsException.class)
     public void test_getElementAt_negativePosition() {
         List<Integer> list = new ArrayList<Integer>(Arrays.asList(0));
 
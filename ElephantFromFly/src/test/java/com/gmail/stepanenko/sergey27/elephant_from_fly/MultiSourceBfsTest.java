@@ -0,0 +1,129 @@
+/***************************************************************************************************
+ * @file MultiSourceBfsTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the MultiSourceBfsTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit Test for MultiSourceBfs class.
+ */
+public class MultiSourceBfsTest {
+
+    // Public methods.
+
+    @Test
+    public void test_search(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        WordsGraph graph = new WordsGraph(vocabulary, 3);
+        MultiSourceBfs search = new MultiSourceBfs(graph, new int[]{graph.getWordId("cat"), graph.getWordId("fly")},
+                true);
+
+        Assert.assertEquals(2, search.getSourcesCount());
+        Assert.assertEquals(graph.getWordId("cat"), search.getSourceId(0));
+        Assert.assertTrue(search.isParentsKept());
+
+        Assert.assertEquals(0, search.getDistance(0, graph.getWordId("cat")));
+        Assert.assertEquals(1, search.getDistance(0, graph.getWordId("cot")));
+        Assert.assertEquals(3, search.getDistance(0, graph.getWordId("dog")));
+        Assert.assertEquals(4, search.getWordsChainLength(0, graph.getWordId("dog")));
+        Assert.assertEquals(-1, search.getDistance(0, graph.getWordId("fly")));
+        Assert.assertEquals(0, search.getWordsChainLength(0, graph.getWordId("fly")));
+
+        Assert.assertArrayEquals(new int[]{graph.getWordId("cat"), graph.getWordId("cot"), graph.getWordId("cog"),
+                graph.getWordId("dog")}, search.getWordsChain(0, graph.getWordId("dog")));
+        Assert.assertArrayEquals(new int[]{graph.getWordId("fly")}, search.getWordsChain(1, graph.getWordId("fly")));
+        Assert.assertNull(search.getWordsChain(1, graph.getWordId("dog")));
+        Assert.assertEquals(-1, search.getParent(1, graph.getWordId("dog")));
+    }
+
+    @Test
+    public void test_search_sameAsReverseBfsTrees() throws Exception {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 4, StandardCharsets.US_ASCII);
+
+        WordsGraph graph = new WordsGraph(vocabulary, 4);
+
+        // More sources than one batch, the last batch is partial; the same source may repeat.
+        int[] sourceIds = new int[150];
+
+        for(int i = 0; i < sourceIds.length; i++){
+            sourceIds[i] = (int)((i * 7919L) % graph.getWordsCount());
+        }
+
+        sourceIds[sourceIds.length - 1] = sourceIds[0];
+
+        MultiSourceBfs search = new MultiSourceBfs(graph, sourceIds, true);
+        MultiSourceBfs distancesSearch = new MultiSourceBfs(graph, sourceIds, false);
+        MultiSourceBfs parallelSearch;
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            parallelSearch = new MultiSourceBfs(graph, sourceIds, true, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertFalse(distancesSearch.isParentsKept());
+
+        for(int sourceIndex = 0; sourceIndex < sourceIds.length; sourceIndex++){
+            // Graph is undirected: distances from source are distances to it.
+            ReverseBfsTree tree = new ReverseBfsTree(graph, sourceIds[sourceIndex]);
+
+            for(int wordId = 0; wordId < graph.getWordsCount(); wordId++){
+                int expectedDistance = tree.getDistance(wordId);
+
+                Assert.assertEquals(expectedDistance, search.getDistance(sourceIndex, wordId));
+                Assert.assertEquals(expectedDistance, distancesSearch.getDistance(sourceIndex, wordId));
+                Assert.assertEquals(expectedDistance, parallelSearch.getDistance(sourceIndex, wordId));
+
+                if(expectedDistance >= 0){
+                    _assertWordsChain(graph, sourceIds[sourceIndex], wordId, search.getWordsChain(sourceIndex, wordId));
+                    _assertWordsChain(graph, sourceIds[sourceIndex], wordId,
+                            parallelSearch.getWordsChain(sourceIndex, wordId));
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_getParent_parentsAreNotKept(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("cat", "cot"));
+
+        new MultiSourceBfs(new WordsGraph(vocabulary, 3), new int[]{0}, false).getParent(0, 1); // exception
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_search_wrongSource(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("cat", "cot"));
+
+        new MultiSourceBfs(new WordsGraph(vocabulary, 3), new int[]{2}, false); // exception
+    }
+
+    // Private methods.
+
+    /** Checks that words chain goes from source word to word by one character different words. */
+    private static void _assertWordsChain(WordsGraph graph, int sourceId, int wordId, int[] chain){
+        Assert.assertEquals(sourceId, chain[0]);
+        Assert.assertEquals(wordId, chain[chain.length - 1]);
+
+        for(int i = 1; i < chain.length; i++){
+            Assert.assertEquals(1, WordsChainPuzzle.calculateWordsDifference(graph.getWord(chain[i - 1]),
+                    graph.getWord(chain[i])));
+        }
+    }
+} // class MultiSourceBfsTest
@@ -0,0 +1,217 @@
+/***************************************************************************************************
+ * @file OffHeapWordsGraphTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the OffHeapWordsGraphTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Unit Test for OffHeapWordsGraph class.
+ */
+public class OffHeapWordsGraphTest {
+
+    // Private static constants.
+
+    private static final long DEFAULT_TIMEOUT_VALUE_MINUTES = 1; // Timeout of search.
+
+    // Public methods.
+
+    @Test
+    public void test_allocate() throws PuzzleException {
+        for(int wordsLength = 2; wordsLength <= 8; wordsLength++){
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.loadFromFile("data/EnglishVocabulary.txt", wordsLength, StandardCharsets.US_ASCII);
+
+            WordsGraph graph = new VocabularySnapshot(vocabulary, wordsLength).getWordsGraph();
+            OffHeapWordsGraph offHeapGraph = OffHeapWordsGraph.allocate(graph);
+
+            _assertGraphsEqual(graph, offHeapGraph);
+        }
+    }
+
+    @Test
+    public void test_writeMap() throws IOException, PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 4, StandardCharsets.US_ASCII);
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 4);
+        File file = File.createTempFile("words_graph_", ".bin");
+
+        try {
+            OffHeapWordsGraph.write(snapshot.getWordsGraph(), file.getPath());
+
+            OffHeapWordsGraph mappedGraph = OffHeapWordsGraph.map(file.getPath());
+
+            _assertGraphsEqual(snapshot.getWordsGraph(), mappedGraph);
+            Assert.assertEquals(file.length(), mappedGraph.getMemorySize());
+
+            // Search engine reads neighbors from mapped graph.
+            PrimitiveWordsChainPuzzle puzzle = new PrimitiveWordsChainPuzzle();
+
+            for(InputWords inputWords : Arrays.asList(new InputWords("lead", "gold"), new InputWords("cold", "warm"))){
+                WordsChainPuzzle.Result expectedResult = puzzle.solve(inputWords, snapshot, snapshot.getWordsGraph(),
+                        10, DEFAULT_TIMEOUT_VALUE_MINUTES);
+                WordsChainPuzzle.Result result = puzzle.solve(inputWords, snapshot, mappedGraph, 10,
+                        DEFAULT_TIMEOUT_VALUE_MINUTES);
+
+                Assert.assertEquals(expectedResult.getWordsChain(), result.getWordsChain());
+                Assert.assertEquals(expectedResult.getWordsChain().size(),
+                        mappedGraph.findWordsChain(inputWords, 10).size());
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void test_findWordsChain() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        OffHeapWordsGraph graph = OffHeapWordsGraph.allocate(new WordsGraph(vocabulary, 3));
+
+        Assert.assertEquals(Arrays.asList("cat", "cot", "cog", "dog"),
+                graph.findWordsChain(new InputWords("cat", "dog"), 10));
+        Assert.assertTrue(graph.findWordsChain(new InputWords("cat", "dog"), 3).isEmpty());
+        Assert.assertTrue(graph.findWordsChain(new InputWords("cat", "fly"), 10).isEmpty());
+
+        // Absent start word.
+        Assert.assertEquals(Arrays.asList("cut", "cat"), graph.findWordsChain(new InputWords("cut", "cat"), 10));
+    }
+
+    @Test
+    public void test_map_corruptedFile() throws IOException {
+        File file = File.createTempFile("words_graph_", ".bin");
+
+        try {
+            try(FileOutputStream output = new FileOutputStream(file)){
+                output.write(new byte[]{'d', 'o', 'g', '\n', 'c', 'a', 't', '\n'});
+            }
+
+            OffHeapWordsGraph.map(file.getPath());
+            Assert.fail("Exception is expected");
+        } catch(PuzzleException exception){
+            Assert.assertEquals(PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR, exception.getErrorCode());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void test_map_corruptedOffsetsAndNeighbors() throws IOException, PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        WordsGraph graph = new WordsGraph(vocabulary, 3);
+        File file = File.createTempFile("words_graph_", ".bin");
+
+        // Offsets follow header and alphabet, neighbors follow offsets.
+        int offsetsPosition = 6 * Integer.BYTES + graph.getAlphabet().length * Character.BYTES;
+        int neighborsPosition = offsetsPosition + (graph.getWordsCount() + 1) * Integer.BYTES;
+
+        try {
+            // Offset of the second word is greater than offset of the third word.
+            OffHeapWordsGraph.write(graph, file.getPath());
+            _writeInt(file, offsetsPosition + Integer.BYTES, graph.getWordsCount() * graph.getMaxNeighborsCount());
+            _assertMapFails(file);
+
+            // Neighbor identifier is out of range.
+            OffHeapWordsGraph.write(graph, file.getPath());
+            _writeInt(file, neighborsPosition, graph.getWordsCount());
+            _assertMapFails(file);
+
+            OffHeapWordsGraph.write(graph, file.getPath());
+            _assertGraphsEqual(graph, OffHeapWordsGraph.map(file.getPath()));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void test_write_replacesFile() throws IOException, PuzzleException {
+        File directory = Files.createTempDirectory("words_graph_").toFile();
+        File file = new File(directory, "graph.bin");
+
+        try {
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.getWordsSet().addAll(Arrays.asList("dog", "cat", "cot"));
+
+            WordsGraph graph = new WordsGraph(vocabulary, 3);
+            OffHeapWordsGraph.write(graph, file.getPath());
+
+            OffHeapWordsGraph mappedGraph = OffHeapWordsGraph.map(file.getPath());
+
+            // Mapped graph isn't affected when file is written again.
+            vocabulary.getWordsSet().add("cog");
+            OffHeapWordsGraph.write(new WordsGraph(vocabulary, 3), file.getPath());
+
+            _assertGraphsEqual(graph, mappedGraph);
+            Assert.assertEquals(4, OffHeapWordsGraph.map(file.getPath()).getWordsCount());
+            Assert.assertArrayEquals(new String[]{"graph.bin"}, directory.list());
+        } finally {
+            file.delete();
+            directory.delete();
+        }
+    }
+
+    // Private methods.
+
+    /** Writes int in little-endian byte order to file at position. */
+    private static void _writeInt(File file, int position, int value) throws IOException {
+        try(RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")){
+            randomAccessFile.seek(position);
+            randomAccessFile.writeInt(Integer.reverseBytes(value));
+        }
+    }
+
+    /** Checks that mapping of file fails with error of reading. */
+    private static void _assertMapFails(File file){
+        boolean isExceptionThrown = false;
+
+        try {
+            OffHeapWordsGraph.map(file.getPath());
+        } catch(PuzzleException exception){
+            Assert.assertEquals(PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR, exception.getErrorCode());
+            isExceptionThrown = true;
+        }
+
+        Assert.assertTrue(isExceptionThrown);
+    }
+
+    /** Checks that off-heap graph has the same words and adjacency lists as graph. */
+    private static void _assertGraphsEqual(WordsGraph graph, OffHeapWordsGraph offHeapGraph){
+        Assert.assertEquals(graph.getWordsLength(), offHeapGraph.getWordsLength());
+        Assert.assertEquals(graph.getWordsCount(), offHeapGraph.getWordsCount());
+        Assert.assertEquals(graph.getMaxNeighborsCount(), offHeapGraph.getMaxNeighborsCount());
+
+        int[] neighbors = new int[offHeapGraph.getMaxNeighborsCount()];
+        int[] expectedNeighbors = new int[graph.getMaxNeighborsCount()];
+
+        for(int wordId = 0; wordId < graph.getWordsCount(); wordId++){
+            String word = graph.getWord(wordId);
+
+            Assert.assertEquals(word, offHeapGraph.getWord(wordId));
+            Assert.assertEquals(wordId, offHeapGraph.getWordId(word));
+
+            int neighborsCount = offHeapGraph.findNeighbors(wordId, neighbors);
+            int expectedNeighborsCount = graph.findNeighbors(wordId, expectedNeighbors);
+
+            Assert.assertArrayEquals(Arrays.copyOf(expectedNeighbors, expectedNeighborsCount),
+                    Arrays.copyOf(neighbors, neighborsCount));
+        }
+
+        Assert.assertFalse(offHeapGraph.contains("#"));
+    }
+} // class OffHeapWordsGraphTest
@@ -0,0 +1,92 @@
+/***************************************************************************************************
+ * @file PackedWordsNeighborsProviderTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the PackedWordsNeighborsProviderTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Unit Test for PackedWordsNeighborsProvider class.
+ */
+public class PackedWordsNeighborsProviderTest {
+
+    // Public methods.
+
+    @Test
+    public void test_findNeighbors(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+        PackedWordsNeighborsProvider provider = new PackedWordsNeighborsProvider(snapshot);
+
+        Assert.assertEquals(3, provider.getWordsLength());
+        Assert.assertEquals(8, provider.getWordsCount());
+
+        int[] neighbors = new int[provider.getMaxNeighborsCount()];
+
+        int neighborsCount = provider.findNeighbors(snapshot.getWordId("cog"), neighbors);
+
+        int[] expectedNeighbors = {snapshot.getWordId("cig"), snapshot.getWordId("cot"), snapshot.getWordId("dog")};
+        int[] foundNeighbors = Arrays.copyOf(neighbors, neighborsCount);
+        Arrays.sort(expectedNeighbors);
+        Arrays.sort(foundNeighbors);
+
+        Assert.assertArrayEquals(expectedNeighbors, foundNeighbors);
+        Assert.assertEquals(0, provider.findNeighbors(snapshot.getWordId("fly"), neighbors));
+        Assert.assertTrue(provider.getMemorySize() > 0);
+    }
+
+    @Test
+    public void test_findNeighbors_vocabularies() throws PuzzleException {
+        for(int wordsLength = 2; wordsLength <= 8; wordsLength++){
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.loadFromFile("data/EnglishVocabulary.txt", wordsLength, StandardCharsets.US_ASCII);
+
+            VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, wordsLength);
+            PackedWordsNeighborsProvider provider = new PackedWordsNeighborsProvider(snapshot);
+            WordsGraph graph = snapshot.getWordsGraph();
+
+            int[] neighbors = new int[provider.getMaxNeighborsCount()];
+            int[] expectedNeighbors = new int[graph.getMaxNeighborsCount()];
+
+            for(int wordId = 0; wordId < snapshot.getWordsCount(); wordId++){
+                int neighborsCount = provider.findNeighbors(wordId, neighbors);
+                int expectedNeighborsCount = graph.findNeighbors(wordId, expectedNeighbors);
+
+                int[] foundNeighbors = Arrays.copyOf(neighbors, neighborsCount);
+                Arrays.sort(foundNeighbors);
+
+                Assert.assertArrayEquals(Arrays.copyOf(expectedNeighbors, expectedNeighborsCount), foundNeighbors);
+            }
+        }
+    }
+
+    @Test
+    public void test_isApplicable(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("abcdefghijklm", "nopqrstuvwxyz"));
+
+        // 26 letters need 5 bits, 13 letters need 65 bits.
+        Assert.assertFalse(PackedWordsNeighborsProvider.isApplicable(new VocabularySnapshot(vocabulary, 13)));
+
+        vocabulary.getWordsSet().addAll(Arrays.asList("abcdefghijkl", "nopqrstuvwxy"));
+
+        Assert.assertTrue(PackedWordsNeighborsProvider.isApplicable(new VocabularySnapshot(vocabulary, 12)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_tooLongWords(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("abcdefghijklm", "nopqrstuvwxyz"));
+
+        new PackedWordsNeighborsProvider(new VocabularySnapshot(vocabulary, 13));
+    }
+} // class PackedWordsNeighborsProviderTest
@@ -0,0 +1,149 @@
+/***************************************************************************************************
+ * @file PositionLetterIndexTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the PositionLetterIndexTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Unit Test for PositionLetterIndex class.
+ */
+public class PositionLetterIndexTest {
+
+    // Public methods.
+
+    @Test
+    public void test_findNeighbors(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+        PositionLetterIndex index = new PositionLetterIndex(snapshot);
+
+        Assert.assertEquals(3, index.getWordsLength());
+        Assert.assertEquals(8, index.getWordsCount());
+
+        int[] neighbors = new int[index.getMaxNeighborsCount()];
+
+        int neighborsCount = index.findNeighbors(snapshot.getWordId("cog"), neighbors);
+
+        Assert.assertEquals(3, neighborsCount);
+
+        int[] expectedNeighbors = {snapshot.getWordId("cig"), snapshot.getWordId("cot"), snapshot.getWordId("dog")};
+        int[] foundNeighbors = Arrays.copyOf(neighbors, neighborsCount);
+        Arrays.sort(expectedNeighbors);
+        Arrays.sort(foundNeighbors);
+
+        Assert.assertArrayEquals(expectedNeighbors, foundNeighbors);
+        Assert.assertEquals(0, index.findNeighbors(snapshot.getWordId("fly"), neighbors));
+    }
+
+    @Test
+    public void test_findNeighbors_vocabularies() throws PuzzleException, IOException {
+        for(int wordsLength = 3; wordsLength <= 6; wordsLength++){
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.loadFromFile("data/EnglishVocabulary.txt", wordsLength, StandardCharsets.US_ASCII);
+
+            _checkNeighbors(new VocabularySnapshot(vocabulary, wordsLength));
+        }
+
+        // Dense synthetic vocabulary with more than one block of bits per letter.
+        StringWriter writer = new StringWriter();
+        new SyntheticVocabularyGenerator(27, 4, "abcdef", 0.9).generate(1000, writer);
+
+        Vocabulary syntheticVocabulary = new Vocabulary();
+        syntheticVocabulary.getWordsSet().addAll(Arrays.asList(writer.toString().split("\\s+")));
+
+        _checkNeighbors(new VocabularySnapshot(syntheticVocabulary, 4));
+    }
+
+    @Test
+    public void test_addFrontierNeighbors() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 4, StandardCharsets.US_ASCII);
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 4);
+        PositionLetterIndex index = new PositionLetterIndex(snapshot);
+
+        int endWordId = snapshot.getWordId("gold");
+        ReverseBfsTree tree = new ReverseBfsTree(snapshot.getWordsGraph(), endWordId);
+
+        // Bitset breadth first search: frontier of every level is found at once.
+        long[] visited = index.createBitset();
+        long[] frontier = index.createBitset();
+
+        visited[endWordId >>> 6] |= (1L << endWordId);
+        frontier[endWordId >>> 6] |= (1L << endWordId);
+
+        int distance = 0;
+        boolean isFrontierEmpty = false;
+
+        while(!isFrontierEmpty){
+            for(int wordId = 0; wordId < snapshot.getWordsCount(); wordId++){
+                if((frontier[wordId >>> 6] & (1L << wordId)) != 0){
+                    Assert.assertEquals(distance, tree.getDistance(wordId));
+                }
+            }
+
+            long[] neighbors = index.createBitset();
+            index.addFrontierNeighbors(frontier, neighbors);
+
+            isFrontierEmpty = true;
+
+            for(int block = 0; block < neighbors.length; block++){
+                neighbors[block] &= ~visited[block];
+                visited[block] |= neighbors[block];
+                isFrontierEmpty &= (neighbors[block] == 0);
+            }
+
+            frontier = neighbors;
+            distance++;
+        }
+
+        // All words which are not visited can't reach end word.
+        for(int wordId = 0; wordId < snapshot.getWordsCount(); wordId++){
+            Assert.assertEquals(tree.isReachable(wordId), (visited[wordId >>> 6] & (1L << wordId)) != 0);
+        }
+    }
+
+    // Private methods.
+
+    /** Checks that neighbors found by index are the same as neighbors in words graph. */
+    private static void _checkNeighbors(VocabularySnapshot snapshot){
+        PositionLetterIndex index = new PositionLetterIndex(snapshot);
+        WordsGraph graph = snapshot.getWordsGraph();
+
+        int[] neighbors = new int[index.getMaxNeighborsCount()];
+        int[] expectedNeighbors = new int[graph.getMaxNeighborsCount()];
+
+        for(int wordId = 0; wordId < snapshot.getWordsCount(); wordId++){
+            int neighborsCount = index.findNeighbors(wordId, neighbors);
+            int expectedNeighborsCount = graph.findNeighbors(wordId, expectedNeighbors);
+
+            int[] foundNeighbors = Arrays.copyOf(neighbors, neighborsCount);
+            Arrays.sort(foundNeighbors);
+
+            Assert.assertArrayEquals(Arrays.copyOf(expectedNeighbors, expectedNeighborsCount), foundNeighbors);
+
+            long[] bitset = index.createBitset();
+            index.addNeighbors(wordId, bitset);
+
+            int bitsCount = 0;
+
+            for(long block : bitset){
+                bitsCount += Long.bitCount(block);
+            }
+
+            Assert.assertEquals(expectedNeighborsCount, bitsCount);
+        }
+    }
+} // class PositionLetterIndexTest
@@ -0,0 +1,344 @@
+/***************************************************************************************************
+ * @file PrimitiveWordsChainPuzzleTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the PrimitiveWordsChainPuzzleTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit Test for PrimitiveWordsChainPuzzle class.
+ */
+public class PrimitiveWordsChainPuzzleTest {
+
+    // Private static constants.
+
+    private static final long DEFAULT_TIMEOUT_VALUE_MINUTES = 1;
+
+    // Public methods.
+
+    @Test
+    public void test_solve_emptyVocabulary() throws PuzzleException {
+        boolean isExceptionThrown = false;
+
+        try {
+            new PrimitiveWordsChainPuzzle().solve(new InputWords("cat", "dog"), new Vocabulary(), 5,
+                    DEFAULT_TIMEOUT_VALUE_MINUTES); // exception
+        } catch(PuzzleException exception){
+            Assert.assertEquals(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY, exception.getErrorCode());
+            isExceptionThrown = true;
+        }
+
+        Assert.assertTrue(isExceptionThrown);
+    }
+
+    @Test
+    public void test_solve() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot"));
+
+        InputWords inputWords = new InputWords("cat", "dog");
+
+        _test_solve(inputWords, vocabulary, 7, Arrays.asList("cat", "cot", "cog", "dog"));
+        _test_solve(inputWords, vocabulary, 4, Arrays.asList("cat", "cot", "cog", "dog"));
+        _test_solve(inputWords, vocabulary, 3, new ArrayList<String>());
+
+        _test_solve(new InputWords("dog", "cat"), vocabulary, 4, Arrays.asList("dog", "cog", "cot", "cat"));
+
+        // Start word is one character different from end word.
+        _test_solve(new InputWords("cot", "cat"), vocabulary, 2, Arrays.asList("cot", "cat"));
+
+        // Words chain doesn't exist.
+        vocabulary.getWordsSet().add("fly");
+        _test_solve(new InputWords("cat", "fly"), vocabulary, 10, new ArrayList<String>());
+    }
+
+    @Test
+    public void test_solve_hugeMaxWordsChainLength() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("cat", "cot", "dot"));
+
+        // Search arrays are limited by count of words, not by maximum length of words chain.
+        _test_solve(new InputWords("cat", "dot"), vocabulary, Integer.MAX_VALUE, Arrays.asList("cat", "cot", "dot"));
+        _test_solve(new InputWords("cut", "dot"), vocabulary, Integer.MAX_VALUE, Arrays.asList("cut", "cot", "dot"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+        WordsChainPuzzle.Result result = new PrimitiveWordsChainPuzzle().solve(new InputWords("cat", "dot"), snapshot,
+                snapshot.getWordsGraph(), Integer.MAX_VALUE, DEFAULT_TIMEOUT_VALUE_MINUTES);
+
+        Assert.assertEquals(Arrays.asList("cat", "cot", "dot"), result.getWordsChain());
+    }
+
+    @Test
+    public void test_solve_sameAsWordsChainPuzzle() throws IOException, PuzzleException {
+        // Compare results and statistics of both engines on small synthetic vocabularies.
+        for(long seed = 0; seed < 20; seed++){
+            StringWriter writer = new StringWriter();
+            new SyntheticVocabularyGenerator(seed, 3, "abcdef", 0.7).generate(60, writer);
+
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.getWordsSet().addAll(Arrays.asList(writer.toString().split("\n")));
+
+            List<String> words = new ArrayList<>(vocabulary.getWordsSet());
+
+            for(int i = 0; i < 5; i++){
+                String startWord = words.get((int)((seed * 7 + i * 13) % words.size()));
+                String endWord = words.get((int)((seed * 11 + i * 17 + 1) % words.size()));
+
+                if(!startWord.equals(endWord)){
+                    _compareWithWordsChainPuzzle(new InputWords(startWord, endWord), vocabulary, 8);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_solve_englishVocabulary() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 4, StandardCharsets.US_ASCII);
+
+        _compareWithWordsChainPuzzle(new InputWords("lead", "gold"), vocabulary, 4);
+        _compareWithWordsChainPuzzle(new InputWords("andy", "gold"), vocabulary, 10);
+    }
+
+    @Test
+    public void test_solve_concurrentSearches() throws Exception {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 4, StandardCharsets.US_ASCII);
+
+        final VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 4);
+        final PrimitiveWordsChainPuzzle puzzle = new PrimitiveWordsChainPuzzle(true);
+
+        final InputWords[] inputWords = {
+                new InputWords("lead", "gold"), new InputWords("cold", "warm"), new InputWords("andy", "gold")
+        };
+
+        List<List<String>> expectedWordsChains = new ArrayList<>();
+
+        for(InputWords words : inputWords){
+            expectedWordsChains.add(puzzle.solve(words, snapshot, 6, DEFAULT_TIMEOUT_VALUE_MINUTES).getWordsChain());
+        }
+
+        // One puzzle object and one snapshot are shared by all threads.
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<WordsChainPuzzle.Result>> futures = new ArrayList<>();
+
+            for(int i = 0; i < 12; i++){
+                final InputWords words = inputWords[i % inputWords.length];
+
+                futures.add(executor.submit(new Callable<WordsChainPuzzle.Result>() {
+                    @Override
+                    public WordsChainPuzzle.Result call() throws PuzzleException {
+                        return puzzle.solve(words, snapshot, 6, DEFAULT_TIMEOUT_VALUE_MINUTES);
+                    }
+                }));
+            }
+
+            for(int i = 0; i < futures.size(); i++){
+                Assert.assertEquals(expectedWordsChains.get(i % inputWords.length),
+                        futures.get(i).get().getWordsChain());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_solve_cachedOrdering() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+        PrimitiveWordsChainPuzzle puzzle = new PrimitiveWordsChainPuzzle(true);
+
+        WordsChainPuzzle.Result result1 = puzzle.solve(new InputWords("cat", "dog"), snapshot, 7,
+                DEFAULT_TIMEOUT_VALUE_MINUTES);
+        WordsChainPuzzle.Result result2 = puzzle.solve(new InputWords("cat", "dog"), snapshot, 7,
+                DEFAULT_TIMEOUT_VALUE_MINUTES);
+
+        // The second search reuses ordering of end word: differences of all words are not calculated again.
+        Assert.assertEquals(result1.getWordsChain(), result2.getWordsChain());
+        Assert.assertEquals(result1.getStatistics().getWordsDifferenceCalculationsCount() - snapshot.getWordsCount(),
+                result2.getStatistics().getWordsDifferenceCalculationsCount());
+    }
+
+    @Test
+    public void test_solve_neighborsProviders() throws IOException, PuzzleException {
+        for(long seed = 0; seed < 10; seed++){
+            StringWriter writer = new StringWriter();
+            new SyntheticVocabularyGenerator(seed, 3, "abcdef", 0.7).generate(60, writer);
+
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.getWordsSet().addAll(Arrays.asList(writer.toString().split("\n")));
+
+            List<String> words = new ArrayList<>(vocabulary.getWordsSet());
+
+            for(int i = 0; i < 5; i++){
+                String startWord = words.get((int)((seed * 7 + i * 13) % words.size()));
+                String endWord = words.get((int)((seed * 11 + i * 17 + 1) % words.size()));
+
+                if(!startWord.equals(endWord)){
+                    _compareNeighborsProviders(new InputWords(startWord, endWord), vocabulary, 8);
+                }
+            }
+
+            // Start word is absent in vocabulary.
+            _compareNeighborsProviders(new InputWords("zzz", words.get(0)), vocabulary, 8);
+        }
+
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 4, StandardCharsets.US_ASCII);
+
+        _compareNeighborsProviders(new InputWords("lead", "gold"), vocabulary, 4);
+        _compareNeighborsProviders(new InputWords("stay", "gist"), vocabulary, 7);
+        _compareNeighborsProviders(new InputWords("andy", "gold"), vocabulary, 10);
+    }
+
+    @Test
+    public void test_solve_deepNeighborsLists() throws PuzzleException {
+        // Path of 41 words: neighbors lists of cursors grow several times during search.
+        Vocabulary vocabulary = new Vocabulary();
+
+        for(int i = 0; i <= 40; i++){
+            vocabulary.getWordsSet().add(_repeat('b', i) + _repeat('a', 40 - i));
+        }
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 40);
+        InputWords inputWords = new InputWords(_repeat('a', 40), _repeat('b', 40));
+        PrimitiveWordsChainPuzzle puzzle = new PrimitiveWordsChainPuzzle();
+
+        WordsChainPuzzle.Result expectedResult = puzzle.solve(inputWords, snapshot, 100,
+                DEFAULT_TIMEOUT_VALUE_MINUTES);
+        WordsChainPuzzle.Result result = puzzle.solve(inputWords, snapshot, snapshot.getWordsGraph(), 100,
+                DEFAULT_TIMEOUT_VALUE_MINUTES);
+
+        Assert.assertEquals(41, expectedResult.getWordsChain().size());
+        Assert.assertEquals(expectedResult.getWordsChain(), result.getWordsChain());
+    }
+
+    @Test
+    public void test_solve_absentStartWordWithNewLetter() throws PuzzleException {
+        // Start word letter isn't used by words: all words are its neighbors, more than any word has.
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("a", "b", "c"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 1);
+        PrimitiveWordsChainPuzzle puzzle = new PrimitiveWordsChainPuzzle();
+
+        Assert.assertEquals(2, snapshot.getWordsGraph().getMaxNeighborsCount());
+
+        for(int maxWordsChainLength : new int[]{1, 2, 5}){
+            WordsChainPuzzle.Result expectedResult = puzzle.solve(new InputWords("z", "a"), snapshot,
+                    maxWordsChainLength, DEFAULT_TIMEOUT_VALUE_MINUTES);
+            WordsChainPuzzle.Result result = puzzle.solve(new InputWords("z", "a"), snapshot,
+                    snapshot.getWordsGraph(), maxWordsChainLength, DEFAULT_TIMEOUT_VALUE_MINUTES);
+
+            Assert.assertEquals(expectedResult.getWordsChain(), result.getWordsChain());
+            Assert.assertEquals((maxWordsChainLength >= 2 ? Arrays.asList("z", "a") : new ArrayList<String>()),
+                    result.getWordsChain());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_solve_wrongNeighborsProvider() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+
+        vocabulary.getWordsSet().add("fly");
+
+        new PrimitiveWordsChainPuzzle().solve(new InputWords("cat", "dog"), snapshot,
+                new PackedWordsNeighborsProvider(new VocabularySnapshot(vocabulary, 3)), 7,
+                DEFAULT_TIMEOUT_VALUE_MINUTES); // exception
+    }
+
+    // Private methods.
+
+    /** Creates string of repeated character. */
+    private static String _repeat(char character, int count){
+        char[] chars = new char[count];
+        Arrays.fill(chars, character);
+
+        return new String(chars);
+    }
+
+    /** Tests solve() method of PrimitiveWordsChainPuzzle class. */
+    private static void _test_solve(InputWords inputWords, Vocabulary vocabulary, int maxWordsChainLength,
+                                    List<String> expectedWordsChain) throws PuzzleException {
+        WordsChainPuzzle.Result result = new PrimitiveWordsChainPuzzle().solve(
+                inputWords, vocabulary, maxWordsChainLength, DEFAULT_TIMEOUT_VALUE_MINUTES); // exception
+
+        Assert.assertEquals(expectedWordsChain, result.getWordsChain());
+        Assert.assertFalse(result.isInterruptedByTimeoutFlag());
+    }
+
+    /** Checks that result and statistics are the same as result and statistics of WordsChainPuzzle. */
+    private static void _compareWithWordsChainPuzzle(InputWords inputWords, Vocabulary vocabulary,
+                                                     int maxWordsChainLength) throws PuzzleException {
+        WordsChainPuzzle.Result expectedResult = new WordsChainPuzzle(true).solve(
+                inputWords, vocabulary, maxWordsChainLength, DEFAULT_TIMEOUT_VALUE_MINUTES); // exception
+
+        WordsChainPuzzle.Result result = new PrimitiveWordsChainPuzzle(true).solve(
+                inputWords, vocabulary, maxWordsChainLength, DEFAULT_TIMEOUT_VALUE_MINUTES); // exception
+
+        Assert.assertEquals(expectedResult.getWordsChain(), result.getWordsChain());
+
+        SearchStatistics expectedStatistics = expectedResult.getStatistics();
+        SearchStatistics statistics = result.getStatistics();
+
+        Assert.assertEquals(expectedStatistics.getExpandedNodesCount(), statistics.getExpandedNodesCount());
+        // Difference ordering is built for all vocabulary words, start word is excluded by WordsChainPuzzle.
+        Assert.assertEquals(expectedStatistics.getWordsDifferenceCalculationsCount() +
+                        (vocabulary.contains(inputWords.getStartWord()) ? 1 : 0),
+                statistics.getWordsDifferenceCalculationsCount());
+        Assert.assertEquals(expectedStatistics.getRollBacksCount(), statistics.getRollBacksCount());
+        Assert.assertEquals(expectedStatistics.getMaxDepth(), statistics.getMaxDepth());
+        Assert.assertEquals(expectedStatistics.getImprovementsCount(), statistics.getImprovementsCount());
+    }
+
+    /** Checks that results and statistics of search with neighbors providers are the same as without them. */
+    private static void _compareNeighborsProviders(InputWords inputWords, Vocabulary vocabulary,
+                                                   int maxWordsChainLength) throws PuzzleException {
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, inputWords.getLength());
+        PrimitiveWordsChainPuzzle puzzle = new PrimitiveWordsChainPuzzle(true);
+
+        WordsChainPuzzle.Result expectedResult = puzzle.solve(
+                inputWords, snapshot, maxWordsChainLength, DEFAULT_TIMEOUT_VALUE_MINUTES); // exception
+
+        WordsNeighborsProvider[] providers = {
+                snapshot.getWordsGraph(), new PositionLetterIndex(snapshot), new PackedWordsNeighborsProvider(snapshot)
+        };
+
+        for(WordsNeighborsProvider provider : providers){
+            WordsChainPuzzle.Result result = puzzle.solve(
+                    inputWords, snapshot, provider, maxWordsChainLength, DEFAULT_TIMEOUT_VALUE_MINUTES); // exception
+
+            Assert.assertEquals(expectedResult.getWordsChain(), result.getWordsChain());
+
+            SearchStatistics expectedStatistics = expectedResult.getStatistics();
+            SearchStatistics statistics = result.getStatistics();
+
+            Assert.assertEquals(expectedStatistics.getExpandedNodesCount(), statistics.getExpandedNodesCount());
+            Assert.assertEquals(expectedStatistics.getRollBacksCount(), statistics.getRollBacksCount());
+            Assert.assertEquals(expectedStatistics.getMaxDepth(), statistics.getMaxDepth());
+            Assert.assertEquals(expectedStatistics.getImprovementsCount(), statistics.getImprovementsCount());
+        }
+    }
+} // class PrimitiveWordsChainPuzzleTest
@@ -0,0 +1,99 @@
+/***************************************************************************************************
+ * @file PuzzleEventsTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the PuzzleEventsTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit Test for PuzzleEvents class.
+ */
+public class PuzzleEventsTest {
+
+    // Private static constants.
+
+    private static final String VOCABULARY_FILE_PATH = "unit_tests_data/Vocabulary.txt";
+
+    private static final String EVENT_NAME_PREFIX = "com.gmail.stepanenko.sergey27.elephant_from_fly.";
+
+    // Public methods.
+
+    @Test
+    public void test_events() throws IOException, PuzzleException {
+        File recordingFile = File.createTempFile("PuzzleEventsTest", ".jfr");
+
+        try(Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME_PREFIX + "VocabularyLoad");
+            recording.enable(EVENT_NAME_PREFIX + "VocabularyPreparation");
+            recording.enable(EVENT_NAME_PREFIX + "IndexBuild");
+            recording.enable(EVENT_NAME_PREFIX + "Search");
+            recording.start();
+
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.loadFromFile(VOCABULARY_FILE_PATH, 3); // exception
+            vocabulary.getWordsSet().addAll(Arrays.asList("cog", "cot", "cat"));
+
+            InputWords inputWords = new InputWords("cat", "dog");
+
+            new WordsChainPuzzle().solve(inputWords, vocabulary, 5, 1); // exception
+            new ShortestWordsChains(new WordsGraph(vocabulary, 3), inputWords, 5); // exception
+
+            recording.stop();
+            recording.dump(recordingFile.toPath());
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile.toPath());
+        recordingFile.delete();
+
+        Map<String, RecordedEvent> eventsMap = new HashMap<>();
+
+        for(RecordedEvent event : events){
+            String name = event.getEventType().getName();
+
+            if(name.equals(EVENT_NAME_PREFIX + "Search")){
+                name += "." + event.getString("engine");
+            }
+
+            eventsMap.put(name, event);
+        }
+
+        // Vocabulary file contains "dog", "cat", "fly", "pig".
+        RecordedEvent loadEvent = eventsMap.get(EVENT_NAME_PREFIX + "VocabularyLoad");
+        Assert.assertNotNull(loadEvent);
+        Assert.assertEquals(3, loadEvent.getInt("wordsLength"));
+        Assert.assertEquals(4, loadEvent.getInt("vocabularySize"));
+        Assert.assertEquals(PuzzleEvents.OUTCOME_SUCCESS, loadEvent.getString("outcome"));
+
+        RecordedEvent preparationEvent = eventsMap.get(EVENT_NAME_PREFIX + "VocabularyPreparation");
+        Assert.assertNotNull(preparationEvent);
+        Assert.assertEquals(5, preparationEvent.getInt("vocabularySize"));
+
+        RecordedEvent indexBuildEvent = eventsMap.get(EVENT_NAME_PREFIX + "IndexBuild");
+        Assert.assertNotNull(indexBuildEvent);
+        Assert.assertEquals(6, indexBuildEvent.getInt("vocabularySize"));
+
+        RecordedEvent searchEvent = eventsMap.get(EVENT_NAME_PREFIX + "Search.Backtracking");
+        Assert.assertNotNull(searchEvent);
+        Assert.assertEquals(PuzzleEvents.OUTCOME_FOUND, searchEvent.getString("outcome"));
+        Assert.assertEquals(4, searchEvent.getInt("wordsChainLength"));
+
+        searchEvent = eventsMap.get(EVENT_NAME_PREFIX + "Search.Shortest chains DAG");
+        Assert.assertNotNull(searchEvent);
+        Assert.assertEquals(PuzzleEvents.OUTCOME_FOUND, searchEvent.getString("outcome"));
+        Assert.assertEquals(4, searchEvent.getInt("wordsChainLength"));
+    }
+} // class PuzzleEventsTest
@@ -0,0 +1,102 @@
+/***************************************************************************************************
+ * @file ReducedWordsChainsTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the ReducedWordsChainsTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Unit Test for ReducedWordsChains class.
+ */
+public class ReducedWordsChainsTest {
+
+    // Public methods.
+
+    @Test
+    public void test_solve() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        WordsGraph graph = new WordsGraph(vocabulary, 3);
+        ReducedWordsChains engine = new ReducedWordsChains(new ReducedWordsGraph(graph));
+
+        // Chain between inner words of edges.
+        Assert.assertEquals(Arrays.asList("cot", "cog", "cig", "gig"),
+                engine.solve(new InputWords("cot", "gig"), 10).getWordsChain());
+
+        // Chain between core words.
+        Assert.assertEquals(5, engine.solve(new InputWords("cat", "dig"), 5).getWordsChain().size());
+        Assert.assertTrue(engine.solve(new InputWords("cat", "dig"), 4).isEmpty());
+
+        // Start and end words on the same edge.
+        Assert.assertEquals(Arrays.asList("cat", "cot"), engine.solve(new InputWords("cat", "cot"), 10).getWordsChain());
+
+        // Start word is absent in graph.
+        Assert.assertEquals(Arrays.asList("cut", "cot", "cog", "dog"),
+                engine.solve(new InputWords("cut", "dog"), 10).getWordsChain());
+        Assert.assertEquals(Arrays.asList("cut", "cat"), engine.solve(new InputWords("cut", "cat"), 10).getWordsChain());
+
+        // Isolated words.
+        Assert.assertTrue(engine.solve(new InputWords("cat", "fly"), 10).isEmpty());
+        Assert.assertTrue(engine.solve(new InputWords("fly", "cat"), 10).isEmpty());
+    }
+
+    @Test
+    public void test_solve_cycle() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("aa", "ab", "bb", "ba"));
+
+        ReducedWordsChains engine = new ReducedWordsChains(new ReducedWordsGraph(new WordsGraph(vocabulary, 2)));
+
+        Assert.assertEquals(Arrays.asList("ab", "bb", "ba"), engine.solve(new InputWords("ab", "ba"), 10).getWordsChain());
+        Assert.assertEquals(Arrays.asList("ab", "aa"), engine.solve(new InputWords("ab", "aa"), 10).getWordsChain());
+        Assert.assertEquals(Arrays.asList("aa", "ba"), engine.solve(new InputWords("aa", "ba"), 10).getWordsChain());
+    }
+
+    @Test
+    public void test_solve_englishVocabulary() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 5, StandardCharsets.US_ASCII);
+
+        WordsGraph graph = new WordsGraph(vocabulary, 5);
+        ReducedWordsChains engine = new ReducedWordsChains(new ReducedWordsGraph(graph));
+
+        SplittableRandom random = new SplittableRandom(37);
+
+        // Lengths of chains match lengths found by layered search over original graph.
+        for(int i = 0; i < 300; i++){
+            String startWord = graph.getWord(random.nextInt(graph.getWordsCount()));
+            String endWord = graph.getWord(random.nextInt(graph.getWordsCount()));
+
+            if(!startWord.equals(endWord)){
+                InputWords inputWords = new InputWords(startWord, endWord);
+
+                int maxWordsChainLength = 2 + random.nextInt(30);
+
+                ShortestWordsChains expectedChains = new ShortestWordsChains(graph, inputWords, maxWordsChainLength);
+                List<String> wordsChain = engine.solve(inputWords, maxWordsChainLength).getWordsChain();
+
+                Assert.assertEquals(expectedChains.getWordsChainLength(), wordsChain.size());
+
+                if(!wordsChain.isEmpty()){
+                    Assert.assertEquals(startWord, wordsChain.get(0));
+                    Assert.assertEquals(endWord, wordsChain.get(wordsChain.size() - 1));
+
+                    for(int j = 1; j < wordsChain.size(); j++){
+                        Assert.assertEquals(1, WordsChainPuzzle.calculateWordsDifference(wordsChain.get(j - 1),
+                                wordsChain.get(j)));
+                    }
+                }
+            }
+        }
+    }
+} // class ReducedWordsChainsTest
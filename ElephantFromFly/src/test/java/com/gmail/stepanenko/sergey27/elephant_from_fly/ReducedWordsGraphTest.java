@@ -0,0 +1,122 @@
+/***************************************************************************************************
+ * @file ReducedWordsGraphTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the ReducedWordsGraphTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Unit Test for ReducedWordsGraph class.
+ */
+public class ReducedWordsGraphTest {
+
+    // Public methods.
+
+    @Test
+    public void test_reduction(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        WordsGraph graph = new WordsGraph(vocabulary, 3);
+        ReducedWordsGraph reducedGraph = new ReducedWordsGraph(graph);
+
+        // Core words: cat (one neighbor), cig, cog, dig (three neighbors); fly is isolated.
+        Assert.assertEquals(4, reducedGraph.getCoreWordsCount());
+        Assert.assertEquals(1, reducedGraph.getIsolatedWordsCount());
+        Assert.assertEquals(graph.getWordId("cat"), reducedGraph.getCoreWord(0));
+        Assert.assertEquals(graph.getWordId("dig"), reducedGraph.getCoreWord(3));
+        Assert.assertEquals(2, reducedGraph.getCoreId(graph.getWordId("cog")));
+        Assert.assertEquals(-1, reducedGraph.getCoreId(graph.getWordId("cot")));
+        Assert.assertEquals(-1, reducedGraph.getCoreId(graph.getWordId("fly")));
+        Assert.assertEquals(-1, reducedGraph.getWordEdge(graph.getWordId("fly")));
+
+        // Edges: cat-cot-cog, cig-cog, cig-dig, cig-gig-dig, cog-dog-dig.
+        Assert.assertEquals(5, reducedGraph.getEdgesCount());
+
+        int edge = reducedGraph.getWordEdge(graph.getWordId("cot"));
+
+        Assert.assertEquals(2, reducedGraph.getEdgeWeight(edge));
+        Assert.assertEquals(0, reducedGraph.getEdgeEnd(edge, 0));
+        Assert.assertEquals(2, reducedGraph.getEdgeEnd(edge, 1));
+        Assert.assertEquals(1, reducedGraph.getWordPosition(graph.getWordId("cot")));
+        Assert.assertEquals(graph.getWordId("cat"), reducedGraph.getEdgeWord(edge, 0));
+        Assert.assertEquals(graph.getWordId("cot"), reducedGraph.getEdgeWord(edge, 1));
+        Assert.assertEquals(graph.getWordId("cog"), reducedGraph.getEdgeWord(edge, 2));
+
+        Assert.assertEquals(1, reducedGraph.getCoreEdgesCount(0));
+        Assert.assertEquals(3, reducedGraph.getCoreEdgesCount(1));
+        Assert.assertEquals(3, reducedGraph.getCoreEdgesCount(2));
+        Assert.assertEquals(3, reducedGraph.getCoreEdgesCount(3));
+        Assert.assertEquals(edge, reducedGraph.getCoreEdge(0, 0));
+        Assert.assertEquals(2, reducedGraph.getCoreNeighbor(0, 0));
+        Assert.assertEquals(2, reducedGraph.getCoreEdgeWeight(0, 0));
+    }
+
+    @Test
+    public void test_reduction_cycle(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("aa", "ab", "bb", "ba"));
+
+        WordsGraph graph = new WordsGraph(vocabulary, 2);
+        ReducedWordsGraph reducedGraph = new ReducedWordsGraph(graph);
+
+        // Cycle without branches: the first word becomes core word with loop edge.
+        Assert.assertEquals(1, reducedGraph.getCoreWordsCount());
+        Assert.assertEquals(graph.getWordId("aa"), reducedGraph.getCoreWord(0));
+        Assert.assertEquals(1, reducedGraph.getEdgesCount());
+        Assert.assertEquals(4, reducedGraph.getEdgeWeight(0));
+        Assert.assertEquals(0, reducedGraph.getCoreEdgesCount(0));
+        Assert.assertEquals(0, reducedGraph.getWordEdge(graph.getWordId("bb")));
+    }
+
+    @Test
+    public void test_reduction_englishVocabulary() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 5, StandardCharsets.US_ASCII);
+
+        WordsGraph graph = new WordsGraph(vocabulary, 5);
+        ReducedWordsGraph reducedGraph = new ReducedWordsGraph(graph);
+
+        int innerWordsCount = 0;
+
+        // Every word is either core word, inner word of edge or isolated word.
+        for(int wordId = 0; wordId < graph.getWordsCount(); wordId++){
+            int coreId = reducedGraph.getCoreId(wordId);
+            int edge = reducedGraph.getWordEdge(wordId);
+
+            if(coreId >= 0){
+                Assert.assertEquals(-1, edge);
+                Assert.assertEquals(wordId, reducedGraph.getCoreWord(coreId));
+            } else if(edge >= 0){
+                Assert.assertEquals(2, graph.getNeighborsCount(wordId));
+                Assert.assertEquals(wordId, reducedGraph.getEdgeWord(edge, reducedGraph.getWordPosition(wordId)));
+                innerWordsCount++;
+            } else {
+                Assert.assertEquals(0, graph.getNeighborsCount(wordId));
+            }
+        }
+
+        Assert.assertEquals(graph.getWordsCount(), reducedGraph.getCoreWordsCount() + innerWordsCount +
+                reducedGraph.getIsolatedWordsCount());
+
+        // Consecutive words of edges are neighbors.
+        for(int edge = 0; edge < reducedGraph.getEdgesCount(); edge++){
+            for(int position = 1; position <= reducedGraph.getEdgeWeight(edge); position++){
+                Assert.assertEquals(1, WordsChainPuzzle.calculateWordsDifference(
+                        graph.getWord(reducedGraph.getEdgeWord(edge, position - 1)),
+                        graph.getWord(reducedGraph.getEdgeWord(edge, position))));
+            }
+        }
+
+        Assert.assertTrue(reducedGraph.getIsolatedWordsCount() > 0);
+        Assert.assertTrue(innerWordsCount > 0);
+        Assert.assertTrue(reducedGraph.getCoreWordsCount() < graph.getWordsCount() * 3 / 4);
+    }
+} // class ReducedWordsGraphTest
@@ -0,0 +1,66 @@
+/***************************************************************************************************
+ * @file ReverseBfsTreeTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the ReverseBfsTreeTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Unit Test for ReverseBfsTree class.
+ */
+public class ReverseBfsTreeTest {
+
+    // Public methods.
+
+    @Test
+    public void test_tree(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        WordsGraph graph = new WordsGraph(vocabulary, 3);
+        ReverseBfsTree tree = new ReverseBfsTree(graph, graph.getWordId("dog"));
+
+        Assert.assertEquals(graph.getWordId("dog"), tree.getEndWordId());
+
+        Assert.assertEquals(0, tree.getDistance(graph.getWordId("dog")));
+        Assert.assertEquals(1, tree.getDistance(graph.getWordId("cog")));
+        Assert.assertEquals(1, tree.getDistance(graph.getWordId("dig")));
+        Assert.assertEquals(2, tree.getDistance(graph.getWordId("cot")));
+        Assert.assertEquals(3, tree.getDistance(graph.getWordId("cat")));
+        Assert.assertEquals(-1, tree.getDistance(graph.getWordId("fly")));
+
+        Assert.assertTrue(tree.isReachable(graph.getWordId("cat")));
+        Assert.assertFalse(tree.isReachable(graph.getWordId("fly")));
+        Assert.assertEquals(-1, tree.getParent(graph.getWordId("fly")));
+        Assert.assertEquals(graph.getWordId("cog"), tree.getParent(graph.getWordId("cot")));
+
+        Assert.assertArrayEquals(new int[]{graph.getWordId("cat"), graph.getWordId("cot"), graph.getWordId("cog"),
+                graph.getWordId("dog")}, tree.getWordsChain(graph.getWordId("cat")));
+        Assert.assertNull(tree.getWordsChain(graph.getWordId("fly")));
+
+        Assert.assertTrue(tree.getMemorySize() >= Integer.BYTES * graph.getWordsCount());
+    }
+
+    @Test
+    public void test_shortestDistances() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 4, StandardCharsets.US_ASCII);
+
+        WordsGraph graph = new WordsGraph(vocabulary, 4);
+        ReverseBfsTree tree = new ReverseBfsTree(graph, graph.getWordId("gold"));
+
+        // Distances match lengths of shortest chains found by layered search.
+        for(String startWord : new String[]{"lead", "stay", "cold", "warm"}){
+            ShortestWordsChains chains = new ShortestWordsChains(graph, new InputWords(startWord, "gold"), 100);
+
+            Assert.assertEquals(chains.getWordsChainLength() - 1, tree.getDistance(graph.getWordId(startWord)));
+        }
+    }
+} // class ReverseBfsTreeTest
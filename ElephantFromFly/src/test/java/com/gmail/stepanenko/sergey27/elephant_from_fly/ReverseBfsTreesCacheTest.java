@@ -0,0 +1,190 @@
+/***************************************************************************************************
+ * @file ReverseBfsTreesCacheTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the ReverseBfsTreesCacheTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Unit Test for ReverseBfsTreesCache class.
+ */
+public class ReverseBfsTreesCacheTest {
+
+    // Private static constants.
+
+    // Executor which builds trees in calling thread.
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    // Public methods.
+
+    @Test
+    public void test_findWordsChain() throws PuzzleException {
+        WordsGraph graph = _createGraph();
+        ReverseBfsTreesCache cache = new ReverseBfsTreesCache(graph, Long.MAX_VALUE, 2, DIRECT_EXECUTOR);
+
+        InputWords inputWords = new InputWords("cat", "dog");
+
+        // The first request doesn't reach threshold: tree is not built.
+        Assert.assertNull(cache.findWordsChain(inputWords, 10));
+        Assert.assertFalse(cache.isCached("dog"));
+
+        // The second request builds tree.
+        WordsChainPuzzle.Result result = cache.findWordsChain(inputWords, 10);
+
+        Assert.assertNotNull(result);
+        Assert.assertTrue(cache.isCached("dog"));
+        Assert.assertEquals(Arrays.asList("cat", "cot", "cog", "dog"), result.getWordsChain());
+
+        // Maximum length constraint.
+        Assert.assertTrue(cache.findWordsChain(inputWords, 3).isEmpty());
+
+        // Unreachable end word.
+        Assert.assertTrue(cache.findWordsChain(new InputWords("fly", "dog"), 10).isEmpty());
+
+        // Start word is absent in vocabulary.
+        Assert.assertEquals(Arrays.asList("cut", "cot", "cog", "dog"),
+                cache.findWordsChain(new InputWords("cut", "dog"), 10).getWordsChain());
+        Assert.assertEquals(Arrays.asList("cut", "cot", "cog", "dog"),
+                cache.findWordsChain(new InputWords("cut", "dog"), 4).getWordsChain());
+        Assert.assertTrue(cache.findWordsChain(new InputWords("cut", "dog"), 3).isEmpty());
+    }
+
+    @Test
+    public void test_findWordsChain_absentEndWord() throws PuzzleException {
+        ReverseBfsTreesCache cache = new ReverseBfsTreesCache(_createGraph(), Long.MAX_VALUE, 1, DIRECT_EXECUTOR);
+
+        boolean isExceptionThrown = false;
+
+        try {
+            cache.findWordsChain(new InputWords("cat", "cut"), 10);
+        } catch(PuzzleException exception){
+            Assert.assertEquals(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY, exception.getErrorCode());
+            isExceptionThrown = true;
+        }
+
+        Assert.assertTrue(isExceptionThrown);
+    }
+
+    @Test
+    public void test_memoryBudget() throws PuzzleException {
+        WordsGraph graph = _createGraph();
+        long treeSize = new ReverseBfsTree(graph, 0).getMemorySize();
+
+        // Budget is enough for two trees.
+        ReverseBfsTreesCache cache = new ReverseBfsTreesCache(graph, 2 * treeSize, 1, DIRECT_EXECUTOR);
+
+        Assert.assertNotNull(cache.findWordsChain(new InputWords("cat", "dog"), 10));
+        Assert.assertNotNull(cache.findWordsChain(new InputWords("cat", "dig"), 10));
+        Assert.assertEquals(2, cache.getCachedTreesCount());
+        Assert.assertEquals(2 * treeSize, cache.getUsedMemoryBytes());
+
+        // Use "dog" tree, so "dig" tree becomes least recently used and is evicted.
+        Assert.assertNotNull(cache.findWordsChain(new InputWords("cat", "dog"), 10));
+        Assert.assertNotNull(cache.findWordsChain(new InputWords("cat", "gig"), 10));
+
+        Assert.assertEquals(2, cache.getCachedTreesCount());
+        Assert.assertTrue(cache.isCached("dog"));
+        Assert.assertTrue(cache.isCached("gig"));
+        Assert.assertFalse(cache.isCached("dig"));
+
+        // Tree which exceeds budget alone is neither built nor cached.
+        final List<Runnable> tasks = new ArrayList<>();
+
+        ReverseBfsTreesCache smallCache = new ReverseBfsTreesCache(graph, treeSize - 1, 1, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        });
+
+        Assert.assertEquals(treeSize, ReverseBfsTree.estimateMemorySize(graph.getWordsCount()));
+
+        for(int i = 0; i < 3; i++){
+            Assert.assertNull(smallCache.findWordsChain(new InputWords("cat", "dog"), 10));
+        }
+
+        Assert.assertTrue(tasks.isEmpty());
+        Assert.assertEquals(0, smallCache.getCachedTreesCount());
+    }
+
+    @Test
+    public void test_rejectedBuild() throws PuzzleException {
+        final List<Runnable> tasks = new ArrayList<>();
+        final boolean[] isRejecting = {true};
+
+        ReverseBfsTreesCache cache = new ReverseBfsTreesCache(_createGraph(), Long.MAX_VALUE, 1, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                if(isRejecting[0]){
+                    throw new RejectedExecutionException();
+                }
+
+                tasks.add(command);
+            }
+        });
+
+        InputWords inputWords = new InputWords("cat", "dog");
+
+        // Rejected build isn't considered running: the next request schedules it again.
+        Assert.assertNull(cache.findWordsChain(inputWords, 10));
+
+        isRejecting[0] = false;
+
+        Assert.assertNull(cache.findWordsChain(inputWords, 10));
+        Assert.assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+
+        Assert.assertEquals(Arrays.asList("cat", "cot", "cog", "dog"),
+                cache.findWordsChain(inputWords, 10).getWordsChain());
+    }
+
+    @Test
+    public void test_backgroundBuild() throws PuzzleException {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        ReverseBfsTreesCache cache = new ReverseBfsTreesCache(_createGraph(), Long.MAX_VALUE, 1, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        });
+
+        InputWords inputWords = new InputWords("cat", "dog");
+
+        // Tree is scheduled once and queries are not answered while it is being built.
+        Assert.assertNull(cache.findWordsChain(inputWords, 10));
+        Assert.assertNull(cache.findWordsChain(inputWords, 10));
+        Assert.assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+
+        Assert.assertEquals(Arrays.asList("cat", "cot", "cog", "dog"),
+                cache.findWordsChain(inputWords, 10).getWordsChain());
+    }
+
+    // Private methods.
+
+    /** Creates words graph. */
+    private static WordsGraph _createGraph(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        return new WordsGraph(vocabulary, 3);
+    }
+} // class ReverseBfsTreesCacheTest
@@ -0,0 +1,63 @@
+/***************************************************************************************************
+ * @file SearchStatisticsTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the SearchStatisticsTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit Test for SearchStatistics class.
+ */
+public class SearchStatisticsTest {
+
+    // Public methods.
+
+    @Test
+    public void test_constructor(){
+        SearchStatistics statistics = new SearchStatistics(false);
+
+        Assert.assertFalse(statistics.isEnabled());
+        Assert.assertEquals(0, statistics.getExpandedNodesCount());
+        Assert.assertEquals(0, statistics.getWordsDifferenceCalculationsCount());
+        Assert.assertEquals(0, statistics.getRollBacksCount());
+        Assert.assertEquals(0, statistics.getMaxDepth());
+        Assert.assertEquals(0, statistics.getImprovementsCount());
+        Assert.assertEquals(0, statistics.getPreparationTimeNanos());
+        Assert.assertEquals(0, statistics.getSearchTimeNanos());
+
+        Assert.assertTrue(new SearchStatistics(true).isEnabled());
+    }
+
+    @Test
+    public void test_counters(){
+        SearchStatistics statistics = new SearchStatistics(true);
+
+        statistics.registerExpandedNode(1);
+        statistics.registerExpandedNode(3);
+        statistics.registerExpandedNode(2);
+        Assert.assertEquals(3, statistics.getExpandedNodesCount());
+        Assert.assertEquals(3, statistics.getMaxDepth());
+
+        statistics.addWordsDifferenceCalculations(10);
+        statistics.addWordsDifferenceCalculations(5);
+        Assert.assertEquals(15, statistics.getWordsDifferenceCalculationsCount());
+
+        statistics.registerRollBack();
+        Assert.assertEquals(1, statistics.getRollBacksCount());
+
+        statistics.registerImprovement();
+        statistics.registerImprovement();
+        Assert.assertEquals(2, statistics.getImprovementsCount());
+
+        statistics.setPreparationTimeNanos(1500000);
+        statistics.setSearchTimeNanos(2000000);
+        Assert.assertEquals(1500000, statistics.getPreparationTimeNanos());
+        Assert.assertEquals(2000000, statistics.getSearchTimeNanos());
+
+        Assert.assertTrue(statistics.toString().contains("Expanded nodes: 3"));
+    }
+} // class SearchStatisticsTest
@@ -0,0 +1,123 @@
+/***************************************************************************************************
+ * @file ShortestWordsChainsTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the ShortestWordsChainsTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Unit Test for ShortestWordsChains class.
+ */
+public class ShortestWordsChainsTest {
+
+    // Public methods.
+
+    @Test
+    public void test_constructor_endWordIsAbsent() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("cat", "cot"));
+
+        boolean isExceptionThrown = false;
+
+        try {
+            new ShortestWordsChains(new WordsGraph(vocabulary, 3), new InputWords("cat", "dog"), 5); // exception
+        } catch(PuzzleException exception){
+            Assert.assertEquals(PuzzleException.ErrorCode.END_WORD_IS_ABSENT_IN_VOCABULARY, exception.getErrorCode());
+            isExceptionThrown = true;
+        }
+
+        Assert.assertTrue(isExceptionThrown);
+    }
+
+    @Test
+    public void test_wordsChains() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cog", "cot", "dot"));
+
+        WordsGraph graph = new WordsGraph(vocabulary, 3);
+
+        // Two shortest chains: "cat" -> "cot" -> "cog" -> "dog" and "cat" -> "cot" -> "dot" -> "dog".
+        ShortestWordsChains wordsChains = new ShortestWordsChains(graph, new InputWords("cat", "dog"), 10);
+
+        Assert.assertFalse(wordsChains.isEmpty());
+        Assert.assertEquals(4, wordsChains.getWordsChainLength());
+        Assert.assertEquals(2, wordsChains.getWordsChainsCount());
+        Assert.assertTrue(wordsChains.isOnShortestWordsChain("dot"));
+        Assert.assertFalse(wordsChains.isOnShortestWordsChain("cig"));
+
+        List<List<String>> expectedWordsChains = new ArrayList<>();
+        expectedWordsChains.add(Arrays.asList("cat", "cot", "cog", "dog"));
+        expectedWordsChains.add(Arrays.asList("cat", "cot", "dot", "dog"));
+
+        Assert.assertEquals(expectedWordsChains, _toList(wordsChains));
+
+        // Iterators are independent.
+        Assert.assertEquals(expectedWordsChains, _toList(wordsChains));
+
+        // Maximum words chain length constraint.
+        Assert.assertTrue(new ShortestWordsChains(graph, new InputWords("cat", "dog"), 3).isEmpty());
+        Assert.assertEquals(2, new ShortestWordsChains(graph, new InputWords("cat", "dog"), 4).getWordsChainsCount());
+
+        // Start word is in vocabulary and is neighbor of end word.
+        wordsChains = new ShortestWordsChains(graph, new InputWords("dig", "dog"), 10);
+        Assert.assertEquals(2, wordsChains.getWordsChainLength());
+        Assert.assertEquals(Arrays.asList(Arrays.asList("dig", "dog")), _toList(wordsChains));
+
+        // Not existent words chain.
+        wordsChains = new ShortestWordsChains(graph, new InputWords("fox", "dog"), 10);
+        Assert.assertTrue(wordsChains.isEmpty());
+        Assert.assertEquals(0, wordsChains.getWordsChainLength());
+        Assert.assertEquals(0, wordsChains.getWordsChainsCount());
+        Assert.assertFalse(wordsChains.iterator().hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void test_iterator_noSuchElement() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("cot", "dot"));
+
+        ShortestWordsChains wordsChains = new ShortestWordsChains(new WordsGraph(vocabulary, 3),
+                new InputWords("cat", "dot"), 5);
+
+        Iterator<List<String>> iterator = wordsChains.iterator();
+        Assert.assertEquals(Arrays.asList("cat", "cot", "dot"), iterator.next());
+
+        iterator.next(); // exception
+    }
+
+    @Test
+    public void test_wordsChainsCount() throws PuzzleException {
+        // Grid of words: every chain "aaa" -> "bbb" changes each position once, so there are 3! shortest chains.
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("aaa", "aab", "aba", "abb", "baa", "bab", "bba", "bbb"));
+
+        ShortestWordsChains wordsChains = new ShortestWordsChains(new WordsGraph(vocabulary, 3),
+                new InputWords("aaa", "bbb"), 10);
+
+        Assert.assertEquals(4, wordsChains.getWordsChainLength());
+        Assert.assertEquals(6, wordsChains.getWordsChainsCount());
+        Assert.assertEquals(6, _toList(wordsChains).size());
+    }
+
+    // Private methods.
+
+    private List<List<String>> _toList(ShortestWordsChains wordsChains){
+        List<List<String>> result = new ArrayList<>();
+
+        for(List<String> wordsChain : wordsChains){
+            result.add(wordsChain);
+        }
+
+        return result;
+    }
+} // class ShortestWordsChainsTest
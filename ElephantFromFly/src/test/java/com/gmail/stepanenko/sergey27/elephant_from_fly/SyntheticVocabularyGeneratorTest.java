@@ -0,0 +1,121 @@
+/***************************************************************************************************
+ * @file SyntheticVocabularyGeneratorTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the SyntheticVocabularyGeneratorTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Unit Test for SyntheticVocabularyGenerator class.
+ */
+public class SyntheticVocabularyGeneratorTest {
+
+    // Private static constants.
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz"; // Alphabet of generated words.
+
+    // Public methods.
+
+    @Test
+    public void test_generate_deterministic() throws IOException {
+        String vocabulary1 = _generate(27, 0.5, 1000);
+        String vocabulary2 = _generate(27, 0.5, 1000);
+        String vocabulary3 = _generate(28, 0.5, 1000);
+
+        Assert.assertEquals(vocabulary1, vocabulary2);
+        Assert.assertNotEquals(vocabulary1, vocabulary3);
+    }
+
+    @Test
+    public void test_generate_wordsFormat() throws IOException {
+        String[] words = _generate(27, 0.5, 1000).split("\n");
+
+        Assert.assertEquals(1000, words.length);
+
+        for(String word : words){
+            Assert.assertEquals(6, word.length());
+
+            for(int i = 0; i < word.length(); i++){
+                Assert.assertTrue(ALPHABET.indexOf(word.charAt(i)) >= 0);
+            }
+        }
+    }
+
+    @Test
+    public void test_generate_neighborDensity() throws IOException {
+        Assert.assertTrue(_getWordsWithNeighborsShare(0.0) < 0.01);
+        Assert.assertTrue(_getWordsWithNeighborsShare(0.5) > 0.4);
+        Assert.assertTrue(_getWordsWithNeighborsShare(1.0) > 0.99);
+    }
+
+    @Test
+    public void test_generateFile() throws IOException, PuzzleException {
+        SyntheticVocabularyGenerator generator = new SyntheticVocabularyGenerator(27, 4, "ab", 0.0);
+
+        File file = File.createTempFile("synthetic_vocabulary_", ".txt");
+
+        try {
+            generator.generateFile(100, file);
+
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.loadFromFile(file.getPath(), 4, StandardCharsets.UTF_8);
+
+            // 100 random words over two characters cover almost all 16 possible words.
+            Assert.assertTrue(vocabulary.getWordsSet().size() > 10);
+            Assert.assertTrue(vocabulary.getWordsSet().size() <= 16);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_invalidAlphabet(){
+        new SyntheticVocabularyGenerator(27, 4, "a", 0.5);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_invalidDensity(){
+        new SyntheticVocabularyGenerator(27, 4, ALPHABET, 1.5);
+    }
+
+    // Private methods.
+
+    /** Generates vocabulary of words of length 6. */
+    private static String _generate(long seed, double neighborDensity, int wordsCount) throws IOException {
+        StringWriter writer = new StringWriter();
+
+        new SyntheticVocabularyGenerator(seed, 6, ALPHABET, neighborDensity).generate(wordsCount, writer);
+
+        return writer.toString();
+    }
+
+    /** Gets share of generated words which have at least one neighbor. */
+    private static double _getWordsWithNeighborsShare(double neighborDensity) throws IOException {
+        Vocabulary vocabulary = new Vocabulary();
+
+        for(String word : _generate(27, neighborDensity, 2000).split("\n")){
+            vocabulary.getWordsSet().add(word);
+        }
+
+        WordsGraph graph = new WordsGraph(vocabulary, 6);
+
+        int count = 0;
+
+        for(int wordId = 0; wordId < graph.getWordsCount(); wordId++){
+            if(graph.getNeighborsCount(wordId) > 0){
+                count++;
+            }
+        }
+
+        return (double)count / graph.getWordsCount();
+    }
+} // class SyntheticVocabularyGeneratorTest
@@ -0,0 +1,155 @@
+/***************************************************************************************************
+ * @file VocabularyFileWatcherTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the VocabularyFileWatcherTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Unit Test for VocabularyFileWatcher class.
+ */
+public class VocabularyFileWatcherTest {
+
+    // Private static constants.
+
+    private static final long RELOAD_TIMEOUT_MILLIS = 30000; // Maximum time of waiting for reload.
+
+    // Public methods.
+
+    @Test
+    public void test_reloadTextFile() throws IOException, PuzzleException, InterruptedException {
+        Path directory = Files.createTempDirectory("vocabulary_watcher_");
+        Path file = directory.resolve("Vocabulary.txt");
+
+        Files.write(file, Arrays.asList("dog", "cat", "cot", "elephant"), StandardCharsets.UTF_8);
+
+        try(VocabularyFileWatcher watcher = new VocabularyFileWatcher(file.toString(), StandardCharsets.UTF_8)){
+            VocabularySnapshot snapshot = watcher.getSnapshot(3); // exception
+            VocabularySnapshot eightLettersSnapshot = watcher.getSnapshot(8); // exception
+
+            Assert.assertSame(snapshot, watcher.getSnapshot(3));
+            Assert.assertEquals(3, snapshot.getWordsCount());
+            Assert.assertEquals(1, eightLettersSnapshot.getWordsCount());
+
+            Files.write(file, Arrays.asList("dog", "cat", "cog", "fly", "elephant"), StandardCharsets.UTF_8);
+
+            _waitForReload(watcher, 1);
+
+            VocabularySnapshot reloadedSnapshot = watcher.getSnapshot(3); // exception
+
+            // Old snapshot isn't affected, new snapshot has changed words and built graph.
+            Assert.assertTrue(snapshot.contains("cot"));
+            Assert.assertFalse(reloadedSnapshot.contains("cot"));
+            Assert.assertTrue(reloadedSnapshot.contains("fly"));
+            Assert.assertEquals(1, reloadedSnapshot.getWordsGraph().getNeighborsCount(
+                    reloadedSnapshot.getWordId("cog")));
+            Assert.assertNotSame(eightLettersSnapshot, watcher.getSnapshot(8));
+            Assert.assertNull(watcher.getLastReloadError());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    public void test_reloadIndexFile() throws IOException, PuzzleException, InterruptedException {
+        Path directory = Files.createTempDirectory("vocabulary_watcher_");
+        File file = directory.resolve("Vocabulary.vix").toFile();
+
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dog", "cat"));
+
+        VocabularyIndexFile.write(vocabulary, file.getPath()); // exception
+
+        try(VocabularyFileWatcher watcher = new VocabularyFileWatcher(file.getPath(), StandardCharsets.UTF_8)){
+            Assert.assertEquals(2, watcher.getSnapshot(3).getWordsCount()); // exception
+
+            vocabulary.getWordsSet().add("cot");
+            VocabularyIndexFile.write(vocabulary, file.getPath()); // exception
+
+            _waitForReload(watcher, 1);
+
+            Assert.assertEquals(3, watcher.getSnapshot(3).getWordsCount()); // exception
+        } finally {
+            Files.deleteIfExists(file.toPath());
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    public void test_reloadPartiallyWrittenIndexFile() throws IOException, PuzzleException, InterruptedException {
+        Path directory = Files.createTempDirectory("vocabulary_watcher_");
+        File file = directory.resolve("Vocabulary.vix").toFile();
+
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dog", "cat", "elephant"));
+
+        VocabularyIndexFile.write(vocabulary, file.getPath()); // exception
+
+        try(VocabularyFileWatcher watcher = new VocabularyFileWatcher(file.getPath(), StandardCharsets.UTF_8)){
+            VocabularySnapshot snapshot = watcher.getSnapshot(8); // exception
+
+            // Cut the last section: index file is validated, old snapshot is kept.
+            try(RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")){
+                randomAccessFile.setLength(randomAccessFile.length() - 1);
+            }
+
+            long deadline = System.currentTimeMillis() + RELOAD_TIMEOUT_MILLIS;
+
+            while(watcher.getLastReloadError() == null && System.currentTimeMillis() < deadline){
+                Thread.sleep(10);
+            }
+
+            Assert.assertTrue(watcher.getLastReloadError() instanceof PuzzleException);
+            Assert.assertEquals(0, watcher.getReloadsCount());
+            Assert.assertSame(snapshot, watcher.getSnapshot(8));
+        } finally {
+            Files.deleteIfExists(file.toPath());
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    public void test_getSnapshot_absentFile() throws IOException {
+        Path directory = Files.createTempDirectory("vocabulary_watcher_");
+
+        boolean isExceptionThrown = false;
+
+        try(VocabularyFileWatcher watcher = new VocabularyFileWatcher(directory.resolve("Absent.txt").toString(),
+                StandardCharsets.UTF_8)){
+            watcher.getSnapshot(3); // exception
+        } catch(PuzzleException exception){
+            Assert.assertEquals(PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR, exception.getErrorCode());
+            isExceptionThrown = true;
+        } finally {
+            Files.deleteIfExists(directory);
+        }
+
+        Assert.assertTrue(isExceptionThrown);
+    }
+
+    // Private methods.
+
+    /** Waits until count of reloads reaches expected count. */
+    private static void _waitForReload(VocabularyFileWatcher watcher, long reloadsCount) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + RELOAD_TIMEOUT_MILLIS;
+
+        while(watcher.getReloadsCount() < reloadsCount && System.currentTimeMillis() < deadline){
+            Thread.sleep(10);
+        }
+
+        Assert.assertTrue(watcher.getReloadsCount() >= reloadsCount);
+    }
+} // class VocabularyFileWatcherTest
@@ -0,0 +1,175 @@
+/***************************************************************************************************
+ * @file VocabularyIndexFileTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the VocabularyIndexFileTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit Test for VocabularyIndexFile class.
+ */
+public class VocabularyIndexFileTest {
+
+    // Public methods.
+
+    @Test
+    public void test_writeAndLoad() throws IOException, PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/RussianVocabularyBig.txt", Charset.forName("windows-1251")); // exception
+
+        File file = File.createTempFile("vocabulary_index_", ".vix");
+        file.deleteOnExit();
+
+        VocabularyIndexFile.write(vocabulary, file.getPath()); // exception
+
+        Assert.assertTrue(VocabularyIndexFile.isIndexFile(file.getPath()));
+        Assert.assertFalse(VocabularyIndexFile.isIndexFile("data/RussianVocabularyBig.txt"));
+        Assert.assertFalse(VocabularyIndexFile.isIndexFile("@#WrongFileName#@"));
+
+        int[] wordsLengths = VocabularyIndexFile.readWordsLengths(file.getPath()); // exception
+
+        Assert.assertTrue(wordsLengths.length > 0);
+
+        for(int wordsLength : wordsLengths){
+            VocabularySnapshot expectedSnapshot = new VocabularySnapshot(vocabulary, wordsLength);
+            VocabularySnapshot snapshot = VocabularyIndexFile.loadSnapshot(file.getPath(), wordsLength);
+
+            Assert.assertEquals(wordsLength, snapshot.getWordsLength());
+            Assert.assertArrayEquals(expectedSnapshot.getWordsChars(), snapshot.getWordsChars());
+            Assert.assertNotNull(snapshot.getPerfectHash());
+
+            for(int wordId = 0; wordId < snapshot.getWordsCount(); wordId++){
+                Assert.assertEquals(wordId, snapshot.getWordId(expectedSnapshot.getWord(wordId)));
+            }
+        }
+
+        // Absent length gives empty snapshot.
+        int absentLength = wordsLengths[wordsLengths.length - 1] + 1;
+
+        Assert.assertEquals(0, VocabularyIndexFile.loadSnapshot(file.getPath(), absentLength).getWordsCount());
+
+        // Snapshot of section has the same words as vocabulary loaded from text file.
+        VocabularySnapshot lengthSnapshot = VocabularyIndexFile.loadSnapshot(file.getPath(), 4); // exception
+
+        Vocabulary expectedVocabulary = new Vocabulary();
+        expectedVocabulary.loadFromFile("data/RussianVocabularyBig.txt", 4, Charset.forName("windows-1251"));
+
+        Assert.assertEquals(expectedVocabulary.getWordsSet().size(), lengthSnapshot.getWordsCount());
+
+        for(String word : expectedVocabulary.getWordsSet()){
+            Assert.assertTrue(lengthSnapshot.contains(word));
+        }
+    }
+
+    @Test
+    public void test_write_replacesFile() throws IOException, PuzzleException {
+        File directory = Files.createTempDirectory("vocabulary_index_").toFile();
+        File file = new File(directory, "vocabulary.vix");
+
+        try {
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.getWordsSet().addAll(Arrays.asList("dog", "cat", "fly"));
+
+            VocabularyIndexFile.write(vocabulary, file.getPath()); // exception
+
+            vocabulary.getWordsSet().add("cot");
+            VocabularyIndexFile.write(vocabulary, file.getPath()); // exception
+
+            Assert.assertEquals(4, VocabularyIndexFile.loadSnapshot(file.getPath(), 3).getWordsCount());
+
+            // Failed write leaves no temporary files: target is non-empty directory which can't be replaced.
+            File target = new File(directory, "target.vix");
+            Assert.assertTrue(new File(target, "file").mkdirs());
+
+            boolean isExceptionThrown = false;
+
+            try {
+                VocabularyIndexFile.write(vocabulary, target.getPath()); // exception
+            } catch(PuzzleException exception){
+                Assert.assertEquals(PuzzleException.ErrorCode.WRITE_VOCABULARY_INDEX_FILE_ERROR,
+                        exception.getErrorCode());
+                isExceptionThrown = true;
+            }
+
+            Assert.assertTrue(isExceptionThrown);
+            Assert.assertEquals(Arrays.asList("target.vix", "vocabulary.vix"), _listSorted(directory));
+
+            // Index file isn't changed.
+            Assert.assertEquals(4, VocabularyIndexFile.loadSnapshot(file.getPath(), 3).getWordsCount());
+        } finally {
+            new File(directory, "target.vix/file").delete();
+            new File(directory, "target.vix").delete();
+            file.delete();
+            directory.delete();
+        }
+    }
+
+    @Test
+    public void test_loadSnapshot_corruptedFile() throws IOException, PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dog", "cat", "elephant", "fly"));
+
+        File file = File.createTempFile("vocabulary_index_", ".vix");
+        file.deleteOnExit();
+
+        VocabularyIndexFile.write(vocabulary, file.getPath()); // exception
+
+        // Cut the last section.
+        try(RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")){
+            randomAccessFile.setLength(randomAccessFile.length() - 1);
+        }
+
+        boolean isExceptionThrown = false;
+
+        try {
+            VocabularyIndexFile.loadSnapshot(file.getPath(), 8); // exception
+        } catch(PuzzleException exception){
+            Assert.assertEquals(PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR, exception.getErrorCode());
+            Assert.assertTrue(exception.getCause() instanceof IOException);
+            isExceptionThrown = true;
+        }
+
+        Assert.assertTrue(isExceptionThrown);
+
+        // Other sections are still readable.
+        Assert.assertEquals(3, VocabularyIndexFile.loadSnapshot(file.getPath(), 3).getWordsCount());
+    }
+
+    @Test
+    public void test_loadSnapshot_notIndexFile(){
+        boolean isExceptionThrown = false;
+
+        try {
+            VocabularyIndexFile.loadSnapshot("data/EnglishVocabulary.txt", 3); // exception
+        } catch(PuzzleException exception){
+            Assert.assertEquals(PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR, exception.getErrorCode());
+            isExceptionThrown = true;
+        }
+
+        Assert.assertTrue(isExceptionThrown);
+    }
+
+    // Private methods.
+
+    /** Lists names of files of directory in ascending order. */
+    private static List<String> _listSorted(File directory){
+        List<String> names = new ArrayList<>(Arrays.asList(directory.list()));
+        Collections.sort(names);
+
+        return names;
+    }
+} // class VocabularyIndexFileTest
@@ -0,0 +1,180 @@
+/***************************************************************************************************
+ * @file VocabularyOverlayTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the VocabularyOverlayTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit Test for VocabularyOverlay class.
+ */
+public class VocabularyOverlayTest {
+
+    // Public methods.
+
+    @Test
+    public void test_addRemoveWords(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        VocabularySnapshot base = new VocabularySnapshot(vocabulary, 3);
+        VocabularyOverlay overlay = new VocabularyOverlay(base, Arrays.asList("cut", "dot", "cog", "fla"),
+                Arrays.asList("cot", "fox", "fla"));
+
+        // "cog" is present in base, "fla" is both added and removed.
+        Assert.assertEquals(3, overlay.getAddedWordsCount());
+        Assert.assertEquals(1, overlay.getRemovedWordsCount());
+        Assert.assertEquals(base.getWordsCount() + 3, overlay.getWordsCount());
+
+        Assert.assertFalse(overlay.contains("cot"));
+        Assert.assertTrue(overlay.isRemoved(base.getWordId("cot")));
+        Assert.assertTrue(overlay.contains("cut"));
+        Assert.assertTrue(overlay.contains("fla"));
+        Assert.assertEquals(base.getWordId("cog"), overlay.getWordId("cog"));
+        Assert.assertEquals("cut", overlay.getWord(base.getWordsCount()));
+
+        int[] neighbors = new int[overlay.getMaxNeighborsCount()];
+
+        // Base neighbors without removed "cot", base neighbors merged with added "dot".
+        Assert.assertEquals(Arrays.asList("cig", "dog"), _getNeighbors(overlay, "cog", neighbors));
+        Assert.assertEquals(Arrays.asList("cog", "dig", "dot"), _getNeighbors(overlay, "dog", neighbors));
+
+        // Added word "cut" has base neighbor "cat" only.
+        Assert.assertEquals(Collections.singletonList("cat"), _getNeighbors(overlay, "cut", neighbors));
+        Assert.assertEquals(Arrays.asList("fly"), _getNeighbors(overlay, "fla", neighbors));
+        Assert.assertEquals(Arrays.asList("cut"), _getNeighbors(overlay, "cat", neighbors));
+
+        Assert.assertTrue(overlay.getMemorySize() > 0);
+    }
+
+    @Test
+    public void test_findNeighbors_mergedVocabulary() throws PuzzleException {
+        int wordsLength = 4;
+
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", wordsLength, StandardCharsets.US_ASCII);
+
+        VocabularySnapshot base = new VocabularySnapshot(vocabulary, wordsLength);
+        Random random = new Random(45);
+
+        for(int iteration = 0; iteration < 5; iteration++){
+            List<String> addedWords = new ArrayList<>();
+            List<String> removedWords = new ArrayList<>();
+
+            for(int i = 0; i < 200; i++){
+                addedWords.add(_generateWord(random, wordsLength));
+                removedWords.add(base.getWord(random.nextInt(base.getWordsCount())));
+            }
+
+            VocabularyOverlay overlay = new VocabularyOverlay(base, addedWords, removedWords);
+
+            // Expected graph of full copy of tenant vocabulary.
+            Vocabulary mergedVocabulary = new Vocabulary();
+            mergedVocabulary.getWordsSet().addAll(vocabulary.getWordsSet());
+            mergedVocabulary.getWordsSet().removeAll(removedWords);
+            mergedVocabulary.getWordsSet().addAll(addedWords);
+
+            WordsGraph mergedGraph = new WordsGraph(mergedVocabulary, wordsLength);
+
+            int[] neighbors = new int[overlay.getMaxNeighborsCount()];
+            int wordsCount = 0;
+
+            for(int wordId = 0; wordId < overlay.getWordsCount(); wordId++){
+                if(!overlay.isRemoved(wordId)){
+                    String word = overlay.getWord(wordId);
+                    int mergedWordId = mergedGraph.getWordId(word);
+
+                    List<String> expectedNeighbors = new ArrayList<>();
+
+                    for(int index = 0; index < mergedGraph.getNeighborsCount(mergedWordId); index++){
+                        expectedNeighbors.add(mergedGraph.getWord(mergedGraph.getNeighbor(mergedWordId, index)));
+                    }
+
+                    Assert.assertEquals(expectedNeighbors, _getNeighbors(overlay, word, neighbors));
+
+                    wordsCount++;
+                }
+            }
+
+            Assert.assertEquals(mergedGraph.getWordsCount(), wordsCount);
+            // Delta costs less than characters of base words.
+            Assert.assertTrue(overlay.getMemorySize() < (long)Character.BYTES * wordsLength * base.getWordsCount());
+        }
+    }
+
+    @Test
+    public void test_findWordsChain() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        VocabularySnapshot base = new VocabularySnapshot(vocabulary, 3);
+
+        // Chain through removed "cot" is replaced by chain through added "cut".
+        VocabularyOverlay overlay = new VocabularyOverlay(base, Arrays.asList("cut", "cug"),
+                Collections.singletonList("cot"));
+
+        Assert.assertEquals(Arrays.asList("cat", "cut", "cug", "cog", "dog"),
+                overlay.findWordsChain(new InputWords("cat", "dog"), 10));
+        Assert.assertTrue(overlay.findWordsChain(new InputWords("cat", "dog"), 4).isEmpty());
+
+        // Absent start word.
+        Assert.assertEquals(Arrays.asList("cot", "cog", "cug"),
+                overlay.findWordsChain(new InputWords("cot", "cug"), 10));
+
+        // Base isn't affected by overlay.
+        Assert.assertTrue(base.contains("cot"));
+        Assert.assertEquals(Arrays.asList("cat", "cot"),
+                new VocabularyOverlay(base, Collections.<String>emptyList(), Collections.<String>emptyList())
+                        .findWordsChain(new InputWords("cat", "cot"), 10));
+    }
+
+    @Test(expected = PuzzleException.class)
+    public void test_findWordsChain_removedEndWord() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("cat", "cot", "cog"));
+
+        VocabularyOverlay overlay = new VocabularyOverlay(new VocabularySnapshot(vocabulary, 3),
+                Collections.<String>emptyList(), Collections.singletonList("cog"));
+
+        overlay.findWordsChain(new InputWords("cat", "cog"), 10);
+    }
+
+    // Private methods.
+
+    /** Gets sorted neighbors of overlay word. */
+    private static List<String> _getNeighbors(VocabularyOverlay overlay, String word, int[] neighbors){
+        int neighborsCount = overlay.findNeighbors(overlay.getWordId(word), neighbors);
+
+        List<String> words = new ArrayList<>();
+
+        for(int index = 0; index < neighborsCount; index++){
+            words.add(overlay.getWord(neighbors[index]));
+        }
+
+        Collections.sort(words);
+
+        return words;
+    }
+
+    /** Generates random word of lowercase letters. */
+    private static String _generateWord(Random random, int wordsLength){
+        char[] chars = new char[wordsLength];
+
+        for(int position = 0; position < wordsLength; position++){
+            chars[position] = (char)('a' + random.nextInt(26));
+        }
+
+        return new String(chars);
+    }
+} // class VocabularyOverlayTest
@@ -0,0 +1,96 @@
+/***************************************************************************************************
+ * @file VocabularySnapshotTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the VocabularySnapshotTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Unit Test for VocabularySnapshot class.
+ */
+public class VocabularySnapshotTest {
+
+    // Public methods.
+
+    @Test
+    public void test_wordsAndIdentifiers(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dog", "cat", "cot", "elephant", "fly"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+
+        // Words of other length are ignored, identifiers follow lexicographic order.
+        Assert.assertEquals(3, snapshot.getWordsLength());
+        Assert.assertEquals(4, snapshot.getWordsCount());
+        Assert.assertEquals("cat", snapshot.getWord(0));
+        Assert.assertEquals("cot", snapshot.getWord(1));
+        Assert.assertEquals("dog", snapshot.getWord(2));
+        Assert.assertEquals("fly", snapshot.getWord(3));
+        Assert.assertEquals(2, snapshot.getWordId("dog"));
+        Assert.assertEquals(-1, snapshot.getWordId("cog"));
+        Assert.assertEquals(-1, snapshot.getWordId("elephant"));
+        Assert.assertTrue(snapshot.contains("fly"));
+        Assert.assertFalse(snapshot.contains("elephant"));
+        Assert.assertArrayEquals("catcotdogfly".toCharArray(), snapshot.getWordsChars());
+    }
+
+    @Test
+    public void test_perfectHash(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dog", "cat", "cot", "elephant", "fly"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3, true);
+
+        Assert.assertNotNull(snapshot.getPerfectHash());
+        Assert.assertNull(new VocabularySnapshot(vocabulary, 3).getPerfectHash());
+
+        for(int wordId = 0; wordId < snapshot.getWordsCount(); wordId++){
+            Assert.assertEquals(wordId, snapshot.getWordId(snapshot.getWord(wordId)));
+        }
+
+        Assert.assertEquals(-1, snapshot.getWordId("cog"));
+        Assert.assertEquals(-1, snapshot.getWordId("elephant"));
+    }
+
+    @Test
+    public void test_independentFromVocabulary(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dog", "cat"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+
+        vocabulary.getWordsSet().remove("dog");
+        vocabulary.getWordsSet().add("cot");
+
+        Assert.assertEquals(2, snapshot.getWordsCount());
+        Assert.assertTrue(snapshot.contains("dog"));
+        Assert.assertFalse(snapshot.contains("cot"));
+    }
+
+    @Test
+    public void test_getWordsGraph(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+
+        WordsGraph graph = snapshot.getWordsGraph();
+
+        // Graph is built once and uses identifiers of snapshot.
+        Assert.assertSame(graph, snapshot.getWordsGraph());
+        Assert.assertEquals(snapshot.getWordsCount(), graph.getWordsCount());
+
+        for(int wordId = 0; wordId < snapshot.getWordsCount(); wordId++){
+            Assert.assertEquals(snapshot.getWord(wordId), graph.getWord(wordId));
+        }
+
+        Assert.assertArrayEquals(new int[]{graph.getWordId("cig"), graph.getWordId("cot"), graph.getWordId("dog")},
+                graph.getNeighborIds("cog"));
+    }
+} // class VocabularySnapshotTest
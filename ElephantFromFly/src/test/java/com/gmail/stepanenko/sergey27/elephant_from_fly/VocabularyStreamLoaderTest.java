@@ -0,0 +1,173 @@
+/***************************************************************************************************
+ * @file VocabularyStreamLoaderTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the VocabularyStreamLoaderTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Unit Test for VocabularyStreamLoader class.
+ */
+public class VocabularyStreamLoaderTest {
+
+    // Public methods.
+
+    @Test
+    public void test_loadIndex() throws IOException, PuzzleException {
+        byte[] text = Files.readAllBytes(Paths.get("data/EnglishVocabulary.txt"));
+
+        for(int wordsLength = 3; wordsLength <= 6; wordsLength++){
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.loadFromFile("data/EnglishVocabulary.txt", wordsLength, StandardCharsets.US_ASCII);
+
+            VocabularySnapshot expectedSnapshot = new VocabularySnapshot(vocabulary, wordsLength);
+
+            // Plain stream and gzip compressed channel.
+            IncrementalWordsIndex plainIndex = VocabularyStreamLoader.loadIndex(new ByteArrayInputStream(text),
+                    wordsLength, StandardCharsets.US_ASCII);
+            IncrementalWordsIndex compressedIndex = VocabularyStreamLoader.loadIndex(
+                    Channels.newChannel(new ByteArrayInputStream(_compress(text))), wordsLength,
+                    StandardCharsets.US_ASCII);
+
+            for(IncrementalWordsIndex index : Arrays.asList(plainIndex, compressedIndex)){
+                IncrementalWordsIndex.Snapshot snapshot = index.getSnapshot();
+
+                Assert.assertEquals(expectedSnapshot.getWordsCount(), snapshot.getWordsCount());
+
+                for(int wordId = 0; wordId < expectedSnapshot.getWordsCount(); wordId++){
+                    Assert.assertTrue(snapshot.contains(expectedSnapshot.getWord(wordId)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_loadSnapshot() throws IOException, PuzzleException {
+        Charset charset = Charset.forName("windows-1251");
+        byte[] text = Files.readAllBytes(Paths.get("data/RussianVocabularyBig.txt"));
+
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/RussianVocabularyBig.txt", 6, charset);
+
+        VocabularySnapshot expectedSnapshot = new VocabularySnapshot(vocabulary, 6);
+
+        VocabularySnapshot plainSnapshot = VocabularyStreamLoader.loadSnapshot(new ByteArrayInputStream(text), 6,
+                charset);
+        VocabularySnapshot compressedSnapshot = VocabularyStreamLoader.loadSnapshot(
+                Channels.newChannel(new ByteArrayInputStream(_compress(text))), 6, charset);
+
+        for(VocabularySnapshot snapshot : Arrays.asList(plainSnapshot, compressedSnapshot)){
+            Assert.assertEquals(expectedSnapshot.getWordsCount(), snapshot.getWordsCount());
+
+            for(int wordId = 0; wordId < expectedSnapshot.getWordsCount(); wordId++){
+                Assert.assertEquals(expectedSnapshot.getWord(wordId), snapshot.getWord(wordId));
+            }
+
+            // Snapshot is used by search engines directly.
+            WordsChainPuzzle.Result expectedResult = new PrimitiveWordsChainPuzzle().solve(
+                    new InputWords(expectedSnapshot.getWord(0), expectedSnapshot.getWord(1)), expectedSnapshot,
+                    expectedSnapshot.getWordsGraph(), 10, 1);
+            WordsChainPuzzle.Result result = new PrimitiveWordsChainPuzzle().solve(
+                    new InputWords(snapshot.getWord(0), snapshot.getWord(1)), snapshot, snapshot.getWordsGraph(),
+                    10, 1);
+
+            Assert.assertEquals(expectedResult.getWordsChain(), result.getWordsChain());
+        }
+    }
+
+    @Test
+    public void test_loadIndex_readError(){
+        InputStream failingStream = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        try {
+            VocabularyStreamLoader.loadIndex(failingStream, 3, StandardCharsets.US_ASCII);
+            Assert.fail("Exception is expected");
+        } catch(PuzzleException exception){
+            Assert.assertEquals(PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR, exception.getErrorCode());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void test_loadIndex_runtimeError(){
+        InputStream failingStream = new InputStream() {
+            @Override
+            public int read(){
+                throw new IllegalStateException("Stream is closed");
+            }
+        };
+
+        try {
+            VocabularyStreamLoader.loadIndex(failingStream, 3, StandardCharsets.US_ASCII);
+            Assert.fail("Exception is expected");
+        } catch(PuzzleException exception){
+            Assert.assertEquals(PuzzleException.ErrorCode.READ_VOCABULARY_FILE_ERROR, exception.getErrorCode());
+            Assert.assertTrue(exception.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void test_vocabularyLoadFromStream() throws IOException, PuzzleException {
+        Charset charset = Charset.forName("windows-1251");
+        byte[] text = Files.readAllBytes(Paths.get("data/RussianVocabularyBig.txt"));
+
+        Vocabulary expectedVocabulary = new Vocabulary();
+        expectedVocabulary.loadFromFile("data/RussianVocabularyBig.txt", 7, charset);
+
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromStream(new ByteArrayInputStream(_compress(text)), 7, charset);
+
+        Assert.assertEquals(expectedVocabulary.getWordsSet(), vocabulary.getWordsSet());
+
+        // Gzip compressed file.
+        File file = File.createTempFile("vocabulary_", ".txt.gz");
+
+        try {
+            try(FileOutputStream output = new FileOutputStream(file)){
+                output.write(_compress(text));
+            }
+
+            Vocabulary fileVocabulary = new Vocabulary();
+            fileVocabulary.loadFromFile(file.getPath(), 7, charset);
+
+            Assert.assertEquals(expectedVocabulary.getWordsSet(), fileVocabulary.getWordsSet());
+        } finally {
+            file.delete();
+        }
+    }
+
+    // Private methods.
+
+    /** Compresses bytes by gzip. */
+    private static byte[] _compress(byte[] bytes) throws IOException {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+        try(GZIPOutputStream output = new GZIPOutputStream(byteStream)){
+            output.write(bytes);
+        }
+
+        return byteStream.toByteArray();
+    }
+} // class VocabularyStreamLoaderTest
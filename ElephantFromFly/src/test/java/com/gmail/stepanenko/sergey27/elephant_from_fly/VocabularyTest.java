@@ -14,6 +14,7 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -24,7 +25,7 @@ public class VocabularyTest {
 
     // Private static constants.
 
-    private static final String VOCABULARY_FILE_PATH = "unit_tests_data\\Vocabulary.txt";
+    private static final String VOCABULARY_FILE_PATH = "unit_tests_data/Vocabulary.txt";
 
     // Public methods.
 
@@ -96,6 +97,24 @@ public class VocabularyTest {
         _test_loadFromFile(VOCABULARY_FILE_PATH, maxWordLengthInVocabulary + 1); // exception
     }
 
+    @Test
+    public void test_loadFromFile_allLengths() throws IOException, PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile(VOCABULARY_FILE_PATH, Charset.defaultCharset()); // exception
+
+        Set<String> expectedWordsSet = new HashSet<>();
+        Set<String> lengthWordsSet = new HashSet<>();
+
+        int maxWordLength = _loadVocabularyFromFile(VOCABULARY_FILE_PATH, 1, lengthWordsSet); // exception
+
+        for(int wordsLength = 1; wordsLength <= maxWordLength; wordsLength++){
+            _loadVocabularyFromFile(VOCABULARY_FILE_PATH, wordsLength, lengthWordsSet); // exception
+            expectedWordsSet.addAll(lengthWordsSet);
+        }
+
+        Assert.assertEquals(expectedWordsSet, vocabulary.getWordsSet());
+    }
+
     // Private methods.
 
     private int _loadVocabularyFromFile(String fileName, int wordsLength, Set<String> wordsSet) throws IOException {
@@ -9,6 +9,9 @@ package com.gmail.stepanenko.sergey27.elephant_from_fly;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -99,6 +102,56 @@ public class WordsChainPuzzleTest {
         _test_solve(inputWords, vocabulary, 5, expectedWordsChain); // exception
     }
 
+    @Test
+    public void test_solve_statistics() throws PuzzleException {
+        InputWords inputWords = new InputWords("cat", "dog");
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot"));
+
+        // Statistics is not collected by default.
+        WordsChainPuzzle.Result result = new WordsChainPuzzle().solve(inputWords, vocabulary, 7,
+                DEFAULT_TIMEOUT_VALUE_MINUTES); // exception
+
+        Assert.assertFalse(result.getStatistics().isEnabled());
+        Assert.assertEquals(0, result.getStatistics().getExpandedNodesCount());
+        Assert.assertEquals(0, result.getStatistics().getSearchTimeNanos());
+
+        // Collect statistics.
+        result = new WordsChainPuzzle(true).solve(inputWords, vocabulary, 7, DEFAULT_TIMEOUT_VALUE_MINUTES);
+
+        SearchStatistics statistics = result.getStatistics();
+
+        Assert.assertTrue(statistics.isEnabled());
+        Assert.assertEquals(Arrays.asList("cat", "cot", "cog", "dog"), result.getWordsChain());
+        Assert.assertTrue(statistics.getExpandedNodesCount() >= result.getWordsChain().size() - 1);
+        Assert.assertTrue(statistics.getMaxDepth() >= result.getWordsChain().size() - 1);
+        Assert.assertTrue(statistics.getMaxDepth() < 7);
+        Assert.assertTrue(statistics.getWordsDifferenceCalculationsCount() > vocabulary.getWordsSet().size());
+        Assert.assertTrue(statistics.getRollBacksCount() > 0);
+        Assert.assertTrue(statistics.getImprovementsCount() >= 1);
+        Assert.assertTrue(statistics.getPreparationTimeNanos() > 0);
+        Assert.assertTrue(statistics.getSearchTimeNanos() > 0);
+    }
+
+    @Test
+    public void test_solve_shortestWordsChain() throws IOException, PuzzleException {
+        // Words reached again at the same or greater depth are pruned, words chain must stay the shortest one.
+        for(long seed = 0; seed < 20; seed++){
+            StringWriter writer = new StringWriter();
+            new SyntheticVocabularyGenerator(seed, 3, "abcde", 0.8).generate(80, writer);
+
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.getWordsSet().addAll(Arrays.asList(writer.toString().split("\n")));
+
+            _assertShortestWordsChains(vocabulary, new ArrayList<>(vocabulary.getWordsSet()), 10);
+        }
+
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 4, StandardCharsets.US_ASCII);
+
+        _assertShortestWordsChains(vocabulary, Arrays.asList("lead", "gold", "cold", "warm"), 8);
+    }
+
     // Private methods.
 
     private void _test_solve(InputWords inputWords, Vocabulary vocabulary, int maxWordsChainLength,
@@ -117,4 +170,25 @@ public class WordsChainPuzzleTest {
         Assert.assertEquals(expectedWordsChain, result.getWordsChain());
         Assert.assertFalse(result.isInterruptedByTimeoutFlag());
     }
+
+    /** Checks that both search engines find words chains of the same length as breadth-first search. */
+    private static void _assertShortestWordsChains(Vocabulary vocabulary, List<String> words,
+                                                   int maxWordsChainLength) throws PuzzleException {
+        int wordsLength = words.get(0).length();
+        OffHeapWordsGraph graph = OffHeapWordsGraph.allocate(new WordsGraph(vocabulary, wordsLength));
+
+        for(String startWord : words){
+            for(String endWord : words){
+                if(!startWord.equals(endWord)){
+                    InputWords inputWords = new InputWords(startWord, endWord);
+                    int expectedSize = graph.findWordsChain(inputWords, maxWordsChainLength).size();
+
+                    Assert.assertEquals(expectedSize, new WordsChainPuzzle().solve(inputWords, vocabulary,
+                            maxWordsChainLength, DEFAULT_TIMEOUT_VALUE_MINUTES).getWordsChain().size());
+                    Assert.assertEquals(expectedSize, new PrimitiveWordsChainPuzzle().solve(inputWords, vocabulary,
+                            maxWordsChainLength, DEFAULT_TIMEOUT_VALUE_MINUTES).getWordsChain().size());
+                }
+            }
+        }
+    }
 } // class WordsChainPuzzleTest
@@ -0,0 +1,100 @@
+/***************************************************************************************************
+ * @file WordsGraphTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the WordsGraphTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Unit Test for WordsGraph class.
+ */
+public class WordsGraphTest {
+
+    // Public methods.
+
+    @Test
+    public void test_emptyVocabulary(){
+        WordsGraph graph = new WordsGraph(new Vocabulary(), 3);
+
+        Assert.assertEquals(3, graph.getWordsLength());
+        Assert.assertEquals(0, graph.getWordsCount());
+        Assert.assertEquals(-1, graph.getWordId("cat"));
+        Assert.assertEquals(0, graph.getNeighborIds("cat").length);
+    }
+
+    @Test
+    public void test_wordsAndIdentifiers(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dog", "cat", "cot", "elephant", "fly"));
+
+        WordsGraph graph = new WordsGraph(vocabulary, 3);
+
+        // Words of other length are ignored, identifiers follow lexicographic order.
+        Assert.assertEquals(4, graph.getWordsCount());
+        Assert.assertEquals("cat", graph.getWord(0));
+        Assert.assertEquals("cot", graph.getWord(1));
+        Assert.assertEquals("dog", graph.getWord(2));
+        Assert.assertEquals("fly", graph.getWord(3));
+        Assert.assertEquals(2, graph.getWordId("dog"));
+        Assert.assertEquals(-1, graph.getWordId("elephant"));
+        Assert.assertTrue(graph.contains("fly"));
+        Assert.assertFalse(graph.contains("cog"));
+        Assert.assertArrayEquals(new char[]{'a', 'c', 'd', 'f', 'g', 'l', 'o', 't', 'y'}, graph.getAlphabet());
+    }
+
+    @Test
+    public void test_neighbors(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot"));
+
+        WordsGraph graph = new WordsGraph(vocabulary, 3);
+
+        // Compare adjacency lists with brute force calculation.
+        for(int wordId = 0; wordId < graph.getWordsCount(); wordId++){
+            int[] expectedNeighbors = _calculateNeighbors(graph, graph.getWord(wordId));
+
+            Assert.assertEquals(expectedNeighbors.length, graph.getNeighborsCount(wordId));
+
+            for(int i = 0; i < expectedNeighbors.length; i++){
+                Assert.assertEquals(expectedNeighbors[i], graph.getNeighbor(wordId, i));
+            }
+
+            Assert.assertArrayEquals(expectedNeighbors, graph.getNeighborIds(graph.getWord(wordId)));
+        }
+
+        // Word which is absent in graph.
+        Assert.assertArrayEquals(_calculateNeighbors(graph, "cit"), graph.getNeighborIds("cit"));
+        Assert.assertArrayEquals(new int[]{graph.getWordId("cig"), graph.getWordId("dig"), graph.getWordId("gig")},
+                graph.getNeighborIds("big"));
+    }
+
+    // Private methods.
+
+    private int[] _calculateNeighbors(WordsGraph graph, String word){
+        int[] neighbors = new int[graph.getWordsCount()];
+        int count = 0;
+
+        for(int wordId = 0; wordId < graph.getWordsCount(); wordId++){
+            String otherWord = graph.getWord(wordId);
+            int difference = 0;
+
+            for(int i = 0; i < word.length(); i++){
+                if(word.charAt(i) != otherWord.charAt(i)){
+                    difference++;
+                }
+            }
+
+            if(difference == 1){
+                neighbors[count++] = wordId;
+            }
+        }
+
+        return Arrays.copyOf(neighbors, count);
+    }
+} // class WordsGraphTest
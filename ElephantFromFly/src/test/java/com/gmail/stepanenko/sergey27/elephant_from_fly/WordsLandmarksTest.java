@@ -0,0 +1,84 @@
+/***************************************************************************************************
+ * @file WordsLandmarksTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the WordsLandmarksTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Unit Test for WordsLandmarks class.
+ */
+public class WordsLandmarksTest {
+
+    // Public methods.
+
+    @Test
+    public void test_componentsAndLandmarks(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly", "fla"));
+
+        WordsGraph graph = new WordsGraph(vocabulary, 3);
+        WordsLandmarks landmarks = new WordsLandmarks(graph, 2, 3);
+
+        // Components: {cat, cig, cog, cot, dig, dog, gig}, {fla, fly}.
+        Assert.assertEquals(2, landmarks.getComponentsCount());
+        Assert.assertEquals(2, landmarks.getLandmarksCount());
+
+        int component = landmarks.getComponent(graph.getWordId("cat"));
+        int smallComponent = landmarks.getComponent(graph.getWordId("fly"));
+
+        Assert.assertEquals(component, landmarks.getComponent(graph.getWordId("gig")));
+        Assert.assertEquals(smallComponent, landmarks.getComponent(graph.getWordId("fla")));
+        Assert.assertNotEquals(component, smallComponent);
+
+        // The first landmark is the farthest word from "cat" (root of component), the second is the farthest word
+        // from the first landmark.
+        Assert.assertEquals(graph.getWordId("gig"), landmarks.getLandmark(component, 0));
+        Assert.assertEquals(graph.getWordId("cat"), landmarks.getLandmark(component, 1));
+        Assert.assertEquals(4, landmarks.getLandmarkDistance(graph.getWordId("cat"), 0));
+        Assert.assertEquals(0, landmarks.getLandmarkDistance(graph.getWordId("cat"), 1));
+
+        // Small component has no landmarks.
+        Assert.assertEquals(-1, landmarks.getLandmark(smallComponent, 0));
+        Assert.assertEquals(-1, landmarks.getLandmarkDistance(graph.getWordId("fly"), 0));
+
+        Assert.assertEquals(4, landmarks.getLowerBound(graph.getWordId("cat"), graph.getWordId("gig")));
+        Assert.assertEquals(0, landmarks.getLowerBound(graph.getWordId("fly"), graph.getWordId("fla")));
+        Assert.assertEquals(WordsLandmarks.UNREACHABLE,
+                landmarks.getLowerBound(graph.getWordId("cat"), graph.getWordId("fly")));
+    }
+
+    @Test
+    public void test_lowerBounds() throws PuzzleException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 4, StandardCharsets.US_ASCII);
+
+        WordsGraph graph = new WordsGraph(vocabulary, 4);
+        WordsLandmarks landmarks = new WordsLandmarks(graph, 8, 2);
+
+        // Bounds never exceed real distances.
+        for(String endWord : new String[]{"gold", "gist", "warm"}){
+            ReverseBfsTree tree = new ReverseBfsTree(graph, graph.getWordId(endWord));
+
+            for(int wordId = 0; wordId < graph.getWordsCount(); wordId += 7){
+                int bound = landmarks.getLowerBound(wordId, tree.getEndWordId());
+                int distance = tree.getDistance(wordId);
+
+                if(distance >= 0){
+                    Assert.assertTrue(bound <= distance);
+                } else {
+                    Assert.assertEquals(WordsLandmarks.UNREACHABLE, bound);
+                }
+            }
+        }
+
+        Assert.assertTrue(landmarks.getMemorySize() < 16L * graph.getWordsCount());
+    }
+} // class WordsLandmarksTest
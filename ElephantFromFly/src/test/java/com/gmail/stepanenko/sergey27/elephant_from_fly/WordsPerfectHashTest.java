@@ -0,0 +1,158 @@
+/***************************************************************************************************
+ * @file WordsPerfectHashTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the WordsPerfectHashTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Unit Test for WordsPerfectHash class.
+ */
+public class WordsPerfectHashTest {
+
+    // Public methods.
+
+    @Test
+    public void test_getWordId(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+        WordsPerfectHash perfectHash = new WordsPerfectHash(snapshot);
+
+        Assert.assertEquals(3, perfectHash.getWordsLength());
+        Assert.assertEquals(8, perfectHash.getWordsCount());
+
+        for(int wordId = 0; wordId < snapshot.getWordsCount(); wordId++){
+            Assert.assertEquals(wordId, perfectHash.getWordId(snapshot.getWord(wordId)));
+            Assert.assertEquals(wordId, perfectHash.getWordId(snapshot.getWordsChars(), wordId * 3));
+        }
+
+        Assert.assertEquals(-1, perfectHash.getWordId("elephant"));
+        Assert.assertTrue(perfectHash.getMemorySize() > 0);
+    }
+
+    @Test
+    public void test_emptySnapshot(){
+        WordsPerfectHash perfectHash = new WordsPerfectHash(new VocabularySnapshot(new Vocabulary(), 4));
+
+        Assert.assertEquals(0, perfectHash.getWordsCount());
+        Assert.assertEquals(-1, perfectHash.getWordId("word"));
+    }
+
+    @Test
+    public void test_vocabularies() throws PuzzleException {
+        Random random = new Random(41);
+
+        for(int wordsLength = 2; wordsLength <= 12; wordsLength++){
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.loadFromFile("data/RussianVocabularyBig.txt", wordsLength, Charset.forName("windows-1251"));
+
+            VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, wordsLength);
+            WordsPerfectHash perfectHash = new WordsPerfectHash(snapshot);
+
+            for(int wordId = 0; wordId < snapshot.getWordsCount(); wordId++){
+                Assert.assertEquals(wordId, perfectHash.getWordId(snapshot.getWord(wordId)));
+            }
+
+            // Absent words are rejected by fingerprints with rare exceptions.
+            int acceptedCount = 0;
+
+            for(int i = 0; i < 1000; i++){
+                char[] chars = new char[wordsLength];
+
+                for(int position = 0; position < wordsLength; position++){
+                    chars[position] = (char)('a' + random.nextInt(26));
+                }
+
+                if(perfectHash.getWordId(new String(chars)) >= 0){
+                    acceptedCount++;
+                }
+            }
+
+            Assert.assertTrue(acceptedCount <= 2);
+
+            // Displacements, remapped slots, identifiers and fingerprints take 7.5 bytes per word.
+            Assert.assertTrue(perfectHash.getMemorySize() <= 7.5 * snapshot.getWordsCount() + 2 * Integer.BYTES);
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void test_largeSnapshot(){
+        // Words are consecutive numbers in base 26 written by letters, so they are sorted.
+        int wordsLength = 5;
+        int wordsCount = 3000000;
+        char[] wordsChars = new char[wordsCount * wordsLength];
+
+        for(int wordId = 0; wordId < wordsCount; wordId++){
+            int number = wordId;
+
+            for(int position = wordsLength - 1; position >= 0; position--){
+                wordsChars[wordId * wordsLength + position] = (char)('a' + number % 26);
+                number /= 26;
+            }
+        }
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(wordsLength, wordsChars, null);
+        WordsPerfectHash perfectHash = new WordsPerfectHash(snapshot);
+
+        for(int wordId = 0; wordId < wordsCount; wordId += 997){
+            Assert.assertEquals(wordId, perfectHash.getWordId(wordsChars, wordId * wordsLength));
+        }
+
+        Assert.assertTrue(perfectHash.getMemorySize() <= 7.5 * wordsCount + 2 * Integer.BYTES);
+    }
+
+    @Test
+    public void test_writeToReadFrom() throws PuzzleException, IOException {
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/EnglishVocabulary.txt", 5, StandardCharsets.US_ASCII);
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 5);
+        WordsPerfectHash perfectHash = new WordsPerfectHash(snapshot);
+
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+        try(DataOutputStream output = new DataOutputStream(byteStream)){
+            perfectHash.writeTo(output);
+        }
+
+        WordsPerfectHash readPerfectHash;
+
+        try(DataInputStream input = new DataInputStream(new ByteArrayInputStream(byteStream.toByteArray()))){
+            readPerfectHash = WordsPerfectHash.readFrom(input);
+        }
+
+        Assert.assertEquals(5, readPerfectHash.getWordsLength());
+        Assert.assertEquals(snapshot.getWordsCount(), readPerfectHash.getWordsCount());
+
+        for(int wordId = 0; wordId < snapshot.getWordsCount(); wordId++){
+            Assert.assertEquals(wordId, readPerfectHash.getWordId(snapshot.getWord(wordId)));
+        }
+
+        Assert.assertEquals(perfectHash.getWordId("andyx"), readPerfectHash.getWordId("andyx"));
+    }
+
+    @Test(expected = IOException.class)
+    public void test_readFrom_corrupted() throws IOException {
+        byte[] bytes = {0, 0, 0, 7, 0, 0, 0, 3};
+
+        try(DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))){
+            WordsPerfectHash.readFrom(input);
+        }
+    }
+} // class WordsPerfectHashTest
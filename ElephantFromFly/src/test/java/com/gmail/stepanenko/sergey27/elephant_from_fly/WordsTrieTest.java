@@ -0,0 +1,124 @@
+/***************************************************************************************************
+ * @file WordsTrieTest.java
+ * @author Sergey Stepanenko (sergey.stepanenko.27@gmail.com)
+ * @description Contains implementation of the WordsTrieTest class.
+ **************************************************************************************************/
+
+package com.gmail.stepanenko.sergey27.elephant_from_fly;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Unit Test for WordsTrie class.
+ */
+public class WordsTrieTest {
+
+    // Public methods.
+
+    @Test
+    public void test_findNeighbors(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+        WordsTrie trie = new WordsTrie(vocabulary, 3);
+
+        Assert.assertEquals(3, trie.getWordsLength());
+        Assert.assertEquals(8, trie.getWordsCount());
+
+        int[] neighbors = new int[trie.getMaxNeighborsCount() + trie.getWordsLength()];
+
+        int neighborsCount = trie.findNeighbors(snapshot.getWordId("cog"), neighbors);
+
+        int[] expectedNeighbors = {snapshot.getWordId("cig"), snapshot.getWordId("cot"), snapshot.getWordId("dog")};
+        Arrays.sort(expectedNeighbors);
+
+        Assert.assertArrayEquals(expectedNeighbors, Arrays.copyOf(neighbors, neighborsCount));
+        Assert.assertEquals(0, trie.findNeighbors(snapshot.getWordId("fly"), neighbors));
+
+        // Absent word.
+        neighborsCount = trie.findNeighbors("cug", neighbors);
+
+        expectedNeighbors = new int[]{snapshot.getWordId("cig"), snapshot.getWordId("cog")};
+        Arrays.sort(expectedNeighbors);
+
+        Assert.assertArrayEquals(expectedNeighbors, Arrays.copyOf(neighbors, neighborsCount));
+    }
+
+    @Test
+    public void test_words(){
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.getWordsSet().addAll(Arrays.asList("dig", "gig", "cig", "dog", "cat", "cog", "cot", "fly", "a"));
+
+        VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, 3);
+        WordsTrie trie = new WordsTrie(snapshot);
+
+        for(int wordId = 0; wordId < snapshot.getWordsCount(); wordId++){
+            Assert.assertEquals(snapshot.getWord(wordId), trie.getWord(wordId));
+            Assert.assertEquals(wordId, trie.getWordId(snapshot.getWord(wordId)));
+        }
+
+        Assert.assertTrue(trie.contains("cot"));
+        Assert.assertFalse(trie.contains("cut"));
+        Assert.assertFalse(trie.contains("a"));
+        Assert.assertFalse(trie.contains("cots"));
+
+        // Root, prefixes "c", "d", "f", "g", "ca", "ci", "co", "di", "do", "fl", "gi" and 8 words.
+        Assert.assertEquals(1 + 4 + 7 + 8, trie.getNodesCount());
+    }
+
+    @Test
+    public void test_emptyTrie(){
+        WordsTrie trie = new WordsTrie(new Vocabulary(), 4);
+
+        Assert.assertEquals(0, trie.getWordsCount());
+        Assert.assertEquals(0, trie.getMaxNeighborsCount());
+        Assert.assertFalse(trie.contains("word"));
+        Assert.assertEquals(0, trie.findNeighbors("word", new int[4]));
+    }
+
+    @Test
+    public void test_findNeighbors_vocabularies() throws PuzzleException {
+        for(int wordsLength = 2; wordsLength <= 8; wordsLength++){
+            Vocabulary vocabulary = new Vocabulary();
+            vocabulary.loadFromFile("data/EnglishVocabulary.txt", wordsLength, StandardCharsets.US_ASCII);
+
+            VocabularySnapshot snapshot = new VocabularySnapshot(vocabulary, wordsLength);
+            WordsTrie trie = new WordsTrie(snapshot);
+            WordsGraph graph = snapshot.getWordsGraph();
+
+            int[] neighbors = new int[trie.getMaxNeighborsCount()];
+            int[] expectedNeighbors = new int[graph.getMaxNeighborsCount()];
+
+            for(int wordId = 0; wordId < snapshot.getWordsCount(); wordId++){
+                int neighborsCount = trie.findNeighbors(wordId, neighbors);
+                int expectedNeighborsCount = graph.findNeighbors(wordId, expectedNeighbors);
+
+                Assert.assertArrayEquals(Arrays.copyOf(expectedNeighbors, expectedNeighborsCount),
+                        Arrays.copyOf(neighbors, neighborsCount));
+            }
+        }
+    }
+
+    @Test
+    public void test_getNodesCount() throws PuzzleException {
+        // Words of morphologically rich vocabulary share long prefixes.
+        int wordsLength = 8;
+
+        Vocabulary vocabulary = new Vocabulary();
+        vocabulary.loadFromFile("data/RussianVocabularyBig.txt", wordsLength, Charset.forName("windows-1251"));
+
+        WordsTrie trie = new WordsTrie(vocabulary, wordsLength);
+
+        long lettersCount = (long)wordsLength * trie.getWordsCount();
+
+        Assert.assertTrue(trie.getWordsCount() > 0);
+        Assert.assertTrue(4L * trie.getNodesCount() < 3L * lettersCount);
+        Assert.assertTrue(trie.getMemorySize() > 0);
+    }
+} // class WordsTrieTest